@@ -0,0 +1,133 @@
+package com.netty.communication.benchmark;
+
+import com.netty.communication.message.ChunkType;
+import com.netty.communication.message.FileDownloadRequest;
+import com.netty.communication.message.InboundFileChunk;
+import com.netty.communication.metrics.InstrumentedByteBufAllocator;
+import com.netty.communication.specification.channel.HeaderSpecProvider;
+import com.netty.communication.trace.TraceContext;
+import io.netty.buffer.ByteBuf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the codec functions without a channel around them: {@link FileDownloadRequest} encoding and
+ * decoding, {@link InboundFileChunk#decode}, and the reads and writes of the header fields of
+ * {@link HeaderSpecProvider}.
+ * <p>
+ * Run with {@code mvn -P jmh verify -Djmh.args="CodecBenchmark -prof gc"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class CodecBenchmark {
+
+    @Param({"65536"})
+    private int chunkSize;
+
+    private final HeaderSpecProvider headerSpec = CodecFixture.headerSpec();
+    private final TraceContext trace = TraceContext.start();
+    private FileDownloadRequest request;
+    private ByteBuf requestBody;
+    private ByteBuf chunkBody;
+    private ByteBuf header;
+    private ByteBuf tracedHeader;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var allocator = InstrumentedByteBufAllocator.DEFAULT;
+        request = CodecFixture.downloadRequest();
+        requestBody = allocator.directBuffer();
+        request.encode(requestBody);
+
+        var contents = new byte[chunkSize];
+        ThreadLocalRandom.current().nextBytes(contents);
+        chunkBody = allocator.directBuffer(chunkSize + 64);
+        chunkBody.writeInt(ChunkType.MIDDLE_OF_FILE.value());
+        chunkBody.writeInt(CodecFixture.STORE_PATH.length());
+        chunkBody.writeCharSequence(CodecFixture.STORE_PATH, StandardCharsets.UTF_8);
+        chunkBody.writeBytes(contents);
+
+        header = allocator.directBuffer(64);
+        tracedHeader = allocator.directBuffer(64);
+        writeHeader(tracedHeader, CodecFixture.FILE_CHUNK_ID, trace);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestBody.release();
+        chunkBody.release();
+        header.release();
+        tracedHeader.release();
+    }
+
+    @Benchmark
+    public int encodeDownloadRequest() {
+        var buffer = InstrumentedByteBufAllocator.DEFAULT.buffer();
+        try {
+            return request.encode(buffer).size();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    @Benchmark
+    public FileDownloadRequest decodeDownloadRequest() {
+        return FileDownloadRequest.decode(requestBody.duplicate());
+    }
+
+    @Benchmark
+    public int decodeChunk() {
+        var chunk = InboundFileChunk.decode(chunkBody.duplicate());
+        int readable = chunk.contents().readableBytes();
+        chunk.release();
+        return readable;
+    }
+
+    @Benchmark
+    public ByteBuf writeHeader() {
+        header.clear();
+        return writeHeader(header, CodecFixture.FILE_CHUNK_ID, null);
+    }
+
+    @Benchmark
+    public ByteBuf writeTracedHeader() {
+        header.clear();
+        return writeHeader(header, CodecFixture.FILE_CHUNK_ID, trace);
+    }
+
+    @Benchmark
+    public void readTracedHeader(Blackhole blackhole) {
+        var buffer = tracedHeader.duplicate();
+        blackhole.consume(headerSpec.length().readFunc(buffer));
+        int id = headerSpec.id().readFunc(buffer);
+        if (headerSpec.trace().isTraced(id)) {
+            blackhole.consume(headerSpec.trace().readFunc(buffer));
+        }
+        blackhole.consume(id & ~headerSpec.trace().flag());
+    }
+
+    private ByteBuf writeHeader(ByteBuf buffer, int id, TraceContext trace) {
+        headerSpec.length().writeFunc(buffer, chunkSize);
+        if (trace == null) {
+            headerSpec.id().writeFunc(buffer, id);
+        } else {
+            headerSpec.id().writeFunc(buffer, id | headerSpec.trace().flag());
+            headerSpec.trace().writeFunc(buffer, trace);
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,85 @@
+package com.netty.communication.benchmark;
+
+import com.netty.communication.message.FileDownloadRequest;
+import com.netty.communication.message.InboundFileChunk;
+import com.netty.communication.message.MessageEncodable;
+import com.netty.communication.message.OutboundByteChunk;
+import com.netty.communication.specification.channel.FrameTraceSpec;
+import com.netty.communication.specification.channel.HeaderSpecProvider;
+import com.netty.communication.specification.message.MessageDecoderProvider;
+import com.netty.communication.specification.message.ProtocolIdProvider;
+import com.netty.communication.trace.FrameTracer;
+import com.netty.communication.transfer.ResumePoint;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The pieces the codec benchmarks share: the protocol ids and decoders of the messages they use, as the
+ * message spec registers them, a frame tracer that traces nothing, and the messages themselves.
+ */
+final class CodecFixture {
+    static final int FILE_DOWNLOAD_REQUEST_ID = 1001;
+    static final int FILE_CHUNK_ID = 2001;
+    static final String STORE_PATH = "benchmark/some/directory/file.bin";
+
+    private static final Map<Class<? extends MessageEncodable>, Integer> IDS = Map.of(
+            FileDownloadRequest.class, FILE_DOWNLOAD_REQUEST_ID,
+            InboundFileChunk.class, FILE_CHUNK_ID,
+            OutboundByteChunk.class, FILE_CHUNK_ID);
+
+    private CodecFixture() {
+    }
+
+    static ProtocolIdProvider idProvider() {
+        return IDS::get;
+    }
+
+    static MessageDecoderProvider decoderProvider() {
+        return id -> switch (id) {
+            case FILE_DOWNLOAD_REQUEST_ID -> FileDownloadRequest::decode;
+            case FILE_CHUNK_ID -> InboundFileChunk::decode;
+            default -> throw new IllegalArgumentException("No decoder for " + id);
+        };
+    }
+
+    static HeaderSpecProvider headerSpec() {
+        return new HeaderSpecProvider();
+    }
+
+    /**
+     * Creates a frame tracer with tracing off, which is what the codec handlers see in production.
+     */
+    static FrameTracer frameTracer() {
+        var spec = new FrameTraceSpec();
+        ReflectionTestUtils.setField(spec, "remotes", List.of());
+        ReflectionTestUtils.setField(spec, "sampleEvery", 1);
+        return new FrameTracer(spec);
+    }
+
+    static FileDownloadRequest downloadRequest() {
+        return FileDownloadRequest.builder()
+                .sourceFilePath("benchmark/source/directory/file.bin")
+                .destFilePath("benchmark/destination/directory/file.bin")
+                .resumePoint(ResumePoint.NONE)
+                .timeoutMillis(60_000)
+                .build();
+    }
+
+    /**
+     * Reads and releases the buffers an embedded channel has written, and counts their bytes.
+     */
+    static int drainOutbound(EmbeddedChannel channel) {
+        int bytes = 0;
+        Object message;
+        while ((message = channel.readOutbound()) != null) {
+            var buffer = (ByteBuf) message;
+            bytes += buffer.readableBytes();
+            buffer.release();
+        }
+        return bytes;
+    }
+}
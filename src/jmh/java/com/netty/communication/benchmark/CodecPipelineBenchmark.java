@@ -0,0 +1,133 @@
+package com.netty.communication.benchmark;
+
+import com.netty.communication.handler.inbound.MessageDecoder;
+import com.netty.communication.handler.outbound.MessageEncoder;
+import com.netty.communication.message.ChunkType;
+import com.netty.communication.message.InboundFileChunk;
+import com.netty.communication.message.OutboundByteChunk;
+import com.netty.communication.metrics.InstrumentedByteBufAllocator;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.trace.TraceContext;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the codec handlers on an {@link EmbeddedChannel}: {@link MessageEncoder#write} turning a download
+ * request and a chunk into frames, and {@link MessageDecoder#channelRead0} turning the frames back into
+ * messages, with and without a trace context in the header. The chunk contents are shared and never copied,
+ * so the numbers are those of the framing around them.
+ * <p>
+ * Run with {@code mvn -P jmh verify -Djmh.args="CodecPipelineBenchmark -prof gc"}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class CodecPipelineBenchmark {
+
+    @Param({"false", "true"})
+    private boolean traced;
+
+    @Param({"65536"})
+    private int chunkSize;
+
+    private EmbeddedChannel encoderChannel;
+    private EmbeddedChannel decoderChannel;
+    private ByteBuf chunkContents;
+    private ByteBuf requestFrame;
+    private ByteBuf chunkFrame;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var idProvider = CodecFixture.idProvider();
+        var headerSpec = CodecFixture.headerSpec();
+        var frameTracer = CodecFixture.frameTracer();
+
+        encoderChannel = new EmbeddedChannel();
+        encoderChannel.config().setAllocator(InstrumentedByteBufAllocator.DEFAULT);
+        encoderChannel.pipeline().addLast(new MessageEncoder(idProvider, headerSpec, frameTracer));
+        decoderChannel = new EmbeddedChannel();
+        decoderChannel.config().setAllocator(InstrumentedByteBufAllocator.DEFAULT);
+        decoderChannel.pipeline().addLast(new MessageDecoder(CodecFixture.decoderProvider(), headerSpec, frameTracer));
+        if (traced) {
+            ChannelSession.of(encoderChannel).attach(TraceContext.class, TraceContext.start());
+        }
+
+        var bytes = new byte[chunkSize];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        chunkContents = InstrumentedByteBufAllocator.DEFAULT.directBuffer(chunkSize).writeBytes(bytes);
+
+        encoderChannel.writeOutbound(CodecFixture.downloadRequest());
+        requestFrame = frame(encoderChannel);
+        encoderChannel.writeOutbound(InboundFileChunk.builder()
+                .type(ChunkType.MIDDLE_OF_FILE)
+                .storePath(CodecFixture.STORE_PATH)
+                .contents(chunkContents.retainedDuplicate())
+                .build());
+        chunkFrame = frame(encoderChannel);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        encoderChannel.finishAndReleaseAll();
+        decoderChannel.finishAndReleaseAll();
+        chunkContents.release();
+        requestFrame.release();
+        chunkFrame.release();
+    }
+
+    @Benchmark
+    public int encodeDownloadRequest() {
+        encoderChannel.writeOutbound(CodecFixture.downloadRequest());
+        return CodecFixture.drainOutbound(encoderChannel);
+    }
+
+    @Benchmark
+    public int encodeChunk() {
+        encoderChannel.writeOutbound(new OutboundByteChunk(CodecFixture.STORE_PATH, chunkContents.retainedDuplicate()));
+        return CodecFixture.drainOutbound(encoderChannel);
+    }
+
+    @Benchmark
+    public Object decodeDownloadRequest() {
+        decoderChannel.writeInbound(requestFrame.retainedDuplicate());
+        return decoderChannel.readInbound();
+    }
+
+    @Benchmark
+    public int decodeChunk() {
+        decoderChannel.writeInbound(chunkFrame.retainedDuplicate());
+        InboundFileChunk chunk = decoderChannel.readInbound();
+        int readable = chunk.contents().readableBytes();
+        ReferenceCountUtil.release(chunk);
+        return readable;
+    }
+
+    /**
+     * Joins the buffers the encoder wrote into one frame, and strips the length field as the frame decoder in
+     * front of the {@link MessageDecoder} does.
+     */
+    private static ByteBuf frame(EmbeddedChannel channel) {
+        var frame = InstrumentedByteBufAllocator.DEFAULT.directBuffer();
+        ByteBuf piece;
+        while ((piece = channel.readOutbound()) != null) {
+            frame.writeBytes(piece);
+            piece.release();
+        }
+        frame.skipBytes(CodecFixture.headerSpec().length().length());
+        return frame.discardReadBytes();
+    }
+}
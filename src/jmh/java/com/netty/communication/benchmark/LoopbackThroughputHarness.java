@@ -0,0 +1,298 @@
+package com.netty.communication.benchmark;
+
+import com.netty.communication.NettyCommunicationApplication;
+import com.netty.communication.dto.FileDownloadDto;
+import com.netty.communication.dto.FileUploadDto;
+import com.netty.communication.dto.LocalFileDto;
+import com.netty.communication.dto.RemoteFileDto;
+import com.netty.communication.dto.TransferResultDto;
+import com.netty.communication.metrics.LatencyHistogram;
+import com.netty.communication.service.FileClient;
+import com.netty.communication.session.HandshakePolicy;
+import com.netty.communication.session.HandshakeRule;
+import com.netty.communication.util.AdvancedFileUtils;
+import org.apache.commons.io.FileUtils;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures end-to-end transfers over loopback: the file server and the file client run in this process, as the
+ * application runs them, and every upload and download goes through a connection of its own on 127.0.0.1.
+ * <p>
+ * For every size distribution a set of source files is generated, streamed to disk without holding a file in
+ * memory, and transferred in a matrix of directions, chunk sizes and concurrencies. Each cell prints the
+ * throughput, the 50th, 99th and 99.9th percentile of the transfer latency, and the CPU time the process spent
+ * per GiB transferred, both ends of the connection included. Only the transfers that succeeded are counted; if any
+ * failed, the harness exits with status 1.
+ * <p>
+ * The chunk size of a cell is the size negotiated in the handshake, set through a {@link HandshakeRule} for the
+ * loopback subnet; the chunk stream adapts it afterwards between the minimum and the maximum chunk size, and it
+ * is never above the chunk size the client proposes. {@code default} leaves the server default.
+ * <p>
+ * Run with {@code mvn -P jmh verify -DskipTests
+ * -Djmh.main=com.netty.communication.benchmark.LoopbackThroughputHarness -Djmh.args="<options>"}, where the
+ * options are, with their defaults:
+ * <ul>
+ *     <li>{@code --harness.sizes=fixed:1MiB,fixed:64MiB,lognormal:4MiB:1.0}, see {@link SizeDistribution};</li>
+ *     <li>{@code --harness.files=32}, the files transferred per cell;</li>
+ *     <li>{@code --harness.warmup-files=4}, the files transferred before each cell is measured;</li>
+ *     <li>{@code --harness.directions=upload,download};</li>
+ *     <li>{@code --harness.chunk-sizes=default,256KiB,1MiB,4MiB};</li>
+ *     <li>{@code --harness.concurrency=1,4,16}, the transfers in flight at once;</li>
+ *     <li>{@code --harness.seed=42}, the seed of the sizes and contents of the files;</li>
+ *     <li>{@code --harness.root}, the directory of the files, a new temporary directory by default.</li>
+ * </ul>
+ * Any other property of the application can be given the same way, such as {@code --file.transport.native=false}.
+ */
+public final class LoopbackThroughputHarness {
+    private static final String LOOPBACK = "127.0.0.1";
+    private static final String LOOPBACK_SUBNET = "127.0.0.0/8";
+    private static final String SOURCE_DIRECTORY = "harness/source";
+    private static final double GIB = 1024.0 * 1024 * 1024;
+    private static final double MIB = 1024.0 * 1024;
+
+    private final FileClient client;
+    private final HandshakePolicy handshakePolicy;
+    private final Path root;
+    private final int port;
+
+    private LoopbackThroughputHarness(FileClient client, HandshakePolicy handshakePolicy, Path root, int port) {
+        this.client = client;
+        this.handshakePolicy = handshakePolicy;
+        this.root = root;
+        this.port = port;
+    }
+
+    public static void main(String[] args) throws IOException {
+        var arguments = String.join(" ", args);
+        var rootOption = option(args, "harness.root");
+        var root = rootOption != null ? Path.of(rootOption) : Files.createTempDirectory("loopback-harness");
+        int port = freePort();
+
+        // system properties, since application.properties would override default properties
+        System.setProperty("file.server.root", root.toString());
+        System.setProperty("file.client.root", root.toString());
+        System.setProperty("file.server.port", String.valueOf(port));
+        ConfigurableApplicationContext context = null;
+        int exitCode;
+        try {
+            context = new SpringApplicationBuilder(NettyCommunicationApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties("logging.level.root=warn")
+                    .run(args);
+            var harness = new LoopbackThroughputHarness(context.getBean(FileClient.class),
+                    context.getBean(HandshakePolicy.class), root, port);
+            System.out.printf("loopback harness: root %s, port %d%s%n", root, port,
+                    arguments.isEmpty() ? "" : ", " + arguments);
+            exitCode = harness.run(context.getEnvironment()) ? 0 : 1;
+        } finally {
+            if (context != null) {
+                SpringApplication.exit(context);
+            }
+            if (rootOption == null) {
+                FileUtils.deleteQuietly(root.toFile());
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * Runs the matrix.
+     *
+     * @return true if every transfer succeeded
+     */
+    private boolean run(Environment environment) throws IOException {
+        var sizes = environment.getProperty("harness.sizes", String[].class,
+                new String[]{"fixed:1MiB", "fixed:64MiB", "lognormal:4MiB:1.0"});
+        int files = environment.getProperty("harness.files", Integer.class, 32);
+        int warmupFiles = environment.getProperty("harness.warmup-files", Integer.class, 4);
+        var directions = environment.getProperty("harness.directions", String[].class,
+                new String[]{"upload", "download"});
+        var chunkSizes = environment.getProperty("harness.chunk-sizes", String[].class,
+                new String[]{"default", "256KiB", "1MiB", "4MiB"});
+        var concurrencies = environment.getProperty("harness.concurrency", int[].class, new int[]{1, 4, 16});
+        long seed = environment.getProperty("harness.seed", Long.class, 42L);
+
+        System.out.printf("%-9s %-24s %8s %5s %6s %10s %8s %9s %8s %9s %9s %9s %9s %6s%n",
+                "direction", "sizes", "chunk", "conc", "files", "MiB", "seconds", "MiB/s", "files/s",
+                "p50 ms", "p99 ms", "p999 ms", "cpu s/GiB", "failed");
+        boolean succeeded = true;
+        for (var size : sizes) {
+            var distribution = SizeDistribution.parse(size);
+            var sources = generate(distribution, files + warmupFiles, seed);
+            for (var direction : directions) {
+                var transfer = Direction.valueOf(direction.trim().toUpperCase(Locale.ROOT));
+                for (var chunkSize : chunkSizes) {
+                    for (int concurrency : concurrencies) {
+                        var cell = new Cell(transfer, distribution, chunkSize.trim(), concurrency);
+                        succeeded &= run(cell, sources.subList(0, warmupFiles), sources.subList(warmupFiles,
+                                sources.size()));
+                    }
+                }
+            }
+            FileUtils.deleteDirectory(root.resolve(SOURCE_DIRECTORY).toFile());
+        }
+        return succeeded;
+    }
+
+    private boolean run(Cell cell, List<Source> warmup, List<Source> measured) throws IOException {
+        handshakePolicy.replaceRules("default".equalsIgnoreCase(cell.chunkSize())
+                ? List.of()
+                : List.of(new HandshakeRule(LOOPBACK_SUBNET,
+                Math.toIntExact(SizeDistribution.bytes(cell.chunkSize())), null, null)));
+        try {
+            transfer(cell, warmup, new LatencyHistogram());
+
+            var latencies = new LatencyHistogram();
+            long cpuStart = processCpuNanos();
+            long start = System.nanoTime();
+            var outcome = transfer(cell, measured, latencies);
+            long elapsedNanos = System.nanoTime() - start;
+            long cpuNanos = processCpuNanos() - cpuStart;
+
+            // only the transfers that succeeded count, so a failing cell does not report bytes it never moved
+            long bytes = outcome.bytes();
+            double seconds = elapsedNanos / 1e9;
+            var snapshot = latencies.snapshot();
+            System.out.printf("%-9s %-24s %8s %5d %6d %10.1f %8.2f %9.1f %8.1f %9.2f %9.2f %9.2f %9.2f %6d%n",
+                    cell.direction().name().toLowerCase(Locale.ROOT), cell.sizes().spec(), cell.chunkSize(),
+                    cell.concurrency(), outcome.succeeded(), bytes / MIB, seconds, bytes / MIB / seconds,
+                    outcome.succeeded() / seconds, millis(snapshot.valueAt(0.5)), millis(snapshot.valueAt(0.99)),
+                    millis(snapshot.valueAt(0.999)), bytes == 0 ? 0 : cpuNanos / 1e9 / (bytes / GIB),
+                    outcome.failed());
+            return outcome.failed() == 0;
+        } finally {
+            FileUtils.deleteDirectory(root.resolve(cell.direction().targetDirectory()).toFile());
+        }
+    }
+
+    /**
+     * Transfers the files with at most the concurrency of the cell in flight.
+     *
+     * @return the transfers that succeeded and failed
+     */
+    private Outcome transfer(Cell cell, List<Source> sources, LatencyHistogram latencies) {
+        var inFlight = new Semaphore(cell.concurrency());
+        var succeeded = new AtomicInteger();
+        var failed = new AtomicInteger();
+        var bytes = new AtomicLong();
+        var futures = new ArrayList<CompletableFuture<TransferResultDto>>(sources.size());
+        for (var source : sources) {
+            inFlight.acquireUninterruptibly();
+            long start = System.nanoTime();
+            var target = cell.direction().targetDirectory() + "/" + source.name();
+            futures.add(cell.direction().start(client, source.path(), target, port).whenComplete((result, e) -> {
+                if (e == null) {
+                    latencies.record(System.nanoTime() - start);
+                    succeeded.incrementAndGet();
+                    bytes.addAndGet(source.size());
+                } else {
+                    failed.incrementAndGet();
+                    System.err.printf("%s of %s failed: %s%n", cell.direction(), source.path(), e);
+                }
+                inFlight.release();
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        return new Outcome(succeeded.get(), failed.get(), bytes.get());
+    }
+
+    private List<Source> generate(SizeDistribution distribution, int files, long seed) {
+        var random = new SplittableRandom(seed);
+        AdvancedFileUtils.makeDirectoriesIfNotExist(root.resolve(SOURCE_DIRECTORY) + "/");
+        var sources = new ArrayList<Source>(files);
+        for (int i = 0; i < files; i++) {
+            var name = "file-" + i;
+            long size = distribution.next(random);
+            AdvancedFileUtils.newRandomContentsFile(root.resolve(SOURCE_DIRECTORY).resolve(name).toString(),
+                    size, random.nextLong());
+            sources.add(new Source(name, size));
+        }
+        return sources;
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                .getProcessCpuTime();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String option(String[] args, String name) {
+        var prefix = "--" + name + "=";
+        for (var arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return null;
+    }
+
+    private enum Direction {
+        UPLOAD("harness/uploaded") {
+            @Override
+            CompletableFuture<TransferResultDto> start(FileClient client, String source, String target, int port) {
+                return client.uploadFileAsync(new FileUploadDto(new LocalFileDto(source),
+                        new RemoteFileDto(LOOPBACK, port, target), null));
+            }
+        },
+        DOWNLOAD("harness/downloaded") {
+            @Override
+            CompletableFuture<TransferResultDto> start(FileClient client, String source, String target, int port) {
+                return client.downloadFileAsync(new FileDownloadDto(new RemoteFileDto(LOOPBACK, port, source),
+                        new LocalFileDto(target), null));
+            }
+        };
+
+        private final String targetDirectory;
+
+        Direction(String targetDirectory) {
+            this.targetDirectory = targetDirectory;
+        }
+
+        String targetDirectory() {
+            return targetDirectory;
+        }
+
+        abstract CompletableFuture<TransferResultDto> start(FileClient client, String source, String target,
+                                                            int port);
+    }
+
+    private record Cell(Direction direction, SizeDistribution sizes, String chunkSize, int concurrency) {
+    }
+
+    private record Outcome(int succeeded, int failed, long bytes) {
+    }
+
+    private record Source(String name, long size) {
+
+        String path() {
+            return SOURCE_DIRECTORY + "/" + name;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.netty.communication.benchmark;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * A distribution of file sizes for the {@link LoopbackThroughputHarness}, written as one of
+ * <ul>
+ *     <li>{@code fixed:<size>}, every file of the same size;</li>
+ *     <li>{@code uniform:<min>..<max>}, sizes spread evenly between the bounds;</li>
+ *     <li>{@code lognormal:<median>:<sigma>}, sizes around the median with a long tail of large files,
+ *     as the files of real trees tend to be.</li>
+ * </ul>
+ * Sizes are in bytes, or with a {@code KiB}, {@code MiB} or {@code GiB} suffix.
+ *
+ * @param spec the distribution as written
+ * @param kind fixed, uniform or lognormal
+ * @param a    the size, the lower bound or the median
+ * @param b    unused, the upper bound or the sigma
+ */
+record SizeDistribution(String spec, String kind, double a, double b) {
+
+    static SizeDistribution parse(String spec) {
+        var parts = spec.trim().split(":");
+        var kind = parts[0].toLowerCase(Locale.ROOT);
+        return switch (kind) {
+            case "fixed" -> {
+                expectParts(spec, parts, 2);
+                yield new SizeDistribution(spec, kind, bytes(parts[1]), 0);
+            }
+            case "uniform" -> {
+                expectParts(spec, parts, 2);
+                var bounds = parts[1].split("\\.\\.");
+                if (bounds.length != 2 || bytes(bounds[0]) > bytes(bounds[1])) {
+                    throw new IllegalArgumentException("Malformed bounds in size distribution: " + spec);
+                }
+                yield new SizeDistribution(spec, kind, bytes(bounds[0]), bytes(bounds[1]));
+            }
+            case "lognormal" -> {
+                expectParts(spec, parts, 3);
+                yield new SizeDistribution(spec, kind, bytes(parts[1]), Double.parseDouble(parts[2]));
+            }
+            default -> throw new IllegalArgumentException("Unknown size distribution: " + spec);
+        };
+    }
+
+    /**
+     * Draws the size of a file.
+     *
+     * @param random the source of randomness
+     * @return the size in bytes, at least 0
+     */
+    long next(SplittableRandom random) {
+        double size = switch (kind) {
+            case "fixed" -> a;
+            case "uniform" -> a + random.nextDouble() * (b - a);
+            default -> a * Math.exp(b * random.nextGaussian());
+        };
+        return Math.max(0, Math.round(size));
+    }
+
+    /**
+     * Parses a size in bytes, or with a {@code KiB}, {@code MiB} or {@code GiB} suffix.
+     *
+     * @param size the size as written
+     * @return the size in bytes
+     */
+    static long bytes(String size) {
+        var value = size.trim();
+        var upper = value.toUpperCase(Locale.ROOT);
+        long unit = 1;
+        if (upper.endsWith("KIB")) {
+            unit = 1024;
+        } else if (upper.endsWith("MIB")) {
+            unit = 1024 * 1024;
+        } else if (upper.endsWith("GIB")) {
+            unit = 1024 * 1024 * 1024;
+        }
+        if (unit != 1) {
+            value = value.substring(0, value.length() - 3);
+        } else if (upper.endsWith("B")) {
+            value = value.substring(0, value.length() - 1);
+        }
+        return Math.round(Double.parseDouble(value) * unit);
+    }
+
+    private static void expectParts(String spec, String[] parts, int expected) {
+        if (parts.length != expected) {
+            throw new IllegalArgumentException("Malformed size distribution: " + spec);
+        }
+    }
+}
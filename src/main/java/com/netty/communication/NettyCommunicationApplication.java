@@ -1,5 +1,6 @@
 package com.netty.communication;
 
+import com.netty.communication.metrics.LeakReports;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
@@ -7,6 +8,7 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class NettyCommunicationApplication {
 
 	public static void main(String[] args) {
+		LeakReports.install();
 		SpringApplication.run(NettyCommunicationApplication.class, args);
 	}
 }
@@ -7,6 +7,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import javax.servlet.http.HttpServletResponse;
+
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 
 /**
@@ -15,17 +18,26 @@ import java.util.concurrent.ExecutionException;
  * custom response based on the type of exception.
  */
 @Slf4j
-@RestControllerAdvice(basePackages = "com.competitive.controller")
+@RestControllerAdvice(basePackages = "com.netty.communication.controller")
 public class WebControllerExceptionAdvisor {
 
     /**
      * Centralized method to handle exceptions thrown within web controllers.
+     * An exception thrown after the response has been committed, while a body is being streamed, is
+     * passed on to the servlet container instead, which aborts the connection; an error response could
+     * no longer be sent, and completing the response would pass a truncated body off as complete.
      *
      * @param exception the caught exception
+     * @param response  the response the exception was thrown for
      * @return a {@link ResponseEntity} containing the error status and message
+     * @throws Throwable the caught exception, if the response has already been committed
      */
     @ExceptionHandler
-    public ResponseEntity<String> handleException(Throwable exception) {
+    public ResponseEntity<String> handleException(Throwable exception, HttpServletResponse response) throws Throwable {
+        if (response.isCommitted()) {
+            log.warn("Exception caught after the response was committed: {}", exception.getMessage());
+            throw exception;
+        }
         log.error("Exception caught: {}", exception.getMessage(), exception);
         var unwrappedException = unwrap(exception);
         var responseSpec = matchSpec(unwrappedException);
@@ -33,15 +45,17 @@ public class WebControllerExceptionAdvisor {
     }
 
     /**
-     * Unwraps the original cause of an exception, particularly for {@link ExecutionException}.
-     * If the exception is of type {@link ExecutionException}, returns its cause.
+     * Unwraps the original cause of an exception, particularly for {@link ExecutionException}
+     * and for the {@link CompletionException} of an asynchronous request.
+     * If the exception is of either type, returns its cause.
      * Otherwise, returns the original exception.
      *
      * @param exception the thrown exception
      * @return the root cause of the exception
      */
     private static Throwable unwrap(Throwable exception) {
-        return (exception instanceof ExecutionException) ? exception.getCause() : exception;
+        return (exception instanceof ExecutionException || exception instanceof CompletionException)
+                && exception.getCause() != null ? exception.getCause() : exception;
     }
 
     /**
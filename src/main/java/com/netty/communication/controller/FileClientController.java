@@ -1,14 +1,34 @@
 package com.netty.communication.controller;
 
+import com.netty.communication.dto.BulkFileUploadDto;
+import com.netty.communication.dto.BulkUploadResultDto;
+import com.netty.communication.dto.DirectorySyncDto;
+import com.netty.communication.dto.DirectorySyncResultDto;
 import com.netty.communication.dto.FileDownloadDto;
 import com.netty.communication.dto.FileUploadDto;
+import com.netty.communication.dto.RemoteFileDto;
+import com.netty.communication.dto.StripedTransferResultDto;
+import com.netty.communication.dto.TransferResultDto;
 import com.netty.communication.service.FileClient;
+import com.netty.communication.transfer.BlockingStreamSubscriber;
+import com.netty.communication.transfer.ProgressPublisher;
+import com.netty.communication.transfer.TransferProgress;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for handling file upload and download requests.
@@ -20,34 +40,182 @@ import org.springframework.web.bind.annotation.RestController;
 public class FileClientController {
 
     private final FileClient fileClient;
+    private final ProgressPublisher progressPublisher;
 
     /**
      * Handles file download requests.
      * This method takes a {@link FileDownloadDto} specification and instructs the {@link FileClient}
-     * to download the file according to the provided specification.
+     * to download the file according to the provided specification. The download runs asynchronously;
+     * the servlet thread is released while it is in progress.
      *
-     * @param spec the specification for the file download
-     * @return {@link ResponseEntity} indicating the operation's success
-     * @throws Exception if any errors occur during the download process
+     * With a transfer id, the progress of the download is published under it.
+     *
+     * @param spec       the specification for the file download
+     * @param transferId the id the progress is followed by, or null
+     * @return a future of the {@link ResponseEntity} with the size of the file and the achieved throughput
      */
     @PostMapping("/download")
-    public ResponseEntity<Void> downloadFile(@RequestBody FileDownloadDto spec) throws Exception {
-        fileClient.downloadFile(spec);
-        return ResponseEntity.ok().build();
+    public CompletableFuture<ResponseEntity<TransferResultDto>> downloadFile(@RequestBody FileDownloadDto spec,
+                                                                             @RequestParam(required = false) String transferId) {
+        return fileClient.downloadFileAsync(spec, track(transferId)).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Streams a file from a remote server into the response body, without a local file.
+     * A chunk is acknowledged to the server only after it has been written to the response, so the
+     * download runs as fast as the HTTP client reads. The response is committed once the first bytes of
+     * the file have arrived, so a download that fails before is answered like any other request; a
+     * failure after that aborts the connection, so that a truncated body cannot pass for a complete one.
+     *
+     * @param ip            the IP address of the server
+     * @param port          the port number of the server
+     * @param file          the path of the file on the server
+     * @param timeoutMillis the time the client waits for the download before cancelling it, or null
+     * @return a future of the {@link ResponseEntity} whose body writes the file as it arrives
+     */
+    @GetMapping("/download/stream")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> downloadStream(@RequestParam String ip,
+                                                                                   @RequestParam int port,
+                                                                                   @RequestParam String file,
+                                                                                   @RequestParam(required = false) Long timeoutMillis) {
+        var subscriber = new BlockingStreamSubscriber();
+        var download = fileClient.downloadStream(new RemoteFileDto(ip, port, file), subscriber, timeoutMillis);
+        StreamingResponseBody body = out -> {
+            subscriber.transferTo(out);
+            download.join();
+        };
+        return subscriber.started().thenApply(ignored -> ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(Path.of(file).getFileName().toString()).build().toString())
+                .body(body));
+    }
+
+    /**
+     * Handles striped file download requests.
+     * A large file is split into ranges that are downloaded concurrently over several connections.
+     * The servlet thread is released while the download is in progress.
+     *
+     * @param spec the specification for the file download
+     * @return a future of the {@link ResponseEntity} with the number of stripes and the achieved throughput
+     */
+    @PostMapping("/download/striped")
+    public CompletableFuture<ResponseEntity<StripedTransferResultDto>> downloadFileStriped(@RequestBody FileDownloadDto spec) {
+        return fileClient.downloadFileStripedAsync(spec).thenApply(ResponseEntity::ok);
     }
 
     /**
      * Handles file upload requests.
      * This method takes a {@link FileUploadDto} specification and instructs the {@link FileClient}
-     * to upload the file according to the provided specification.
+     * to upload the file according to the provided specification. The upload runs asynchronously;
+     * the servlet thread is released while it is in progress.
+     *
+     * With a transfer id, the progress of the upload is published under it.
+     *
+     * @param spec       the specification for the file upload
+     * @param transferId the id the progress is followed by, or null
+     * @return a future of the {@link ResponseEntity} with the size of the file and the achieved throughput
+     */
+    @PostMapping("/upload")
+    public CompletableFuture<ResponseEntity<TransferResultDto>> uploadFile(@RequestBody FileUploadDto spec,
+                                                                           @RequestParam(required = false) String transferId) {
+        return fileClient.uploadFileAsync(spec, track(transferId)).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Streams the request body to a remote server, without a local file and without buffering the body.
+     * The body is read only as fast as the server acknowledges the chunks, so a fast HTTP client is held
+     * back by the TCP transfer. The body is taken as it is; a multipart body would be spooled by the
+     * servlet container before it could be streamed.
+     *
+     * @param ip            the IP address of the server
+     * @param port          the port number of the server
+     * @param file          the path the body is stored at on the server
+     * @param timeoutMillis the time the client waits for the upload before cancelling it, or null
+     * @param body          the request body
+     * @return a future of the {@link ResponseEntity} with the number of uploaded bytes and the achieved throughput
+     */
+    @PostMapping("/upload/stream")
+    public CompletableFuture<ResponseEntity<TransferResultDto>> uploadStream(@RequestParam String ip, @RequestParam int port,
+                                                                             @RequestParam String file,
+                                                                             @RequestParam(required = false) Long timeoutMillis,
+                                                                             InputStream body) {
+        return fileClient.uploadStream(body, new RemoteFileDto(ip, port, file), timeoutMillis).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Handles striped file upload requests.
+     * A large file is split into ranges that are uploaded concurrently over several connections.
+     * The servlet thread is released while the upload is in progress.
+     *
+     * @param spec the specification for the file upload
+     * @return a future of the {@link ResponseEntity} with the number of stripes and the achieved throughput
+     */
+    @PostMapping("/upload/striped")
+    public CompletableFuture<ResponseEntity<StripedTransferResultDto>> uploadFileStriped(@RequestBody FileUploadDto spec) {
+        return fileClient.uploadFileStripedAsync(spec).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Handles deduplicated file upload requests.
+     * Only the chunks of the file that the destination server does not store yet are transferred.
      *
      * @param spec the specification for the file upload
      * @return {@link ResponseEntity} indicating the operation's success
      * @throws Exception if any errors occur during the upload process
      */
-    @PostMapping("/upload")
-    public ResponseEntity<Void> uploadFile(@RequestBody FileUploadDto spec) throws Exception {
-        fileClient.uploadFile(spec);
+    @PostMapping("/upload/dedup")
+    public ResponseEntity<Void> uploadFileDeduplicated(@RequestBody FileUploadDto spec) throws Exception {
+        fileClient.uploadFileDeduplicated(spec);
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Handles delta file upload requests.
+     * Only the parts of the file that differ from the destination server's copy are transferred.
+     *
+     * @param spec the specification for the file upload
+     * @return {@link ResponseEntity} indicating the operation's success
+     * @throws Exception if any errors occur during the upload process
+     */
+    @PostMapping("/upload/delta")
+    public ResponseEntity<Void> uploadFileDelta(@RequestBody FileUploadDto spec) throws Exception {
+        fileClient.uploadFileDelta(spec);
         return ResponseEntity.ok().build();
     }
+
+    /**
+     * Handles bulk upload requests.
+     * All files are uploaded to one server over a single connection; small files share frames.
+     * The servlet thread is released while the upload is in progress.
+     *
+     * @param spec the specification for the bulk upload
+     * @return a future of the {@link ResponseEntity} with the status of every file
+     */
+    @PostMapping("/upload/bulk")
+    public CompletableFuture<ResponseEntity<BulkUploadResultDto>> uploadFiles(@RequestBody BulkFileUploadDto spec) {
+        return fileClient.uploadFilesAsync(spec).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Handles directory sync requests.
+     * Only the files of the local directory that differ from the remote directory are uploaded.
+     * The servlet thread is released while the sync is in progress.
+     *
+     * @param spec the specification for the directory sync
+     * @return a future of the {@link ResponseEntity} with the numbers of compared and changed files and their statuses
+     */
+    @PostMapping("/sync")
+    public CompletableFuture<ResponseEntity<DirectorySyncResultDto>> syncDirectory(@RequestBody DirectorySyncDto spec) {
+        return fileClient.syncDirectoryAsync(spec).thenApply(ResponseEntity::ok);
+    }
+
+    private TransferProgress track(String transferId) {
+        if (transferId == null) {
+            return null;
+        }
+        var progress = new TransferProgress();
+        progressPublisher.register(transferId, progress);
+        return progress;
+    }
 }
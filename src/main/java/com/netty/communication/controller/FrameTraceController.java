@@ -0,0 +1,70 @@
+package com.netty.communication.controller;
+
+import com.netty.communication.trace.FrameTracer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for switching the frame tracing of the client and the server on and off at runtime.
+ * The traced frames are written to the log of {@link FrameTracer}.
+ */
+@RestController
+@RequiredArgsConstructor
+public class FrameTraceController {
+
+    private final FrameTracer frameTracer;
+
+    /**
+     * Returns what is traced and how many frames have been captured and dropped.
+     *
+     * @return {@link ResponseEntity} with the status of the tracer
+     */
+    @GetMapping("/trace")
+    public ResponseEntity<FrameTracer.Status> getTrace() {
+        return ResponseEntity.ok(frameTracer.status());
+    }
+
+    /**
+     * Changes whether all remotes are traced and how many frames are sampled.
+     *
+     * @param all         whether all remotes are traced, or none to leave it unchanged
+     * @param sampleEvery the number of frames of which one is captured, or none to leave it unchanged
+     * @return {@link ResponseEntity} with the status of the tracer
+     */
+    @PatchMapping("/trace")
+    public ResponseEntity<FrameTracer.Status> configureTrace(@RequestParam(required = false) Boolean all,
+                                                             @RequestParam(required = false) Integer sampleEvery) {
+        frameTracer.configure(all, sampleEvery);
+        return ResponseEntity.ok(frameTracer.status());
+    }
+
+    /**
+     * Switches tracing on for a remote, on the connections already open as well.
+     *
+     * @param remote the IP address of the remote, or its IP address and port as {@code ip:port}
+     * @return {@link ResponseEntity} with the status of the tracer
+     */
+    @PutMapping("/trace/remotes")
+    public ResponseEntity<FrameTracer.Status> traceRemote(@RequestParam String remote) {
+        frameTracer.trace(remote);
+        return ResponseEntity.ok(frameTracer.status());
+    }
+
+    /**
+     * Switches tracing off for a remote.
+     *
+     * @param remote the remote as it was switched on
+     * @return {@link ResponseEntity} with the status of the tracer
+     */
+    @DeleteMapping("/trace/remotes")
+    public ResponseEntity<FrameTracer.Status> untraceRemote(@RequestParam String remote) {
+        frameTracer.untrace(remote);
+        return ResponseEntity.ok(frameTracer.status());
+    }
+}
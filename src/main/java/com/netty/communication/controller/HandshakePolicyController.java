@@ -0,0 +1,45 @@
+package com.netty.communication.controller;
+
+import com.netty.communication.session.HandshakePolicy;
+import com.netty.communication.session.HandshakeRule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for inspecting and replacing the server's per-client handshake rules.
+ * Changes take effect for connections established afterwards.
+ */
+@RestController
+@RequiredArgsConstructor
+public class HandshakePolicyController {
+
+    private final HandshakePolicy handshakePolicy;
+
+    /**
+     * Returns the current handshake rules in evaluation order.
+     *
+     * @return the rules
+     */
+    @GetMapping("/handshake/rules")
+    public List<HandshakeRule> getRules() {
+        return handshakePolicy.rules();
+    }
+
+    /**
+     * Replaces all handshake rules.
+     *
+     * @param rules the new rules in evaluation order
+     * @return {@link ResponseEntity} indicating the operation's success
+     */
+    @PutMapping("/handshake/rules")
+    public ResponseEntity<Void> replaceRules(@RequestBody List<HandshakeRule> rules) {
+        handshakePolicy.replaceRules(rules);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,45 @@
+package com.netty.communication.controller;
+
+import com.netty.communication.metrics.MemoryMetrics;
+import io.netty.util.ResourceLeakDetector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for the buffer memory of the connections and for switching leak detection at runtime.
+ */
+@RestController
+@RequiredArgsConstructor
+public class MemoryController {
+
+    private final MemoryMetrics memoryMetrics;
+
+    /**
+     * Returns the allocator's arenas and caches, the direct memory used against its limit, the received chunks
+     * not yet released per connection, and the leaks detected.
+     *
+     * @return {@link ResponseEntity} with a snapshot of the buffer memory
+     */
+    @GetMapping("/metrics/memory")
+    public ResponseEntity<MemoryMetrics.Snapshot> getMemory() {
+        return ResponseEntity.ok(memoryMetrics.snapshot());
+    }
+
+    /**
+     * Changes the level of leak detection, such as to {@code PARANOID} to track every buffer allocated from now on
+     * and back to {@code SIMPLE}.
+     *
+     * @param leakDetection the level of leak detection
+     * @return {@link ResponseEntity} with a snapshot of the buffer memory
+     */
+    @PatchMapping("/metrics/memory")
+    public ResponseEntity<MemoryMetrics.Snapshot> configureMemory(
+            @RequestParam ResourceLeakDetector.Level leakDetection) {
+        memoryMetrics.leakDetection(leakDetection);
+        return ResponseEntity.ok(memoryMetrics.snapshot());
+    }
+}
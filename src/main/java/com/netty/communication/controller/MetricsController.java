@@ -0,0 +1,58 @@
+package com.netty.communication.controller;
+
+import com.netty.communication.dto.ConnectionStatsDto;
+import com.netty.communication.metrics.ChunkSizeMetrics;
+import com.netty.communication.metrics.PrometheusExporter;
+import com.netty.communication.metrics.TransferMetrics;
+import com.netty.communication.trace.Span;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller exposing transfer metrics.
+ */
+@RestController
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final ChunkSizeMetrics chunkSizeMetrics;
+    private final PrometheusExporter prometheusExporter;
+    private final TransferMetrics transferMetrics;
+
+    /**
+     * Returns the traffic, latency and queue metrics of all connections in the Prometheus text format.
+     *
+     * @return the metrics
+     */
+    @GetMapping(value = "/metrics", produces = PrometheusExporter.CONTENT_TYPE)
+    public String getMetrics() {
+        return prometheusExporter.scrape();
+    }
+
+    /**
+     * Returns the chunk sizes chosen by the adaptive chunk sizing.
+     *
+     * @return a snapshot of the chunk size metrics
+     */
+    @GetMapping("/metrics/chunk-size")
+    public ChunkSizeMetrics.Snapshot getChunkSizeMetrics() {
+        return chunkSizeMetrics.snapshot();
+    }
+
+    /**
+     * Returns the traffic and the latest TCP_INFO sample of each open connection.
+     *
+     * @return the stats of the open connections
+     */
+    @GetMapping("/metrics/connections")
+    public List<ConnectionStatsDto> getConnections() {
+        return transferMetrics.channels().stream()
+                .map(stats -> new ConnectionStatsDto(stats.role().label(),
+                        Span.remote(stats.channel().localAddress()), Span.remote(stats.channel().remoteAddress()),
+                        stats.bytesIn(), stats.bytesOut(), stats.transferring(), stats.tcpInfo()))
+                .toList();
+    }
+}
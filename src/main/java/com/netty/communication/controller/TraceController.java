@@ -0,0 +1,103 @@
+package com.netty.communication.controller;
+
+import com.netty.communication.dto.LatencyBreakdownDto;
+import com.netty.communication.exception.TracePeerNotAllowedException;
+import com.netty.communication.specification.channel.FrameTraceSpec;
+import com.netty.communication.trace.LatencyBreakdown;
+import com.netty.communication.trace.Span;
+import com.netty.communication.trace.SpanStore;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * REST controller for the spans of traced transfers and their latency breakdown.
+ * Every node keeps the spans it recorded itself; the breakdown of a transfer merges the client's spans with
+ * those fetched from the server's REST API. Only the peers configured in {@code file.trace.peers} are fetched
+ * from, so a caller cannot make this node request an address of its choosing.
+ */
+@RestController
+public class TraceController {
+
+    private final SpanStore spanStore;
+    private final RestTemplate restTemplate;
+    private final List<String> peers;
+
+    public TraceController(SpanStore spanStore, RestTemplateBuilder restTemplateBuilder, FrameTraceSpec spec) {
+        this.spanStore = spanStore;
+        this.restTemplate = restTemplateBuilder.build();
+        this.peers = spec.peers().stream().map(TraceController::normalize).toList();
+    }
+
+    /**
+     * Returns the most recently started traces this node recorded spans of.
+     *
+     * @param limit the maximum number of traces
+     * @return {@link ResponseEntity} with a summary of each trace, newest first
+     */
+    @GetMapping("/traces")
+    public ResponseEntity<List<SpanStore.Summary>> getTraces(@RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(spanStore.recent(limit));
+    }
+
+    /**
+     * Returns the spans this node recorded for a trace.
+     *
+     * @param traceId the id of the trace
+     * @return {@link ResponseEntity} with the spans
+     */
+    @GetMapping("/traces/{traceId}/spans")
+    public ResponseEntity<List<Span>> getSpans(@PathVariable String traceId) {
+        return ResponseEntity.ok(spanStore.spans(traceId));
+    }
+
+    /**
+     * Computes the latency breakdown of a traced transfer from the spans of this node and, if given, of the
+     * peer. A peer that has not recorded the trace contributes no spans.
+     *
+     * @param traceId the id of the trace
+     * @param peer    the base URL of the peer's REST API, such as {@code http://server:8080/api}, or null; it
+     *                must be one of the configured trace peers
+     * @return {@link ResponseEntity} with the breakdown and the merged spans
+     * @throws TracePeerNotAllowedException if the peer is not a configured trace peer
+     */
+    @GetMapping("/traces/{traceId}/breakdown")
+    public ResponseEntity<LatencyBreakdownDto> getBreakdown(@PathVariable String traceId,
+                                                            @RequestParam(required = false) String peer) {
+        var spans = new ArrayList<>(spanStore.spans(traceId));
+        if (peer != null) {
+            spans.addAll(peerSpans(configuredPeer(peer), traceId));
+        }
+        return ResponseEntity.ok(LatencyBreakdown.compute(traceId, spans));
+    }
+
+    private String configuredPeer(String peer) {
+        var normalized = normalize(peer);
+        return peers.stream()
+                .filter(normalized::equals)
+                .findFirst()
+                .orElseThrow(() -> new TracePeerNotAllowedException("Not a configured trace peer: " + peer));
+    }
+
+    private static String normalize(String peer) {
+        var trimmed = peer.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+    private List<Span> peerSpans(String peer, String traceId) {
+        try {
+            var spans = restTemplate.getForObject(peer + "/traces/{traceId}/spans", Span[].class, traceId);
+            return spans == null ? List.of() : List.of(spans);
+        } catch (HttpClientErrorException.NotFound e) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.netty.communication.controller;
+
+import com.netty.communication.dto.TransferJobBatchDto;
+import com.netty.communication.dto.TransferJobStatusDto;
+import com.netty.communication.job.TransferJobManager;
+import com.netty.communication.job.TransferJobState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for submitting transfer jobs, polling their status and cancelling them.
+ * Submitted jobs run in the background, a bounded number at a time per server.
+ */
+@RestController
+@RequiredArgsConstructor
+public class TransferJobController {
+
+    private final TransferJobManager transferJobManager;
+
+    /**
+     * Submits a batch of transfer jobs.
+     *
+     * @param batch the jobs to submit
+     * @return {@link ResponseEntity} with the status of the job each submitted job ended up in, in order;
+     *         a job identical to an unfinished one is coalesced into it
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<List<TransferJobStatusDto>> submitJobs(@RequestBody TransferJobBatchDto batch) {
+        return ResponseEntity.ok(transferJobManager.submit(batch.jobs()));
+    }
+
+    /**
+     * Returns the status and progress of a transfer job.
+     *
+     * @param id the id of the job
+     * @return {@link ResponseEntity} with the status of the job
+     */
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<TransferJobStatusDto> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(transferJobManager.status(id));
+    }
+
+    /**
+     * Returns the status of the known transfer jobs in the order of submission.
+     *
+     * @param state the state of the jobs to return, or none for all
+     * @param limit the maximum number of jobs to return
+     * @return {@link ResponseEntity} with the statuses
+     */
+    @GetMapping("/jobs")
+    public ResponseEntity<List<TransferJobStatusDto>> getJobs(@RequestParam(required = false) TransferJobState state,
+                                                              @RequestParam(defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(transferJobManager.statuses(state, limit));
+    }
+
+    /**
+     * Cancels a transfer job. A running job reports the cancelled state once its transfer has stopped.
+     *
+     * @param id the id of the job
+     * @return {@link ResponseEntity} with the status of the job after the cancellation was requested
+     */
+    @DeleteMapping("/jobs/{id}")
+    public ResponseEntity<TransferJobStatusDto> cancelJob(@PathVariable String id) {
+        return ResponseEntity.ok(transferJobManager.cancel(id));
+    }
+}
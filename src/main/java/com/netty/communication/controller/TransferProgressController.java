@@ -0,0 +1,53 @@
+package com.netty.communication.controller;
+
+import com.netty.communication.dto.TransferProgressDto;
+import com.netty.communication.specification.channel.ChannelSpecProvider;
+import com.netty.communication.transfer.ProgressListener;
+import com.netty.communication.transfer.ProgressPublisher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller for following the progress of a transfer as a stream of Server-Sent Events.
+ * A transfer is followed by the id it was started with, or by the id of its transfer job.
+ */
+@RestController
+@RequiredArgsConstructor
+public class TransferProgressController {
+
+    private final ProgressPublisher progressPublisher;
+    private final ChannelSpecProvider channelSpecProvider;
+
+    /**
+     * Streams the progress of a transfer. A {@code progress} event carrying a {@link TransferProgressDto} is
+     * sent at most once per progress interval while the transfer moves, and once more when it ends, after
+     * which the stream is closed.
+     *
+     * @param id the id of the transfer
+     * @return the {@link SseEmitter} the events are sent through
+     */
+    @GetMapping(value = "/transfers/{id}/progress", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProgress(@PathVariable String id) {
+        var emitter = new SseEmitter(channelSpecProvider.client().progressSubscriptionTimeoutMillis());
+        var listener = new ProgressListener() {
+            @Override
+            public void onProgress(TransferProgressDto event) throws Exception {
+                emitter.send(SseEmitter.event().name("progress").data(event, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onEnd() {
+                emitter.complete();
+            }
+        };
+        progressPublisher.subscribe(id, listener);
+        emitter.onCompletion(() -> progressPublisher.unsubscribe(id, listener));
+        emitter.onTimeout(() -> progressPublisher.unsubscribe(id, listener));
+        emitter.onError(e -> progressPublisher.unsubscribe(id, listener));
+        return emitter;
+    }
+}
@@ -0,0 +1,82 @@
+package com.netty.communication.dedup;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free Bloom filter over SHA-256 digests.
+ * <p>
+ * The digests are already uniformly distributed, so the probe positions are derived directly
+ * from their first two 64-bit words using double hashing. A negative answer is definite;
+ * a positive answer must be confirmed against the {@link OffHeapHashIndex}.
+ */
+public final class BloomFilter {
+    private final AtomicLongArray words;
+    private final long nBits;
+    private final int nHashes;
+
+    /**
+     * Creates a filter sized for the expected number of insertions and false positive rate.
+     *
+     * @param expectedInsertions the expected number of digests
+     * @param falsePositiveRate  the acceptable false positive probability, between 0 and 1
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int nWords = (int) Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE);
+        this.words = new AtomicLongArray(nWords);
+        this.nBits = (long) nWords * Long.SIZE;
+        this.nHashes = Math.max(1, (int) Math.round((double) nBits / Math.max(1, expectedInsertions) * Math.log(2)));
+    }
+
+    /**
+     * Adds a digest to the filter.
+     *
+     * @param hash the digest to add
+     */
+    public void put(byte[] hash) {
+        long h1 = readLong(hash, 0);
+        long h2 = readLong(hash, 8);
+        for (int i = 0; i < nHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, nBits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the digest may have been added.
+     *
+     * @param hash the digest to look up
+     * @return false if the digest was definitely never added, true if it might have been
+     */
+    public boolean mightContain(byte[] hash) {
+        long h1 = readLong(hash, 0);
+        long h2 = readLong(hash, 8);
+        for (int i = 0; i < nHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, nBits);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads a big-endian long from the given byte array.
+     *
+     * @param bytes  the source array
+     * @param offset the offset of the first byte
+     * @return the decoded value
+     */
+    static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xffL);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,120 @@
+package com.netty.communication.dedup;
+
+import com.netty.communication.message.DedupChunkEntry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Splits files into content-defined chunks using a Gear rolling hash.
+ * <p>
+ * A chunk boundary is declared wherever the rolling fingerprint of the most recent bytes
+ * matches a mask, so an insertion or deletion only shifts the boundaries next to it and the
+ * remaining chunks keep their digests. The mask is derived from the average chunk size, and
+ * every chunk is kept between the minimum and maximum sizes.
+ */
+public class ContentDefinedChunker {
+    private static final long[] GEAR = gearTable();
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+
+    private final int minChunkSize;
+    private final int maxChunkSize;
+    private final long mask;
+
+    /**
+     * Creates a chunker with the given size bounds.
+     *
+     * @param minChunkSize the minimum chunk size in bytes
+     * @param avgChunkSize the desired average chunk size in bytes, rounded down to a power of two
+     * @param maxChunkSize the maximum chunk size in bytes
+     */
+    public ContentDefinedChunker(int minChunkSize, int avgChunkSize, int maxChunkSize) {
+        if (minChunkSize <= 0 || minChunkSize > avgChunkSize || avgChunkSize > maxChunkSize) {
+            throw new IllegalArgumentException("Chunk sizes must satisfy 0 < min <= avg <= max.");
+        }
+        this.minChunkSize = minChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        int maskBits = 31 - Integer.numberOfLeadingZeros(avgChunkSize);
+        this.mask = ((1L << maskBits) - 1) << (Long.SIZE - maskBits);
+    }
+
+    /**
+     * Splits the given file into chunks and computes the SHA-256 digest of each one.
+     *
+     * @param file the file to split
+     * @return the chunks of the file in order
+     * @throws IOException if the file cannot be read
+     */
+    public List<DedupChunkEntry> split(Path file) throws IOException {
+        List<DedupChunkEntry> chunks = new ArrayList<>();
+        MessageDigest digest = newDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fingerprint = 0;
+            int chunkLength = 0;
+
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                byte[] bytes = buffer.array();
+                int limit = buffer.limit();
+                int digestFrom = 0;
+
+                for (int i = 0; i < limit; i++) {
+                    fingerprint = (fingerprint << 1) + GEAR[bytes[i] & 0xff];
+                    chunkLength++;
+
+                    if ((chunkLength >= minChunkSize && (fingerprint & mask) == 0) || chunkLength >= maxChunkSize) {
+                        digest.update(bytes, digestFrom, i + 1 - digestFrom);
+                        chunks.add(new DedupChunkEntry(digest.digest(), chunkLength));
+                        digestFrom = i + 1;
+                        fingerprint = 0;
+                        chunkLength = 0;
+                    }
+                }
+                digest.update(bytes, digestFrom, limit - digestFrom);
+                buffer.clear();
+            }
+
+            if (chunkLength > 0) {
+                chunks.add(new DedupChunkEntry(digest.digest(), chunkLength));
+            }
+        }
+        return chunks;
+    }
+
+    /**
+     * Creates a new SHA-256 digest.
+     *
+     * @return a fresh {@link MessageDigest}
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    /**
+     * Builds the Gear table from a fixed seed so that every node computes identical boundaries.
+     *
+     * @return 256 pseudo-random 64-bit values
+     */
+    private static long[] gearTable() {
+        SplittableRandom random = new SplittableRandom(0x5DEECE66DL);
+        long[] table = new long[256];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = random.nextLong();
+        }
+        return table;
+    }
+}
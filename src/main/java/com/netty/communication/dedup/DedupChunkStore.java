@@ -0,0 +1,164 @@
+package com.netty.communication.dedup;
+
+import com.netty.communication.exception.ChunkNotFoundException;
+import com.netty.communication.message.DedupChunkEntry;
+import com.netty.communication.specification.channel.FileServerSpec;
+import com.netty.communication.util.AdvancedFileUtils;
+import io.netty.buffer.ByteBuf;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Server-side store of deduplicated chunks.
+ * <p>
+ * Every chunk is kept once under the server root, in a file named after its SHA-256 digest.
+ * Lookups go through a {@link BloomFilter} first, so the common "not stored" answer for new
+ * data never touches the {@link OffHeapHashIndex}; both are rebuilt from the chunk directory
+ * at startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DedupChunkStore {
+    private static final String CHUNK_DIRECTORY = ".chunks";
+
+    private final FileServerSpec serverSpec;
+
+    private Path chunkRoot;
+    private OffHeapHashIndex index;
+    private BloomFilter bloomFilter;
+
+    /**
+     * Creates the chunk directory if needed and loads the digests of the chunks already stored.
+     *
+     * @throws IOException if the chunk directory cannot be created or listed
+     */
+    @PostConstruct
+    void load() throws IOException {
+        chunkRoot = Path.of(serverSpec.rootPath(), CHUNK_DIRECTORY).normalize();
+        Files.createDirectories(chunkRoot);
+        index = new OffHeapHashIndex(serverSpec.dedupExpectedChunks());
+        bloomFilter = new BloomFilter(serverSpec.dedupExpectedChunks(), serverSpec.dedupBloomFalsePositiveRate());
+
+        try (Stream<Path> files = Files.walk(chunkRoot)) {
+            files.filter(Files::isRegularFile)
+                    .map(path -> path.getFileName().toString())
+                    .filter(name -> name.length() == DedupChunkEntry.HASH_LENGTH * 2)
+                    .forEach(name -> register(HexFormat.of().parseHex(name)));
+        }
+        log.info("Loaded {} deduplicated chunks from {}", index.size(), chunkRoot);
+    }
+
+    /**
+     * Checks whether a chunk with the given digest is stored.
+     *
+     * @param hash the chunk digest
+     * @return true if the chunk is stored
+     */
+    public boolean contains(byte[] hash) {
+        return bloomFilter.mightContain(hash) && index.contains(hash);
+    }
+
+    /**
+     * Stores a chunk after verifying that its contents match the digest.
+     * The chunk is written to a temporary file and moved into place, so readers never see
+     * a partially written chunk.
+     *
+     * @param hash     the digest announced by the client
+     * @param contents the chunk contents
+     * @throws IOException if the chunk cannot be written
+     */
+    public void store(byte[] hash, ByteBuf contents) throws IOException {
+        if (contains(hash)) {
+            return;
+        }
+
+        ByteBuffer bytes = contents.nioBuffer();
+        MessageDigest digest = ContentDefinedChunker.newDigest();
+        digest.update(bytes.duplicate());
+        if (!MessageDigest.isEqual(digest.digest(), hash)) {
+            throw new IllegalArgumentException("The chunk contents do not match the digest " + HexFormat.of().formatHex(hash));
+        }
+
+        Path target = chunkPath(hash);
+        AdvancedFileUtils.makeDirectoriesIfNotExist(target.toString());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        register(hash);
+    }
+
+    /**
+     * Reassembles a file from stored chunks in the given order.
+     * The file is built next to the target and moved into place once complete.
+     *
+     * @param chunks   the chunks of the file in order
+     * @param fileSize the expected size of the file
+     * @param target   the path of the file to create
+     * @throws IOException if a chunk cannot be read or the file cannot be written
+     * @throws ChunkNotFoundException if one of the chunks is not stored
+     */
+    public void assemble(List<DedupChunkEntry> chunks, long fileSize, Path target) throws IOException {
+        for (var chunk : chunks) {
+            if (!contains(chunk.hash())) {
+                throw new ChunkNotFoundException(chunk.hexHash());
+            }
+        }
+
+        AdvancedFileUtils.makeDirectoriesIfNotExist(target.toString());
+        Path temp = Path.of(target + ".dedup.tmp");
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (var chunk : chunks) {
+                try (FileChannel in = FileChannel.open(chunkPath(chunk.hash()), StandardOpenOption.READ)) {
+                    long position = 0;
+                    while (position < in.size()) {
+                        position += in.transferTo(position, in.size() - position, out);
+                    }
+                }
+            }
+            if (out.size() != fileSize) {
+                throw new IllegalStateException("Reassembled " + out.size() + " bytes, expected " + fileSize + ": " + target);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Resolves the file holding the chunk with the given digest.
+     * Chunks are spread over subdirectories named after the first digest byte.
+     *
+     * @param hash the chunk digest
+     * @return the path of the chunk file
+     */
+    Path chunkPath(byte[] hash) {
+        String hex = HexFormat.of().formatHex(hash);
+        return chunkRoot.resolve(hex.substring(0, 2)).resolve(hex);
+    }
+
+    private void register(byte[] hash) {
+        index.add(hash);
+        bloomFilter.put(hash);
+    }
+}
@@ -0,0 +1,17 @@
+package com.netty.communication.dedup;
+
+import com.netty.communication.message.DedupChunkEntry;
+
+import java.util.List;
+
+/**
+ * Client-side state of a deduplicated upload, kept in the session of its connection so that the
+ * server's reply only has to name the chunks it is missing.
+ *
+ * @param sourceFilePath the absolute path of the source file
+ * @param destFilePath   the destination file, relative to the server root
+ * @param fileSize       the size of the source file
+ * @param chunks         the chunks of the source file in order
+ */
+public record DedupUploadState(String sourceFilePath, String destFilePath, long fileSize, List<DedupChunkEntry> chunks) {
+}
@@ -0,0 +1,137 @@
+package com.netty.communication.dedup;
+
+import com.netty.communication.message.DedupChunkEntry;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An open-addressing set of SHA-256 digests stored in a direct {@link ByteBuffer}.
+ * <p>
+ * Keeping millions of digests off-heap avoids one {@code byte[]} and one map entry per chunk
+ * on the Java heap. Slots are probed linearly and an all-zero slot marks an empty entry,
+ * which is safe because no real SHA-256 digest is all zeros. The table doubles once it is
+ * three quarters full.
+ */
+public final class OffHeapHashIndex {
+    private static final int SLOT_SIZE = DedupChunkEntry.HASH_LENGTH;
+    private static final int MAX_CAPACITY = 1 << 25; // 1 GiB of 32-byte slots, the largest direct buffer that fits
+
+    private ByteBuffer table;
+    private int capacity;
+    private int size;
+
+    /**
+     * Creates an index able to hold the given number of digests before it has to grow.
+     *
+     * @param initialCapacity the expected number of digests
+     */
+    public OffHeapHashIndex(int initialCapacity) {
+        this.capacity = tableCapacityFor(initialCapacity);
+        this.table = ByteBuffer.allocateDirect(capacity * SLOT_SIZE);
+    }
+
+    /**
+     * Checks whether the digest is stored in the index.
+     *
+     * @param hash the digest to look up
+     * @return true if the digest is present
+     */
+    public synchronized boolean contains(byte[] hash) {
+        return findSlot(table, capacity, hash) >= 0;
+    }
+
+    /**
+     * Adds the digest to the index.
+     *
+     * @param hash the digest to add
+     * @return true if the digest was not present before
+     */
+    public synchronized boolean add(byte[] hash) {
+        if (findSlot(table, capacity, hash) >= 0) {
+            return false;
+        }
+        if ((size + 1) * 4L > capacity * 3L) {
+            grow();
+        }
+        insert(table, capacity, hash);
+        size++;
+        return true;
+    }
+
+    /**
+     * Returns the number of digests in the index.
+     *
+     * @return the number of stored digests
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Doubles the table and re-inserts every stored digest.
+     */
+    private void grow() {
+        if (capacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("The chunk index cannot grow beyond " + MAX_CAPACITY + " entries.");
+        }
+        int newCapacity = capacity << 1;
+        ByteBuffer newTable = ByteBuffer.allocateDirect(newCapacity * SLOT_SIZE);
+        byte[] hash = new byte[SLOT_SIZE];
+        for (int slot = 0; slot < capacity; slot++) {
+            if (!isEmpty(table, slot)) {
+                table.get(slot * SLOT_SIZE, hash);
+                insert(newTable, newCapacity, hash);
+            }
+        }
+        table = newTable;
+        capacity = newCapacity;
+    }
+
+    private static void insert(ByteBuffer table, int capacity, byte[] hash) {
+        int slot = homeSlot(hash, capacity);
+        while (!isEmpty(table, slot)) {
+            slot = (slot + 1) & (capacity - 1);
+        }
+        table.put(slot * SLOT_SIZE, hash);
+    }
+
+    private static int findSlot(ByteBuffer table, int capacity, byte[] hash) {
+        int slot = homeSlot(hash, capacity);
+        while (!isEmpty(table, slot)) {
+            if (matches(table, slot, hash)) {
+                return slot;
+            }
+            slot = (slot + 1) & (capacity - 1);
+        }
+        return -1;
+    }
+
+    private static int homeSlot(byte[] hash, int capacity) {
+        return (int) (BloomFilter.readLong(hash, 16) & (capacity - 1));
+    }
+
+    private static boolean isEmpty(ByteBuffer table, int slot) {
+        int base = slot * SLOT_SIZE;
+        for (int i = 0; i < SLOT_SIZE; i += Long.BYTES) {
+            if (table.getLong(base + i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(ByteBuffer table, int slot, byte[] hash) {
+        int base = slot * SLOT_SIZE;
+        for (int i = 0; i < SLOT_SIZE; i += Long.BYTES) {
+            if (table.getLong(base + i) != BloomFilter.readLong(hash, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int tableCapacityFor(int expectedEntries) {
+        int required = (int) Math.min(MAX_CAPACITY, Math.max(16, expectedEntries * 4L / 3 + 1));
+        return Integer.highestOneBit(required - 1) << 1;
+    }
+}
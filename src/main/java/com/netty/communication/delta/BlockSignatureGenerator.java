@@ -0,0 +1,151 @@
+package com.netty.communication.delta;
+
+import com.netty.communication.message.DeltaBlockSignature;
+import com.netty.communication.specification.channel.FileServerSpec;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the block signatures of the receiver's copy of a file for a delta transfer.
+ * <p>
+ * The file is cut into fixed-size blocks; a trailing partial block is not signed and is always
+ * sent as literal data. The blocks are divided into contiguous segments that are read and hashed
+ * in parallel, each with its own positional reads, so large files use every core.
+ * All connections share the generator and its threads.
+ */
+@Component
+public class BlockSignatureGenerator {
+    private static final int BLOCKS_PER_READ = 64;
+
+    private final int minBlockSize;
+    private final int maxBlockSize;
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a generator with the block size bounds and parallelism of the server.
+     *
+     * @param serverSpec the file server configuration
+     */
+    public BlockSignatureGenerator(FileServerSpec serverSpec) {
+        this.minBlockSize = serverSpec.deltaMinBlockSize();
+        this.maxBlockSize = serverSpec.deltaMaxBlockSize();
+        this.pool = new ForkJoinPool(serverSpec.deltaSignatureParallelism());
+    }
+
+    /**
+     * Shuts down the threads computing signatures.
+     */
+    @PreDestroy
+    void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Chooses the block size for a file, close to the square root of its size as rsync does,
+     * rounded to a multiple of 1 KB and kept within the configured bounds.
+     *
+     * @param fileSize the size of the receiver's copy
+     * @return the block size in bytes
+     */
+    public int blockSizeFor(long fileSize) {
+        long blockSize = ((long) Math.sqrt(fileSize) + 1023) / 1024 * 1024;
+        return (int) Math.max(minBlockSize, Math.min(maxBlockSize, blockSize));
+    }
+
+    /**
+     * Computes the signatures of all full blocks of the given file.
+     *
+     * @param file      the receiver's copy of the file
+     * @param blockSize the block size in bytes
+     * @return the signatures in block order, or an empty list if the file does not exist
+     * @throws IOException if the file cannot be read
+     */
+    public List<DeltaBlockSignature> generate(Path file, int blockSize) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return Collections.emptyList();
+        }
+
+        int nBlocks = (int) (Files.size(file) / blockSize);
+        int nSegments = Math.max(1, Math.min(nBlocks, pool.getParallelism() * 4));
+        int blocksPerSegment = (nBlocks + nSegments - 1) / Math.max(1, nSegments);
+
+        try {
+            List<List<DeltaBlockSignature>> segments = pool.submit(() -> IntStream.range(0, nSegments)
+                    .parallel()
+                    .mapToObj(segment -> signSegment(file, blockSize, segment * blocksPerSegment,
+                            Math.min(nBlocks, (segment + 1) * blocksPerSegment)))
+                    .toList()).get();
+
+            List<DeltaBlockSignature> signatures = new ArrayList<>(nBlocks);
+            segments.forEach(signatures::addAll);
+            return signatures;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while computing block signatures: " + file, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            throw new IOException("Failed to compute block signatures: " + file, e.getCause());
+        }
+    }
+
+    /**
+     * Computes the signatures of the blocks in {@code [fromBlock, toBlock)}.
+     */
+    private static List<DeltaBlockSignature> signSegment(Path file, int blockSize, int fromBlock, int toBlock) {
+        List<DeltaBlockSignature> signatures = new ArrayList<>(Math.max(0, toBlock - fromBlock));
+        MessageDigest md5 = newStrongDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(blockSize * BLOCKS_PER_READ);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (int block = fromBlock; block < toBlock; block += BLOCKS_PER_READ) {
+                int nBlocks = Math.min(BLOCKS_PER_READ, toBlock - block);
+                buffer.clear().limit(nBlocks * blockSize);
+                long position = (long) block * blockSize;
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        throw new IOException("The file shrank while computing signatures: " + file);
+                    }
+                }
+                byte[] bytes = buffer.array();
+                for (int i = 0; i < nBlocks; i++) {
+                    md5.update(bytes, i * blockSize, blockSize);
+                    signatures.add(new DeltaBlockSignature(RollingChecksum.of(bytes, i * blockSize, blockSize), md5.digest()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return signatures;
+    }
+
+    /**
+     * Creates a new digest for strong block signatures.
+     *
+     * @return a fresh MD5 {@link MessageDigest}
+     */
+    static MessageDigest newStrongDigest() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available.", e);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.netty.communication.delta;
+
+import com.netty.communication.dedup.ContentDefinedChunker;
+import com.netty.communication.message.DeltaBlockSignature;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the delta between the sender's file and the receiver's block signatures.
+ * <p>
+ * The sender slides a window of one block over its file one byte at a time. Wherever the weak
+ * checksum of the window matches a signature and the strong digest confirms it, the receiver
+ * already holds the bytes and a block reference is emitted; all other bytes are emitted as literal
+ * ranges of the source file. Adjacent references are merged into runs. The whole-file SHA-256 is
+ * computed during the same single pass so that the receiver can verify the reconstruction.
+ */
+public class DeltaGenerator {
+    private static final int MIN_BUFFER_SIZE = 1024 * 1024 * 4;
+
+    /**
+     * Receives the operations of a delta in file order.
+     */
+    public interface Listener {
+
+        /**
+         * Called for a range of the source file the receiver does not have.
+         *
+         * @param offset the offset of the range in the source file
+         * @param length the length of the range
+         * @throws IOException if the operation cannot be handled
+         */
+        void literal(long offset, long length) throws IOException;
+
+        /**
+         * Called for a run of consecutive blocks of the receiver's copy.
+         *
+         * @param blockIndex the index of the first block
+         * @param blockCount the number of blocks
+         * @throws IOException if the operation cannot be handled
+         */
+        void copy(long blockIndex, int blockCount) throws IOException;
+    }
+
+    /**
+     * Computes the delta of the given file and reports it to the listener.
+     *
+     * @param source     the sender's file
+     * @param signatures the signatures of the receiver's copy
+     * @param blockSize  the block size the signatures were computed with
+     * @param listener   the listener receiving the delta operations
+     * @return the SHA-256 digest of the whole source file
+     * @throws IOException if the source file cannot be read
+     */
+    public byte[] generate(Path source, List<DeltaBlockSignature> signatures, int blockSize, Listener listener)
+            throws IOException {
+        var index = new SignatureIndex(signatures);
+        var fileDigest = ContentDefinedChunker.newDigest();
+        var strongDigest = BlockSignatureGenerator.newStrongDigest();
+        var checksum = new RollingChecksum(blockSize);
+        var run = new CopyRun(listener);
+
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            var window = new Window(channel, Math.max(MIN_BUFFER_SIZE, blockSize * 4), fileDigest);
+
+            long position = 0;
+            long literalStart = 0;
+            boolean fresh = true;
+            while (!signatures.isEmpty() && position + blockSize <= size) {
+                window.ensure(position, (int) Math.min(blockSize + 1L, size - position));
+                if (fresh) {
+                    checksum.reset(window.buffer, window.offset(position), blockSize);
+                    fresh = false;
+                }
+
+                int block = index.find(checksum.value(), window.buffer, window.offset(position), blockSize, strongDigest);
+                if (block >= 0) {
+                    if (literalStart < position) {
+                        run.flush();
+                        listener.literal(literalStart, position - literalStart);
+                    }
+                    run.add(block);
+                    position += blockSize;
+                    literalStart = position;
+                    fresh = true;
+                    continue;
+                }
+
+                if (position + blockSize < size) {
+                    checksum.roll(window.byteAt(position), window.byteAt(position + blockSize));
+                }
+                position++;
+            }
+
+            run.flush();
+            if (literalStart < size) {
+                listener.literal(literalStart, size - literalStart);
+            }
+            window.drain();
+        }
+        return fileDigest.digest();
+    }
+
+    /**
+     * Looks up blocks by weak checksum, with a 16-bit tag table to reject most misses cheaply.
+     */
+    private static final class SignatureIndex {
+        private final long[] tags = new long[(1 << 16) / Long.SIZE];
+        private final Map<Integer, List<Integer>> blocks = new HashMap<>();
+        private final List<DeltaBlockSignature> signatures;
+
+        SignatureIndex(List<DeltaBlockSignature> signatures) {
+            this.signatures = signatures;
+            for (int i = 0; i < signatures.size(); i++) {
+                int weak = signatures.get(i).weak();
+                int tag = tag(weak);
+                tags[tag >>> 6] |= 1L << tag;
+                blocks.computeIfAbsent(weak, key -> new ArrayList<>(1)).add(i);
+            }
+        }
+
+        int find(int weak, byte[] bytes, int offset, int length, MessageDigest strongDigest) {
+            int tag = tag(weak);
+            if ((tags[tag >>> 6] & (1L << tag)) == 0) {
+                return -1;
+            }
+            var candidates = blocks.get(weak);
+            if (candidates == null) {
+                return -1;
+            }
+            strongDigest.update(bytes, offset, length);
+            byte[] strong = strongDigest.digest();
+            for (int candidate : candidates) {
+                if (MessageDigest.isEqual(strong, signatures.get(candidate).strong())) {
+                    return candidate;
+                }
+            }
+            return -1;
+        }
+
+        private static int tag(int weak) {
+            return (weak ^ (weak >>> 16)) & 0xffff;
+        }
+    }
+
+    /**
+     * Merges consecutive block references into a single copy operation.
+     */
+    private static final class CopyRun {
+        private final Listener listener;
+        private long first = -1;
+        private int count;
+
+        CopyRun(Listener listener) {
+            this.listener = listener;
+        }
+
+        void add(int block) throws IOException {
+            if (count > 0 && first + count == block) {
+                count++;
+                return;
+            }
+            flush();
+            first = block;
+            count = 1;
+        }
+
+        void flush() throws IOException {
+            if (count > 0) {
+                listener.copy(first, count);
+                count = 0;
+            }
+        }
+    }
+
+    /**
+     * A sliding view of the source file. Bytes are read strictly sequentially and fed to the
+     * whole-file digest as they are read.
+     */
+    private static final class Window {
+        private final FileChannel channel;
+        private final MessageDigest digest;
+        private final byte[] buffer;
+        private long start;
+        private int length;
+        private boolean eof;
+
+        Window(FileChannel channel, int capacity, MessageDigest digest) {
+            this.channel = channel;
+            this.digest = digest;
+            this.buffer = new byte[capacity];
+        }
+
+        /**
+         * Makes sure that {@code [position, position + needed)} is in the buffer.
+         */
+        void ensure(long position, int needed) throws IOException {
+            if (position + needed <= start + length) {
+                return;
+            }
+            int keep = (int) (start + length - position);
+            System.arraycopy(buffer, (int) (position - start), buffer, 0, keep);
+            start = position;
+            length = keep;
+            while (length < needed && fill()) {
+                // keep reading until the window is complete
+            }
+            if (length < needed) {
+                throw new IOException("The source file shrank while computing the delta.");
+            }
+        }
+
+        int offset(long position) {
+            return (int) (position - start);
+        }
+
+        byte byteAt(long position) {
+            return buffer[(int) (position - start)];
+        }
+
+        /**
+         * Reads the rest of the file so that the digest covers every byte.
+         */
+        void drain() throws IOException {
+            start += length;
+            length = 0;
+            while (fill()) {
+                start += length;
+                length = 0;
+            }
+        }
+
+        private boolean fill() throws IOException {
+            if (eof || length == buffer.length) {
+                return false;
+            }
+            int read = channel.read(ByteBuffer.wrap(buffer, length, buffer.length - length));
+            if (read < 0) {
+                eof = true;
+                return false;
+            }
+            digest.update(buffer, length, read);
+            length += read;
+            return true;
+        }
+    }
+}
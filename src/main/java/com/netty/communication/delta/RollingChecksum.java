@@ -0,0 +1,77 @@
+package com.netty.communication.delta;
+
+/**
+ * The weak rolling checksum used to find matching blocks in a delta transfer.
+ * <p>
+ * This is the Adler-style checksum of rsync: {@code a} is the sum of the bytes in the window
+ * and {@code b} the sum of the running values of {@code a}, both modulo 2<sup>16</sup>. Moving the
+ * window by one byte updates both in constant time.
+ */
+public final class RollingChecksum {
+    private final int blockSize;
+    private int a;
+    private int b;
+
+    /**
+     * Creates a checksum for windows of the given size.
+     *
+     * @param blockSize the window size in bytes
+     */
+    public RollingChecksum(int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Computes the checksum of a full window from scratch.
+     *
+     * @param bytes  the buffer holding the window
+     * @param offset the offset of the first byte of the window
+     * @param length the window length, at most the block size
+     */
+    public void reset(byte[] bytes, int offset, int length) {
+        a = 0;
+        b = 0;
+        for (int i = 0; i < length; i++) {
+            int value = bytes[offset + i] & 0xff;
+            a += value;
+            b += (length - i) * value;
+        }
+        a &= 0xffff;
+        b &= 0xffff;
+    }
+
+    /**
+     * Slides the window forward by one byte.
+     *
+     * @param outgoing the byte leaving the window
+     * @param incoming the byte entering the window
+     */
+    public void roll(byte outgoing, byte incoming) {
+        int out = outgoing & 0xff;
+        a = (a - out + (incoming & 0xff)) & 0xffff;
+        b = (b - blockSize * out + a) & 0xffff;
+    }
+
+    /**
+     * Returns the current checksum value.
+     *
+     * @return the checksum, with {@code b} in the high and {@code a} in the low 16 bits
+     */
+    public int value() {
+        return (b << 16) | a;
+    }
+
+    /**
+     * Computes the checksum of a single block.
+     *
+     * @param bytes  the buffer holding the block
+     * @param offset the offset of the first byte of the block
+     * @param length the block length
+     * @return the checksum value
+     */
+    public static int of(byte[] bytes, int offset, int length) {
+        RollingChecksum checksum = new RollingChecksum(length);
+        checksum.reset(bytes, offset, length);
+        return checksum.value();
+    }
+}
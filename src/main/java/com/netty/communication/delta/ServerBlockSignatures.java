@@ -0,0 +1,17 @@
+package com.netty.communication.delta;
+
+import com.netty.communication.message.DeltaBlockSignature;
+
+import java.util.List;
+
+/**
+ * Block signatures of the server's copy of a file for a delta upload, attached to the session of
+ * its connection by the {@link com.netty.communication.handler.inbound.DeltaSignatureLoader}
+ * until the signature request is answered.
+ *
+ * @param destFilePath the destination file, relative to the server root
+ * @param blockSize    the block size the signatures were computed with
+ * @param signatures   the signatures in block order, empty if the server has no copy
+ */
+public record ServerBlockSignatures(String destFilePath, int blockSize, List<DeltaBlockSignature> signatures) {
+}
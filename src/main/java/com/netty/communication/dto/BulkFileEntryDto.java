@@ -0,0 +1,19 @@
+package com.netty.communication.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+/**
+ * Data Transfer Object (DTO) representing one file of a bulk upload:
+ * the local source file and its destination on the remote server.
+ */
+@RequiredArgsConstructor
+@Getter
+@ToString
+@Accessors(fluent = true)
+public class BulkFileEntryDto {
+    private final String source;
+    private final String destination;
+}
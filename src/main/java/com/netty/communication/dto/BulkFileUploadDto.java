@@ -0,0 +1,23 @@
+package com.netty.communication.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for specifying a bulk upload of many files to one remote server.
+ * With {@code preserveTimes} the uploaded files keep the modification times of their sources.
+ */
+@RequiredArgsConstructor
+@Getter
+@ToString
+@Accessors(fluent = true)
+public class BulkFileUploadDto {
+    private final String ip;
+    private final int port;
+    private final List<BulkFileEntryDto> files;
+    private final boolean preserveTimes;
+}
@@ -0,0 +1,19 @@
+package com.netty.communication.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for the aggregated result of a bulk upload.
+ * Contains the number of failed files and the status of every file, in the order of the request.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class BulkUploadResultDto {
+    private final int failed;
+    private final List<FileStatusDto> files;
+}
@@ -0,0 +1,25 @@
+package com.netty.communication.dto;
+
+import com.netty.communication.metrics.TcpInfoSample;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Data Transfer Object (DTO) for the stats of an open connection.
+ * Contains the role and the addresses of the connection, its traffic, whether a chunk stream is being sent on
+ * it, and the latest TCP_INFO sample of the kernel, which is null on the NIO transport and before the first
+ * sample.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class ConnectionStatsDto {
+    private final String role;
+    private final String local;
+    private final String remote;
+    private final long bytesIn;
+    private final long bytesOut;
+    private final boolean transferring;
+    private final TcpInfoSample tcpInfo;
+}
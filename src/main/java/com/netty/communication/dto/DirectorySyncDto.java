@@ -0,0 +1,22 @@
+package com.netty.communication.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+/**
+ * Data Transfer Object (DTO) for specifying a directory sync.
+ * The local source directory is compared with the destination directory on the remote server,
+ * and the files that differ are uploaded. With {@code contentHash} files are also compared by contents,
+ * not only by size and modification time.
+ */
+@RequiredArgsConstructor
+@Getter
+@ToString
+@Accessors(fluent = true)
+public class DirectorySyncDto {
+    private final LocalFileDto source;
+    private final RemoteFileDto destination;
+    private final boolean contentHash;
+}
@@ -0,0 +1,22 @@
+package com.netty.communication.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for the result of a directory sync.
+ * Contains the number of files compared, the number of files that differed and were transferred,
+ * the number of transfers that failed, and the status of every transferred file.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class DirectorySyncResultDto {
+    private final int compared;
+    private final int changed;
+    private final int failed;
+    private final List<FileStatusDto> files;
+}
@@ -8,7 +8,8 @@ import lombok.experimental.Accessors;
 /**
  * Data Transfer Object (DTO) for specifying the details of a file download operation.
  * Contains information about the source file on the remote server and the destination
- * file on the local system.
+ * file on the local system, and optionally the time in milliseconds the client waits for the
+ * download before cancelling it.
  */
 @RequiredArgsConstructor
 @Getter
@@ -17,4 +18,5 @@ import lombok.experimental.Accessors;
 public class FileDownloadDto {
     private final RemoteFileDto source;
     private final LocalFileDto destination;
+    private final Long timeoutMillis;
 }
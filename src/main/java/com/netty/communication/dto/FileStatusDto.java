@@ -0,0 +1,18 @@
+package com.netty.communication.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Data Transfer Object (DTO) for the outcome of transferring one file of a bulk request.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class FileStatusDto {
+    private final String source;
+    private final String destination;
+    private final int errorNo;
+    private final String errorMessage;
+}
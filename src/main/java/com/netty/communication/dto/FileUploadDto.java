@@ -6,7 +6,8 @@ import lombok.experimental.Accessors;
 
 /**
  * Data Transfer Object (DTO) for specifying the details of a file upload operation.
- * Contains information about the local source file and the destination on the remote server.
+ * Contains information about the local source file and the destination on the remote server,
+ * and optionally the time in milliseconds the client waits for the upload before cancelling it.
  */
 @RequiredArgsConstructor
 @Getter
@@ -14,4 +15,5 @@ import lombok.experimental.Accessors;
 public class FileUploadDto {
     private final LocalFileDto source;
     private final RemoteFileDto destination;
+    private final Long timeoutMillis;
 }
@@ -0,0 +1,24 @@
+package com.netty.communication.dto;
+
+import com.netty.communication.trace.Span;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for the latency breakdown of a traced transfer.
+ * Contains the number of attempts, the total time the client spent on them, the parts that time splits
+ * into, and the merged spans of the client and the server the breakdown was computed from.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class LatencyBreakdownDto {
+    private final String traceId;
+    private final int attempts;
+    private final long totalMicros;
+    private final List<LatencySegmentDto> segments;
+    private final List<Span> spans;
+}
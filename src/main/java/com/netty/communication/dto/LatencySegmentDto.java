@@ -0,0 +1,17 @@
+package com.netty.communication.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Data Transfer Object (DTO) for one part of the latency of a traced transfer.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class LatencySegmentDto {
+    private final String name;
+    private final long micros;
+    private final double percent;
+}
@@ -0,0 +1,19 @@
+package com.netty.communication.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Data Transfer Object (DTO) for the result of a striped transfer.
+ * Contains the size of the file, the number of stripes it was transferred in and the achieved throughput.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class StripedTransferResultDto {
+    private final long size;
+    private final int stripes;
+    private final long elapsedMillis;
+    private final long bytesPerSecond;
+}
@@ -0,0 +1,27 @@
+package com.netty.communication.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for submitting many transfer jobs at once, to any number of servers.
+ */
+@Getter
+@ToString
+@Accessors(fluent = true)
+public class TransferJobBatchDto {
+    private final List<TransferJobDto> jobs;
+
+    /**
+     * Constructs a {@link TransferJobBatchDto} with the specified jobs.
+     *
+     * @param jobs the jobs to submit
+     */
+    public TransferJobBatchDto(@JsonProperty("jobs") List<TransferJobDto> jobs) {
+        this.jobs = jobs;
+    }
+}
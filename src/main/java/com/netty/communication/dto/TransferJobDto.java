@@ -0,0 +1,25 @@
+package com.netty.communication.dto;
+
+import com.netty.communication.job.TransferJobType;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.Accessors;
+
+/**
+ * Data Transfer Object (DTO) for specifying one transfer job: the direction of the transfer,
+ * the file on the remote server and the local file, optionally the time in milliseconds the transfer
+ * may run once it has started, and its priority among the jobs queued for the same server.
+ * Jobs with a higher priority start first; jobs of equal priority start in the order of submission.
+ */
+@RequiredArgsConstructor
+@Getter
+@ToString
+@Accessors(fluent = true)
+public class TransferJobDto {
+    private final TransferJobType type;
+    private final RemoteFileDto remote;
+    private final LocalFileDto local;
+    private final Long timeoutMillis;
+    private final int priority;
+}
@@ -0,0 +1,37 @@
+package com.netty.communication.dto;
+
+import com.netty.communication.job.TransferJobState;
+import com.netty.communication.job.TransferJobType;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Data Transfer Object (DTO) for the status of a transfer job.
+ * Contains the job's specification, its state, the number of bytes transferred so far and the size of the
+ * file once it is known (-1 before), the number of submissions coalesced into the job, and the times of
+ * submission, start and end in epoch milliseconds (0 until they happen). A finished job carries its result,
+ * or the error number and message that failed it.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class TransferJobStatusDto {
+    private final String id;
+    private final TransferJobType type;
+    private final String ip;
+    private final int port;
+    private final String remoteFile;
+    private final String localFile;
+    private final int priority;
+    private final TransferJobState state;
+    private final long transferredBytes;
+    private final long totalBytes;
+    private final int submissions;
+    private final long submittedAt;
+    private final long startedAt;
+    private final long finishedAt;
+    private final TransferResultDto result;
+    private final int errorNo;
+    private final String errorMessage;
+}
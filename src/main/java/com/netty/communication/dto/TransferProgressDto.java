@@ -0,0 +1,24 @@
+package com.netty.communication.dto;
+
+import com.netty.communication.transfer.TransferStage;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Data Transfer Object (DTO) for a progress event of a transfer.
+ * Contains the stage of the transfer, the number of bytes transferred so far and the size of the transfer
+ * once it is known (-1 before), the recent rate in bytes per second, and the estimated time until the
+ * transfer ends in milliseconds (-1 while it cannot be estimated).
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class TransferProgressDto {
+    private final String id;
+    private final TransferStage stage;
+    private final long transferredBytes;
+    private final long totalBytes;
+    private final long bytesPerSecond;
+    private final long etaMillis;
+}
@@ -0,0 +1,19 @@
+package com.netty.communication.dto;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Data Transfer Object (DTO) for the result of a file transfer.
+ * Contains the transferred file, its size and the achieved throughput.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class TransferResultDto {
+    private final String file;
+    private final long size;
+    private final long elapsedMillis;
+    private final long bytesPerSecond;
+}
@@ -1,9 +1,11 @@
 package com.netty.communication.eventloop;
 
 import com.netty.communication.specification.channel.FileClientSpec;
+import com.netty.communication.specification.channel.TransportSpec;
+import com.netty.communication.util.TransportUtils;
 import io.netty.channel.DefaultEventLoopGroup;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
@@ -11,10 +13,16 @@ import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Manages the lifecycle of Netty's {@link EventLoopGroup} instances used for handling client file operations.
  * This component sets up two event loop groups: one for I/O operations and another for file storage operations.
+ * <p>
+ * It also owns a fixed pool of threads that read the sources of byte stream uploads, such as HTTP request
+ * bodies. Those reads may block for as long as the peer takes to send, so they never run on the file storage
+ * group, whose loops would stall every store queued behind them.
  */
 @Component
 @Accessors(fluent = true)
@@ -23,25 +31,36 @@ public class ClientEventLoopGroupManager {
 
     private final FileClientSpec clientSpec;
 
+    private final TransportSpec transportSpec;
+
     @Getter
     private EventLoopGroup channelIo;
 
     @Getter
     private EventLoopGroup fireStore;
 
+    @Getter
+    private ExecutorService streamSource;
+
     /**
      * Initializes the event loop groups based on the configuration provided by {@link FileClientSpec}.
-     * One group is initialized for handling I/O operations and the other for file storage.
+     * One group is initialized for handling I/O operations and the other for file storage; the threads reading
+     * stream sources are bounded by {@link FileClientSpec#nStreamSourceMaxThread()}.
+     * The I/O group uses the native epoll transport if {@link TransportSpec} asks for it and it is available.
      */
     @PostConstruct
     void setUp() {
-        channelIo = new NioEventLoopGroup(clientSpec.nChannelIoMaxThread());
+        channelIo = TransportUtils.newIoGroup(TransportUtils.useEpoll(transportSpec.nativeTransport()),
+                clientSpec.nChannelIoMaxThread());
         fireStore = new DefaultEventLoopGroup(clientSpec.nFileStoreMaxThread());
+        streamSource = Executors.newFixedThreadPool(clientSpec.nStreamSourceMaxThread(),
+                new DefaultThreadFactory("stream-source", true));
     }
 
     /**
      * Gracefully shuts down the event loop groups when the application context is destroyed.
-     * This ensures all ongoing operations are completed before the shutdown.
+     * This ensures all ongoing operations are completed before the shutdown. The threads reading stream
+     * sources are interrupted, since a source may never be read to its end.
      *
      * @throws InterruptedException if the shutdown process is interrupted
      */
@@ -49,5 +68,6 @@ public class ClientEventLoopGroupManager {
     void tearDown() throws InterruptedException {
         channelIo.shutdownGracefully().sync();
         fireStore.shutdownGracefully().sync();
+        streamSource.shutdownNow();
     }
 }
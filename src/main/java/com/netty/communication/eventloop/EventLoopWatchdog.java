@@ -0,0 +1,217 @@
+package com.netty.communication.eventloop;
+
+import com.netty.communication.metrics.ChannelRole;
+import com.netty.communication.metrics.LatencyHistogram;
+import com.netty.communication.specification.channel.EventLoopWatchdogSpec;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Watches the I/O event loops of the client and the server for tasks that block them.
+ * <p>
+ * Every probe interval, the watchdog's thread posts a heartbeat task to each loop that has none pending. The
+ * time from posting a heartbeat to its run is the latency a task of the loop sees, and is recorded per loop.
+ * A heartbeat that has not run after the stall threshold means the loop is stalled, usually by a blocking
+ * call on its thread: the stall is counted, and the stack of the loop's thread is logged while the loop is
+ * still stuck, so the log shows the offending call. A stall is counted once however long it lasts; its
+ * length is known and logged once the heartbeat finally runs.
+ * <p>
+ * The store loops are not watched, since blocking file writes are what they are for.
+ */
+@Slf4j
+@Component
+public class EventLoopWatchdog {
+    private final EventLoopWatchdogSpec spec;
+    private final ClientEventLoopGroupManager clientEventLoopGroupManager;
+    private final ServerEventLoopGroupManager serverEventLoopGroupManager;
+    private final List<LoopProbe> probes = new ArrayList<>();
+    private ScheduledExecutorService monitor;
+    private long stallThresholdNanos;
+
+    public EventLoopWatchdog(EventLoopWatchdogSpec spec, ClientEventLoopGroupManager clientEventLoopGroupManager,
+                             ServerEventLoopGroupManager serverEventLoopGroupManager) {
+        this.spec = spec;
+        this.clientEventLoopGroupManager = clientEventLoopGroupManager;
+        this.serverEventLoopGroupManager = serverEventLoopGroupManager;
+    }
+
+    /**
+     * Starts watching the loops, unless the watchdog is disabled.
+     */
+    @PostConstruct
+    void setUp() {
+        if (!spec.enabled()) {
+            return;
+        }
+        stallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(spec.stallThresholdMillis());
+        watch(ChannelRole.CLIENT, "io", clientEventLoopGroupManager.channelIo());
+        watch(ChannelRole.SERVER, "boss", serverEventLoopGroupManager.boss());
+        watch(ChannelRole.SERVER, "io", serverEventLoopGroupManager.channelIo());
+        monitor = Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("event-loop-watchdog", true));
+        monitor.scheduleWithFixedDelay(this::check, spec.probeIntervalMillis(), spec.probeIntervalMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void tearDown() {
+        if (monitor != null) {
+            monitor.shutdown();
+        }
+    }
+
+    /**
+     * Returns the task latencies and stalls of the watched loops.
+     *
+     * @return a snapshot per loop
+     */
+    public List<LoopStats> stats() {
+        return probes.stream().map(LoopProbe::stats).toList();
+    }
+
+    private void watch(ChannelRole role, String group, EventLoopGroup loops) {
+        int index = 0;
+        for (EventExecutor loop : loops) {
+            probes.add(new LoopProbe(role, group, index++, loop));
+        }
+    }
+
+    /**
+     * Posts the heartbeats and reports the stalled loops. Runs on the monitor thread only.
+     */
+    private void check() {
+        try {
+            long now = System.nanoTime();
+            for (var probe : probes) {
+                var heartbeat = probe.pending;
+                if (heartbeat == null) {
+                    probe.post(now);
+                } else if (now - heartbeat.postedNanos > stallThresholdNanos && heartbeat.stalled.compareAndSet(false, true)) {
+                    probe.stalls.increment();
+                    reportStall(probe, heartbeat, now);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to check the event loops.", e);
+        }
+    }
+
+    private static void reportStall(LoopProbe probe, Heartbeat heartbeat, long now) {
+        var thread = probe.thread;
+        if (thread == null) {
+            log.warn("Event loop {} has not run a task for {} ms.", probe.name(),
+                    TimeUnit.NANOSECONDS.toMillis(now - heartbeat.postedNanos));
+            return;
+        }
+        var stack = thread.getStackTrace();
+        if (probe.pending != heartbeat) {
+            return; // the loop has caught up while the stack was taken, so the stack would not show the stall
+        }
+        var trace = new StringBuilder();
+        for (var frame : stack) {
+            trace.append("\n\tat ").append(frame);
+        }
+        log.warn("Event loop {} ({}) has been blocked for {} ms:{}", probe.name(), thread.getName(),
+                TimeUnit.NANOSECONDS.toMillis(now - heartbeat.postedNanos), trace);
+    }
+
+    /**
+     * A heartbeat task posted to a loop.
+     */
+    private static final class Heartbeat {
+        private final long postedNanos;
+        private final AtomicBoolean stalled = new AtomicBoolean();
+
+        private Heartbeat(long postedNanos) {
+            this.postedNanos = postedNanos;
+        }
+    }
+
+    /**
+     * The heartbeats and the measurements of one loop.
+     */
+    private final class LoopProbe {
+        private final ChannelRole role;
+        private final String group;
+        private final int index;
+        private final EventExecutor loop;
+        private final LatencyHistogram taskLatency = new LatencyHistogram();
+        private final LongAdder stalls = new LongAdder();
+        private volatile Heartbeat pending;
+        private volatile Thread thread;
+        private volatile long longestStallNanos;
+
+        private LoopProbe(ChannelRole role, String group, int index, EventExecutor loop) {
+            this.role = role;
+            this.group = group;
+            this.index = index;
+            this.loop = loop;
+        }
+
+        private void post(long now) {
+            var heartbeat = new Heartbeat(now);
+            pending = heartbeat;
+            try {
+                loop.execute(() -> beat(heartbeat));
+            } catch (RejectedExecutionException e) {
+                pending = null; // the loop is shutting down
+            }
+        }
+
+        /**
+         * Runs on the loop.
+         */
+        private void beat(Heartbeat heartbeat) {
+            long latency = System.nanoTime() - heartbeat.postedNanos;
+            thread = Thread.currentThread();
+            taskLatency.record(latency);
+            if (latency > stallThresholdNanos) {
+                if (heartbeat.stalled.compareAndSet(false, true)) {
+                    stalls.increment(); // ended before the monitor saw it
+                }
+                longestStallNanos = Math.max(longestStallNanos, latency);
+                log.warn("Event loop {} ({}) was blocked for {} ms.", name(), thread.getName(),
+                        TimeUnit.NANOSECONDS.toMillis(latency));
+            }
+            pending = null;
+        }
+
+        private String name() {
+            return role.label() + "/" + group + "/" + index;
+        }
+
+        private LoopStats stats() {
+            var current = thread;
+            return new LoopStats(role, group, index, current != null ? current.getName() : null,
+                    taskLatency.snapshot(), stalls.sum(), longestStallNanos);
+        }
+    }
+
+    /**
+     * The measurements of a watched loop.
+     *
+     * @param role              whether the loop belongs to the client or the server
+     * @param group             the event loop group of the loop
+     * @param index             the position of the loop in its group
+     * @param thread            the name of the loop's thread, or null before its first heartbeat
+     * @param taskLatency       the time heartbeats waited for the loop
+     * @param stalls            the number of times the loop was stalled
+     * @param longestStallNanos the longest stall, in nanoseconds
+     */
+    public record LoopStats(ChannelRole role, String group, int index, String thread,
+                            LatencyHistogram.Snapshot taskLatency, long stalls, long longestStallNanos) {
+    }
+}
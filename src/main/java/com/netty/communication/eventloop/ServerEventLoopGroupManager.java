@@ -1,9 +1,10 @@
 package com.netty.communication.eventloop;
 
 import com.netty.communication.specification.channel.FileServerSpec;
+import com.netty.communication.specification.channel.TransportSpec;
+import com.netty.communication.util.TransportUtils;
 import io.netty.channel.DefaultEventLoopGroup;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
@@ -22,6 +23,7 @@ import javax.annotation.PreDestroy;
 @RequiredArgsConstructor
 public class ServerEventLoopGroupManager {
     private final FileServerSpec serverSpec;
+    private final TransportSpec transportSpec;
 
     @Getter
     private EventLoopGroup boss;
@@ -35,11 +37,13 @@ public class ServerEventLoopGroupManager {
     /**
      * Initializes the event loop groups based on the configuration provided by {@link FileServerSpec}.
      * One group is for managing connections, another for I/O operations, and a third for file storage operations.
+     * The first two use the native epoll transport if {@link TransportSpec} asks for it and it is available.
      */
     @PostConstruct
     void setUp() {
-        boss = new NioEventLoopGroup(serverSpec.nBossMaxThread());
-        channelIo = new NioEventLoopGroup(serverSpec.nChannelIoMaxThread());
+        boolean epoll = TransportUtils.useEpoll(transportSpec.nativeTransport());
+        boss = TransportUtils.newIoGroup(epoll, serverSpec.nBossMaxThread());
+        channelIo = TransportUtils.newIoGroup(epoll, serverSpec.nChannelIoMaxThread());
         fireStore = new DefaultEventLoopGroup(serverSpec.nFileStoreMaxThread());
     }
 
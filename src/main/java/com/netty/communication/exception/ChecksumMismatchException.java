@@ -0,0 +1,17 @@
+package com.netty.communication.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a reconstructed file does not match the size or digest announced by the sender.
+ * This runtime exception indicates that the transfer has to be repeated.
+ */
+public class ChecksumMismatchException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 6112871605927741852L;
+
+    public ChecksumMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.netty.communication.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a deduplicated file refers to a chunk that is not in the chunk store.
+ * This runtime exception indicates that the client has to resend the chunk before committing.
+ */
+public class ChunkNotFoundException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -2470321879826519407L;
+
+    public ChunkNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.netty.communication.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when the connection of a request is closed before the request has completed.
+ */
+public class ConnectionClosedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -4180957032416425187L;
+
+    public ConnectionClosedException() {
+        super("The channel was closed.");
+    }
+}
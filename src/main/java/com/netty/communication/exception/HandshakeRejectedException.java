@@ -0,0 +1,17 @@
+package com.netty.communication.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when the server cannot agree on connection parameters with a client,
+ * for example because the client's protocol version is no longer supported.
+ */
+public class HandshakeRejectedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -4870533710260167412L;
+
+    public HandshakeRejectedException(String message) {
+        super(message);
+    }
+}
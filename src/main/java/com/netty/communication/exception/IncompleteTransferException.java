@@ -0,0 +1,17 @@
+package com.netty.communication.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a striped file is committed before all of its stripes have been received.
+ * This runtime exception indicates that the transfer has to be repeated.
+ */
+public class IncompleteTransferException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -3094713266154842075L;
+
+    public IncompleteTransferException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.netty.communication.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a transfer job is looked up by an id that is unknown or whose job has been forgotten.
+ */
+public class JobNotFoundException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 6630452019858217304L;
+
+    public JobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.netty.communication.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when transfer jobs are submitted while the job queue holds as many jobs as it may.
+ * This runtime exception rejects the whole submission; the caller may submit it again later.
+ */
+public class JobQueueFullException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -1827736503127409665L;
+
+    public JobQueueFullException(String message) {
+        super(message);
+    }
+}
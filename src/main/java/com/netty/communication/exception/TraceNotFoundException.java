@@ -0,0 +1,17 @@
+package com.netty.communication.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when the spans of a trace are requested that this node has not recorded, or has already
+ * forgotten.
+ */
+public class TraceNotFoundException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 6120588164710249307L;
+
+    public TraceNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.netty.communication.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when the spans of a trace are to be fetched from a peer that is not one of the configured
+ * trace peers.
+ */
+public class TracePeerNotAllowedException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -3390519482620127735L;
+
+    public TracePeerNotAllowedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.netty.communication.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a transfer is stopped before it completes because the receiver gave up on it.
+ * This runtime exception fails the request the transfer belongs to.
+ */
+public class TransferCancelledException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 2871505913365208214L;
+
+    public TransferCancelledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.netty.communication.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a transfer is stopped because it did not complete before the deadline of its request.
+ * This runtime exception fails the request the transfer belongs to.
+ */
+public class TransferDeadlineExceededException extends TransferCancelledException {
+
+    @Serial
+    private static final long serialVersionUID = -5176386904466329911L;
+
+    public TransferDeadlineExceededException(String message) {
+        super(message);
+    }
+}
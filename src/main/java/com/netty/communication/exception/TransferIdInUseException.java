@@ -0,0 +1,16 @@
+package com.netty.communication.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when a transfer is started with the id of a transfer that has not ended yet.
+ */
+public class TransferIdInUseException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 4418370297815462583L;
+
+    public TransferIdInUseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.netty.communication.exception;
+
+import java.io.Serial;
+
+/**
+ * Exception thrown when the progress of a transfer is requested by an id that is unknown, or whose transfer
+ * has ended so long ago that it was forgotten.
+ */
+public class TransferNotFoundException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -2874915032268734710L;
+
+    public TransferNotFoundException(String message) {
+        super(message);
+    }
+}
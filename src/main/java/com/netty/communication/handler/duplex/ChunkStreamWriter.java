@@ -0,0 +1,645 @@
+package com.netty.communication.handler.duplex;
+
+import com.netty.communication.exception.TransferCancelledException;
+import com.netty.communication.exception.TransferDeadlineExceededException;
+import com.netty.communication.message.ChunkTransferOk;
+import com.netty.communication.message.ChunkType;
+import com.netty.communication.message.FileBatchResult;
+import com.netty.communication.message.OutboundByteChunk;
+import com.netty.communication.message.OutboundByteStream;
+import com.netty.communication.message.OutboundFileBatch;
+import com.netty.communication.message.OutboundFileChunk;
+import com.netty.communication.message.OutboundFileChunkStream;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.message.TransferCancel;
+import com.netty.communication.metrics.ChunkSizeMetrics;
+import com.netty.communication.metrics.TransferMetrics;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.transfer.ChunkSizeController;
+import com.netty.communication.transfer.TransferDeadline;
+import com.netty.communication.transfer.TransferProgress;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
+import lombok.Builder;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Expands {@link OutboundFileChunkStream}s into file chunks while the transfer runs.
+ * <p>
+ * At most a window of chunks, and at most a bounded number of bytes, is in flight without a
+ * {@link ChunkTransferOk}; every acknowledgment moves the window and feeds the connection's
+ * {@link ChunkSizeController}, which sizes the following chunks. Messages written while a stream is
+ * being sent are queued and sent after it in their original order; acknowledgments are never held back.
+ * <p>
+ * {@link OutboundFileBatch}es of a bulk upload take part in the same window: a batch counts as one
+ * chunk in flight until its {@link FileBatchResult} arrives.
+ * <p>
+ * {@link OutboundByteStream}s are expanded the same way, but their chunks are read from the source on the
+ * source executor, since a source may block; one chunk is read ahead while the window is full, so the
+ * source is never read faster than the receiver acknowledges. A non-blocking source that has no bytes yet
+ * is read again after a growing delay rather than at once. The chunks of a checksummed
+ * {@link OutboundFileChunkStream} are read from the file the same way on the file executor, and checksummed
+ * while they are read, so that no file is ever read on the event loop to compute its checksum. The executors
+ * are kept apart, so that sources blocked on a slow peer never hold up the reads of files.
+ * <p>
+ * Chunks are produced one at a time, so a transfer can be stopped at the next chunk boundary: when the
+ * peer sends a {@link TransferCancel}, when the {@link TransferDeadline} attached to the channel's session
+ * passes, or when the channel closes. The running stream and all queued messages then fail, and no file
+ * region is ever created for the chunks that were not sent. Writing a {@link TransferCancel} stops the
+ * local transfer the same way before the message is passed on.
+ * <p>
+ * The sent chunks, the acknowledgment round trips and the state of the window and the queue are reported
+ * to the {@link TransferMetrics}.
+ * <p>
+ * The handler sits in front of the encoder and runs on the channel's event loop, as does the
+ * {@link com.netty.communication.handler.inbound.ChunkAckNotifier} that reports acknowledgments to it.
+ */
+public class ChunkStreamWriter extends ChannelDuplexHandler {
+    private static final long MIN_EMPTY_READ_DELAY_MILLIS = 1;
+    private static final long MAX_EMPTY_READ_DELAY_MILLIS = 100;
+
+    private final int defaultChunkSize;
+    private final int defaultWindowSize;
+    private final int minChunkSize;
+    private final int maxChunkSize;
+    private final long maxInFlightBytes;
+    private final long targetChunkNanos;
+    private final long stallNanos;
+    private final ChunkSizeMetrics metrics;
+    private final TransferMetrics transferMetrics;
+    private final Executor sourceExecutor;
+    private final Executor fileExecutor;
+
+    private final Deque<PendingWrite> pending = new ArrayDeque<>();
+    private final Deque<InFlightChunk> inFlight = new ArrayDeque<>();
+    private ChannelHandlerContext ctx;
+    private ChunkSizeController controller;
+    private ActiveStream active;
+    private long inFlightBytes;
+    private ScheduledFuture<?> deadlineTimer;
+
+    /**
+     * Creates a writer.
+     *
+     * @param defaultChunkSize  the initial chunk size if no handshake has negotiated one
+     * @param defaultWindowSize the window size if no handshake has negotiated one
+     * @param minChunkSize      the smallest chunk size
+     * @param maxChunkSize      the largest chunk size
+     * @param maxInFlightBytes  the largest number of unacknowledged bytes
+     * @param targetChunkMillis the time the transfer of one chunk should take
+     * @param stallMillis       the ack gap after which the chunk size is halved
+     * @param metrics           the metrics the chosen chunk sizes are reported to
+     * @param transferMetrics   the metrics the sent chunks, the ack RTTs and the writer's queues are reported to
+     * @param sourceExecutor    the executor the sources of byte streams are read on
+     * @param fileExecutor      the executor the chunks of checksummed file streams are read on
+     */
+    @Builder
+    public ChunkStreamWriter(int defaultChunkSize, int defaultWindowSize, int minChunkSize, int maxChunkSize,
+                             long maxInFlightBytes, long targetChunkMillis, long stallMillis, ChunkSizeMetrics metrics,
+                             TransferMetrics transferMetrics, Executor sourceExecutor, Executor fileExecutor) {
+        this.defaultChunkSize = defaultChunkSize;
+        this.defaultWindowSize = defaultWindowSize;
+        this.minChunkSize = minChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.targetChunkNanos = TimeUnit.MILLISECONDS.toNanos(targetChunkMillis);
+        this.stallNanos = TimeUnit.MILLISECONDS.toNanos(stallMillis);
+        this.metrics = metrics;
+        this.transferMetrics = transferMetrics;
+        this.sourceExecutor = sourceExecutor;
+        this.fileExecutor = fileExecutor;
+    }
+
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        this.ctx = ctx;
+    }
+
+    /**
+     * Starts a chunk stream, queues a message behind a running stream, or passes it on.
+     *
+     * @param ctx     the context of the channel
+     * @param msg     the message to write
+     * @param promise a promise to notify when the message has been written
+     */
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (msg instanceof TransferCancel) {
+            failAll(new TransferCancelledException("The transfer was cancelled."));
+            ctx.write(msg, promise);
+            return;
+        }
+        if (msg instanceof ChunkTransferOk || (active == null && pending.isEmpty() && !isWindowed(msg))) {
+            ctx.write(msg, promise);
+            return;
+        }
+        pending.add(new PendingWrite(msg, promise));
+        armDeadline();
+        pump();
+    }
+
+    /**
+     * Records the acknowledgment of the oldest chunk or batch in flight and sends further chunks.
+     * The acknowledged bytes are added to the {@link TransferProgress} attached to the channel's session, if any.
+     * Acknowledgments that do not belong to a chunk or batch in flight are ignored.
+     */
+    public void onAck() {
+        var chunk = inFlight.poll();
+        if (chunk == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        inFlightBytes -= chunk.bytes();
+        controller().onAck(chunk.bytes(), now - chunk.sentNanos(), now);
+        transferMetrics.ackReceived(now - chunk.sentNanos());
+        var progress = ChannelSession.of(ctx.channel()).attachment(TransferProgress.class);
+        if (progress != null) {
+            progress.add(chunk.bytes());
+        }
+        pump();
+    }
+
+    /**
+     * Stops the running transfer at the next chunk boundary. The running stream and all queued messages
+     * fail, and the cause is passed on as an exception so that the request fails with it.
+     * Does nothing if no transfer is running.
+     *
+     * @param cause why the transfer is stopped
+     */
+    public void cancel(Throwable cause) {
+        if (active == null && pending.isEmpty()) {
+            return;
+        }
+        failAll(cause);
+        ctx.fireExceptionCaught(cause);
+    }
+
+    /**
+     * Fails the running stream and all queued messages.
+     *
+     * @param ctx the context of the channel
+     * @throws Exception if the event cannot be forwarded
+     */
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        if (deadlineTimer != null) {
+            deadlineTimer.cancel(false);
+        }
+        failAll(new ClosedChannelException());
+        super.channelInactive(ctx);
+    }
+
+    /**
+     * Sends as many chunks and queued messages as the window allows.
+     */
+    private void pump() {
+        if ((active != null || !pending.isEmpty()) && isPastDeadline()) {
+            cancel(new TransferDeadlineExceededException("The transfer did not complete before its deadline."));
+            publishState();
+            return;
+        }
+        boolean wrote = false;
+        while (true) {
+            if (active == null) {
+                var next = pending.peek();
+                if (next == null) {
+                    break;
+                }
+                if (next.msg() instanceof OutboundFileBatch batch) {
+                    if (isWindowFull()) {
+                        break;
+                    }
+                    pending.poll();
+                    sendBatch(batch, next.promise());
+                    wrote = true;
+                    continue;
+                }
+                pending.poll();
+                if (next.msg() instanceof OutboundFileChunkStream stream) {
+                    long size = stream.getFileSize();
+                    active = new ActiveStream(stream, stream.isRange() ? Math.min(stream.getEndOffset(), size) : size,
+                            next.promise());
+                    transferMetrics.transferStarted();
+                } else if (next.msg() instanceof OutboundByteStream stream) {
+                    active = new ActiveStream(stream, next.promise());
+                    transferMetrics.transferStarted();
+                } else {
+                    ctx.write(next.msg(), next.promise());
+                    wrote = true;
+                }
+                continue;
+            }
+            if (isWindowFull() || !sendNextChunk()) {
+                break;
+            }
+            wrote = true;
+        }
+        if (wrote) {
+            ctx.flush();
+        }
+        publishState();
+    }
+
+    /**
+     * Sends the next chunk of the active stream and finishes the stream after its last chunk.
+     *
+     * @return false if the next chunk of a byte stream is still being read
+     */
+    private boolean sendNextChunk() {
+        var stream = active;
+        if (stream.isRead()) {
+            return sendNextReadChunk(stream);
+        }
+        var message = stream.message;
+        OutboundFileChunk chunk;
+        int bytes = 0;
+
+        if (stream.type == ChunkType.START_OF_FILE) {
+            chunk = new OutboundFileChunk(message.isRange() ? ChunkType.START_OF_RANGE : ChunkType.START_OF_FILE,
+                    message.getSourceFilePath(), message.getDestFilePath(), stream.position, 0);
+            stream.type = stream.position < stream.size ? ChunkType.MIDDLE_OF_FILE : ChunkType.END_OF_FILE;
+        } else if (stream.type == ChunkType.MIDDLE_OF_FILE) {
+            int chunkSize = controller().chunkSize();
+            bytes = (int) Math.min(chunkSize, stream.size - stream.position);
+            chunk = new OutboundFileChunk(message.isRange() ? ChunkType.MIDDLE_OF_RANGE : ChunkType.MIDDLE_OF_FILE,
+                    message.getSourceFilePath(), message.getDestFilePath(), stream.position, bytes);
+            metrics.record(chunkSize, controller().throughputBytesPerSecond());
+            stream.position += bytes;
+            if (stream.position >= stream.size) {
+                stream.type = ChunkType.END_OF_FILE;
+            }
+        } else {
+            chunk = new OutboundFileChunk(ChunkType.END_OF_FILE, message.getSourceFilePath(), message.getDestFilePath(),
+                    stream.position, 0);
+            active = null;
+        }
+        writeChunk(stream, chunk, bytes);
+        return true;
+    }
+
+    /**
+     * Sends the next chunk of an active byte stream or checksummed file stream, if it has been read, and starts
+     * reading the one after. The end-of-file chunk carries the checksum of the bytes read, if any.
+     *
+     * @param stream the active stream
+     * @return false if the next chunk is still being read
+     */
+    private boolean sendNextReadChunk(ActiveStream stream) {
+        var message = stream.message;
+        var dstPath = message != null ? message.getDestFilePath() : stream.source.getDestFilePath();
+        var srcPath = message != null ? message.getSourceFilePath() : null;
+        boolean range = message != null && message.isRange();
+        ProtocolMessage chunk;
+        int bytes = 0;
+
+        if (stream.type == ChunkType.START_OF_FILE) {
+            chunk = new OutboundFileChunk(range ? ChunkType.START_OF_RANGE : ChunkType.START_OF_FILE, srcPath,
+                    dstPath, stream.position, 0);
+            stream.type = ChunkType.MIDDLE_OF_FILE;
+        } else if (stream.ready != null) {
+            bytes = stream.ready.readableBytes();
+            chunk = new OutboundByteChunk(dstPath, range ? stream.position : null, stream.ready);
+            stream.ready = null;
+            stream.position += bytes;
+        } else if (stream.exhausted) {
+            chunk = new OutboundFileChunk(ChunkType.END_OF_FILE, srcPath, dstPath, stream.position, 0,
+                    stream.crc != null ? (int) stream.crc.getValue() : null);
+            active = null;
+        } else {
+            return false;
+        }
+        writeChunk(stream, chunk, bytes);
+        if (active == stream) {
+            readAhead(stream);
+        }
+        return true;
+    }
+
+    /**
+     * Reads the next chunk of a byte stream on the source executor, or of a checksummed file stream on the file
+     * executor, unless it is being read or has been read. The chunk is handed back on the event loop, which then
+     * sends as much as the window allows.
+     *
+     * @param stream the active stream
+     */
+    private void readAhead(ActiveStream stream) {
+        if (stream.reading || stream.ready != null || stream.exhausted) {
+            return;
+        }
+        if (stream.message != null && stream.position >= stream.size) {
+            stream.exhausted = true;
+            return;
+        }
+        stream.reading = true;
+        int chunkSize = controller().chunkSize();
+        metrics.record(chunkSize, controller().throughputBytesPerSecond());
+        int length = stream.message != null ? (int) Math.min(chunkSize, stream.size - stream.position) : chunkSize;
+        var contents = ctx.alloc().ioBuffer(length);
+        long position = stream.position;
+        (stream.message != null ? fileExecutor : sourceExecutor).execute(() -> {
+            boolean end = false;
+            Throwable failure = null;
+            try {
+                if (stream.message != null) {
+                    readFile(stream.message.getSourceFilePath(), position, length, contents);
+                    end = position + length >= stream.size;
+                } else {
+                    end = readSource(stream.source.getSource(), chunkSize, contents);
+                }
+                if (stream.crc != null) {
+                    stream.crc.update(contents.nioBuffer());
+                }
+            } catch (Throwable e) {
+                failure = e;
+            }
+            boolean exhausted = end;
+            Throwable cause = failure;
+            ctx.executor().execute(() -> onRead(stream, contents, exhausted, cause));
+        });
+    }
+
+    /**
+     * Reads a chunk of a file.
+     *
+     * @param path     the path of the file
+     * @param position the offset of the chunk
+     * @param length   the length of the chunk
+     * @param contents the buffer to read the chunk into
+     * @throws EOFException if the file has become shorter than the chunk
+     * @throws IOException if the file cannot be read
+     */
+    private static void readFile(String path, long position, int length, ByteBuf contents) throws IOException {
+        try (var channel = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+            while (contents.readableBytes() < length) {
+                if (contents.writeBytes(channel, position + contents.readableBytes(),
+                        length - contents.readableBytes()) < 0) {
+                    throw new EOFException("The file shrank while it was being sent: " + path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads up to a chunk from the source of a byte stream.
+     *
+     * @param source    the source
+     * @param chunkSize the size of the chunk
+     * @param contents  the buffer to read the chunk into
+     * @return true if the end of the source has been reached
+     * @throws IOException if the source cannot be read
+     */
+    private static boolean readSource(ReadableByteChannel source, int chunkSize, ByteBuf contents) throws IOException {
+        while (contents.readableBytes() < chunkSize) {
+            int read = source.read(contents.nioBuffer(contents.writerIndex(), chunkSize - contents.readableBytes()));
+            if (read < 0) {
+                return true;
+            }
+            if (read == 0) {
+                return false;
+            }
+            contents.writerIndex(contents.writerIndex() + read);
+        }
+        return false;
+    }
+
+    /**
+     * Takes over a chunk read from the source of a byte stream or from a file and sends as much as the window allows.
+     * A failed read stops the transfer; a chunk read for a stream that has failed meanwhile is dropped.
+     *
+     * @param stream    the byte stream the chunk was read for
+     * @param contents  the bytes read
+     * @param exhausted whether the end of the source has been reached
+     * @param failure   why the read failed, or null
+     */
+    private void onRead(ActiveStream stream, ByteBuf contents, boolean exhausted, Throwable failure) {
+        stream.reading = false;
+        if (active != stream || failure != null) {
+            contents.release();
+            if (active == stream) {
+                cancel(failure);
+            }
+            return;
+        }
+        stream.exhausted = exhausted;
+        if (contents.isReadable()) {
+            stream.ready = contents;
+            stream.emptyReadDelayMillis = 0;
+        } else {
+            contents.release();
+            if (exhausted) {
+                readAhead(stream);
+            } else {
+                readLater(stream);
+            }
+        }
+        pump();
+    }
+
+    /**
+     * Reads the source of a byte stream again after a read that returned no bytes, which only a non-blocking
+     * source does. The first retry waits {@value #MIN_EMPTY_READ_DELAY_MILLIS} ms and every further empty
+     * read doubles the wait, up to {@value #MAX_EMPTY_READ_DELAY_MILLIS} ms, so that a source that has no
+     * bytes yet is polled instead of being spun on. The stream counts as being read while it waits.
+     *
+     * @param stream the active stream
+     */
+    private void readLater(ActiveStream stream) {
+        stream.emptyReadDelayMillis = Math.min(MAX_EMPTY_READ_DELAY_MILLIS,
+                Math.max(MIN_EMPTY_READ_DELAY_MILLIS, stream.emptyReadDelayMillis * 2));
+        stream.reading = true;
+        ctx.executor().schedule(() -> {
+            stream.reading = false;
+            if (active == stream) {
+                readAhead(stream);
+            }
+        }, stream.emptyReadDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes a chunk of a stream, counting it in the window, and completes the stream's promise with its last chunk.
+     *
+     * @param stream the stream the chunk belongs to
+     * @param chunk  the chunk to write
+     * @param bytes  the number of bytes of file contents in the chunk
+     */
+    private void writeChunk(ActiveStream stream, ProtocolMessage chunk, int bytes) {
+        inFlight.add(new InFlightChunk(bytes, System.nanoTime()));
+        inFlightBytes += bytes;
+        if (bytes > 0) {
+            transferMetrics.chunkSent();
+        }
+        ChannelFuture future = ctx.write(chunk);
+        boolean last = active == null;
+        future.addListener(f -> {
+            if (!f.isSuccess()) {
+                // Only the first failed chunk of a stream fails the transfer; the chunks written after it
+                // fail as well once the channel closes.
+                if (stream.promise.tryFailure(f.cause())) {
+                    failAll(f.cause());
+                    ctx.fireExceptionCaught(f.cause());
+                }
+            } else if (last) {
+                stream.promise.trySuccess();
+            }
+        });
+    }
+
+    /**
+     * Sends a batch of files as one unit of the window.
+     *
+     * @param batch   the batch to send
+     * @param promise the promise of the batch's write
+     */
+    private void sendBatch(OutboundFileBatch batch, ChannelPromise promise) {
+        inFlight.add(new InFlightChunk(batch.bytes(), System.nanoTime()));
+        inFlightBytes += batch.bytes();
+        ctx.write(batch).addListener(f -> {
+            if (!f.isSuccess()) {
+                promise.tryFailure(f.cause());
+                failAll(f.cause());
+                ctx.fireExceptionCaught(f.cause());
+            } else {
+                promise.trySuccess();
+            }
+        });
+    }
+
+    /**
+     * Schedules the check of the channel's deadline, so that a transfer whose acknowledgments have stalled
+     * is stopped in time as well.
+     */
+    private void armDeadline() {
+        var deadline = ChannelSession.of(ctx.channel()).attachment(TransferDeadline.class);
+        if (deadline == null || deadlineTimer != null) {
+            return;
+        }
+        deadlineTimer = ctx.executor().schedule(this::pump, Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+    }
+
+    private boolean isPastDeadline() {
+        var deadline = ChannelSession.of(ctx.channel()).attachment(TransferDeadline.class);
+        return deadline != null && deadline.isExpired();
+    }
+
+    private boolean isWindowFull() {
+        return inFlight.size() >= windowSize() || (inFlightBytes >= maxInFlightBytes && !inFlight.isEmpty());
+    }
+
+    private static boolean isWindowed(Object msg) {
+        return msg instanceof OutboundFileChunkStream || msg instanceof OutboundByteStream || msg instanceof OutboundFileBatch;
+    }
+
+    private void failAll(Throwable cause) {
+        if (active != null) {
+            active.promise.tryFailure(cause);
+            active.discard();
+            active = null;
+        }
+        PendingWrite write;
+        while ((write = pending.poll()) != null) {
+            ReferenceCountUtil.release(write.msg());
+            write.promise().tryFailure(cause);
+        }
+        inFlight.clear();
+        inFlightBytes = 0;
+        publishState();
+    }
+
+    /**
+     * Publishes the queues of the writer to the channel's stats, if the channel is measured.
+     */
+    private void publishState() {
+        var stats = TransferMetrics.statsOf(ctx.channel());
+        if (stats != null) {
+            stats.writerState(pending.size(), inFlight.size(), inFlightBytes, active != null);
+        }
+    }
+
+    private int windowSize() {
+        var parameters = ChannelSession.of(ctx.channel()).parameters();
+        return parameters != null ? parameters.windowSize() : defaultWindowSize;
+    }
+
+    private ChunkSizeController controller() {
+        if (controller == null) {
+            int initial = ChannelSession.of(ctx.channel()).chunkSize(defaultChunkSize);
+            controller = new ChunkSizeController(initial, minChunkSize, maxChunkSize, targetChunkNanos, stallNanos);
+        }
+        return controller;
+    }
+
+    private record PendingWrite(Object msg, ChannelPromise promise) {
+    }
+
+    private record InFlightChunk(long bytes, long sentNanos) {
+    }
+
+    /**
+     * The stream currently being sent: the next chunk type and the position in the source file.
+     * A byte stream and a checksummed file stream also keep the chunk read ahead and the checksum of the bytes
+     * read so far.
+     */
+    private static final class ActiveStream {
+        private final OutboundFileChunkStream message;
+        private final OutboundByteStream source;
+        private final long size;
+        private final ChannelPromise promise;
+        private final CRC32C crc;
+        private ChunkType type = ChunkType.START_OF_FILE;
+        private long position;
+        private ByteBuf ready;
+        private boolean reading;
+        private boolean exhausted;
+        private long emptyReadDelayMillis;
+
+        private ActiveStream(OutboundFileChunkStream message, long size, ChannelPromise promise) {
+            this.message = message;
+            this.source = null;
+            this.size = size;
+            this.promise = promise;
+            this.crc = message.isChecksum() ? new CRC32C() : null;
+            this.position = Math.min(message.getStartOffset(), size);
+        }
+
+        private ActiveStream(OutboundByteStream source, ChannelPromise promise) {
+            this.message = null;
+            this.source = source;
+            this.size = -1;
+            this.promise = promise;
+            this.crc = source.isChecksum() ? new CRC32C() : null;
+        }
+
+        /**
+         * Tells whether the chunks of the stream are read into buffers rather than sent straight from the file.
+         *
+         * @return true for a byte stream or a checksummed file stream
+         */
+        private boolean isRead() {
+            return source != null || crc != null;
+        }
+
+        private void discard() {
+            if (ready != null) {
+                ready.release();
+                ready = null;
+            }
+        }
+    }
+}
@@ -9,19 +9,31 @@ import io.netty.handler.logging.LoggingHandler;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Custom logging handler for Netty that logs information about read and written messages.
+ * Custom logging handler for Netty that logs information about read and written messages at DEBUG.
  * This handler extends the {@link LoggingHandler} to provide additional logging for
  * {@link ByteBuf} and {@link ProtocolMessage} instances, including their sizes and types.
+ * Pipelines add it only when {@link #enabled()} as they are built at startup, so connections pay nothing for it
+ * unless {@code logging.level.com.netty.communication.handler.duplex.CustomLoggingHandler=debug} is set;
+ * sampled tracing of selected connections is done by the {@link com.netty.communication.trace.FrameTracer}.
  */
 @Slf4j
 public class CustomLoggingHandler extends LoggingHandler {
     private final String nextHandler;
 
     public CustomLoggingHandler(String nextHandler) {
-        super(LogLevel.INFO);
+        super(LogLevel.DEBUG);
         this.nextHandler = nextHandler;
     }
 
+    /**
+     * Tells whether the logger of this handler is enabled at DEBUG, and pipelines should add the handler.
+     *
+     * @return {@code true} if the handler would log anything
+     */
+    public static boolean enabled() {
+        return log.isDebugEnabled();
+    }
+
     /**
      * Logs the information about the read message before passing it to the next handler.
      * Logs the number of readable bytes if the message is a {@link ByteBuf},
@@ -29,14 +41,13 @@ public class CustomLoggingHandler extends LoggingHandler {
      *
      * @param ctx the {@link ChannelHandlerContext} for the current channel
      * @param msg the message read from the channel
-     * @throws Exception if an error occurs while processing the message
      */
     @Override
-    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
         if (msg instanceof ByteBuf buf) {
-            log.info("channelRead nBytes: {} ({} before)", buf.readableBytes(), nextHandler);
+            log.debug("channelRead nBytes: {} ({} before)", buf.readableBytes(), nextHandler);
         } else if (msg instanceof ProtocolMessage protocolMessage) {
-            log.info("channelRead: {} ({} before)", protocolMessage.getClass().getSimpleName(), nextHandler);
+            log.debug("channelRead: {} ({} before)", protocolMessage.getClass().getSimpleName(), nextHandler);
         }
         ctx.fireChannelRead(msg);
     }
@@ -49,14 +60,13 @@ public class CustomLoggingHandler extends LoggingHandler {
      * @param ctx     the {@link ChannelHandlerContext} for the current channel
      * @param msg     the message to write to the channel
      * @param promise a {@link ChannelPromise} to notify when the write operation is complete
-     * @throws Exception if an error occurs while processing the message
      */
     @Override
-    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
         if (msg instanceof ByteBuf buf) {
-            log.info("write nBytes: {} ({} before)", buf.readableBytes(), nextHandler);
+            log.debug("write nBytes: {} ({} before)", buf.readableBytes(), nextHandler);
         } else if (msg instanceof ProtocolMessage protocolMessage) {
-            log.info("write: {} ({} before)", protocolMessage.getClass().getSimpleName(), nextHandler);
+            log.debug("write: {} ({} before)", protocolMessage.getClass().getSimpleName(), nextHandler);
         }
         ctx.write(msg, promise);
     }
@@ -1,5 +1,6 @@
 package com.netty.communication.handler.duplex;
 
+import com.netty.communication.exception.ConnectionClosedException;
 import com.netty.communication.exception.ServerNotResponseException;
 import com.netty.communication.exception.ServerRuntimeException;
 import com.netty.communication.message.ResponseMessage;
@@ -82,7 +83,7 @@ public class RequestResultChecker extends ChannelDuplexHandler {
 
     /**
      * Handles the case where the channel becomes inactive.
-     * Completes the CompletableFuture exceptionally with a RuntimeException indicating
+     * Completes the CompletableFuture exceptionally with a ConnectionClosedException indicating
      * that the channel has been closed.
      *
      * @param ctx the ChannelHandlerContext for the current channel
@@ -90,7 +91,7 @@ public class RequestResultChecker extends ChannelDuplexHandler {
      */
     @Override
     public void channelInactive(ChannelHandlerContext ctx) throws Exception {
-        completableFuture.completeExceptionally(new RuntimeException("The channel was closed."));
+        completableFuture.completeExceptionally(new ConnectionClosedException());
         super.channelInactive(ctx);
     }
 }
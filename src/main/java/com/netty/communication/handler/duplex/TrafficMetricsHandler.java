@@ -0,0 +1,71 @@
+package com.netty.communication.handler.duplex;
+
+import com.netty.communication.metrics.ChannelRole;
+import com.netty.communication.metrics.TransferMetrics;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.FileRegion;
+
+/**
+ * Handler that counts the bytes a channel reads from and writes to its socket in the {@link TransferMetrics}.
+ * <p>
+ * The handler sits at the head of the pipeline, so it sees the raw bytes read before any decoding and the
+ * encoded bytes and file regions written after all encoding. Writes are counted when they are passed to
+ * the socket, not when they complete.
+ */
+public class TrafficMetricsHandler extends ChannelDuplexHandler {
+    private final TransferMetrics metrics;
+    private final ChannelRole role;
+    private TransferMetrics.ChannelStats stats;
+
+    public TrafficMetricsHandler(TransferMetrics metrics, ChannelRole role) {
+        this.metrics = metrics;
+        this.role = role;
+    }
+
+    /**
+     * Starts keeping the stats of the channel.
+     *
+     * @param ctx the ChannelHandlerContext which provides various operations on the channel
+     */
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        stats = metrics.register(ctx.channel(), role);
+    }
+
+    /**
+     * Counts the bytes read and passes them on.
+     *
+     * @param ctx the ChannelHandlerContext which provides various operations on the channel
+     * @param msg the bytes read from the socket
+     */
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) {
+        if (msg instanceof ByteBuf buf) {
+            stats.received(buf.readableBytes());
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    /**
+     * Counts the bytes to be written and passes them on.
+     *
+     * @param ctx     the ChannelHandlerContext which provides various operations on the channel
+     * @param msg     the bytes or file region to write to the socket
+     * @param promise a promise to notify when the message has been written
+     */
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+        if (msg instanceof ByteBuf buf) {
+            stats.sent(buf.readableBytes());
+        } else if (msg instanceof FileRegion region) {
+            stats.sent(region.count() - region.transferred());
+        } else if (msg instanceof ByteBufHolder holder) {
+            stats.sent(holder.content().readableBytes());
+        }
+        ctx.write(msg, promise);
+    }
+}
@@ -0,0 +1,45 @@
+package com.netty.communication.handler.inbound;
+
+import com.netty.communication.exception.TransferCancelledException;
+import com.netty.communication.handler.duplex.ChunkStreamWriter;
+import com.netty.communication.message.ChunkTransferOk;
+import com.netty.communication.message.FileBatchResult;
+import com.netty.communication.message.TransferCancel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+
+/**
+ * Notifies the channel's {@link ChunkStreamWriter} of every received {@link ChunkTransferOk}
+ * and {@link FileBatchResult}, so that it can move its window and measure the ack RTT.
+ * The acknowledgment is passed on unchanged. A received {@link TransferCancel} cancels the
+ * running transfer of the writer and is not passed on.
+ * <p>
+ * Must run on the channel's event loop, like the writer itself.
+ */
+public class ChunkAckNotifier extends ChannelInboundHandlerAdapter {
+
+    /**
+     * Notifies the writer of acknowledgments and cancellations and forwards every other message.
+     *
+     * @param ctx the ChannelHandlerContext which provides various operations on the channel
+     * @param msg the received message
+     * @throws Exception if an error occurs during processing
+     */
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof TransferCancel) {
+            var writer = ctx.pipeline().get(ChunkStreamWriter.class);
+            if (writer != null) {
+                writer.cancel(new TransferCancelledException("The transfer was cancelled by the receiver."));
+            }
+            return;
+        }
+        if (msg instanceof ChunkTransferOk || msg instanceof FileBatchResult) {
+            var writer = ctx.pipeline().get(ChunkStreamWriter.class);
+            if (writer != null) {
+                writer.onAck();
+            }
+        }
+        ctx.fireChannelRead(msg);
+    }
+}
@@ -0,0 +1,80 @@
+package com.netty.communication.handler.inbound;
+
+import com.netty.communication.exception.ServerRuntimeException;
+import com.netty.communication.message.HandshakeRequest;
+import com.netty.communication.message.HandshakeResponse;
+import com.netty.communication.message.ResponseMessage;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.specification.channel.FileClientSpec;
+import com.netty.communication.specification.response.ResponseSpec;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Client-side handler that opens every connection with a handshake.
+ * Sends the client's proposal as soon as the channel is active and establishes the
+ * {@link ChannelSession} when the server answers. Requests should be sent only once
+ * {@link ChannelSession#established()} has completed.
+ */
+@RequiredArgsConstructor
+public class ClientHandshakeHandler extends ChannelInboundHandlerAdapter {
+    private final FileClientSpec clientSpec;
+
+    /**
+     * Sends the handshake request.
+     *
+     * @param ctx the ChannelHandlerContext which provides various operations on the channel
+     * @throws Exception if an error occurs while sending
+     */
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        var request = HandshakeRequest.builder()
+                .protocolVersion(clientSpec.protocolVersion())
+                .chunkSize(clientSpec.chunkSize())
+                .windowSize(clientSpec.windowSize())
+                .compressionMask(clientSpec.compressionMask())
+                .checksumMask(clientSpec.checksumMask())
+                .build();
+        ctx.writeAndFlush(request).addListener(future -> {
+            if (!future.isSuccess()) {
+                ChannelSession.of(ctx.channel()).fail(future.cause());
+            }
+        });
+        super.channelActive(ctx);
+    }
+
+    /**
+     * Establishes the session on the handshake response; a failure response received
+     * before that fails the handshake. All other messages are forwarded.
+     *
+     * @param ctx the ChannelHandlerContext which provides various operations on the channel
+     * @param msg the received message
+     * @throws Exception if an error occurs during processing
+     */
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        var session = ChannelSession.of(ctx.channel());
+        if (msg instanceof HandshakeResponse response) {
+            session.establish(response.getParameters());
+            return;
+        }
+        if (msg instanceof ResponseMessage response && response.responseSpec() != ResponseSpec.OK) {
+            var spec = response.responseSpec();
+            session.fail(new ServerRuntimeException(spec.getErrorNo(), spec.getErrorMessage()));
+        }
+        super.channelRead(ctx, msg);
+    }
+
+    /**
+     * Fails the handshake if the channel is closed before it completes.
+     *
+     * @param ctx the ChannelHandlerContext which provides various operations on the channel
+     * @throws Exception if an error occurs while processing the channel inactivity
+     */
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        ChannelSession.of(ctx.channel()).fail(new RuntimeException("The channel was closed during the handshake."));
+        super.channelInactive(ctx);
+    }
+}
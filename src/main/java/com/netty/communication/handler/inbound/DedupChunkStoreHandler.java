@@ -0,0 +1,28 @@
+package com.netty.communication.handler.inbound;
+
+import com.netty.communication.dedup.DedupChunkStore;
+import com.netty.communication.message.ChunkTransferOk;
+import com.netty.communication.message.InboundDedupChunk;
+import io.netty.channel.ChannelHandlerContext;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Handler for storing the chunks of a deduplicated upload in the {@link DedupChunkStore}.
+ */
+@RequiredArgsConstructor
+public class DedupChunkStoreHandler extends DedicatedSimpleInboundHandler<InboundDedupChunk> {
+    private final DedupChunkStore chunkStore;
+
+    /**
+     * Stores the received chunk and sends an acknowledgment upon successful storage.
+     *
+     * @param ctx   the ChannelHandlerContext which provides various operations on the channel
+     * @param chunk the InboundDedupChunk to be stored
+     * @throws Exception if an error occurs during storage
+     */
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, InboundDedupChunk chunk) throws Exception {
+        chunkStore.store(chunk.hash(), chunk.contents());
+        ctx.writeAndFlush(ChunkTransferOk.builder().build());
+    }
+}
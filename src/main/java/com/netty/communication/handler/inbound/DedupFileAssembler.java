@@ -0,0 +1,45 @@
+package com.netty.communication.handler.inbound;
+
+import com.netty.communication.dedup.DedupChunkStore;
+import com.netty.communication.message.DedupCommitRequest;
+import com.netty.communication.message.KeepAlive;
+import io.netty.channel.ChannelHandlerContext;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reassembles the destination file of a deduplicated upload from the {@link DedupChunkStore}
+ * before the commit request is answered.
+ * <p>
+ * The file is assembled away from the channel's event loop. While its chunks are being copied,
+ * {@link KeepAlive}s keep the waiting client from detecting the connection as idle.
+ */
+@RequiredArgsConstructor
+public class DedupFileAssembler extends DedicatedSimpleInboundHandler<DedupCommitRequest> {
+    private final String rootPath;
+    private final DedupChunkStore chunkStore;
+    private final long keepAliveMillis;
+
+    /**
+     * Reassembles the destination file, then passes the request on.
+     *
+     * @param ctx     the ChannelHandlerContext which provides various operations on the channel
+     * @param request the commit request
+     * @throws Exception if a chunk is missing or the file cannot be written
+     */
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, DedupCommitRequest request) throws Exception {
+        var target = Path.of(rootPath, request.getDestFilePath()).normalize();
+        var keepAlive = ctx.channel().eventLoop().scheduleAtFixedRate(
+                () -> ctx.channel().writeAndFlush(KeepAlive.builder().build()),
+                keepAliveMillis, keepAliveMillis, TimeUnit.MILLISECONDS);
+        try {
+            chunkStore.assemble(request.getChunks(), request.getFileSize(), target);
+        } finally {
+            keepAlive.cancel(false);
+        }
+        ctx.fireChannelRead(request);
+    }
+}
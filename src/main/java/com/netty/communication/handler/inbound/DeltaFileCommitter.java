@@ -0,0 +1,51 @@
+package com.netty.communication.handler.inbound;
+
+import com.netty.communication.exception.ChecksumMismatchException;
+import com.netty.communication.message.DeltaCommitRequest;
+import com.netty.communication.session.ChannelSession;
+import io.netty.channel.ChannelHandlerContext;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+
+/**
+ * Installs the file reconstructed by a delta upload before the commit request is answered.
+ * <p>
+ * The reconstruction is verified against the size and digest of the source file, which the
+ * {@link DeltaFileWriter} of the upload kept while it was written, so the file is not read again.
+ * It then atomically replaces the destination file, away from the channel's event loop.
+ */
+@RequiredArgsConstructor
+public class DeltaFileCommitter extends DedicatedSimpleInboundHandler<DeltaCommitRequest> {
+    private final String rootPath;
+
+    /**
+     * Verifies and installs the reconstructed file, then passes the request on.
+     *
+     * @param ctx     the ChannelHandlerContext which provides various operations on the channel
+     * @param request the commit request
+     * @throws Exception if the reconstructed file does not match or cannot be moved into place
+     */
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, DeltaCommitRequest request) throws Exception {
+        var session = ChannelSession.of(ctx.channel());
+        var target = Path.of(rootPath, request.getDestFilePath()).normalize();
+        var writer = session.attachment(DeltaFileWriter.class);
+        if (writer == null || !writer.target().equals(target)) {
+            throw new IllegalStateException("No delta upload has begun for " + request.getDestFilePath() + ".");
+        }
+        session.attach(DeltaFileWriter.class, null);
+
+        var temp = DeltaFileWriter.tempPath(target);
+        long size = writer.size();
+        if (size != request.getFileSize() || !MessageDigest.isEqual(writer.finish(), request.getSha256())) {
+            Files.deleteIfExists(temp);
+            throw new ChecksumMismatchException("Reconstructed file does not match the source: " + target);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        ctx.fireChannelRead(request);
+    }
+}
@@ -0,0 +1,154 @@
+package com.netty.communication.handler.inbound;
+
+import com.netty.communication.dedup.ContentDefinedChunker;
+import com.netty.communication.message.DeltaInstructionType;
+import com.netty.communication.message.InboundDeltaInstruction;
+import com.netty.communication.util.AdvancedFileUtils;
+import io.netty.buffer.ByteBuf;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+
+/**
+ * Reconstructs a file from the instructions of a delta upload.
+ * <p>
+ * The file is rebuilt into a temporary file next to the target, so that the existing copy stays
+ * intact for block references until the upload is committed. The temporary file stays open for the
+ * whole upload, and the SHA-256 digest of the reconstruction is updated as every instruction is
+ * applied, so that the file is never read back to verify it.
+ */
+public class DeltaFileWriter implements Closeable {
+    private static final int COPY_BUFFER_SIZE = 1024 * 1024;
+
+    private final Path target;
+    private final FileChannel out;
+    private final MessageDigest digest = ContentDefinedChunker.newDigest();
+    private FileChannel in;
+    private ByteBuffer copyBuffer;
+    private long size;
+
+    private DeltaFileWriter(Path target, FileChannel out) {
+        this.target = target;
+        this.out = out;
+    }
+
+    /**
+     * Resolves the temporary file a delta upload is reconstructed into.
+     *
+     * @param target the destination file
+     * @return the path of the temporary file
+     */
+    public static Path tempPath(Path target) {
+        return Path.of(target + ".delta.tmp");
+    }
+
+    /**
+     * Creates an empty temporary file for a new delta upload, replacing any leftover of an earlier attempt.
+     *
+     * @param target the destination file
+     * @return a writer for the upload
+     * @throws IOException if the temporary file cannot be created
+     */
+    public static DeltaFileWriter begin(Path target) throws IOException {
+        AdvancedFileUtils.makeDirectoriesIfNotExist(target.toString());
+        Files.deleteIfExists(tempPath(target));
+        return new DeltaFileWriter(target, FileChannel.open(tempPath(target),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE));
+    }
+
+    /**
+     * Returns the destination file of the upload.
+     *
+     * @return the destination file
+     */
+    public Path target() {
+        return target;
+    }
+
+    /**
+     * Appends the bytes described by an instruction to the temporary file.
+     * Literal contents are written as they are; copied blocks are read from the existing copy.
+     *
+     * @param instruction the delta instruction
+     * @throws IOException if an I/O error occurs while storing the instruction
+     */
+    public void apply(InboundDeltaInstruction instruction) throws IOException {
+        if (instruction.type() == DeltaInstructionType.LITERAL) {
+            write(instruction.contents());
+            return;
+        }
+
+        if (in == null) {
+            in = FileChannel.open(target, StandardOpenOption.READ);
+            copyBuffer = ByteBuffer.allocate(COPY_BUFFER_SIZE);
+        }
+        long position = instruction.blockIndex() * instruction.blockSize();
+        long end = position + (long) instruction.blockCount() * instruction.blockSize();
+        if (in.size() < end) {
+            throw new IOException("Block reference beyond the end of the existing file: " + target);
+        }
+        while (position < end) {
+            copyBuffer.clear().limit((int) Math.min(copyBuffer.capacity(), end - position));
+            int read = in.read(copyBuffer, position);
+            if (read < 0) {
+                throw new IOException("The existing file shrank while it was copied: " + target);
+            }
+            position += read;
+            digest.update(copyBuffer.flip().duplicate());
+            while (copyBuffer.hasRemaining()) {
+                size += out.write(copyBuffer);
+            }
+        }
+    }
+
+    /**
+     * Closes the temporary file and returns the digest of the reconstruction.
+     *
+     * @return the SHA-256 digest of the bytes written
+     * @throws IOException if the temporary file cannot be closed
+     */
+    public byte[] finish() throws IOException {
+        close();
+        return digest.digest();
+    }
+
+    /**
+     * Returns the number of bytes written to the temporary file.
+     *
+     * @return the size of the reconstruction so far
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Closes the temporary file and the existing copy, leaving the temporary file on disk.
+     *
+     * @throws IOException if a file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            out.close();
+        } finally {
+            if (in != null) {
+                in.close();
+            }
+        }
+    }
+
+    private void write(ByteBuf contents) throws IOException {
+        for (ByteBuffer buffer : contents.nioBuffers()) {
+            digest.update(buffer);
+        }
+        while (contents.isReadable()) {
+            size += contents.readBytes(out, contents.readableBytes());
+        }
+    }
+}
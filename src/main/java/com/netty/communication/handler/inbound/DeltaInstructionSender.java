@@ -0,0 +1,108 @@
+package com.netty.communication.handler.inbound;
+
+import com.netty.communication.delta.DeltaGenerator;
+import com.netty.communication.message.DeltaCommitRequest;
+import com.netty.communication.message.DeltaSignatures;
+import com.netty.communication.message.KeepAlive;
+import com.netty.communication.message.OutboundDeltaInstruction;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.session.ChannelSession;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side handler for the server's {@link DeltaSignatures} reply.
+ * <p>
+ * Computes the delta of the source file against the signatures away from the channel's event loop and
+ * sends every literal and copy instruction as soon as it is found, followed by the {@link DeltaCommitRequest}
+ * that lets the server verify and install the reconstructed file. Literal ranges are split into chunks of
+ * at most the negotiated chunk size. At most {@value #MAX_PENDING_WRITES} instructions are waiting to be
+ * written at any time, and while the file is scanned without finding anything to send, {@link KeepAlive}s
+ * keep the server from detecting the connection as idle.
+ */
+@RequiredArgsConstructor
+public class DeltaInstructionSender extends DedicatedSimpleInboundHandler<DeltaSignatures> {
+    private static final int MAX_PENDING_WRITES = 16;
+
+    private final int chunkSize;
+    private final DeltaGenerator deltaGenerator;
+    private final long keepAliveMillis;
+
+    /**
+     * Sends the delta instructions and the final commit request.
+     *
+     * @param ctx   the ChannelHandlerContext which provides various operations on the channel
+     * @param reply the signatures reply
+     * @throws Exception if the source file cannot be read or an instruction cannot be sent
+     */
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, DeltaSignatures reply) throws Exception {
+        int chunkSize = ChannelSession.of(ctx.channel()).chunkSize(this.chunkSize);
+        var srcPath = reply.getSourceFilePath();
+        var dstPath = reply.getDestFilePath();
+        Deque<ChannelFuture> pending = new ArrayDeque<>();
+
+        byte[] sha256;
+        var keepAlive = ctx.channel().eventLoop().scheduleAtFixedRate(
+                () -> ctx.channel().writeAndFlush(KeepAlive.builder().build()),
+                keepAliveMillis, keepAliveMillis, TimeUnit.MILLISECONDS);
+        try {
+            sha256 = deltaGenerator.generate(Path.of(srcPath), reply.getSignatures(), reply.getBlockSize(),
+                    new DeltaGenerator.Listener() {
+                        @Override
+                        public void literal(long offset, long length) throws IOException {
+                            for (long end = offset + length; offset < end; offset += chunkSize) {
+                                send(ctx, pending, OutboundDeltaInstruction.literal(dstPath, srcPath, offset,
+                                        (int) Math.min(chunkSize, end - offset)));
+                            }
+                        }
+
+                        @Override
+                        public void copy(long blockIndex, int blockCount) throws IOException {
+                            send(ctx, pending, OutboundDeltaInstruction.copy(dstPath, reply.getBlockSize(),
+                                    blockIndex, blockCount));
+                        }
+                    });
+        } finally {
+            keepAlive.cancel(false);
+        }
+
+        ctx.channel().writeAndFlush(DeltaCommitRequest.builder()
+                .destFilePath(dstPath)
+                .fileSize(Files.size(Path.of(srcPath)))
+                .sha256(sha256)
+                .build()).addListener(future -> {
+                    if (!future.isSuccess()) {
+                        ctx.fireExceptionCaught(future.cause());
+                    }
+                });
+    }
+
+    /**
+     * Writes an instruction, first waiting for the oldest pending write once {@value #MAX_PENDING_WRITES}
+     * instructions are pending.
+     *
+     * @param ctx     the ChannelHandlerContext which provides various operations on the channel
+     * @param pending the futures of the instructions written so far
+     * @param message the instruction
+     * @throws IOException if an earlier instruction could not be written
+     */
+    private static void send(ChannelHandlerContext ctx, Deque<ChannelFuture> pending, ProtocolMessage message)
+            throws IOException {
+        if (pending.size() == MAX_PENDING_WRITES) {
+            var oldest = pending.poll().awaitUninterruptibly();
+            if (!oldest.isSuccess()) {
+                throw new IOException("Failed to send a delta instruction.", oldest.cause());
+            }
+        }
+        pending.add(ctx.channel().writeAndFlush(message));
+    }
+}
@@ -0,0 +1,58 @@
+package com.netty.communication.handler.inbound;
+
+import com.netty.communication.delta.BlockSignatureGenerator;
+import com.netty.communication.delta.ServerBlockSignatures;
+import com.netty.communication.message.DeltaSignatureRequest;
+import com.netty.communication.message.KeepAlive;
+import com.netty.communication.session.ChannelSession;
+import io.netty.channel.ChannelHandlerContext;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes the block signatures of the server's copy of a file before a delta signature request is processed.
+ * <p>
+ * The signatures are computed away from the channel's event loop and attached to the session, together with
+ * the {@link DeltaFileWriter} the upload is reconstructed by. While the file is being read, {@link KeepAlive}s
+ * keep the waiting client from detecting the connection as idle.
+ */
+@RequiredArgsConstructor
+public class DeltaSignatureLoader extends DedicatedSimpleInboundHandler<DeltaSignatureRequest> {
+    private final String rootPath;
+    private final BlockSignatureGenerator signatureGenerator;
+    private final long keepAliveMillis;
+
+    /**
+     * Attaches the signatures of the destination file and a new writer to the session, then passes the request on.
+     *
+     * @param ctx     the ChannelHandlerContext which provides various operations on the channel
+     * @param request the signature request
+     * @throws Exception if the destination file cannot be read or the temporary file cannot be created
+     */
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, DeltaSignatureRequest request) throws Exception {
+        var session = ChannelSession.of(ctx.channel());
+        var target = Path.of(rootPath, request.getDestFilePath()).normalize();
+        var keepAlive = ctx.channel().eventLoop().scheduleAtFixedRate(
+                () -> ctx.channel().writeAndFlush(KeepAlive.builder().build()),
+                keepAliveMillis, keepAliveMillis, TimeUnit.MILLISECONDS);
+        try {
+            int blockSize = signatureGenerator.blockSizeFor(Files.isRegularFile(target) ? Files.size(target) : 0);
+            var signatures = signatureGenerator.generate(target, blockSize);
+            session.attach(ServerBlockSignatures.class,
+                    new ServerBlockSignatures(request.getDestFilePath(), blockSize, signatures));
+        } finally {
+            keepAlive.cancel(false);
+        }
+
+        var previous = session.attachment(DeltaFileWriter.class);
+        if (previous != null) {
+            previous.close();
+        }
+        session.attach(DeltaFileWriter.class, DeltaFileWriter.begin(target));
+        ctx.fireChannelRead(request);
+    }
+}
@@ -0,0 +1,52 @@
+package com.netty.communication.handler.inbound;
+
+import com.netty.communication.message.ChunkTransferOk;
+import com.netty.communication.message.InboundDeltaInstruction;
+import com.netty.communication.session.ChannelSession;
+import io.netty.channel.ChannelHandlerContext;
+
+import java.nio.file.Files;
+
+/**
+ * Handler for applying the instructions of a delta upload to the file being reconstructed.
+ * The {@link DeltaFileWriter} of the upload is attached to the session by the {@link DeltaSignatureLoader}
+ * and discarded here if the connection is lost before the upload is committed.
+ */
+public class DeltaStoreHandler extends DedicatedSimpleInboundHandler<InboundDeltaInstruction> {
+
+    /**
+     * Applies the received instruction and sends an acknowledgment upon success.
+     *
+     * @param ctx         the ChannelHandlerContext which provides various operations on the channel
+     * @param instruction the InboundDeltaInstruction to be applied
+     * @throws Exception if an error occurs while applying the instruction
+     */
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, InboundDeltaInstruction instruction) throws Exception {
+        var writer = ChannelSession.of(ctx.channel()).attachment(DeltaFileWriter.class);
+        if (writer == null) {
+            throw new IllegalStateException("No delta upload has begun for " + instruction.storePath() + ".");
+        }
+        writer.apply(instruction);
+        ctx.writeAndFlush(ChunkTransferOk.builder().build());
+    }
+
+    /**
+     * Closes and deletes the temporary file of an upload that was not committed.
+     *
+     * @param ctx the ChannelHandlerContext which provides various operations on the channel
+     * @throws Exception if the temporary file cannot be closed or deleted
+     */
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        try {
+            var writer = ChannelSession.of(ctx.channel()).attachment(DeltaFileWriter.class);
+            if (writer != null) {
+                writer.close();
+                Files.deleteIfExists(DeltaFileWriter.tempPath(writer.target()));
+            }
+        } finally {
+            super.channelInactive(ctx);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.netty.communication.handler.inbound;
+
+import com.netty.communication.message.FileBatchResult;
+import com.netty.communication.specification.response.ResponseSpec;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Client-side handler that collects the per-file statuses of a bulk upload.
+ * {@link FileBatchResult}s are consumed; every other message is passed on to the next handler.
+ */
+public class FileBatchResultCollector extends ChannelInboundHandlerAdapter {
+    private final Map<Integer, ResponseSpec> results = new ConcurrentHashMap<>();
+
+    /**
+     * Records the statuses of a batch result or forwards the message.
+     *
+     * @param ctx the ChannelHandlerContext which provides various operations on the channel
+     * @param msg the received message
+     * @throws Exception if an error occurs during processing
+     */
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (msg instanceof FileBatchResult result) {
+            result.getStatuses().forEach(status -> results.put(status.index(), status.status()));
+            return;
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    /**
+     * Returns the statuses collected so far.
+     *
+     * @return the status of every reported file by its position in the bulk request
+     */
+    public Map<Integer, ResponseSpec> results() {
+        return results;
+    }
+}
@@ -0,0 +1,57 @@
+package com.netty.communication.handler.inbound;
+
+import com.netty.communication.message.FileBatchResult;
+import com.netty.communication.message.FileBatchStatus;
+import com.netty.communication.message.InboundFileBatch;
+import com.netty.communication.specification.response.ResponseSpec;
+import io.netty.channel.ChannelHandlerContext;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+
+/**
+ * Handler for storing the files of a bulk upload batch.
+ * Every file is stored independently, keeping the sender's modification time if the batch carries it;
+ * the batch is answered with the status of each of them,
+ * which also acknowledges it to the sender.
+ */
+@RequiredArgsConstructor
+@Getter
+public class FileBatchStoreHandler extends DedicatedSimpleInboundHandler<InboundFileBatch> {
+    private final String rootPath;
+
+    /**
+     * Stores the files of the received batch and answers with their statuses.
+     *
+     * @param ctx   the ChannelHandlerContext which provides various operations on the channel
+     * @param batch the InboundFileBatch to be stored
+     */
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, InboundFileBatch batch) {
+        var statuses = new ArrayList<FileBatchStatus>(batch.entries().size());
+        for (var entry : batch.entries()) {
+            statuses.add(new FileBatchStatus(entry.index(), store(entry)));
+        }
+        ctx.writeAndFlush(FileBatchResult.builder().statuses(statuses).build());
+    }
+
+    private ResponseSpec store(InboundFileBatch.Entry entry) {
+        if (entry.status() != null) {
+            return entry.status();
+        }
+        try {
+            var targetPath = Path.of(rootPath, entry.storePath()).normalize().toString();
+            FileStoreAction.storeWhole(entry.contents(), entry.crc32c(), targetPath);
+            if (entry.lastModified() != null) {
+                Files.setLastModifiedTime(Path.of(targetPath), FileTime.fromMillis(entry.lastModified()));
+            }
+            return ResponseSpec.OK;
+        } catch (Exception e) {
+            return ResponseSpec.match(e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.netty.communication.handler.inbound;
+
+import com.netty.communication.exception.ChecksumMismatchException;
+import com.netty.communication.transfer.FileRange;
+import com.netty.communication.util.AdvancedFileUtils;
+import io.netty.buffer.ByteBuf;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Writes the chunks of a range transfer in place into a file that other ranges are written to
+ * at the same time. The file is neither truncated nor replaced; every chunk is written at the
+ * offset it carries, so chunks may be stored in any order. The range ends at the end of the
+ * furthest chunk written.
+ * <p>
+ * The CRC32C checksum of the range is updated as the chunks are written, so that the range is never read
+ * back to verify it; this requires the chunks to arrive in order, as a single connection delivers them.
+ */
+public class FileRangeWriter implements Closeable {
+    private final Path targetPath;
+    private final FileChannel channel;
+    private final long startOffset;
+    private final CRC32C crc = new CRC32C();
+    private long endOffset;
+    private boolean inOrder = true;
+
+    private FileRangeWriter(Path targetPath, FileChannel channel, long startOffset) {
+        this.targetPath = targetPath;
+        this.channel = channel;
+        this.startOffset = startOffset;
+        this.endOffset = startOffset;
+    }
+
+    /**
+     * Opens the file for a range starting at the given offset.
+     *
+     * @param targetPath  the path of the file
+     * @param startOffset the offset of the first byte of the range
+     * @return a writer for the range
+     * @throws IOException if the file cannot be opened
+     */
+    public static FileRangeWriter open(String targetPath, long startOffset) throws IOException {
+        AdvancedFileUtils.makeDirectoriesIfNotExist(targetPath);
+        var path = Path.of(targetPath);
+        return new FileRangeWriter(path, FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE),
+                startOffset);
+    }
+
+    /**
+     * Writes the contents of a middle-of-range chunk at the offset it carries.
+     *
+     * @param contents the contents of the chunk, starting with its offset
+     * @throws IOException if the file cannot be written
+     * @throws IllegalStateException if the chunk lies before the start of the range
+     */
+    public void write(ByteBuf contents) throws IOException {
+        long position = contents.readLong();
+        if (position < startOffset) {
+            throw new IllegalStateException("Chunk at " + position + " precedes the range at " + startOffset);
+        }
+        if (position == endOffset) {
+            for (ByteBuffer buffer : contents.nioBuffers()) {
+                crc.update(buffer);
+            }
+        } else {
+            inOrder = false;
+        }
+        while (contents.isReadable()) {
+            position += contents.readBytes(channel, position, contents.readableBytes());
+        }
+        endOffset = Math.max(endOffset, position);
+    }
+
+    /**
+     * Finishes the range and verifies it against the CRC32C checksum carried by the end-of-file chunk, if any.
+     *
+     * @param contents the contents of the end-of-file chunk
+     * @return the range that has been written
+     * @throws IOException if the file cannot be closed
+     * @throws ChecksumMismatchException if the written range does not match the announced checksum,
+     *                                   or cannot be verified since its chunks arrived out of order
+     */
+    public FileRange finish(ByteBuf contents) throws IOException {
+        close();
+        if (contents.readableBytes() == Integer.BYTES && (!inOrder || (int) crc.getValue() != contents.readInt())) {
+            throw new ChecksumMismatchException("CRC32C mismatch: " + targetPath + " at " + startOffset);
+        }
+        return new FileRange(startOffset, endOffset - startOffset);
+    }
+
+    /**
+     * Returns the CRC32C checksum of the bytes written, computed while they were written.
+     *
+     * @return the checksum of the range, or null if its chunks arrived out of order
+     */
+    public Integer crc32c() {
+        return inOrder ? (int) crc.getValue() : null;
+    }
+
+    /**
+     * Closes the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
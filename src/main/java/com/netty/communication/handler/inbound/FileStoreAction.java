@@ -1,43 +1,102 @@
 package com.netty.communication.handler.inbound;
 
-import com.netty.communication.message.ChunkType;
-import com.netty.communication.message.InboundFileChunk;
+import com.netty.communication.exception.ChecksumMismatchException;
+import com.netty.communication.message.InboundSmallFile;
+import com.netty.communication.transfer.ResumePoint;
 import com.netty.communication.util.AdvancedFileUtils;
+import com.netty.communication.util.ChecksumUtils;
 import io.netty.buffer.ByteBuf;
 import lombok.experimental.UtilityClass;
 
-import java.io.BufferedOutputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
- * Utility class for storing file chunks to a specified target path.
+ * Utility class for storing files to a specified target path.
+ * <p>
+ * A file received in chunks is written by a {@link PartialFileWriter} to a partial file next to the target,
+ * with a progress sidecar that records how many of its bytes have been stored, as a long overwritten in place.
+ * The partial file replaces the target only once the last chunk has arrived, and an interrupted transfer can
+ * continue from the recorded offset, even after a restart.
  */
 @UtilityClass
 public class FileStoreAction {
+    private static final String PARTIAL_SUFFIX = ".part";
+    private static final String PROGRESS_SUFFIX = ".progress";
 
     /**
-     * Stores a given file chunk to the specified target path.
-     * If the chunk is of type START_OF_FILE, any existing file at the target path will be deleted,
-     * and necessary directories will be created.
+     * Describes how much of a file received in chunks has been stored at the target path.
      *
-     * @param chunk     the inbound file chunk to be stored
-     * @param targetPath the path where the chunk should be stored
-     * @throws IOException if an I/O error occurs while storing the chunk
+     * @param targetPath   the path where the file is stored
+     * @param maxTailBytes the largest number of bytes covered by the tail checksum
+     * @return the point the transfer can continue from, or {@link ResumePoint#NONE}
+     * @throws IOException if the partial file cannot be read
      */
-    public static void store(InboundFileChunk chunk, String targetPath) throws IOException {
-        if (chunk.type() == ChunkType.START_OF_FILE) {
-            AdvancedFileUtils.deleteIfExists(targetPath);
-            AdvancedFileUtils.makeDirectoriesIfNotExist(targetPath);
+    public static ResumePoint resumePoint(String targetPath, int maxTailBytes) throws IOException {
+        return ResumePoint.of(partialPath(targetPath), storedBytes(targetPath), maxTailBytes);
+    }
+
+    static Path partialPath(String targetPath) {
+        return Path.of(targetPath + PARTIAL_SUFFIX);
+    }
+
+    static Path progressPath(String targetPath) {
+        return Path.of(targetPath + PROGRESS_SUFFIX);
+    }
+
+    /**
+     * Reads the number of bytes of the partial file recorded as stored.
+     *
+     * @param targetPath the path where the file is stored
+     * @return the number of stored bytes, or 0 if there is no usable partial file
+     * @throws IOException if the progress sidecar cannot be read
+     */
+    static long storedBytes(String targetPath) throws IOException {
+        var partialPath = partialPath(targetPath);
+        var progressPath = progressPath(targetPath);
+        if (!Files.isRegularFile(partialPath) || !Files.isRegularFile(progressPath)
+                || Files.size(progressPath) != Long.BYTES) {
+            return 0;
         }
+        return Math.min(ByteBuffer.wrap(Files.readAllBytes(progressPath)).getLong(), Files.size(partialPath));
+    }
 
-        final ByteBuf chunkContents = chunk.contents();
-        final int nBytesToStore = chunkContents.readableBytes();
+    /**
+     * Stores a whole small file with a single write, replacing any existing file at the target path.
+     *
+     * @param file       the inbound small file to be stored
+     * @param targetPath the path where the file should be stored
+     * @throws IOException if an I/O error occurs while storing the file
+     * @throws ChecksumMismatchException if the contents do not match the announced checksum
+     */
+    public static void store(InboundSmallFile file, String targetPath) throws IOException {
+        storeWhole(file.contents(), file.crc32c(), targetPath);
+    }
+
+    /**
+     * Stores the whole contents of a file with a single write, replacing any existing file at the target path.
+     * The contents are verified against the announced checksum before anything is written.
+     *
+     * @param contents   the contents of the file
+     * @param crc32c     the CRC32C checksum of the contents, or null if it is not verified
+     * @param targetPath the path where the file should be stored
+     * @throws IOException if an I/O error occurs while storing the file
+     * @throws ChecksumMismatchException if the contents do not match the announced checksum
+     */
+    public static void storeWhole(ByteBuf contents, Integer crc32c, String targetPath) throws IOException {
+        if (crc32c != null && ChecksumUtils.crc32c(contents, contents.readerIndex(), contents.readableBytes()) != crc32c) {
+            throw new ChecksumMismatchException("CRC32C mismatch: " + targetPath);
+        }
+        AdvancedFileUtils.makeDirectoriesIfNotExist(targetPath);
 
-        if (nBytesToStore > 0) {
-            try (var fileOutputStream = new FileOutputStream(targetPath, true);
-                 var bufferedOutputStream = new BufferedOutputStream(fileOutputStream, nBytesToStore)) {
-                chunkContents.readBytes(bufferedOutputStream, nBytesToStore);
+        try (var channel = FileChannel.open(Path.of(targetPath),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (contents.isReadable()) {
+                contents.readBytes(channel, contents.readableBytes());
             }
         }
     }
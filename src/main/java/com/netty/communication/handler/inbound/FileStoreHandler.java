@@ -1,20 +1,68 @@
 package com.netty.communication.handler.inbound;
 
+import com.netty.communication.exception.ConnectionClosedException;
 import com.netty.communication.message.ChunkTransferOk;
+import com.netty.communication.message.ChunkType;
 import com.netty.communication.message.InboundFileChunk;
+import com.netty.communication.metrics.ChannelRole;
+import com.netty.communication.metrics.TransferMetrics;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.trace.ChunkCounter;
+import com.netty.communication.trace.ChunkStoreEvent;
+import com.netty.communication.trace.Span;
+import com.netty.communication.trace.SpanStore;
+import com.netty.communication.trace.TraceContext;
+import com.netty.communication.transfer.StripeTracker;
+import com.netty.communication.transfer.TransferProgress;
 import io.netty.channel.ChannelHandlerContext;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.io.IOException;
 import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Handler for processing inbound file chunks and storing them in the specified directory.
+ * Chunks still queued when the connection closes are dropped, so that a retried transfer
+ * continues from the stored progress without racing with them. The first dropped chunk fails the
+ * request with a {@link ConnectionClosedException}, so that a response queued behind the chunks
+ * cannot report the transfer as complete. The chunks of a whole file are written to its partial file by a
+ * {@link PartialFileWriter}, and the chunks of a range transfer are written in place by a
+ * {@link FileRangeWriter}, and every completed range is recorded with its checksum by the {@link StripeTracker},
+ * which decides when a striped file is complete. The stored bytes are added to the {@link TransferProgress}
+ * attached to the channel's session, if any, and every stored chunk of file contents is timed in the
+ * {@link TransferMetrics}. Every stored chunk is also recorded by a {@link ChunkStoreEvent}, with the time it
+ * waited for the store executor. The chunks of a traced transfer are summed up in one store span per file,
+ * recorded in the {@link SpanStore} once the file is complete or the connection closes.
  */
 @RequiredArgsConstructor
 @Getter
 public class FileStoreHandler extends DedicatedSimpleInboundHandler<InboundFileChunk> {
     private final String rootPath;
+    private final StripeTracker stripeTracker;
+    private final TransferMetrics metrics;
+    private final SpanStore spanStore;
+    private final ChannelRole role;
+    @Getter(AccessLevel.NONE)
+    private final ChunkCounter chunkCounter = new ChunkCounter();
+    @Getter(AccessLevel.NONE)
+    private PartialFileWriter fileWriter;
+    @Getter(AccessLevel.NONE)
+    private FileRangeWriter rangeWriter;
+    @Getter(AccessLevel.NONE)
+    private boolean dropped;
+    @Getter(AccessLevel.NONE)
+    private TraceContext storeTrace;
+    @Getter(AccessLevel.NONE)
+    private long storeStartMicros;
+    @Getter(AccessLevel.NONE)
+    private long storeNanos;
+    @Getter(AccessLevel.NONE)
+    private long storedChunks;
+    @Getter(AccessLevel.NONE)
+    private long storedBytes;
 
     /**
      * Processes the received inbound file chunk, stores it in the specified path,
@@ -26,8 +74,119 @@ public class FileStoreHandler extends DedicatedSimpleInboundHandler<InboundFileC
      */
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, InboundFileChunk chunk) throws Exception {
+        if (!ctx.channel().isActive()) {
+            if (!dropped) {
+                dropped = true;
+                ctx.fireExceptionCaught(new ConnectionClosedException());
+            }
+            return;
+        }
+        var event = new ChunkStoreEvent();
+        event.begin();
+        long chunkIndex = chunkCounter.count(chunk);
         var targetPath = Path.of(rootPath, chunk.storePath()).normalize().toString();
-        FileStoreAction.store(chunk, targetPath);
+        boolean contents = chunk.type() == ChunkType.MIDDLE_OF_FILE || chunk.type() == ChunkType.MIDDLE_OF_RANGE;
+        var session = ChannelSession.of(ctx.channel());
+        var progress = session.attachment(TransferProgress.class);
+        if (progress != null && contents) {
+            progress.add(chunk.contents().readableBytes());
+        }
+        long bytes = chunk.contents().readableBytes();
+        long start = System.nanoTime();
+        if (chunk.type() == ChunkType.START_OF_RANGE) {
+            closeWriters();
+            rangeWriter = FileRangeWriter.open(targetPath, chunk.contents().readLong());
+        } else if (chunk.type() == ChunkType.START_OF_FILE) {
+            closeWriters();
+            var offset = chunk.contents().readableBytes() == Long.BYTES ? chunk.contents().readLong() : 0;
+            fileWriter = PartialFileWriter.open(targetPath, offset);
+        } else if (rangeWriter != null && chunk.type() == ChunkType.END_OF_FILE) {
+            var writer = rangeWriter;
+            rangeWriter = null;
+            stripeTracker.record(targetPath, writer.finish(chunk.contents()), writer.crc32c());
+        } else if (fileWriter != null && chunk.type() == ChunkType.END_OF_FILE) {
+            var writer = fileWriter;
+            fileWriter = null;
+            writer.finish(chunk.contents());
+        } else if (chunk.type() == ChunkType.MIDDLE_OF_RANGE) {
+            if (rangeWriter == null) {
+                throw new IllegalStateException("A range chunk arrived outside of a range transfer: " + targetPath);
+            }
+            rangeWriter.write(chunk.contents());
+        } else {
+            if (fileWriter == null) {
+                throw new IllegalStateException("A file chunk arrived outside of a file transfer: " + targetPath);
+            }
+            fileWriter.write(chunk.contents());
+        }
+        long elapsed = System.nanoTime() - start;
+        if (contents) {
+            metrics.chunkStored(elapsed);
+        }
+        var trace = session.attachment(TraceContext.class);
+        if (trace != null) {
+            addToStoreSpan(ctx, trace, elapsed, contents ? bytes : 0);
+            if (chunk.type() == ChunkType.END_OF_FILE) {
+                recordStoreSpan(ctx);
+            }
+        }
+        event.finish(ctx.channel(), chunk, chunkIndex, bytes, start);
         ctx.writeAndFlush(ChunkTransferOk.builder().build());
     }
+
+    /**
+     * Closes the file of an unfinished transfer when the connection closes; the partial file of a
+     * whole file transfer is kept, so that a retried transfer can continue from it.
+     *
+     * @param ctx the ChannelHandlerContext which provides various operations on the channel
+     * @throws Exception if the event cannot be forwarded
+     */
+    @Override
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        closeWriters();
+        recordStoreSpan(ctx);
+        super.channelInactive(ctx);
+    }
+
+    private void addToStoreSpan(ChannelHandlerContext ctx, TraceContext trace, long nanos, long bytes) {
+        if (!trace.equals(storeTrace)) {
+            recordStoreSpan(ctx);
+            storeTrace = trace;
+            storeStartMicros = Span.epochMicros() - TimeUnit.NANOSECONDS.toMicros(nanos);
+        }
+        storeNanos += nanos;
+        storedChunks++;
+        storedBytes += bytes;
+    }
+
+    private void recordStoreSpan(ChannelHandlerContext ctx) {
+        if (storeTrace == null) {
+            return;
+        }
+        spanStore.record(Span.childOf(storeTrace, role, "store")
+                .remote(Span.remote(ctx.channel().remoteAddress()))
+                .startEpochMicros(storeStartMicros)
+                .durationMicros(TimeUnit.NANOSECONDS.toMicros(storeNanos))
+                .count(storedChunks)
+                .bytes(storedBytes)
+                .build());
+        storeTrace = null;
+        storeNanos = 0;
+        storedChunks = 0;
+        storedBytes = 0;
+    }
+
+    private void closeWriters() throws IOException {
+        try {
+            if (fileWriter != null) {
+                fileWriter.close();
+                fileWriter = null;
+            }
+        } finally {
+            if (rangeWriter != null) {
+                rangeWriter.close();
+                rangeWriter = null;
+            }
+        }
+    }
 }
@@ -0,0 +1,50 @@
+package com.netty.communication.handler.inbound;
+
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.specification.message.InboundReplyProcessorProvider;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Client-side handler for intermediate replies of multi-step requests.
+ * When a reply has a registered processor, the follow-up messages it produces are sent back
+ * to the server; every other message is passed on to the next handler.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class InboundReplyHandler extends ChannelInboundHandlerAdapter {
+    private final InboundReplyProcessorProvider processorProvider;
+
+    /**
+     * Processes the reply if a processor is registered for it, otherwise forwards it.
+     *
+     * @param ctx the ChannelHandlerContext which provides various operations on the channel
+     * @param msg the received message
+     * @throws Exception if an error occurs during processing
+     */
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        if (!(msg instanceof ProtocolMessage reply)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+
+        var replyProcessor = processorProvider.getInboundReplyProcessor(reply.getClass());
+        if (replyProcessor == null) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+
+        for (var message : replyProcessor.process(reply, ChannelSession.of(ctx.channel()))) {
+            ctx.write(message).addListener(future -> {
+                if (!future.isSuccess()) {
+                    ctx.fireExceptionCaught(future.cause());
+                }
+            });
+        }
+        ctx.flush();
+    }
+}
@@ -1,9 +1,19 @@
 package com.netty.communication.handler.inbound;
 
+import com.netty.communication.exception.ConnectionClosedException;
+import com.netty.communication.exception.TransferCancelledException;
+import com.netty.communication.message.OutboundSmallFile;
 import com.netty.communication.message.ProtocolMessage;
 import com.netty.communication.message.ResponseMessage;
+import com.netty.communication.metrics.ChannelRole;
+import com.netty.communication.session.ChannelSession;
 import com.netty.communication.specification.message.InboundRequestProcessorProvider;
 import com.netty.communication.specification.response.ResponseSpec;
+import com.netty.communication.trace.RequestProcessEvent;
+import com.netty.communication.trace.Span;
+import com.netty.communication.trace.SpanStore;
+import com.netty.communication.trace.TraceContext;
+import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.handler.timeout.IdleState;
@@ -11,40 +21,87 @@ import io.netty.handler.timeout.IdleStateEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+
 /**
  * InboundRequestHandler processes incoming ProtocolMessage requests and sends appropriate responses.
  * It handles exceptions and idle state events in the channel.
+ * The processing of every request is recorded by a {@link RequestProcessEvent}, and, for a request that carries
+ * a {@link TraceContext}, by spans in the {@link SpanStore}.
  */
 @Slf4j
 @RequiredArgsConstructor
 public class InboundRequestHandler extends SimpleChannelInboundHandler<ProtocolMessage> {
     private final InboundRequestProcessorProvider processorProvider;
+    private final SpanStore spanStore;
 
     /**
      * Handles the incoming ProtocolMessage and processes it using the appropriate request processor.
+     * The responses are written in order and flushed once.
      *
      * @param ctx the ChannelHandlerContext which provides various operations on the channel
      * @param message the incoming ProtocolMessage to be processed
      */
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, ProtocolMessage message) {
+        var event = new RequestProcessEvent();
+        event.begin();
+        var session = ChannelSession.of(ctx.channel());
+        var trace = session.attachment(TraceContext.class);
+        long start = event.isEnabled() || trace != null ? System.nanoTime() : 0;
         try {
             var requestProcessor = processorProvider.getInboundRequestProcessor(message.getClass());
-            var responses = requestProcessor.process(message);
+            var responses = requestProcessor.process(message, session);
 
-            responses.add(new ResponseMessage(ResponseSpec.OK));
-            responses.forEach(response -> {
-                ctx.writeAndFlush(response).addListener(future -> {
-                    if (!future.isSuccess()) {
+            if (requestProcessor.completesRequest() && !isCompleted(responses)) {
+                responses.add(new ResponseMessage(ResponseSpec.OK));
+            }
+            ChannelFuture written = null;
+            for (var response : responses) {
+                written = ctx.write(response).addListener(future -> {
+                    if (!future.isSuccess() && !(future.cause() instanceof TransferCancelledException)) {
                         log.error("Failed to send a response.", future.cause());
                     }
                 });
-            });
+            }
+            ctx.flush();
+            event.finish(ctx.channel(), message, responses.size(), start);
+            if (trace != null && written != null) {
+                recordSpans(ctx, trace, start, written);
+            }
         } catch (Throwable throwable) {
             handleException(ctx, throwable);
         }
     }
 
+    /**
+     * Records how long a request took to process and, once its last response has been written, how long it
+     * took to answer, which for a download includes reading and sending the file. Messages that are not
+     * answered, like acknowledgments, are not recorded.
+     *
+     * @param ctx     the ChannelHandlerContext which provides various operations on the channel
+     * @param trace   the trace context of the request
+     * @param start   the {@link System#nanoTime()} the processing started at
+     * @param written the future of the last response
+     */
+    private void recordSpans(ChannelHandlerContext ctx, TraceContext trace, long start, ChannelFuture written) {
+        var remote = Span.remote(ctx.channel().remoteAddress());
+        spanStore.record(Span.childOf(trace, ChannelRole.SERVER, "process").remote(remote).since(start).build());
+        written.addListener(future -> spanStore.record(
+                Span.childOf(trace, ChannelRole.SERVER, "respond").remote(remote).since(start).build()));
+    }
+
+    /**
+     * Checks whether the last response already completes the request.
+     *
+     * @param responses the responses produced by the request processor
+     * @return true if the last response is a small file that carries the status of the request
+     */
+    private static boolean isCompleted(List<ProtocolMessage> responses) {
+        return !responses.isEmpty() && responses.get(responses.size() - 1) instanceof OutboundSmallFile smallFile
+                && smallFile.completesRequest();
+    }
+
     /**
      * Handles exceptions that occur during message processing.
      *
@@ -58,12 +115,17 @@ public class InboundRequestHandler extends SimpleChannelInboundHandler<ProtocolM
 
     /**
      * Handles exceptions by logging the error and sending an appropriate response back to the client.
+     * A cancelled transfer or a connection closed by the client is not an error of the server and is only logged as such.
      *
      * @param ctx the ChannelHandlerContext which provides various operations on the channel
      * @param cause the throwable that caused the exception
      */
     private static void handleException(ChannelHandlerContext ctx, Throwable cause) {
-        log.error("An exception was thrown while processing the request on the server side.", cause);
+        if (cause instanceof TransferCancelledException || cause instanceof ConnectionClosedException) {
+            log.info("The transfer to the client({}) was stopped: {}", ctx.channel().remoteAddress(), cause.getMessage());
+        } else {
+            log.error("An exception was thrown while processing the request on the server side.", cause);
+        }
         ctx.writeAndFlush(new ResponseMessage(ResponseSpec.match(cause)));
         ctx.close();
     }
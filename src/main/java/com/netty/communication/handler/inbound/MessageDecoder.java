@@ -1,7 +1,14 @@
 package com.netty.communication.handler.inbound;
 
+import com.netty.communication.message.InboundFileChunk;
+import com.netty.communication.metrics.TransferMetrics;
+import com.netty.communication.session.ChannelSession;
 import com.netty.communication.specification.channel.HeaderSpecProvider;
 import com.netty.communication.specification.message.MessageDecoderProvider;
+import com.netty.communication.trace.ChunkCounter;
+import com.netty.communication.trace.FrameDecodeEvent;
+import com.netty.communication.trace.FrameTracer;
+import com.netty.communication.trace.TraceContext;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
@@ -11,11 +18,29 @@ import lombok.RequiredArgsConstructor;
  * MessageDecoder decodes incoming ByteBuf messages into application-specific message objects.
  * It uses the provided HeaderSpecProvider to extract the message ID and the MessageDecoderProvider
  * to retrieve the appropriate decoder for the given ID.
+ * Every decoded frame is reported to the {@link FrameTracer} and timed by a {@link FrameDecodeEvent}.
+ * The trace context a frame carries in its header is attached to the channel's session. Decoded chunks are counted
+ * as outstanding in the channel's {@link TransferMetrics.ChannelStats} until they are released.
  */
 @RequiredArgsConstructor
 public class MessageDecoder extends SimpleChannelInboundHandler<ByteBuf> {
     private final MessageDecoderProvider decoderProvider;
     private final HeaderSpecProvider headerSpecProvider;
+    private final FrameTracer frameTracer;
+    private final ChunkCounter chunkCounter = new ChunkCounter();
+    private FrameTracer.Probe traceProbe;
+    private TransferMetrics.ChannelStats stats;
+
+    /**
+     * Creates the probe that reports the decoded frames of the channel.
+     *
+     * @param ctx the ChannelHandlerContext which provides various operations on the channel
+     */
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        traceProbe = frameTracer.probe(ctx.channel(), FrameTracer.Direction.INBOUND);
+        stats = TransferMetrics.statsOf(ctx.channel());
+    }
 
     /**
      * Reads the incoming ByteBuf message, extracts the message ID, and decodes it into a specific message type.
@@ -26,9 +51,40 @@ public class MessageDecoder extends SimpleChannelInboundHandler<ByteBuf> {
      */
     @Override
     protected void channelRead0(ChannelHandlerContext ctx, ByteBuf rawMessage) throws Exception {
+        var event = new FrameDecodeEvent();
+        event.begin();
+        var length = rawMessage.readableBytes();
         var id = headerSpecProvider.id().readFunc(rawMessage);
+        var traceSpec = headerSpecProvider.trace();
+        if (traceSpec.isTraced(id)) {
+            id &= ~traceSpec.flag();
+            adopt(ctx, traceSpec.readFunc(rawMessage));
+        }
         var decoder = decoderProvider.getDecoder(id);
         var message = decoder.apply(rawMessage);
+        long chunkIndex = -1;
+        if (message instanceof InboundFileChunk chunk) {
+            chunkIndex = chunkCounter.count(chunk);
+            if (stats != null) {
+                stats.track(chunk);
+            }
+        }
+        event.finish(ctx.channel(), id, message, length, chunkIndex);
+        traceProbe.frame(id, message.getClass(), length);
         ctx.fireChannelRead(message);
     }
+
+    /**
+     * Attaches the trace context of a frame to the channel's session, so that the handlers further on record
+     * their spans in it and the frames sent in return carry it back.
+     *
+     * @param ctx   the ChannelHandlerContext which provides various operations on the channel
+     * @param trace the trace context of the frame
+     */
+    private static void adopt(ChannelHandlerContext ctx, TraceContext trace) {
+        var session = ChannelSession.of(ctx.channel());
+        if (!trace.equals(session.attachment(TraceContext.class))) {
+            session.attach(TraceContext.class, trace);
+        }
+    }
 }
@@ -0,0 +1,177 @@
+package com.netty.communication.handler.inbound;
+
+import com.netty.communication.exception.ChecksumMismatchException;
+import com.netty.communication.util.AdvancedFileUtils;
+import io.netty.buffer.ByteBuf;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Writes the chunks of a whole file transfer to the partial file of the {@link FileStoreAction}.
+ * <p>
+ * The partial file stays open for the whole transfer, and the CRC32C checksum of the written bytes
+ * is updated as every chunk is written, so that the file is never read back to verify it. The
+ * checksum covers the bytes written from the offset the transfer started at, as the sender's does.
+ * <p>
+ * The progress sidecar stays open as well. Every {@value #PROGRESS_INTERVAL_BYTES} bytes, and when the
+ * writer is closed, the partial file is forced to the storage device before the stored bytes are recorded,
+ * so that the recorded progress never covers bytes a crash could lose.
+ */
+@Slf4j
+public class PartialFileWriter implements Closeable {
+    private static final long PROGRESS_INTERVAL_BYTES = 1024 * 1024 * 16;
+
+    private final String targetPath;
+    private final Path partialPath;
+    private final FileChannel channel;
+    private final FileChannel progressChannel;
+    private final ByteBuffer progress = ByteBuffer.allocate(Long.BYTES);
+    private final CRC32C crc = new CRC32C();
+    private long recorded;
+    private boolean closed;
+
+    private PartialFileWriter(String targetPath, Path partialPath, FileChannel channel, FileChannel progressChannel,
+                              long offset) {
+        this.targetPath = targetPath;
+        this.partialPath = partialPath;
+        this.channel = channel;
+        this.progressChannel = progressChannel;
+        this.recorded = offset;
+    }
+
+    /**
+     * Opens the partial file for a transfer starting at the given offset.
+     * At 0 the partial file is created empty, otherwise it is cut back to the offset,
+     * which must not exceed the stored bytes.
+     *
+     * @param targetPath the path where the file is stored
+     * @param offset     the offset the transfer starts at
+     * @return a writer for the transfer
+     * @throws IOException if the partial file cannot be prepared
+     * @throws IllegalStateException if the offset exceeds the stored bytes
+     */
+    public static PartialFileWriter open(String targetPath, long offset) throws IOException {
+        if (offset > 0 && FileStoreAction.storedBytes(targetPath) < offset) {
+            throw new IllegalStateException("Cannot resume " + targetPath + " at " + offset + ", fewer bytes are stored.");
+        }
+        if (offset > 0) {
+            log.info("Resuming {} at {} bytes.", targetPath, offset);
+        }
+        AdvancedFileUtils.makeDirectoriesIfNotExist(targetPath);
+        var partialPath = FileStoreAction.partialPath(targetPath);
+        FileChannel channel = null;
+        FileChannel progressChannel = null;
+        try {
+            channel = FileChannel.open(partialPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            progressChannel = FileChannel.open(FileStoreAction.progressPath(targetPath),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            channel.truncate(offset);
+            channel.position(offset);
+            var writer = new PartialFileWriter(targetPath, partialPath, channel, progressChannel, offset);
+            writer.writeProgress(offset);
+            return writer;
+        } catch (IOException e) {
+            if (progressChannel != null) {
+                progressChannel.close();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Appends the contents of a chunk to the partial file, and records the stored bytes once
+     * {@value #PROGRESS_INTERVAL_BYTES} bytes have been written since they were last recorded.
+     *
+     * @param contents the contents of the chunk
+     * @throws IOException if the partial file cannot be written
+     */
+    public void write(ByteBuf contents) throws IOException {
+        if (!contents.isReadable()) {
+            return;
+        }
+        for (ByteBuffer buffer : contents.nioBuffers()) {
+            crc.update(buffer);
+        }
+        while (contents.isReadable()) {
+            contents.readBytes(channel, contents.readableBytes());
+        }
+        if (channel.position() - recorded >= PROGRESS_INTERVAL_BYTES) {
+            recordProgress();
+        }
+    }
+
+    /**
+     * Finishes the transfer: verifies the written bytes against the CRC32C checksum carried by the
+     * end-of-file chunk, if any, and moves the partial file to the target path. On a mismatch the partial
+     * file and its progress sidecar are deleted, so that a retried transfer starts over instead of
+     * resuming from bytes that are known to be corrupt.
+     *
+     * @param contents the contents of the end-of-file chunk
+     * @throws IOException if the partial file cannot be closed or moved
+     * @throws ChecksumMismatchException if the written bytes do not match the announced checksum
+     */
+    public void finish(ByteBuf contents) throws IOException {
+        closeChannels();
+        if (contents.readableBytes() == Integer.BYTES && (int) crc.getValue() != contents.readInt()) {
+            Files.deleteIfExists(partialPath);
+            Files.deleteIfExists(FileStoreAction.progressPath(targetPath));
+            throw new ChecksumMismatchException("CRC32C mismatch: " + partialPath);
+        }
+        Files.move(partialPath, Path.of(targetPath), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(FileStoreAction.progressPath(targetPath));
+    }
+
+    /**
+     * Records the stored bytes and closes the partial file, which keeps them for a resumed transfer.
+     *
+     * @throws IOException if the stored bytes cannot be recorded or the partial file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            recordProgress();
+        } finally {
+            closeChannels();
+        }
+    }
+
+    /**
+     * Forces the partial file to the storage device and records its bytes as stored.
+     *
+     * @throws IOException if the partial file cannot be forced or the progress cannot be written
+     */
+    private void recordProgress() throws IOException {
+        long position = channel.position();
+        channel.force(false);
+        writeProgress(position);
+        recorded = position;
+    }
+
+    private void writeProgress(long offset) throws IOException {
+        progressChannel.write(progress.clear().putLong(0, offset), 0);
+    }
+
+    private void closeChannels() throws IOException {
+        closed = true;
+        try {
+            progressChannel.close();
+        } finally {
+            channel.close();
+        }
+    }
+}
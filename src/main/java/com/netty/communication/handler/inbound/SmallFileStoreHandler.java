@@ -0,0 +1,47 @@
+package com.netty.communication.handler.inbound;
+
+import com.netty.communication.message.InboundSmallFile;
+import com.netty.communication.message.ResponseMessage;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.specification.response.ResponseSpec;
+import com.netty.communication.transfer.TransferProgress;
+import io.netty.channel.ChannelHandlerContext;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.file.Path;
+
+/**
+ * Handler for storing small files received in a single frame.
+ * A file that carries a status completes the request it answers, which is passed on as a
+ * {@link ResponseMessage}; a file without a status is a complete upload and is answered directly.
+ * The stored bytes are added to the {@link TransferProgress} attached to the channel's session, if any.
+ */
+@RequiredArgsConstructor
+@Getter
+public class SmallFileStoreHandler extends DedicatedSimpleInboundHandler<InboundSmallFile> {
+    private final String rootPath;
+
+    /**
+     * Stores the received file and completes or answers the request.
+     *
+     * @param ctx  the ChannelHandlerContext which provides various operations on the channel
+     * @param file the InboundSmallFile to be stored
+     * @throws Exception if an error occurs during storage
+     */
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, InboundSmallFile file) throws Exception {
+        var targetPath = Path.of(rootPath, file.storePath()).normalize().toString();
+        long bytes = file.contents().readableBytes();
+        FileStoreAction.store(file, targetPath);
+        var progress = ChannelSession.of(ctx.channel()).attachment(TransferProgress.class);
+        if (progress != null) {
+            progress.add(bytes);
+        }
+        if (file.status() != null) {
+            ctx.fireChannelRead(new ResponseMessage(file.status()));
+        } else {
+            ctx.writeAndFlush(new ResponseMessage(ResponseSpec.OK));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.netty.communication.handler.inbound;
+
+import com.netty.communication.exception.ChecksumMismatchException;
+import com.netty.communication.message.ChunkTransferOk;
+import com.netty.communication.message.ChunkType;
+import com.netty.communication.message.InboundFileChunk;
+import com.netty.communication.message.InboundSmallFile;
+import com.netty.communication.message.ResponseMessage;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.transfer.StreamSink;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.ReferenceCountUtil;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * Handler that passes the bytes of a download to the {@link StreamSink} attached to the channel's session
+ * instead of storing them. Without a sink, every message is passed on to the store handlers.
+ * <p>
+ * A chunk is acknowledged only once the sink has delivered it, so the sender never runs more than a window
+ * of chunks ahead of the subscriber. The contents are verified against the CRC32C checksum carried by the
+ * end-of-file chunk or the small file, if any; the pieces before the end of a chunked download are delivered
+ * before they can be verified, and a mismatch fails the download instead of completing it.
+ * Like the store handlers, this handler runs on the dedicated store event loop group.
+ */
+public class StreamSinkHandler extends ChannelInboundHandlerAdapter {
+    private final CRC32C crc = new CRC32C();
+
+    /**
+     * Delivers a chunk or small file to the attached sink, or passes the message on.
+     *
+     * @param ctx the ChannelHandlerContext which provides various operations on the channel
+     * @param msg the received message
+     * @throws Exception if the contents do not match their checksum
+     */
+    @Override
+    public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+        var sink = ChannelSession.of(ctx.channel()).attachment(StreamSink.class);
+        if (sink == null || !(msg instanceof InboundFileChunk || msg instanceof InboundSmallFile)) {
+            ctx.fireChannelRead(msg);
+            return;
+        }
+        try {
+            if (msg instanceof InboundFileChunk chunk) {
+                deliver(ctx, sink, chunk);
+            } else {
+                deliver(ctx, sink, (InboundSmallFile) msg);
+            }
+        } finally {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    private void deliver(ChannelHandlerContext ctx, StreamSink sink, InboundFileChunk chunk) {
+        var contents = chunk.contents();
+        if (chunk.type() == ChunkType.START_OF_FILE) {
+            crc.reset();
+            acknowledge(ctx);
+        } else if (chunk.type() == ChunkType.MIDDLE_OF_FILE) {
+            crc.update(contents.nioBuffer());
+            sink.offer(copy(contents), () -> acknowledge(ctx));
+        } else if (chunk.type() == ChunkType.END_OF_FILE) {
+            if (contents.readableBytes() == Integer.BYTES && contents.readInt() != (int) crc.getValue()) {
+                throw new ChecksumMismatchException("CRC32C mismatch: " + chunk.storePath());
+            }
+            sink.complete();
+            acknowledge(ctx);
+        } else {
+            throw new IllegalStateException("A range chunk cannot be delivered to a stream: " + chunk.storePath());
+        }
+    }
+
+    private void deliver(ChannelHandlerContext ctx, StreamSink sink, InboundSmallFile file) {
+        var contents = file.contents();
+        if (file.crc32c() != null) {
+            crc.reset();
+            crc.update(contents.nioBuffer());
+            if ((int) crc.getValue() != file.crc32c()) {
+                throw new ChecksumMismatchException("CRC32C mismatch: " + file.storePath());
+            }
+        }
+        if (contents.isReadable()) {
+            sink.offer(copy(contents), () -> {
+            });
+        }
+        sink.complete();
+        if (file.status() != null) {
+            ctx.fireChannelRead(new ResponseMessage(file.status()));
+        }
+    }
+
+    private static ByteBuffer copy(ByteBuf contents) {
+        var copy = ByteBuffer.allocate(contents.readableBytes());
+        contents.readBytes(copy);
+        return copy.flip();
+    }
+
+    private static void acknowledge(ChannelHandlerContext ctx) {
+        ctx.writeAndFlush(ChunkTransferOk.builder().build());
+    }
+}
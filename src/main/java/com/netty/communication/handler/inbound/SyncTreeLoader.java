@@ -0,0 +1,52 @@
+package com.netty.communication.handler.inbound;
+
+import com.netty.communication.message.KeepAlive;
+import com.netty.communication.message.SyncCompareRequest;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.sync.MerkleTreeBuilder;
+import com.netty.communication.sync.ServerSyncTree;
+import io.netty.channel.ChannelHandlerContext;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the server's Merkle tree for a directory sync before the comparison request is processed.
+ * <p>
+ * The tree is built once per sync and attached to the session, away from the channel's event loop.
+ * While the directory is being walked, {@link KeepAlive}s keep the waiting client from detecting
+ * the connection as idle.
+ */
+@RequiredArgsConstructor
+public class SyncTreeLoader extends DedicatedSimpleInboundHandler<SyncCompareRequest> {
+    private final String rootPath;
+    private final MerkleTreeBuilder treeBuilder;
+    private final long keepAliveMillis;
+
+    /**
+     * Makes sure the session holds the server's tree for the request, then passes the request on.
+     *
+     * @param ctx     the ChannelHandlerContext which provides various operations on the channel
+     * @param request the comparison request
+     * @throws Exception if the server's directory cannot be read
+     */
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, SyncCompareRequest request) throws Exception {
+        var session = ChannelSession.of(ctx.channel());
+        var tree = session.attachment(ServerSyncTree.class);
+        if (!request.getDirectories().isEmpty()
+                && (tree == null || !tree.matches(request.getDestDirPath(), request.isContentHash()))) {
+            var keepAlive = ctx.channel().eventLoop().scheduleAtFixedRate(
+                    () -> ctx.channel().writeAndFlush(KeepAlive.builder().build()),
+                    keepAliveMillis, keepAliveMillis, TimeUnit.MILLISECONDS);
+            try {
+                var root = treeBuilder.build(Path.of(rootPath, request.getDestDirPath()).normalize(), request.isContentHash());
+                session.attach(ServerSyncTree.class, new ServerSyncTree(request.getDestDirPath(), request.isContentHash(), root));
+            } finally {
+                keepAlive.cancel(false);
+            }
+        }
+        ctx.fireChannelRead(request);
+    }
+}
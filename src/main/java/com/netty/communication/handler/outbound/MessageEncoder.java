@@ -3,6 +3,10 @@ package com.netty.communication.handler.outbound;
 import com.netty.communication.specification.channel.HeaderSpecProvider;
 import com.netty.communication.specification.message.ProtocolIdProvider;
 import com.netty.communication.message.MessageEncodable;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.trace.FrameEncodeEvent;
+import com.netty.communication.trace.FrameTracer;
+import com.netty.communication.trace.TraceContext;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
@@ -20,11 +24,27 @@ import java.util.stream.IntStream;
  * accommodate the way {@link FileRegion} is handled by Netty when sending
  * file content.
  * </p>
+ * <p>
+ * Every encoded frame is reported to the {@link FrameTracer} and timed by a {@link FrameEncodeEvent}.
+ * While a {@link TraceContext} is attached to the channel's session, every frame carries it in its header.
+ * </p>
  */
 @RequiredArgsConstructor
 public class MessageEncoder extends ChannelOutboundHandlerAdapter {
     private final ProtocolIdProvider idProvider;
     private final HeaderSpecProvider headerSpecProvider;
+    private final FrameTracer frameTracer;
+    private FrameTracer.Probe traceProbe;
+
+    /**
+     * Creates the probe that reports the encoded frames of the channel.
+     *
+     * @param ctx the context of the channel
+     */
+    @Override
+    public void handlerAdded(ChannelHandlerContext ctx) {
+        traceProbe = frameTracer.probe(ctx.channel(), FrameTracer.Direction.OUTBOUND);
+    }
 
     /**
      * Encodes the message by creating a header and body pieces, and sends
@@ -39,11 +59,22 @@ public class MessageEncoder extends ChannelOutboundHandlerAdapter {
      */
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
-        MessageEncodable encodable = (MessageEncodable) msg;
+        if (!(msg instanceof MessageEncodable encodable)) {
+            throw new IllegalArgumentException("Message must implement MessageEncodable.");
+        }
+        var event = new FrameEncodeEvent();
+        event.begin();
+        long start = event.isEnabled() ? System.nanoTime() : 0;
 
         List<EncodedBodyPiece> bodyPieces = encodable.encode(ctx.alloc().buffer());
 
-        ByteBuf header = buildHeader(ctx.alloc().buffer(), bodyPieces, encodable.getClass());
+        var trace = ChannelSession.of(ctx.channel()).attachment(TraceContext.class);
+        var length = bodyPieces.stream().mapToInt(EncodedBodyPiece::length).sum() + headerSpecProvider.id().length()
+                + (trace != null ? headerSpecProvider.trace().length() : 0);
+        var id = idProvider.getProtocolId(encodable.getClass());
+        ByteBuf header = buildHeader(ctx.alloc().buffer(), length, id, trace);
+        event.finish(ctx.channel(), id, msg, length, start);
+        traceProbe.frame(id, encodable.getClass(), length);
         ctx.write(header);
 
         if (isMultiplePieces(bodyPieces)) {
@@ -55,20 +86,23 @@ public class MessageEncoder extends ChannelOutboundHandlerAdapter {
     }
 
     /**
-     * Builds the message header using the specified body pieces and
-     * the class of the encodable message.
+     * Builds the message header from the length of the frame,
+     * the protocol id of the encodable message and the trace context of the channel.
      *
-     * @param header      the ByteBuf to write the header to
-     * @param bodyPieces  the list of body pieces
-     * @param clazz       the class of the message being encoded
+     * @param header the ByteBuf to write the header to
+     * @param length the length of the frame after its length field
+     * @param id     the protocol id of the message being encoded
+     * @param trace  the trace context, or null if the frame carries none
      * @return the populated header ByteBuf
      */
-    private ByteBuf buildHeader(ByteBuf header, List<EncodedBodyPiece> bodyPieces, Class<? extends MessageEncodable> clazz) {
-        var length = bodyPieces.stream().mapToInt(EncodedBodyPiece::length).sum() + headerSpecProvider.id().length();
-        var id = idProvider.getProtocolId(clazz);
-
+    private ByteBuf buildHeader(ByteBuf header, int length, int id, TraceContext trace) {
         headerSpecProvider.length().writeFunc(header, length);
-        headerSpecProvider.id().writeFunc(header, id);
+        if (trace == null) {
+            headerSpecProvider.id().writeFunc(header, id);
+        } else {
+            headerSpecProvider.id().writeFunc(header, id | headerSpecProvider.trace().flag());
+            headerSpecProvider.trace().writeFunc(header, trace);
+        }
         return header;
     }
 
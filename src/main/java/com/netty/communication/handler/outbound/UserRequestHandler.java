@@ -1,6 +1,8 @@
 package com.netty.communication.handler.outbound;
 
+import com.netty.communication.message.ProtocolMessage;
 import com.netty.communication.message.UserRequest;
+import com.netty.communication.session.ChannelSession;
 import com.netty.communication.specification.message.OutboundRequestProcessorProvider;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
@@ -11,6 +13,7 @@ import lombok.RequiredArgsConstructor;
  * A handler for processing outgoing user requests.
  * This handler uses an outbound request processor to convert a
  * UserRequest into one or more outbound messages and sends them through the channel.
+ * Protocol messages written by handlers further down the pipeline are passed through as they are.
  */
 @RequiredArgsConstructor
 public class UserRequestHandler extends ChannelOutboundHandlerAdapter {
@@ -22,22 +25,27 @@ public class UserRequestHandler extends ChannelOutboundHandlerAdapter {
      * and writes those messages to the channel.
      *
      * @param ctx     the context of the channel
-     * @param msg     the message to be processed, expected to be of type UserRequest
+     * @param msg     the message to be processed, expected to be of type UserRequest or ProtocolMessage
      * @param promise a promise to notify when the write operation is complete
      * @throws Exception if an error occurs during message processing or writing
      */
     @Override
     public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (msg instanceof ProtocolMessage) {
+            ctx.write(msg, promise);
+            return;
+        }
         if (!(msg instanceof UserRequest userMessage)) {
-            throw new IllegalArgumentException("Message must be of type UserRequest.");
+            throw new IllegalArgumentException("Message must be of type UserRequest or ProtocolMessage.");
         }
 
         var requestProcessor = processorProvider.getOutboundRequestProcessor(userMessage.getClass());
-        var messages = requestProcessor.process(userMessage);
+        var messages = requestProcessor.process(userMessage, ChannelSession.of(ctx.channel()));
 
         for (var message : messages) {
-            ctx.writeAndFlush(message);
+            ctx.write(message);
         }
+        ctx.flush();
 
         promise.setSuccess();
     }
@@ -0,0 +1,80 @@
+package com.netty.communication.job;
+
+import com.netty.communication.dto.TransferJobDto;
+import com.netty.communication.dto.TransferJobStatusDto;
+import com.netty.communication.dto.TransferResultDto;
+import com.netty.communication.specification.response.ResponseSpec;
+import com.netty.communication.transfer.TransferProgress;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A transfer submitted to the {@link TransferJobManager}, from its submission until it is forgotten.
+ * The state of a job is read and changed only under the lock of its manager; the progress is advanced
+ * by the running transfer.
+ */
+@RequiredArgsConstructor
+@Getter
+@Setter
+@Accessors(fluent = true)
+class TransferJob {
+    private final String id;
+    private final TransferJobDto spec;
+    private final Key key;
+    private final long sequence;
+    private final long submittedAt;
+    private final TransferProgress progress = new TransferProgress();
+    private int priority;
+    private int submissions = 1;
+    private TransferJobState state = TransferJobState.QUEUED;
+    private long startedAt;
+    private long finishedAt;
+    private boolean cancelRequested;
+    private CompletableFuture<TransferResultDto> transfer;
+    private TransferResultDto result;
+    private ResponseSpec error;
+
+    /**
+     * Returns the server the job transfers from or to.
+     *
+     * @return the address of the server as {@code ip:port}
+     */
+    String server() {
+        return key.ip() + ":" + key.port();
+    }
+
+    /**
+     * Takes a snapshot of the job's status.
+     *
+     * @return the status
+     */
+    TransferJobStatusDto status() {
+        boolean succeeded = state == TransferJobState.SUCCEEDED;
+        long total = succeeded ? result.getSize() : progress.totalBytes();
+        return new TransferJobStatusDto(id, key.type(), key.ip(), key.port(), key.remoteFile(), key.localFile(),
+                priority, state, succeeded ? total : progress.transferredBytes(), total, submissions,
+                submittedAt, startedAt, finishedAt, result,
+                error != null ? error.getErrorNo() : 0, error != null ? error.getErrorMessage() : null);
+    }
+
+    /**
+     * Identifies the transfers that would do the same work, so that identical submissions share one job.
+     *
+     * @param type       the direction of the transfer
+     * @param ip         the IP address of the server
+     * @param port       the port number of the server
+     * @param remoteFile the path of the file on the server
+     * @param localFile  the path of the local file
+     */
+    record Key(TransferJobType type, String ip, int port, String remoteFile, String localFile) {
+
+        static Key of(TransferJobDto spec) {
+            return new Key(spec.type(), spec.remote().ip(), spec.remote().port(), spec.remote().file(),
+                    spec.local().file());
+        }
+    }
+}
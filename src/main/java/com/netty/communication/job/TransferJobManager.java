@@ -0,0 +1,284 @@
+package com.netty.communication.job;
+
+import com.netty.communication.dto.FileDownloadDto;
+import com.netty.communication.dto.FileUploadDto;
+import com.netty.communication.dto.TransferJobDto;
+import com.netty.communication.dto.TransferJobStatusDto;
+import com.netty.communication.dto.TransferResultDto;
+import com.netty.communication.exception.JobNotFoundException;
+import com.netty.communication.exception.JobQueueFullException;
+import com.netty.communication.exception.ServerRuntimeException;
+import com.netty.communication.service.FileClient;
+import com.netty.communication.specification.channel.ChannelSpecProvider;
+import com.netty.communication.specification.response.ResponseSpec;
+import com.netty.communication.transfer.ProgressPublisher;
+import com.netty.communication.transfer.TransferStage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Queues transfer jobs and runs them with a bounded number of concurrent transfers per server.
+ * <p>
+ * Every server has its own queue, ordered by priority and then by submission, and at most
+ * {@code jobsPerServer} of its jobs run at the same time; a job starts as soon as a job of the same server
+ * finishes. The transfers are non-blocking, so a running job occupies a connection but no thread.
+ * A submission identical to a job that has not finished yet, in direction, server, remote and local file,
+ * is coalesced into that job instead of queueing another transfer of the same file; a queued job takes
+ * the higher priority of the two.
+ * <p>
+ * At most {@code maxQueuedJobs} jobs wait at any time; a submission that would exceed the limit is rejected
+ * as a whole. Finished jobs are remembered for polling, up to {@code finishedJobRetention} of them, after
+ * which the oldest are forgotten. The progress of every job is published under the id of the job.
+ */
+@Slf4j
+@Component
+public class TransferJobManager {
+    private static final Comparator<TransferJob> START_ORDER = Comparator
+            .<TransferJob>comparingInt(TransferJob::priority).reversed()
+            .thenComparingLong(TransferJob::sequence);
+
+    private final FileClient fileClient;
+    private final ProgressPublisher progressPublisher;
+    private final int jobsPerServer;
+    private final int maxQueuedJobs;
+    private final int finishedJobRetention;
+
+    private final Map<String, TransferJob> jobs = new LinkedHashMap<>();
+    private final Map<TransferJob.Key, TransferJob> unfinished = new HashMap<>();
+    private final Map<String, ServerQueue> servers = new HashMap<>();
+    private final Deque<TransferJob> finished = new ArrayDeque<>();
+    private long sequence;
+    private int queued;
+
+    public TransferJobManager(FileClient fileClient, ProgressPublisher progressPublisher,
+                              ChannelSpecProvider channelSpecProvider) {
+        var spec = channelSpecProvider.client();
+        this.fileClient = fileClient;
+        this.progressPublisher = progressPublisher;
+        this.jobsPerServer = spec.jobsPerServer();
+        this.maxQueuedJobs = spec.maxQueuedJobs();
+        this.finishedJobRetention = spec.finishedJobRetention();
+    }
+
+    /**
+     * Submits transfer jobs. Each job is either queued or coalesced into an identical unfinished job,
+     * and jobs whose server has a free slot start right away.
+     *
+     * @param specs the jobs to submit
+     * @return the status of the job each specification ended up in, in the order of the specifications
+     * @throws IllegalArgumentException if a specification lacks its direction, remote or local file
+     * @throws JobQueueFullException if queueing the jobs would exceed the queue limit; no job is submitted then
+     */
+    public List<TransferJobStatusDto> submit(List<TransferJobDto> specs) {
+        specs.forEach(TransferJobManager::validate);
+        var submitted = new ArrayList<TransferJob>(specs.size());
+        var startable = new ArrayList<TransferJob>();
+        List<TransferJobStatusDto> statuses;
+        synchronized (this) {
+            long added = specs.stream().map(TransferJob.Key::of).distinct().filter(key -> !unfinished.containsKey(key)).count();
+            if (queued + added > maxQueuedJobs) {
+                throw new JobQueueFullException("Cannot queue " + added + " jobs; " + queued + " of " + maxQueuedJobs
+                        + " are waiting.");
+            }
+            long now = System.currentTimeMillis();
+            for (var spec : specs) {
+                var key = TransferJob.Key.of(spec);
+                var job = unfinished.get(key);
+                if (job != null) {
+                    coalesce(job, spec.priority());
+                } else {
+                    job = new TransferJob(UUID.randomUUID().toString(), spec, key, sequence++, now)
+                            .priority(spec.priority());
+                    jobs.put(job.id(), job);
+                    progressPublisher.register(job.id(), job.progress());
+                    unfinished.put(key, job);
+                    servers.computeIfAbsent(job.server(), server -> new ServerQueue()).waiting.add(job);
+                    queued++;
+                }
+                submitted.add(job);
+            }
+            for (var server : servers.values()) {
+                takeStartable(server, startable);
+            }
+            statuses = submitted.stream().map(TransferJob::status).toList();
+        }
+        startable.forEach(this::start);
+        return statuses;
+    }
+
+    /**
+     * Returns the status of a job.
+     *
+     * @param id the id of the job
+     * @return the status
+     * @throws JobNotFoundException if there is no such job, or it has finished so long ago that it was forgotten
+     */
+    public synchronized TransferJobStatusDto status(String id) {
+        return find(id).status();
+    }
+
+    /**
+     * Returns the status of the known jobs, in the order of submission.
+     *
+     * @param state the state of the jobs to return, or null for all
+     * @param limit the maximum number of jobs to return
+     * @return the statuses
+     */
+    public synchronized List<TransferJobStatusDto> statuses(TransferJobState state, int limit) {
+        return jobs.values().stream()
+                .filter(job -> state == null || job.state() == state)
+                .limit(limit)
+                .map(TransferJob::status)
+                .toList();
+    }
+
+    /**
+     * Cancels a job. A queued job is cancelled at once; a running job is cancelled once its transfer has
+     * stopped, on the server as well. A finished job is left as it is.
+     *
+     * @param id the id of the job
+     * @return the status of the job after the cancellation was requested
+     * @throws JobNotFoundException if there is no such job, or it has finished so long ago that it was forgotten
+     */
+    public TransferJobStatusDto cancel(String id) {
+        CompletableFuture<TransferResultDto> transfer = null;
+        TransferJobStatusDto status;
+        synchronized (this) {
+            var job = find(id);
+            if (job.state() == TransferJobState.QUEUED) {
+                var server = servers.get(job.server());
+                server.waiting.remove(job);
+                queued--;
+                finish(job, TransferJobState.CANCELLED, null, ResponseSpec.TRANSFER_CANCELLED);
+                forgetIfIdle(job.server(), server);
+            } else if (job.state() == TransferJobState.RUNNING && !job.cancelRequested()) {
+                job.cancelRequested(true);
+                unfinished.remove(job.key(), job);
+                transfer = job.transfer();
+            }
+            status = job.status();
+        }
+        if (transfer != null) {
+            transfer.cancel(true);
+        }
+        return status;
+    }
+
+    private void coalesce(TransferJob job, int priority) {
+        job.submissions(job.submissions() + 1);
+        if (job.state() == TransferJobState.QUEUED && priority > job.priority()) {
+            var waiting = servers.get(job.server()).waiting;
+            waiting.remove(job);
+            job.priority(priority);
+            waiting.add(job);
+        }
+    }
+
+    private void takeStartable(ServerQueue server, List<TransferJob> startable) {
+        while (server.running < jobsPerServer && !server.waiting.isEmpty()) {
+            var job = server.waiting.poll();
+            queued--;
+            server.running++;
+            job.state(TransferJobState.RUNNING).startedAt(System.currentTimeMillis());
+            startable.add(job);
+        }
+    }
+
+    private void start(TransferJob job) {
+        var spec = job.spec();
+        CompletableFuture<TransferResultDto> transfer;
+        try {
+            if (spec.type() == TransferJobType.DOWNLOAD) {
+                transfer = fileClient.downloadFileAsync(
+                        new FileDownloadDto(spec.remote(), spec.local(), spec.timeoutMillis()), job.progress());
+            } else {
+                transfer = fileClient.uploadFileAsync(
+                        new FileUploadDto(spec.local(), spec.remote(), spec.timeoutMillis()), job.progress());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Transfer job {} could not be started: {}", job.id(), e.getMessage());
+            transfer = CompletableFuture.failedFuture(e);
+        }
+        boolean cancelled;
+        synchronized (this) {
+            job.transfer(transfer);
+            cancelled = job.cancelRequested();
+        }
+        if (cancelled) {
+            transfer.cancel(true);
+        }
+        transfer.whenComplete((result, cause) -> onTransferComplete(job, result, cause));
+    }
+
+    private void onTransferComplete(TransferJob job, TransferResultDto result, Throwable cause) {
+        var startable = new ArrayList<TransferJob>();
+        synchronized (this) {
+            if (cause == null) {
+                finish(job, TransferJobState.SUCCEEDED, result, null);
+            } else {
+                var unwrapped = cause instanceof CompletionException && cause.getCause() != null ? cause.getCause() : cause;
+                if (unwrapped instanceof CancellationException) {
+                    finish(job, TransferJobState.CANCELLED, null, ResponseSpec.TRANSFER_CANCELLED);
+                } else {
+                    finish(job, TransferJobState.FAILED, null, unwrapped instanceof ServerRuntimeException e
+                            ? ResponseSpec.match(e.getErrorNo()) : ResponseSpec.match(unwrapped));
+                }
+            }
+            var server = servers.get(job.server());
+            server.running--;
+            takeStartable(server, startable);
+            forgetIfIdle(job.server(), server);
+        }
+        startable.forEach(this::start);
+    }
+
+    private void forgetIfIdle(String address, ServerQueue server) {
+        if (server.running == 0 && server.waiting.isEmpty()) {
+            servers.remove(address);
+        }
+    }
+
+    private void finish(TransferJob job, TransferJobState state, TransferResultDto result, ResponseSpec error) {
+        job.state(state).result(result).error(error).finishedAt(System.currentTimeMillis());
+        job.progress().stage(TransferStage.valueOf(state.name()));
+        unfinished.remove(job.key(), job);
+        finished.add(job);
+        while (finished.size() > finishedJobRetention) {
+            jobs.remove(finished.poll().id());
+        }
+    }
+
+    private TransferJob find(String id) {
+        var job = jobs.get(id);
+        if (job == null) {
+            throw new JobNotFoundException("Unknown transfer job: " + id);
+        }
+        return job;
+    }
+
+    private static void validate(TransferJobDto spec) {
+        if (spec.type() == null || spec.remote() == null || spec.remote().ip() == null || spec.remote().file() == null
+                || spec.local() == null || spec.local().file() == null) {
+            throw new IllegalArgumentException("A transfer job needs a type, a remote and a local file: " + spec);
+        }
+    }
+
+    private static final class ServerQueue {
+        private final PriorityQueue<TransferJob> waiting = new PriorityQueue<>(START_ORDER);
+        private int running;
+    }
+}
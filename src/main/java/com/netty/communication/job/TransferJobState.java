@@ -0,0 +1,22 @@
+package com.netty.communication.job;
+
+/**
+ * The state of a transfer job. A job is queued when it is submitted, runs once its server has a free slot,
+ * and ends in one of the finished states.
+ */
+public enum TransferJobState {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED,
+    CANCELLED;
+
+    /**
+     * Tells whether a job in this state is finished and will not change anymore.
+     *
+     * @return true for the succeeded, failed and cancelled states
+     */
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,15 @@
+package com.netty.communication.job;
+
+/**
+ * The direction of a transfer job.
+ */
+public enum TransferJobType {
+    /**
+     * Downloads a file of the remote server into a local file.
+     */
+    DOWNLOAD,
+    /**
+     * Uploads a local file to the remote server.
+     */
+    UPLOAD
+}
@@ -0,0 +1,43 @@
+package com.netty.communication.message;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * Represents how transferred files are verified, as negotiated in the handshake.
+ * Each mode occupies one bit in the mask a peer advertises.
+ */
+@RequiredArgsConstructor
+@Getter
+@Accessors(fluent = true)
+public enum ChecksumMode {
+    NONE(0),
+    CRC32C(1);
+
+    private final int value;
+
+    /**
+     * Returns the ChecksumMode corresponding to the specified integer value.
+     *
+     * @param value the integer value representing a checksum mode
+     * @return the corresponding ChecksumMode
+     * @throws IllegalArgumentException if the value does not correspond to a known checksum mode
+     */
+    public static ChecksumMode of(int value) {
+        return switch (value) {
+            case 0 -> NONE;
+            case 1 -> CRC32C;
+            default -> throw new IllegalArgumentException("Unknown checksum mode: " + value);
+        };
+    }
+
+    /**
+     * Returns the bit of this mode in an advertised mask.
+     *
+     * @return the mask bit
+     */
+    public int mask() {
+        return 1 << value;
+    }
+}
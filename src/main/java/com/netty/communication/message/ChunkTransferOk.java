@@ -3,6 +3,8 @@ package com.netty.communication.message;
 import com.netty.communication.handler.outbound.EncodedBodyPiece;
 import io.netty.buffer.ByteBuf;
 import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.Accessors;
 
 import java.util.Collections;
 import java.util.List;
@@ -10,10 +12,15 @@ import java.util.List;
 /**
  * Represents a protocol message indicating that a chunk transfer was successful.
  * This message can be encoded for transmission over a network and can be decoded
- * from a received message.
+ * from a received message. An acknowledgment records when it was created, so that the time until
+ * the channel's event loop encodes it can be measured.
  */
 @Builder
-public class ChunkTransferOk implements ProtocolMessage {
+@Getter
+@Accessors(fluent = true)
+public class ChunkTransferOk implements ProtocolMessage, MessageEncodable, TimestampedMessage {
+    @Builder.Default
+    private final long handedOverNanos = System.nanoTime();
 
     /**
      * Decodes a ChunkTransferOk message from the provided ByteBuf.
@@ -7,6 +7,9 @@ import lombok.experimental.Accessors;
 /**
  * Represents the type of a chunk in a file transfer protocol.
  * This enum defines the possible chunk types and their corresponding integer values.
+ * A transfer of a range of a file starts with START_OF_RANGE instead of START_OF_FILE and is
+ * written in place into a file shared with the transfers of the other ranges. Its data chunks are
+ * MIDDLE_OF_RANGE chunks, which carry the offset they belong at, so that they can be stored in any order.
  */
 @RequiredArgsConstructor
 @Getter
@@ -14,7 +17,9 @@ import lombok.experimental.Accessors;
 public enum ChunkType {
     START_OF_FILE(1),
     MIDDLE_OF_FILE(2),
-    END_OF_FILE(3);
+    END_OF_FILE(3),
+    START_OF_RANGE(4),
+    MIDDLE_OF_RANGE(5);
 
     private final int value;
 
@@ -30,6 +35,8 @@ public enum ChunkType {
             case 1 -> START_OF_FILE;
             case 2 -> MIDDLE_OF_FILE;
             case 3 -> END_OF_FILE;
+            case 4 -> START_OF_RANGE;
+            case 5 -> MIDDLE_OF_RANGE;
             default -> throw new IllegalArgumentException("Unknown chunk type: " + value);
         };
     }
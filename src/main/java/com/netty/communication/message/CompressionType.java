@@ -0,0 +1,41 @@
+package com.netty.communication.message;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * Represents the compression applied to chunk contents, as negotiated in the handshake.
+ * Each type occupies one bit in the mask a peer advertises.
+ */
+@RequiredArgsConstructor
+@Getter
+@Accessors(fluent = true)
+public enum CompressionType {
+    NONE(0);
+
+    private final int value;
+
+    /**
+     * Returns the CompressionType corresponding to the specified integer value.
+     *
+     * @param value the integer value representing a compression type
+     * @return the corresponding CompressionType
+     * @throws IllegalArgumentException if the value does not correspond to a known compression type
+     */
+    public static CompressionType of(int value) {
+        return switch (value) {
+            case 0 -> NONE;
+            default -> throw new IllegalArgumentException("Unknown compression type: " + value);
+        };
+    }
+
+    /**
+     * Returns the bit of this type in an advertised mask.
+     *
+     * @return the mask bit
+     */
+    public int mask() {
+        return 1 << value;
+    }
+}
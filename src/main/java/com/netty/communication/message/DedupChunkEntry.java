@@ -0,0 +1,60 @@
+package com.netty.communication.message;
+
+import io.netty.buffer.ByteBuf;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Describes one content-defined chunk of a file in a deduplicated upload:
+ * the SHA-256 digest of the chunk contents and its length in bytes.
+ *
+ * @param hash   the SHA-256 digest of the chunk contents
+ * @param length the number of bytes in the chunk
+ */
+public record DedupChunkEntry(byte[] hash, int length) {
+
+    /** Length of the chunk digest in bytes. */
+    public static final int HASH_LENGTH = 32;
+
+    /**
+     * Returns the digest as a lowercase hexadecimal string.
+     *
+     * @return the hex representation of the digest
+     */
+    public String hexHash() {
+        return HexFormat.of().formatHex(hash);
+    }
+
+    /**
+     * Writes a list of entries to the given {@link ByteBuf}, prefixed with their count.
+     *
+     * @param buffer  the buffer to write to
+     * @param entries the entries to write
+     */
+    public static void encodeAll(ByteBuf buffer, List<DedupChunkEntry> entries) {
+        buffer.writeInt(entries.size());
+        for (var entry : entries) {
+            buffer.writeBytes(entry.hash());
+            buffer.writeInt(entry.length());
+        }
+    }
+
+    /**
+     * Reads a count-prefixed list of entries from the given {@link ByteBuf}.
+     *
+     * @param buffer the buffer to read from
+     * @return the decoded entries
+     */
+    public static List<DedupChunkEntry> decodeAll(ByteBuf buffer) {
+        int count = buffer.readInt();
+        List<DedupChunkEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] hash = new byte[HASH_LENGTH];
+            buffer.readBytes(hash);
+            entries.add(new DedupChunkEntry(hash, buffer.readInt()));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,53 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The last step of a deduplicated upload.
+ * Asks the server to reassemble the destination file from its chunk store
+ * in the order given by the chunk list.
+ */
+@Builder
+@Getter
+public class DedupCommitRequest implements ProtocolMessage, MessageEncodable {
+
+    private final String destFilePath;
+    private final long fileSize;
+    private final List<DedupChunkEntry> chunks;
+
+    /**
+     * Decodes a {@link ByteBuf} message into a {@link DedupCommitRequest}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded request
+     * @return the decoded {@link DedupCommitRequest}
+     */
+    public static DedupCommitRequest decode(ByteBuf message) {
+        return builder()
+                .destFilePath(message.readCharSequence(message.readInt(), StandardCharsets.UTF_8).toString())
+                .fileSize(message.readLong())
+                .chunks(DedupChunkEntry.decodeAll(message))
+                .build();
+    }
+
+    /**
+     * Encodes the {@link DedupCommitRequest} into a {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to write the encoded request into
+     * @return a list of {@link EncodedBodyPiece} representing the encoded message
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeInt(ByteBufUtil.utf8Bytes(destFilePath));
+        buffer.writeCharSequence(destFilePath, StandardCharsets.UTF_8);
+        buffer.writeLong(fileSize);
+        DedupChunkEntry.encodeAll(buffer, chunks);
+        return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+}
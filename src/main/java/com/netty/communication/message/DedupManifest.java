@@ -0,0 +1,53 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The first step of a deduplicated upload.
+ * Lists the content-defined chunks of the source file so that the server can
+ * answer with the chunks it does not store yet.
+ */
+@Builder
+@Getter
+public class DedupManifest implements ProtocolMessage, MessageEncodable {
+
+    private final String destFilePath;
+    private final long fileSize;
+    private final List<DedupChunkEntry> chunks;
+
+    /**
+     * Decodes a {@link ByteBuf} message into a {@link DedupManifest}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded manifest
+     * @return the decoded {@link DedupManifest}
+     */
+    public static DedupManifest decode(ByteBuf message) {
+        return builder()
+                .destFilePath(message.readCharSequence(message.readInt(), StandardCharsets.UTF_8).toString())
+                .fileSize(message.readLong())
+                .chunks(DedupChunkEntry.decodeAll(message))
+                .build();
+    }
+
+    /**
+     * Encodes the {@link DedupManifest} into a {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to write the encoded manifest into
+     * @return a list of {@link EncodedBodyPiece} representing the encoded message
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeInt(ByteBufUtil.utf8Bytes(destFilePath));
+        buffer.writeCharSequence(destFilePath, StandardCharsets.UTF_8);
+        buffer.writeLong(fileSize);
+        DedupChunkEntry.encodeAll(buffer, chunks);
+        return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+}
@@ -0,0 +1,49 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The server's answer to a {@link DedupManifest}.
+ * Lists the indexes, within the manifest, of the chunks the server does not store;
+ * the client keeps the manifest in its session and sends exactly those chunks.
+ */
+@Builder
+@Getter
+public class DedupMissingChunks implements ProtocolMessage, MessageEncodable {
+
+    private final List<Integer> missingIndexes;
+
+    /**
+     * Decodes a {@link ByteBuf} message into a {@link DedupMissingChunks}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded reply
+     * @return the decoded {@link DedupMissingChunks}
+     */
+    public static DedupMissingChunks decode(ByteBuf message) {
+        int missingCount = message.readInt();
+        List<Integer> missingIndexes = new ArrayList<>(missingCount);
+        for (int i = 0; i < missingCount; i++) {
+            missingIndexes.add(message.readInt());
+        }
+        return builder().missingIndexes(missingIndexes).build();
+    }
+
+    /**
+     * Encodes the {@link DedupMissingChunks} into a {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to write the encoded reply into
+     * @return a list of {@link EncodedBodyPiece} representing the encoded message
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeInt(missingIndexes.size());
+        missingIndexes.forEach(buffer::writeInt);
+        return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+}
@@ -0,0 +1,52 @@
+package com.netty.communication.message;
+
+import io.netty.buffer.ByteBuf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The signature of one block of the receiver's copy in a delta transfer:
+ * the weak rolling checksum used to find candidate matches and the strong MD5 digest
+ * used to confirm them.
+ *
+ * @param weak   the rolling checksum of the block
+ * @param strong the MD5 digest of the block
+ */
+public record DeltaBlockSignature(int weak, byte[] strong) {
+
+    /** Length of the strong digest in bytes. */
+    public static final int STRONG_LENGTH = 16;
+
+    /**
+     * Writes a list of signatures to the given {@link ByteBuf}, prefixed with their count.
+     *
+     * @param buffer     the buffer to write to
+     * @param signatures the signatures to write
+     */
+    public static void encodeAll(ByteBuf buffer, List<DeltaBlockSignature> signatures) {
+        buffer.writeInt(signatures.size());
+        for (var signature : signatures) {
+            buffer.writeInt(signature.weak());
+            buffer.writeBytes(signature.strong());
+        }
+    }
+
+    /**
+     * Reads a count-prefixed list of signatures from the given {@link ByteBuf}.
+     *
+     * @param buffer the buffer to read from
+     * @return the decoded signatures
+     */
+    public static List<DeltaBlockSignature> decodeAll(ByteBuf buffer) {
+        int count = buffer.readInt();
+        List<DeltaBlockSignature> signatures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int weak = buffer.readInt();
+            byte[] strong = new byte[STRONG_LENGTH];
+            buffer.readBytes(strong);
+            signatures.add(new DeltaBlockSignature(weak, strong));
+        }
+        return signatures;
+    }
+}
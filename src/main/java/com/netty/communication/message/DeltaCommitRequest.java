@@ -0,0 +1,54 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The last step of a delta upload.
+ * Asks the server to verify the reconstructed file against the size and SHA-256 digest
+ * of the source file and to move it into place.
+ */
+@Builder
+@Getter
+public class DeltaCommitRequest implements ProtocolMessage, MessageEncodable {
+
+    private final String destFilePath;
+    private final long fileSize;
+    private final byte[] sha256;
+
+    /**
+     * Decodes a {@link ByteBuf} message into a {@link DeltaCommitRequest}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded request
+     * @return the decoded {@link DeltaCommitRequest}
+     */
+    public static DeltaCommitRequest decode(ByteBuf message) {
+        var builder = builder()
+                .destFilePath(message.readCharSequence(message.readInt(), StandardCharsets.UTF_8).toString())
+                .fileSize(message.readLong());
+        byte[] sha256 = new byte[DedupChunkEntry.HASH_LENGTH];
+        message.readBytes(sha256);
+        return builder.sha256(sha256).build();
+    }
+
+    /**
+     * Encodes the {@link DeltaCommitRequest} into a {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to write the encoded request into
+     * @return a list of {@link EncodedBodyPiece} representing the encoded message
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeInt(ByteBufUtil.utf8Bytes(destFilePath));
+        buffer.writeCharSequence(destFilePath, StandardCharsets.UTF_8);
+        buffer.writeLong(fileSize);
+        buffer.writeBytes(sha256);
+        return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+}
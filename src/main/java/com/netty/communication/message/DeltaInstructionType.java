@@ -0,0 +1,35 @@
+package com.netty.communication.message;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * Represents the type of an instruction in a delta upload.
+ * A literal instruction carries bytes of the source file; a copy instruction refers to
+ * blocks the server already holds in its copy of the destination file.
+ */
+@RequiredArgsConstructor
+@Getter
+@Accessors(fluent = true)
+public enum DeltaInstructionType {
+    LITERAL(1),
+    COPY(2);
+
+    private final int value;
+
+    /**
+     * Returns the DeltaInstructionType corresponding to the specified integer value.
+     *
+     * @param value the integer value representing an instruction type
+     * @return the corresponding DeltaInstructionType
+     * @throws IllegalArgumentException if the value does not correspond to a known instruction type
+     */
+    public static DeltaInstructionType of(int value) {
+        return switch (value) {
+            case 1 -> LITERAL;
+            case 2 -> COPY;
+            default -> throw new IllegalArgumentException("Unknown delta instruction type: " + value);
+        };
+    }
+}
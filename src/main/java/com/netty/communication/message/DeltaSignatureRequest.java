@@ -0,0 +1,50 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The first step of a delta upload.
+ * Asks the server for the block signatures of its copy of the destination file.
+ */
+@Builder
+@Getter
+public class DeltaSignatureRequest implements ProtocolMessage, MessageEncodable {
+
+    private final String sourceFilePath;
+    private final String destFilePath;
+
+    /**
+     * Decodes a {@link ByteBuf} message into a {@link DeltaSignatureRequest}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded request
+     * @return the decoded {@link DeltaSignatureRequest}
+     */
+    public static DeltaSignatureRequest decode(ByteBuf message) {
+        return builder()
+                .sourceFilePath(message.readCharSequence(message.readInt(), StandardCharsets.UTF_8).toString())
+                .destFilePath(message.readCharSequence(message.readInt(), StandardCharsets.UTF_8).toString())
+                .build();
+    }
+
+    /**
+     * Encodes the {@link DeltaSignatureRequest} into a {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to write the encoded request into
+     * @return a list of {@link EncodedBodyPiece} representing the encoded message
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeInt(ByteBufUtil.utf8Bytes(sourceFilePath));
+        buffer.writeCharSequence(sourceFilePath, StandardCharsets.UTF_8);
+        buffer.writeInt(ByteBufUtil.utf8Bytes(destFilePath));
+        buffer.writeCharSequence(destFilePath, StandardCharsets.UTF_8);
+        return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+}
@@ -0,0 +1,57 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The server's reply to a {@link DeltaSignatureRequest}.
+ * Echoes the request and carries the block signatures of the server's copy,
+ * which is empty when the server has no copy yet.
+ */
+@Builder
+@Getter
+public class DeltaSignatures implements ProtocolMessage, MessageEncodable {
+
+    private final String sourceFilePath;
+    private final String destFilePath;
+    private final int blockSize;
+    private final List<DeltaBlockSignature> signatures;
+
+    /**
+     * Decodes a {@link ByteBuf} message into a {@link DeltaSignatures}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded reply
+     * @return the decoded {@link DeltaSignatures}
+     */
+    public static DeltaSignatures decode(ByteBuf message) {
+        return builder()
+                .sourceFilePath(message.readCharSequence(message.readInt(), StandardCharsets.UTF_8).toString())
+                .destFilePath(message.readCharSequence(message.readInt(), StandardCharsets.UTF_8).toString())
+                .blockSize(message.readInt())
+                .signatures(DeltaBlockSignature.decodeAll(message))
+                .build();
+    }
+
+    /**
+     * Encodes the {@link DeltaSignatures} into a {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to write the encoded reply into
+     * @return a list of {@link EncodedBodyPiece} representing the encoded message
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeInt(ByteBufUtil.utf8Bytes(sourceFilePath));
+        buffer.writeCharSequence(sourceFilePath, StandardCharsets.UTF_8);
+        buffer.writeInt(ByteBufUtil.utf8Bytes(destFilePath));
+        buffer.writeCharSequence(destFilePath, StandardCharsets.UTF_8);
+        buffer.writeInt(blockSize);
+        DeltaBlockSignature.encodeAll(buffer, signatures);
+        return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+}
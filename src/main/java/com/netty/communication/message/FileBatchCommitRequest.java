@@ -0,0 +1,69 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The last message of a bulk upload.
+ * Lists the files of the request that were too large to be packed into a batch and were sent as
+ * chunk streams instead, so that the server can report their status as well and, if requested,
+ * give them the modification times of their sources.
+ */
+@Builder
+@Getter
+public class FileBatchCommitRequest implements ProtocolMessage, MessageEncodable {
+
+    private final List<StreamedFile> streamedFiles;
+
+    /**
+     * Decodes a {@link ByteBuf} message into a {@link FileBatchCommitRequest}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded request
+     * @return the decoded {@link FileBatchCommitRequest}
+     */
+    public static FileBatchCommitRequest decode(ByteBuf message) {
+        int count = message.readInt();
+        List<StreamedFile> streamedFiles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = message.readInt();
+            String destFilePath = message.readCharSequence(message.readInt(), StandardCharsets.UTF_8).toString();
+            streamedFiles.add(new StreamedFile(index, destFilePath, message.readLong()));
+        }
+        return builder().streamedFiles(streamedFiles).build();
+    }
+
+    /**
+     * Encodes the {@link FileBatchCommitRequest} into a {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to write the encoded request into
+     * @return a list of {@link EncodedBodyPiece} representing the encoded message
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeInt(streamedFiles.size());
+        for (var file : streamedFiles) {
+            buffer.writeInt(file.index());
+            buffer.writeInt(ByteBufUtil.utf8Bytes(file.destFilePath()));
+            buffer.writeCharSequence(file.destFilePath(), StandardCharsets.UTF_8);
+            buffer.writeLong(file.lastModified());
+        }
+        return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+
+    /**
+     * A file of a bulk upload that was sent as a chunk stream.
+     *
+     * @param index        the position of the file in the bulk request
+     * @param destFilePath the destination path of the file
+     * @param lastModified the modification time to give the stored file in milliseconds, or -1 to keep it
+     */
+    public record StreamedFile(int index, String destFilePath, long lastModified) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * The server's answer to an {@link OutboundFileBatch}: the status of every file in the batch.
+ * It also acknowledges the batch to the sender's flow control.
+ */
+@Builder
+@Getter
+public class FileBatchResult implements ProtocolMessage, MessageEncodable {
+
+    private final List<FileBatchStatus> statuses;
+
+    /**
+     * Decodes a {@link ByteBuf} message into a {@link FileBatchResult}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded reply
+     * @return the decoded {@link FileBatchResult}
+     */
+    public static FileBatchResult decode(ByteBuf message) {
+        return builder()
+                .statuses(FileBatchStatus.decodeAll(message))
+                .build();
+    }
+
+    /**
+     * Encodes the {@link FileBatchResult} into a {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to write the encoded reply into
+     * @return a list of {@link EncodedBodyPiece} representing the encoded message
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        FileBatchStatus.encodeAll(buffer, statuses);
+        return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+}
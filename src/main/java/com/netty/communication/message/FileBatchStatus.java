@@ -0,0 +1,45 @@
+package com.netty.communication.message;
+
+import com.netty.communication.specification.response.ResponseSpec;
+import io.netty.buffer.ByteBuf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The outcome of storing one file of a bulk upload.
+ *
+ * @param index  the position of the file in the bulk request
+ * @param status the result of storing the file
+ */
+public record FileBatchStatus(int index, ResponseSpec status) {
+
+    /**
+     * Writes a list of statuses to the given {@link ByteBuf}, prefixed with their count.
+     *
+     * @param buffer   the buffer to write to
+     * @param statuses the statuses to write
+     */
+    public static void encodeAll(ByteBuf buffer, List<FileBatchStatus> statuses) {
+        buffer.writeInt(statuses.size());
+        for (var status : statuses) {
+            buffer.writeInt(status.index());
+            buffer.writeInt(status.status().getErrorNo());
+        }
+    }
+
+    /**
+     * Reads a count-prefixed list of statuses from the given {@link ByteBuf}.
+     *
+     * @param buffer the buffer to read from
+     * @return the decoded statuses
+     */
+    public static List<FileBatchStatus> decodeAll(ByteBuf buffer) {
+        int count = buffer.readInt();
+        List<FileBatchStatus> statuses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            statuses.add(new FileBatchStatus(buffer.readInt(), ResponseSpec.match(buffer.readInt())));
+        }
+        return statuses;
+    }
+}
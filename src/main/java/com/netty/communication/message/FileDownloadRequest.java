@@ -1,6 +1,8 @@
 package com.netty.communication.message;
 
 import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import com.netty.communication.transfer.FileRange;
+import com.netty.communication.transfer.ResumePoint;
 import io.netty.buffer.ByteBuf;
 import lombok.Builder;
 import lombok.Getter;
@@ -10,14 +12,20 @@ import java.util.List;
 
 /**
  * Represents a request to download a file.
- * This message contains the source and destination file paths.
+ * This message contains the source and destination file paths, and the point an interrupted
+ * earlier download of the file can continue from. A request with a range downloads only that
+ * range of the file, which the client writes in place into the destination file. A positive timeout
+ * is the time the client still waits for the download; the server stops sending chunks once it has passed.
  */
 @Builder
 @Getter
-public class FileDownloadRequest implements ProtocolMessage {
+public class FileDownloadRequest implements ProtocolMessage, MessageEncodable {
 
     private final String sourceFilePath;
     private final String destFilePath;
+    private final ResumePoint resumePoint;
+    private final long timeoutMillis;
+    private final FileRange range;
 
     /**
      * Decodes a {@link ByteBuf} message into a {@link FileDownloadRequest}.
@@ -29,6 +37,13 @@ public class FileDownloadRequest implements ProtocolMessage {
         return builder()
                 .sourceFilePath(message.readSlice(message.readInt()).toString(StandardCharsets.UTF_8))
                 .destFilePath(message.readSlice(message.readInt()).toString(StandardCharsets.UTF_8))
+                .resumePoint(message.isReadable()
+                        ? new ResumePoint(message.readLong(), message.readInt(), message.readInt())
+                        : ResumePoint.NONE)
+                .timeoutMillis(message.readableBytes() >= Long.BYTES ? message.readLong() : 0)
+                .range(message.readableBytes() >= Long.BYTES * 2
+                        ? new FileRange(message.readLong(), message.readLong())
+                        : null)
                 .build();
     }
 
@@ -44,6 +59,15 @@ public class FileDownloadRequest implements ProtocolMessage {
         buffer.writeCharSequence(sourceFilePath, StandardCharsets.UTF_8);
         buffer.writeInt(destFilePath.length());
         buffer.writeCharSequence(destFilePath, StandardCharsets.UTF_8);
+        var resume = resumePoint != null ? resumePoint : ResumePoint.NONE;
+        buffer.writeLong(resume.offset());
+        buffer.writeInt(resume.tailLength());
+        buffer.writeInt(resume.tailCrc32c());
+        buffer.writeLong(timeoutMillis);
+        if (range != null) {
+            buffer.writeLong(range.offset());
+            buffer.writeLong(range.length());
+        }
         return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
     }
 
@@ -0,0 +1,66 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The last message of a striped upload, sent once every stripe has been acknowledged.
+ * The server installs the striped file as the destination if its stripes cover the announced size
+ * and, if given, the whole file matches the CRC32C checksum of the source. A discarding commit is sent
+ * instead once a stripe has failed, and makes the server delete the striped file.
+ * <p>
+ * Wire format: destination path, size, discard flag, checksum flag, [CRC32C].
+ */
+@Builder
+@Getter
+public class FileRangeCommitRequest implements ProtocolMessage, MessageEncodable {
+
+    private final String destFilePath;
+    private final long size;
+    private final boolean discard;
+    private final Integer crc32c;
+
+    /**
+     * Decodes a {@link ByteBuf} message into a {@link FileRangeCommitRequest}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded request
+     * @return the decoded {@link FileRangeCommitRequest}
+     */
+    public static FileRangeCommitRequest decode(ByteBuf message) {
+        String destFilePath = message.readCharSequence(message.readInt(), StandardCharsets.UTF_8).toString();
+        long size = message.readLong();
+        boolean discard = message.readBoolean();
+        Integer crc32c = message.readBoolean() ? message.readInt() : null;
+        return builder()
+                .destFilePath(destFilePath)
+                .size(size)
+                .discard(discard)
+                .crc32c(crc32c)
+                .build();
+    }
+
+    /**
+     * Encodes the {@link FileRangeCommitRequest} into a {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to write the encoded request into
+     * @return a list of {@link EncodedBodyPiece} representing the encoded message
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeInt(ByteBufUtil.utf8Bytes(destFilePath));
+        buffer.writeCharSequence(destFilePath, StandardCharsets.UTF_8);
+        buffer.writeLong(size);
+        buffer.writeBoolean(discard);
+        buffer.writeBoolean(crc32c != null);
+        if (crc32c != null) {
+            buffer.writeInt(crc32c);
+        }
+        return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+}
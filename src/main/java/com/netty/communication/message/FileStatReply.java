@@ -0,0 +1,40 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * The server's answer to a {@link FileStatRequest}: the size of the file.
+ */
+@Builder
+@Getter
+public class FileStatReply implements ProtocolMessage, MessageEncodable {
+
+    private final long size;
+
+    /**
+     * Decodes a {@link ByteBuf} message into a {@link FileStatReply}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded reply
+     * @return the decoded {@link FileStatReply}
+     */
+    public static FileStatReply decode(ByteBuf message) {
+        return builder().size(message.readLong()).build();
+    }
+
+    /**
+     * Encodes the {@link FileStatReply} into a {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to write the encoded reply into
+     * @return a list of {@link EncodedBodyPiece} representing the encoded message
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeLong(size);
+        return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+}
@@ -0,0 +1,46 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Represents a request for the size of a file on the server.
+ * The server answers with a {@link FileStatReply} followed by the response.
+ */
+@Builder
+@Getter
+public class FileStatRequest implements ProtocolMessage, MessageEncodable {
+
+    private final String filePath;
+
+    /**
+     * Decodes a {@link ByteBuf} message into a {@link FileStatRequest}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded request
+     * @return the decoded {@link FileStatRequest}
+     */
+    public static FileStatRequest decode(ByteBuf message) {
+        return builder()
+                .filePath(message.readCharSequence(message.readInt(), StandardCharsets.UTF_8).toString())
+                .build();
+    }
+
+    /**
+     * Encodes the {@link FileStatRequest} into a {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to write the encoded request into
+     * @return a list of {@link EncodedBodyPiece} representing the encoded message
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeInt(ByteBufUtil.utf8Bytes(filePath));
+        buffer.writeCharSequence(filePath, StandardCharsets.UTF_8);
+        return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+}
@@ -14,7 +14,7 @@ import java.util.List;
  */
 @Builder
 @Getter
-public class FileUploadRequest implements ProtocolMessage {
+public class FileUploadRequest implements ProtocolMessage, MessageEncodable {
 
     private final String sourceFilePath;
     private final String destFilePath;
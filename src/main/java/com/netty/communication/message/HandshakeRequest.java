@@ -0,0 +1,68 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * The first message a client sends on a new connection.
+ * Proposes the client's protocol version, chunk size and window size, and advertises the
+ * compression types and checksum modes the client supports as bit masks.
+ */
+@Builder
+@Getter
+public class HandshakeRequest implements ProtocolMessage, MessageEncodable {
+
+    private final int protocolVersion;
+    private final int chunkSize;
+    private final int windowSize;
+    private final int compressionMask;
+    private final int checksumMask;
+
+    /**
+     * Decodes a {@link ByteBuf} message into a {@link HandshakeRequest}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded request
+     * @return the decoded {@link HandshakeRequest}
+     */
+    public static HandshakeRequest decode(ByteBuf message) {
+        return builder()
+                .protocolVersion(message.readInt())
+                .chunkSize(message.readInt())
+                .windowSize(message.readInt())
+                .compressionMask(message.readInt())
+                .checksumMask(message.readInt())
+                .build();
+    }
+
+    /**
+     * Encodes the {@link HandshakeRequest} into a {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to write the encoded request into
+     * @return a list of {@link EncodedBodyPiece} representing the encoded message
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeInt(protocolVersion);
+        buffer.writeInt(chunkSize);
+        buffer.writeInt(windowSize);
+        buffer.writeInt(compressionMask);
+        buffer.writeInt(checksumMask);
+        return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+
+    /**
+     * Validates the proposed values.
+     *
+     * @throws IllegalArgumentException if the chunk or window size is not positive
+     */
+    @Override
+    public void validate() throws Exception {
+        if (chunkSize <= 0 || windowSize <= 0) {
+            throw new IllegalArgumentException("Invalid handshake proposal: chunkSize=" + chunkSize + ", windowSize=" + windowSize);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * The server's answer to a {@link HandshakeRequest}, carrying the parameters
+ * both peers use for the rest of the connection.
+ */
+@Builder
+@Getter
+public class HandshakeResponse implements ProtocolMessage, MessageEncodable {
+
+    private final SessionParameters parameters;
+
+    /**
+     * Decodes a {@link ByteBuf} message into a {@link HandshakeResponse}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded response
+     * @return the decoded {@link HandshakeResponse}
+     */
+    public static HandshakeResponse decode(ByteBuf message) {
+        return builder()
+                .parameters(SessionParameters.decode(message))
+                .build();
+    }
+
+    /**
+     * Encodes the {@link HandshakeResponse} into a {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to write the encoded response into
+     * @return a list of {@link EncodedBodyPiece} representing the encoded message
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        parameters.encode(buffer);
+        return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+}
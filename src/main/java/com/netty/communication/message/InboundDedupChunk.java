@@ -0,0 +1,92 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCounted;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+/**
+ * Represents an inbound chunk of a deduplicated upload:
+ * the chunk digest followed by the chunk contents.
+ */
+@Builder
+@Getter
+@Accessors(fluent = true)
+public class InboundDedupChunk implements ProtocolMessage, MessageEncodable, ReferenceCounted {
+
+    private final byte[] hash;
+    private final ByteBuf contents;
+
+    /**
+     * Decodes a {@link ByteBuf} message into an {@link InboundDedupChunk}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded chunk
+     * @return the decoded {@link InboundDedupChunk}
+     */
+    public static InboundDedupChunk decode(ByteBuf message) {
+        byte[] hash = new byte[DedupChunkEntry.HASH_LENGTH];
+        message.readBytes(hash);
+        return builder()
+                .hash(hash)
+                .contents(message.readRetainedSlice(message.readableBytes()))
+                .build();
+    }
+
+    /**
+     * Encodes the {@link InboundDedupChunk} into a {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to write the encoded chunk into
+     * @return a list of {@link EncodedBodyPiece} representing the encoded message
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeBytes(hash);
+        buffer.writeBytes(contents);
+        var encodedMessage = new EncodedBodyPiece(buffer, buffer.readableBytes());
+        contents.release();
+        return List.of(encodedMessage);
+    }
+
+    // Reference counting methods to manage the lifecycle of ByteBuf contents.
+
+    @Override
+    public int refCnt() {
+        return contents.refCnt();
+    }
+
+    @Override
+    public ReferenceCounted retain() {
+        contents.retain();
+        return this;
+    }
+
+    @Override
+    public ReferenceCounted retain(int increment) {
+        contents.retain(increment);
+        return this;
+    }
+
+    @Override
+    public ReferenceCounted touch() {
+        return this;
+    }
+
+    @Override
+    public ReferenceCounted touch(Object hint) {
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return contents.release();
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        return contents.release(decrement);
+    }
+}
@@ -0,0 +1,105 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.util.ReferenceCounted;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Represents an inbound instruction of a delta upload.
+ * The contents are empty for copy instructions.
+ */
+@Builder
+@Getter
+@Accessors(fluent = true)
+public class InboundDeltaInstruction implements ProtocolMessage, MessageEncodable, ReferenceCounted {
+
+    private final DeltaInstructionType type;
+    private final String storePath;
+    private final int blockSize;
+    private final long blockIndex;
+    private final int blockCount;
+    private final ByteBuf contents;
+
+    /**
+     * Decodes a {@link ByteBuf} message into an {@link InboundDeltaInstruction}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded instruction
+     * @return the decoded {@link InboundDeltaInstruction}
+     */
+    public static InboundDeltaInstruction decode(ByteBuf message) {
+        return builder()
+                .type(DeltaInstructionType.of(message.readInt()))
+                .storePath(message.readCharSequence(message.readInt(), StandardCharsets.UTF_8).toString())
+                .blockSize(message.readInt())
+                .blockIndex(message.readLong())
+                .blockCount(message.readInt())
+                .contents(message.readRetainedSlice(message.readableBytes()))
+                .build();
+    }
+
+    /**
+     * Encodes the {@link InboundDeltaInstruction} into a {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to write the encoded instruction into
+     * @return a list of {@link EncodedBodyPiece} representing the encoded message
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeInt(type.value());
+        buffer.writeInt(ByteBufUtil.utf8Bytes(storePath));
+        buffer.writeCharSequence(storePath, StandardCharsets.UTF_8);
+        buffer.writeInt(blockSize);
+        buffer.writeLong(blockIndex);
+        buffer.writeInt(blockCount);
+        buffer.writeBytes(contents);
+        var encodedMessage = new EncodedBodyPiece(buffer, buffer.readableBytes());
+        contents.release();
+        return List.of(encodedMessage);
+    }
+
+    // Reference counting methods to manage the lifecycle of ByteBuf contents.
+
+    @Override
+    public int refCnt() {
+        return contents.refCnt();
+    }
+
+    @Override
+    public ReferenceCounted retain() {
+        contents.retain();
+        return this;
+    }
+
+    @Override
+    public ReferenceCounted retain(int increment) {
+        contents.retain(increment);
+        return this;
+    }
+
+    @Override
+    public ReferenceCounted touch() {
+        return this;
+    }
+
+    @Override
+    public ReferenceCounted touch(Object hint) {
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return contents.release();
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        return contents.release(decrement);
+    }
+}
@@ -0,0 +1,105 @@
+package com.netty.communication.message;
+
+import com.netty.communication.specification.response.ResponseSpec;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCounted;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of whole small files of a bulk upload, received in a single frame.
+ * The contents of all files are slices of the frame, which is released as a whole.
+ * It is only decoded; the sender encodes an {@link OutboundFileBatch}.
+ */
+@Builder
+@Getter
+@Accessors(fluent = true)
+public class InboundFileBatch implements ProtocolMessage, ReferenceCounted {
+
+    private final List<Entry> entries;
+    private final ByteBuf frame;
+
+    /**
+     * Decodes a {@link ByteBuf} message into an {@link InboundFileBatch}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded batch
+     * @return the decoded {@link InboundFileBatch}
+     */
+    public static InboundFileBatch decode(ByteBuf message) {
+        ByteBuf frame = message.readRetainedSlice(message.readableBytes());
+        int count = frame.readInt();
+        List<Entry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = frame.readInt();
+            int flags = frame.readInt();
+            String storePath = frame.readCharSequence(frame.readInt(), StandardCharsets.UTF_8).toString();
+            ResponseSpec status = (flags & OutboundFileBatch.HAS_STATUS) != 0 ? ResponseSpec.match(frame.readInt()) : null;
+            Integer crc32c = (flags & OutboundFileBatch.HAS_CHECKSUM) != 0 ? frame.readInt() : null;
+            Long lastModified = (flags & OutboundFileBatch.HAS_MODIFIED_TIME) != 0 ? frame.readLong() : null;
+            ByteBuf contents = frame.readSlice(frame.readInt());
+            entries.add(new Entry(index, storePath, status, crc32c, lastModified, contents));
+        }
+        return builder()
+                .entries(entries)
+                .frame(frame)
+                .build();
+    }
+
+    /**
+     * One file of the batch.
+     *
+     * @param index        the position of the file in the bulk request
+     * @param storePath    the destination path of the file
+     * @param status       the failure the sender could not read the file with, or null
+     * @param crc32c       the CRC32C checksum of the contents, or null if it is not verified
+     * @param lastModified the modification time to give the stored file in milliseconds, or null
+     * @param contents     the contents of the file
+     */
+    public record Entry(int index, String storePath, ResponseSpec status, Integer crc32c, Long lastModified,
+                        ByteBuf contents) {
+    }
+
+    // Reference counting methods to manage the lifecycle of the frame.
+
+    @Override
+    public int refCnt() {
+        return frame.refCnt();
+    }
+
+    @Override
+    public ReferenceCounted retain() {
+        frame.retain();
+        return this;
+    }
+
+    @Override
+    public ReferenceCounted retain(int increment) {
+        frame.retain(increment);
+        return this;
+    }
+
+    @Override
+    public ReferenceCounted touch() {
+        return this;
+    }
+
+    @Override
+    public ReferenceCounted touch(Object hint) {
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return frame.release();
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        return frame.release(decrement);
+    }
+}
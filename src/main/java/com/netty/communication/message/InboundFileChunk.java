@@ -3,6 +3,7 @@ package com.netty.communication.message;
 import com.netty.communication.handler.outbound.EncodedBodyPiece;
 import io.netty.buffer.ByteBuf;
 import io.netty.util.ReferenceCounted;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.experimental.Accessors;
@@ -13,16 +14,21 @@ import java.util.List;
 /**
  * Represents a chunk of an inbound file transfer.
  * This message contains metadata about the chunk, such as its type,
- * storage path, and the contents of the chunk.
+ * storage path, and the contents of the chunk. A decoded chunk records when it was decoded, before it is
+ * handed over to the file store executor. A chunk can be tracked by a callback that is run when its contents are
+ * released for the last time, so that chunks which are never released can be counted.
  */
 @Builder
 @Getter
 @Accessors(fluent = true)
-public class InboundFileChunk implements ProtocolMessage, ReferenceCounted {
+public class InboundFileChunk implements ProtocolMessage, MessageEncodable, ReferenceCounted, TimestampedMessage {
 
     private final ChunkType type;
     private final String storePath;
     private final ByteBuf contents;
+    private final long handedOverNanos;
+    @Getter(AccessLevel.NONE)
+    private Runnable releaseCallback;
 
     /**
      * Decodes a {@link ByteBuf} message into an {@link InboundFileChunk}.
@@ -38,6 +44,7 @@ public class InboundFileChunk implements ProtocolMessage, ReferenceCounted {
                 .type(ChunkType.of(chunkType))
                 .storePath(storePath)
                 .contents(fileContents)
+                .handedOverNanos(System.nanoTime())
                 .build();
     }
 
@@ -58,6 +65,16 @@ public class InboundFileChunk implements ProtocolMessage, ReferenceCounted {
         return List.of(encodedMessage);
     }
 
+    /**
+     * Sets the callback to run when the contents are released for the last time. Called once, on the channel's
+     * event loop, before the chunk is passed on.
+     *
+     * @param releaseCallback the callback
+     */
+    public void onRelease(Runnable releaseCallback) {
+        this.releaseCallback = releaseCallback;
+    }
+
     // Reference counting methods to manage the lifecycle of ByteBuf contents.
 
     @Override
@@ -79,21 +96,30 @@ public class InboundFileChunk implements ProtocolMessage, ReferenceCounted {
 
     @Override
     public ReferenceCounted touch() {
+        contents.touch(this);
         return this;
     }
 
     @Override
     public ReferenceCounted touch(Object hint) {
+        contents.touch(hint);
         return this;
     }
 
     @Override
     public boolean release() {
-        return contents.release();
+        return released(contents.release());
     }
 
     @Override
     public boolean release(int decrement) {
-        return contents.release(decrement);
+        return released(contents.release(decrement));
+    }
+
+    private boolean released(boolean deallocated) {
+        if (deallocated && releaseCallback != null) {
+            releaseCallback.run();
+        }
+        return deallocated;
     }
 }
@@ -0,0 +1,84 @@
+package com.netty.communication.message;
+
+import com.netty.communication.specification.response.ResponseSpec;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCounted;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents a whole small file received in a single frame.
+ * The status, if present, completes the request the file answers.
+ * It is only decoded; the sender encodes an {@link OutboundSmallFile}.
+ */
+@Builder
+@Getter
+@Accessors(fluent = true)
+public class InboundSmallFile implements ProtocolMessage, ReferenceCounted {
+
+    private final String storePath;
+    private final ResponseSpec status;
+    private final Integer crc32c;
+    private final ByteBuf contents;
+
+    /**
+     * Decodes a {@link ByteBuf} message into an {@link InboundSmallFile}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded file
+     * @return the decoded {@link InboundSmallFile}
+     */
+    public static InboundSmallFile decode(ByteBuf message) {
+        int flags = message.readInt();
+        String storePath = message.readCharSequence(message.readInt(), StandardCharsets.UTF_8).toString();
+        ResponseSpec status = (flags & OutboundSmallFile.HAS_STATUS) != 0 ? ResponseSpec.match(message.readInt()) : null;
+        Integer crc32c = (flags & OutboundSmallFile.HAS_CHECKSUM) != 0 ? message.readInt() : null;
+        return builder()
+                .storePath(storePath)
+                .status(status)
+                .crc32c(crc32c)
+                .contents(message.readRetainedSlice(message.readableBytes()))
+                .build();
+    }
+
+    // Reference counting methods to manage the lifecycle of ByteBuf contents.
+
+    @Override
+    public int refCnt() {
+        return contents.refCnt();
+    }
+
+    @Override
+    public ReferenceCounted retain() {
+        contents.retain();
+        return this;
+    }
+
+    @Override
+    public ReferenceCounted retain(int increment) {
+        contents.retain(increment);
+        return this;
+    }
+
+    @Override
+    public ReferenceCounted touch() {
+        return this;
+    }
+
+    @Override
+    public ReferenceCounted touch(Object hint) {
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return contents.release();
+    }
+
+    @Override
+    public boolean release(int decrement) {
+        return contents.release(decrement);
+    }
+}
@@ -0,0 +1,38 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import lombok.Builder;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a protocol message that only keeps a connection from being detected as idle
+ * while the sender is busy with a long step of a request. The receiver ignores it.
+ */
+@Builder
+public class KeepAlive implements ProtocolMessage, MessageEncodable {
+
+    /**
+     * Decodes a KeepAlive message from the provided ByteBuf.
+     *
+     * @param message the ByteBuf containing the encoded message
+     * @return a new instance of KeepAlive
+     */
+    public static KeepAlive decode(ByteBuf message) {
+        return builder().build();
+    }
+
+    /**
+     * Encodes this KeepAlive message into a list of EncodedBodyPiece objects.
+     * Since this message has no body, it returns an empty EncodedBodyPiece.
+     *
+     * @param buffer the ByteBuf to encode the message into
+     * @return a list containing an EncodedBodyPiece representing the empty body
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        return Collections.singletonList(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+}
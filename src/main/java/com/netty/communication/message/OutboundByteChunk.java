@@ -0,0 +1,48 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Represents a middle-of-file chunk whose contents have been read into a buffer, from a byte source or from a
+ * file that is checksummed while it is read. It is encoded like an {@link OutboundFileChunk}, so the receiver
+ * cannot tell the two apart; a chunk with an offset is a middle-of-range chunk.
+ * The contents are released once the chunk has been written.
+ */
+public class OutboundByteChunk implements ProtocolMessage, MessageEncodable {
+    private final String dstPath;
+    private final Long offset;
+    private final ByteBuf contents;
+
+    public OutboundByteChunk(String dstPath, ByteBuf contents) {
+        this(dstPath, null, contents);
+    }
+
+    public OutboundByteChunk(String dstPath, Long offset, ByteBuf contents) {
+        this.dstPath = dstPath;
+        this.offset = offset;
+        this.contents = contents;
+    }
+
+    /**
+     * Encodes the chunk header and hands the contents on as a separate body piece.
+     *
+     * @param buffer the ByteBuf to write the header into
+     * @return the header and the contents of the chunk
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeInt(offset == null ? ChunkType.MIDDLE_OF_FILE.value() : ChunkType.MIDDLE_OF_RANGE.value());
+        buffer.writeInt(ByteBufUtil.utf8Bytes(dstPath));
+        buffer.writeCharSequence(dstPath, StandardCharsets.UTF_8);
+        if (offset != null) {
+            buffer.writeLong(offset);
+        }
+        return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()),
+                new EncodedBodyPiece(contents, contents.readableBytes()));
+    }
+}
@@ -0,0 +1,36 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.duplex.ChunkStreamWriter;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Bytes of unknown length to be sent as a sequence of chunks, as if they were a file.
+ * <p>
+ * Like an {@link OutboundFileChunkStream}, the stream is expanded by the {@link ChunkStreamWriter}, which
+ * reads the next chunk from the source only when the window has room for it. The source is read on a
+ * separate executor and may block; it is read to its end but not closed. Since a source cannot be read
+ * twice, the stream always starts at offset 0.
+ */
+@Builder
+@Getter
+public class OutboundByteStream implements ProtocolMessage {
+
+    private final ReadableByteChannel source;
+    private final String destFilePath;
+    private final boolean checksum;
+
+    /**
+     * Validates that the source is still open.
+     *
+     * @throws IllegalArgumentException if the source has been closed
+     */
+    @Override
+    public void validate() throws Exception {
+        if (!source.isOpen()) {
+            throw new IllegalArgumentException("The source of " + destFilePath + " is closed.");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.DefaultFileRegion;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * Represents an outbound chunk of a deduplicated upload.
+ * The chunk is identified by its digest only; its contents are sent straight from the
+ * source file as a {@link DefaultFileRegion}.
+ */
+public class OutboundDedupChunk implements ProtocolMessage, MessageEncodable {
+    private final byte[] hash;
+    private final String srcPath;
+    private final long index;
+    private final int length;
+
+    public OutboundDedupChunk(byte[] hash, String srcPath, long index, int length) {
+        this.hash = hash;
+        this.srcPath = srcPath;
+        this.index = index;
+        this.length = length;
+    }
+
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeBytes(hash);
+        var header = new EncodedBodyPiece(buffer, buffer.readableBytes());
+        var fileRegion = new DefaultFileRegion(new File(srcPath), index, length);
+        return List.of(header, new EncodedBodyPiece(fileRegion, length));
+    }
+}
@@ -0,0 +1,80 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.DefaultFileRegion;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Represents an outbound instruction of a delta upload.
+ * A literal instruction sends a range of the source file as a {@link DefaultFileRegion};
+ * a copy instruction refers to a run of blocks of the server's copy and carries no contents.
+ */
+public class OutboundDeltaInstruction implements ProtocolMessage, MessageEncodable {
+    private final DeltaInstructionType type;
+    private final String dstPath;
+    private final int blockSize;
+    private final long blockIndex;
+    private final int blockCount;
+    private final String srcPath;
+    private final long offset;
+    private final int length;
+
+    private OutboundDeltaInstruction(DeltaInstructionType type, String dstPath, int blockSize, long blockIndex,
+                                     int blockCount, String srcPath, long offset, int length) {
+        this.type = type;
+        this.dstPath = dstPath;
+        this.blockSize = blockSize;
+        this.blockIndex = blockIndex;
+        this.blockCount = blockCount;
+        this.srcPath = srcPath;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Creates an instruction carrying a range of the source file.
+     *
+     * @param dstPath the destination path on the server
+     * @param srcPath the absolute path of the source file
+     * @param offset  the offset of the range in the source file
+     * @param length  the length of the range
+     * @return the literal instruction
+     */
+    public static OutboundDeltaInstruction literal(String dstPath, String srcPath, long offset, int length) {
+        return new OutboundDeltaInstruction(DeltaInstructionType.LITERAL, dstPath, 0, 0, 0, srcPath, offset, length);
+    }
+
+    /**
+     * Creates an instruction referring to a run of blocks of the server's copy.
+     *
+     * @param dstPath    the destination path on the server
+     * @param blockSize  the block size of the signatures
+     * @param blockIndex the index of the first block
+     * @param blockCount the number of blocks
+     * @return the copy instruction
+     */
+    public static OutboundDeltaInstruction copy(String dstPath, int blockSize, long blockIndex, int blockCount) {
+        return new OutboundDeltaInstruction(DeltaInstructionType.COPY, dstPath, blockSize, blockIndex, blockCount, null, 0, 0);
+    }
+
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeInt(type.value());
+        buffer.writeInt(ByteBufUtil.utf8Bytes(dstPath));
+        buffer.writeCharSequence(dstPath, StandardCharsets.UTF_8);
+        buffer.writeInt(blockSize);
+        buffer.writeLong(blockIndex);
+        buffer.writeInt(blockCount);
+        var header = new EncodedBodyPiece(buffer, buffer.readableBytes());
+        if (type == DeltaInstructionType.COPY) {
+            return List.of(header);
+        }
+        var fileRegion = new DefaultFileRegion(new File(srcPath), offset, length);
+        return List.of(header, new EncodedBodyPiece(fileRegion, length));
+    }
+}
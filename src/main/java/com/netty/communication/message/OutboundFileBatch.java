@@ -0,0 +1,105 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import com.netty.communication.specification.response.ResponseSpec;
+import com.netty.communication.util.ChecksumUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * A batch of whole small files of a bulk upload, packed into a single frame.
+ * <p>
+ * Every file is read into the frame with one read when the batch is encoded. A file that cannot be
+ * read is sent with the status of the failure instead of its contents, so that the server reports
+ * it like any other file of the batch.
+ * <p>
+ * Wire format: count, then for every file: index, flags, destination path, [status], [CRC32C],
+ * [modification time], length, contents.
+ */
+@Builder
+@Getter
+@Accessors(fluent = true)
+public class OutboundFileBatch implements ProtocolMessage, MessageEncodable {
+    static final int HAS_STATUS = 1;
+    static final int HAS_CHECKSUM = 1 << 1;
+    static final int HAS_MODIFIED_TIME = 1 << 2;
+
+    private final List<Entry> entries;
+    private final boolean checksum;
+    private final boolean preserveTimes;
+    private final long bytes;
+
+    /**
+     * Encodes all files of the batch into a single buffer.
+     *
+     * @param buffer the ByteBuf to write the encoded message into
+     * @return a list containing the single body piece
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.ensureWritable((int) Math.min(bytes + entries.size() * 64L, Integer.MAX_VALUE / 2));
+        buffer.writeInt(entries.size());
+        for (var entry : entries) {
+            encodeEntry(buffer, entry);
+        }
+        return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+
+    private void encodeEntry(ByteBuf buffer, Entry entry) {
+        int start = buffer.writerIndex();
+        try (var channel = FileChannel.open(Path.of(entry.srcPath()), StandardOpenOption.READ)) {
+            writeHeader(buffer, entry, (checksum ? HAS_CHECKSUM : 0) | (preserveTimes ? HAS_MODIFIED_TIME : 0));
+            int checksumIndex = buffer.writerIndex();
+            if (checksum) {
+                buffer.writeInt(0);
+            }
+            if (preserveTimes) {
+                buffer.writeLong(Files.getLastModifiedTime(Path.of(entry.srcPath())).toMillis());
+            }
+            int lengthIndex = buffer.writerIndex();
+            buffer.writeInt(0);
+            int length = OutboundSmallFile.readFully(channel, (int) channel.size(), buffer);
+            buffer.setInt(lengthIndex, length);
+            if (checksum) {
+                buffer.setInt(checksumIndex, ChecksumUtils.crc32c(buffer, lengthIndex + Integer.BYTES, length));
+            }
+        } catch (IOException e) {
+            buffer.writerIndex(start);
+            writeHeader(buffer, entry, HAS_STATUS);
+            buffer.writeInt(failureOf(entry, e).getErrorNo());
+            buffer.writeInt(0);
+        }
+    }
+
+    private static void writeHeader(ByteBuf buffer, Entry entry, int flags) {
+        buffer.writeInt(entry.index());
+        buffer.writeInt(flags);
+        buffer.writeInt(ByteBufUtil.utf8Bytes(entry.dstPath()));
+        buffer.writeCharSequence(entry.dstPath(), StandardCharsets.UTF_8);
+    }
+
+    private static ResponseSpec failureOf(Entry entry, IOException e) {
+        return Files.isDirectory(Path.of(entry.srcPath())) ? ResponseSpec.NOT_FILE : ResponseSpec.match(e);
+    }
+
+    /**
+     * One file of the batch.
+     *
+     * @param index   the position of the file in the bulk request
+     * @param srcPath the path of the source file
+     * @param dstPath the destination path of the file
+     */
+    public record Entry(int index, String srcPath, String dstPath) {
+    }
+}
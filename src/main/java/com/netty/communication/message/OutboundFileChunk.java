@@ -2,6 +2,7 @@ package com.netty.communication.message;
 
 import com.netty.communication.handler.outbound.EncodedBodyPiece;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.DefaultFileRegion;
 
 import java.io.File;
@@ -11,33 +12,64 @@ import java.util.List;
 /**
  * Represents an outbound file chunk message in the protocol.
  * This message contains information about a file being sent, including its type, source path, destination path,
- * and the chunk's index and length.
+ * and the chunk's index and length. The start-of-file chunk carries the offset the transfer starts at,
+ * a middle-of-range chunk the offset of its contents, and the end-of-file chunk may carry the CRC32C
+ * checksum of the whole file. A chunk without contents never opens its source file, so the start and end
+ * chunks of a byte stream, which has no source file, are encoded the same way.
  */
-public class OutboundFileChunk implements ProtocolMessage {
+public class OutboundFileChunk implements ProtocolMessage, MessageEncodable {
     private final ChunkType type;
     private final String dstPath;
     private final String srcPath;
     private final long index;
     private final int length;
+    private final Integer crc32c;
 
     public OutboundFileChunk(ChunkType type, String srcPath, String dstPath, long index, int length) {
+        this(type, srcPath, dstPath, index, length, null);
+    }
+
+    public OutboundFileChunk(ChunkType type, String srcPath, String dstPath, long index, int length, Integer crc32c) {
         this.type = type;
         this.dstPath = dstPath;
         this.srcPath = srcPath;
         this.index = index;
         this.length = length;
+        this.crc32c = crc32c;
     }
 
     @Override
     public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        if (type == ChunkType.START_OF_FILE || type == ChunkType.START_OF_RANGE) {
+            writeHeader(buffer);
+            buffer.writeLong(index);
+            return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+        }
+        if (type == ChunkType.MIDDLE_OF_RANGE) {
+            writeHeader(buffer);
+            buffer.writeLong(index);
+            return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()), encodeFile());
+        }
+        if (crc32c != null) {
+            writeHeader(buffer);
+            buffer.writeInt(crc32c);
+            return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+        }
+        if (length == 0) {
+            return List.of(encodeHeader(buffer));
+        }
         return List.of(encodeHeader(buffer), encodeFile());
     }
 
     private EncodedBodyPiece encodeHeader(ByteBuf buffer) {
+        writeHeader(buffer);
+        return new EncodedBodyPiece(buffer, buffer.readableBytes());
+    }
+
+    private void writeHeader(ByteBuf buffer) {
         buffer.writeInt(type.value());
-        buffer.writeInt(dstPath.length());
+        buffer.writeInt(ByteBufUtil.utf8Bytes(dstPath));
         buffer.writeCharSequence(dstPath, StandardCharsets.UTF_8);
-        return new EncodedBodyPiece(buffer, buffer.readableBytes());
     }
 
     private EncodedBodyPiece encodeFile() {
@@ -0,0 +1,56 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.duplex.ChunkStreamWriter;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+
+/**
+ * A whole file to be sent as a sequence of {@link OutboundFileChunk}s.
+ * <p>
+ * The stream is never encoded itself: the {@link ChunkStreamWriter} expands it into chunks while the
+ * transfer runs, so that the size of each chunk can follow the measured throughput of the connection.
+ * A stream that resumes an interrupted transfer starts at the offset the receiver has stored.
+ * A stream with an end offset sends only a range of the file, which the receiver writes in place.
+ * <p>
+ * A checksummed stream is read chunk by chunk off the event loop, and the CRC32C checksum of the bytes it
+ * sends is computed as they are read and carried by the end-of-file chunk, so that the file is never read
+ * twice; without a checksum the chunks are sent straight from the file.
+ * <p>
+ * The size of the source file is read by the processor that creates the stream, so that the
+ * {@link ChunkStreamWriter} does not have to read it on the event loop.
+ */
+@Builder
+@Getter
+public class OutboundFileChunkStream implements ProtocolMessage {
+
+    private final String sourceFilePath;
+    private final String destFilePath;
+    private final long fileSize;
+    private final boolean checksum;
+    private final long startOffset;
+    private final Long endOffset;
+
+    /**
+     * Checks whether the stream sends a range of the file rather than the whole file.
+     *
+     * @return true if the stream has an end offset
+     */
+    public boolean isRange() {
+        return endOffset != null;
+    }
+
+    /**
+     * Validates that the source file exists.
+     *
+     * @throws FileNotFoundException if the source file does not exist
+     */
+    @Override
+    public void validate() throws Exception {
+        if (!new File(sourceFilePath).isFile()) {
+            throw new FileNotFoundException(sourceFilePath);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import com.netty.communication.specification.response.ResponseSpec;
+import com.netty.communication.util.ChecksumUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Represents a whole small file sent in a single frame.
+ * <p>
+ * The file is read into the frame with one read when the message is encoded. The frame may carry
+ * the CRC32C checksum of the contents and the status that completes the request, so that a small
+ * download needs neither chunk acknowledgments nor a separate {@link ResponseMessage}.
+ * <p>
+ * Wire format: flags, destination path, [status], [CRC32C], contents.
+ */
+@Builder
+@Getter
+@Accessors(fluent = true)
+public class OutboundSmallFile implements ProtocolMessage, MessageEncodable {
+    static final int HAS_STATUS = 1;
+    static final int HAS_CHECKSUM = 1 << 1;
+
+    private final String srcPath;
+    private final String dstPath;
+    private final ResponseSpec status;
+    private final boolean checksum;
+
+    /**
+     * Encodes the header and the contents of the file into a single buffer.
+     *
+     * @param buffer the ByteBuf to write the encoded message into
+     * @return a list containing the single body piece
+     * @throws IllegalStateException if the file cannot be read
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        try (var channel = FileChannel.open(Path.of(srcPath), StandardOpenOption.READ)) {
+            int size = (int) channel.size();
+            buffer.writeInt((status != null ? HAS_STATUS : 0) | (checksum ? HAS_CHECKSUM : 0));
+            buffer.writeInt(ByteBufUtil.utf8Bytes(dstPath));
+            buffer.writeCharSequence(dstPath, StandardCharsets.UTF_8);
+            if (status != null) {
+                buffer.writeInt(status.getErrorNo());
+            }
+            int checksumIndex = buffer.writerIndex();
+            if (checksum) {
+                buffer.writeInt(0);
+            }
+            int contentsIndex = buffer.writerIndex();
+            int length = readFully(channel, size, buffer);
+            if (checksum) {
+                buffer.setInt(checksumIndex, ChecksumUtils.crc32c(buffer, contentsIndex, length));
+            }
+            return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+        } catch (IOException e) {
+            buffer.release();
+            throw new IllegalStateException("Failed to read a small file: " + srcPath, e);
+        }
+    }
+
+    /**
+     * Checks whether the frame completes the request it answers.
+     *
+     * @return true if the frame carries a status
+     */
+    public boolean completesRequest() {
+        return status != null;
+    }
+
+    /**
+     * Validates the small file.
+     * Checks if the source file exists and fits into a single frame.
+     *
+     * @throws IllegalArgumentException if the file is too large or does not exist.
+     */
+    @Override
+    public void validate() throws Exception {
+        File file = new File(srcPath);
+        if (!file.exists() || file.length() > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Too large or non-existent file: " + file.length() + " bytes");
+        }
+    }
+
+    /**
+     * Appends the contents of a file to a buffer, reading it in as few reads as the channel allows.
+     *
+     * @param channel the channel of the file
+     * @param size    the size of the file
+     * @param buffer  the buffer to append to
+     * @return the number of bytes appended, less than the size only if the file was truncated meanwhile
+     * @throws IOException if the file cannot be read
+     */
+    static int readFully(FileChannel channel, int size, ByteBuf buffer) throws IOException {
+        buffer.ensureWritable(size);
+        int position = 0;
+        while (position < size) {
+            int read = buffer.writeBytes(channel, position, size - position);
+            if (read < 0) {
+                break;
+            }
+            position += read;
+        }
+        return position;
+    }
+}
@@ -1,11 +1,10 @@
 package com.netty.communication.message;
 
 /**
- * Represents a protocol message that can be encoded and validated.
- * This interface extends {@link MessageEncodable} for encoding messages to a ByteBuf
- * and {@link MessageValidatable} for validating the messages before sending them.
+ * Represents a protocol message that is processed by the pipeline and can be validated.
+ * Messages that are sent as frames also implement {@link MessageEncodable}; messages that are
+ * only decoded, and streams that are expanded into other messages before they reach the encoder, do not.
  */
-@FunctionalInterface
-public interface ProtocolMessage extends MessageEncodable, MessageValidatable {
+public interface ProtocolMessage extends MessageValidatable {
     // No additional methods defined; serves as a marker interface for protocol messages.
 }
@@ -17,7 +17,7 @@ import java.util.List;
 @RequiredArgsConstructor
 @Getter
 @Accessors(fluent = true)
-public class ResponseMessage implements ProtocolMessage {
+public class ResponseMessage implements ProtocolMessage, MessageEncodable {
     private final ResponseSpec responseSpec;
 
     /**
@@ -0,0 +1,47 @@
+package com.netty.communication.message;
+
+import io.netty.buffer.ByteBuf;
+import lombok.Builder;
+
+/**
+ * The transfer parameters agreed on by both peers of a connection during the handshake.
+ *
+ * @param protocolVersion the protocol version both peers speak
+ * @param chunkSize       the size of file chunks in bytes
+ * @param windowSize      the number of chunks that may be in flight without an acknowledgment
+ * @param compression     the compression applied to chunk contents
+ * @param checksum        how transferred files are verified
+ */
+@Builder
+public record SessionParameters(int protocolVersion, int chunkSize, int windowSize,
+                                CompressionType compression, ChecksumMode checksum) {
+
+    /**
+     * Writes the parameters to the given {@link ByteBuf}.
+     *
+     * @param buffer the buffer to write to
+     */
+    public void encode(ByteBuf buffer) {
+        buffer.writeInt(protocolVersion);
+        buffer.writeInt(chunkSize);
+        buffer.writeInt(windowSize);
+        buffer.writeInt(compression.value());
+        buffer.writeInt(checksum.value());
+    }
+
+    /**
+     * Reads parameters from the given {@link ByteBuf}.
+     *
+     * @param buffer the buffer to read from
+     * @return the decoded parameters
+     */
+    public static SessionParameters decode(ByteBuf buffer) {
+        return builder()
+                .protocolVersion(buffer.readInt())
+                .chunkSize(buffer.readInt())
+                .windowSize(buffer.readInt())
+                .compression(CompressionType.of(buffer.readInt()))
+                .checksum(ChecksumMode.of(buffer.readInt()))
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The server's answer to a {@link SyncCompareRequest}.
+ * Lists the children of every requested directory whose hash differs from the server's copy,
+ * or reports that the server does not have the directory at all.
+ */
+@Builder
+@Getter
+public class SyncCompareReply implements ProtocolMessage, MessageEncodable {
+
+    private final List<Listing> listings;
+
+    /**
+     * Decodes a {@link ByteBuf} message into a {@link SyncCompareReply}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded reply
+     * @return the decoded {@link SyncCompareReply}
+     */
+    public static SyncCompareReply decode(ByteBuf message) {
+        int count = message.readInt();
+        List<Listing> listings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String path = message.readCharSequence(message.readInt(), StandardCharsets.UTF_8).toString();
+            boolean exists = message.readBoolean();
+            int nChildren = message.readInt();
+            List<Entry> children = new ArrayList<>(nChildren);
+            for (int j = 0; j < nChildren; j++) {
+                String name = message.readCharSequence(message.readInt(), StandardCharsets.UTF_8).toString();
+                boolean directory = message.readBoolean();
+                byte[] hash = new byte[message.readInt()];
+                message.readBytes(hash);
+                children.add(new Entry(name, directory, hash));
+            }
+            listings.add(new Listing(path, exists, children));
+        }
+        return builder().listings(listings).build();
+    }
+
+    /**
+     * Encodes the {@link SyncCompareReply} into a {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to write the encoded reply into
+     * @return a list of {@link EncodedBodyPiece} representing the encoded message
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeInt(listings.size());
+        for (var listing : listings) {
+            buffer.writeInt(ByteBufUtil.utf8Bytes(listing.path()));
+            buffer.writeCharSequence(listing.path(), StandardCharsets.UTF_8);
+            buffer.writeBoolean(listing.exists());
+            buffer.writeInt(listing.children().size());
+            for (var child : listing.children()) {
+                buffer.writeInt(ByteBufUtil.utf8Bytes(child.name()));
+                buffer.writeCharSequence(child.name(), StandardCharsets.UTF_8);
+                buffer.writeBoolean(child.directory());
+                buffer.writeInt(child.hash().length);
+                buffer.writeBytes(child.hash());
+            }
+        }
+        return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+
+    /**
+     * The server's view of one requested directory.
+     *
+     * @param path     the path of the directory relative to the synced directory
+     * @param exists   whether the server has the directory
+     * @param children the children of the server's directory
+     */
+    public record Listing(String path, boolean exists, List<Entry> children) {
+    }
+
+    /**
+     * One child of a server directory.
+     *
+     * @param name      the name of the child
+     * @param directory whether the child is a directory
+     * @param hash      the Merkle hash of the child
+     */
+    public record Entry(String name, boolean directory, byte[] hash) {
+    }
+}
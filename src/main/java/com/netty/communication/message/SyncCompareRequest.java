@@ -0,0 +1,78 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One round of a directory sync.
+ * Carries the Merkle hashes of the client's directories whose contents may differ from the server's
+ * copy; the server answers with the children of every directory whose hash differs. A request without
+ * directories ends the comparison.
+ */
+@Builder
+@Getter
+public class SyncCompareRequest implements ProtocolMessage, MessageEncodable {
+
+    private final String destDirPath;
+    private final boolean contentHash;
+    private final List<DirectoryHash> directories;
+
+    /**
+     * Decodes a {@link ByteBuf} message into a {@link SyncCompareRequest}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded request
+     * @return the decoded {@link SyncCompareRequest}
+     */
+    public static SyncCompareRequest decode(ByteBuf message) {
+        var builder = builder()
+                .destDirPath(message.readCharSequence(message.readInt(), StandardCharsets.UTF_8).toString())
+                .contentHash(message.readBoolean());
+
+        int count = message.readInt();
+        List<DirectoryHash> directories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String path = message.readCharSequence(message.readInt(), StandardCharsets.UTF_8).toString();
+            byte[] hash = new byte[message.readInt()];
+            message.readBytes(hash);
+            directories.add(new DirectoryHash(path, hash));
+        }
+        return builder.directories(directories).build();
+    }
+
+    /**
+     * Encodes the {@link SyncCompareRequest} into a {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to write the encoded request into
+     * @return a list of {@link EncodedBodyPiece} representing the encoded message
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeInt(ByteBufUtil.utf8Bytes(destDirPath));
+        buffer.writeCharSequence(destDirPath, StandardCharsets.UTF_8);
+        buffer.writeBoolean(contentHash);
+        buffer.writeInt(directories.size());
+        for (var directory : directories) {
+            buffer.writeInt(ByteBufUtil.utf8Bytes(directory.path()));
+            buffer.writeCharSequence(directory.path(), StandardCharsets.UTF_8);
+            buffer.writeInt(directory.hash().length);
+            buffer.writeBytes(directory.hash());
+        }
+        return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+
+    /**
+     * The Merkle hash of one of the client's directories.
+     *
+     * @param path the path of the directory relative to the synced directory, with '/' as separator
+     * @param hash the hash of the directory
+     */
+    public record DirectoryHash(String path, byte[] hash) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.netty.communication.message;
+
+/**
+ * Represents a message that records when it was handed over to the next stage of the pipeline,
+ * so that the time it waits in the queue of another executor can be measured.
+ */
+public interface TimestampedMessage {
+
+    /**
+     * Retrieves the time at which the message was handed over.
+     *
+     * @return the {@link System#nanoTime()} of the hand-over
+     */
+    long handedOverNanos();
+}
@@ -0,0 +1,38 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import io.netty.buffer.ByteBuf;
+import lombok.Builder;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a protocol message that tells the peer the receiver has given up on the running transfer.
+ * The peer stops sending chunks at the next chunk boundary and fails the request.
+ */
+@Builder
+public class TransferCancel implements ProtocolMessage, MessageEncodable {
+
+    /**
+     * Decodes a TransferCancel message from the provided ByteBuf.
+     *
+     * @param message the ByteBuf containing the encoded message
+     * @return a new instance of TransferCancel
+     */
+    public static TransferCancel decode(ByteBuf message) {
+        return builder().build();
+    }
+
+    /**
+     * Encodes this TransferCancel message into a list of EncodedBodyPiece objects.
+     * Since this message has no body, it returns an empty EncodedBodyPiece.
+     *
+     * @param buffer the ByteBuf to encode the message into
+     * @return a list containing an EncodedBodyPiece representing the empty body
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        return Collections.singletonList(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+}
@@ -0,0 +1,56 @@
+package com.netty.communication.message;
+
+import com.netty.communication.handler.outbound.EncodedBodyPiece;
+import com.netty.communication.transfer.ResumePoint;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * The server's answer to a {@link TransferResumeQuery}: the point the upload of the destination
+ * file can continue from.
+ */
+@Builder
+@Getter
+public class TransferResumeOffset implements ProtocolMessage, MessageEncodable {
+
+    private final String sourceFilePath;
+    private final String destFilePath;
+    private final ResumePoint resumePoint;
+
+    /**
+     * Decodes a {@link ByteBuf} message into a {@link TransferResumeOffset}.
+     *
+     * @param message the {@link ByteBuf} containing the encoded reply
+     * @return the decoded {@link TransferResumeOffset}
+     */
+    public static TransferResumeOffset decode(ByteBuf message) {
+        return builder()
+                .sourceFilePath(message.readCharSequence(message.readInt(), StandardCharsets.UTF_8).toString())
+                .destFilePath(message.readCharSequence(message.readInt(), StandardCharsets.UTF_8).toString())
+                .resumePoint(new ResumePoint(message.readLong(), message.readInt(), message.readInt()))
+                .build();
+    }
+
+    /**
+     * Encodes the {@link TransferResumeOffset} into a {@link ByteBuf}.
+     *
+     * @param buffer the {@link ByteBuf} to write the encoded reply into
+     * @return a list of {@link EncodedBodyPiece} representing the encoded message
+     */
+    @Override
+    public List<EncodedBodyPiece> encode(ByteBuf buffer) {
+        buffer.writeInt(ByteBufUtil.utf8Bytes(sourceFilePath));
+        buffer.writeCharSequence(sourceFilePath, StandardCharsets.UTF_8);
+        buffer.writeInt(ByteBufUtil.utf8Bytes(destFilePath));
+        buffer.writeCharSequence(destFilePath, StandardCharsets.UTF_8);
+        buffer.writeLong(resumePoint.offset());
+        buffer.writeInt(resumePoint.tailLength());
+        buffer.writeInt(resumePoint.tailCrc32c());
+        return List.of(new EncodedBodyPiece(buffer, buffer.readableBytes()));
+    }
+}
@@ -0,0 +1,23 @@
+package com.netty.communication.message;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Represents a user request to upload many files over a single connection.
+ * Small files are packed into shared frames; the result reports a status for every file.
+ * With {@code preserveTimes} the server copies keep the modification times of the sources.
+ */
+@Builder
+public record UserBulkFileUploadRequest(List<Entry> files, boolean preserveTimes) implements UserRequest {
+
+    /**
+     * One file of the request.
+     *
+     * @param srcFile the source file, relative to the client root
+     * @param dstFile the destination file, relative to the server root
+     */
+    public record Entry(String srcFile, String dstFile) {
+    }
+}
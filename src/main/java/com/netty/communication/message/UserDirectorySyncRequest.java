@@ -0,0 +1,13 @@
+package com.netty.communication.message;
+
+import com.netty.communication.sync.MerkleNode;
+import lombok.Builder;
+
+/**
+ * Represents a user request to compare a local directory with a directory on the server.
+ * The comparison finds the files that must be uploaded to bring the server's copy up to date.
+ * The Merkle tree of the local directory is built before the request is sent.
+ */
+@Builder
+public record UserDirectorySyncRequest(MerkleNode root, String dstDir, boolean contentHash) implements UserRequest {
+}
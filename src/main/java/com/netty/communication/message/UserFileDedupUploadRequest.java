@@ -0,0 +1,15 @@
+package com.netty.communication.message;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Represents a user request to upload a file in deduplication mode,
+ * where only the chunks the server does not store yet are transferred.
+ * The source file is split into its chunks before the request is sent.
+ */
+@Builder
+public record UserFileDedupUploadRequest(String srcFile, String dstFile, long fileSize, List<DedupChunkEntry> chunks)
+        implements UserRequest {
+}
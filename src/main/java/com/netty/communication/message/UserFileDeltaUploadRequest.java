@@ -0,0 +1,11 @@
+package com.netty.communication.message;
+
+import lombok.Builder;
+
+/**
+ * Represents a user request to upload a file in delta mode,
+ * where only the parts the server's existing copy lacks are transferred.
+ */
+@Builder
+public record UserFileDeltaUploadRequest(String srcFile, String dstFile) implements UserRequest {
+}
@@ -0,0 +1,16 @@
+package com.netty.communication.message;
+
+import lombok.Builder;
+
+/**
+ * Represents a user request to commit a striped upload once all of its stripes have been acknowledged,
+ * or to discard it once a stripe has failed.
+ * This class contains the destination file path, the size of the file, the CRC32C checksum of the
+ * source file if it has been computed, and whether the upload is discarded.
+ */
+@Builder
+public record UserFileRangeCommitRequest(String dstFile, long size, Integer crc32c, boolean discard)
+        implements UserRequest {
+    public UserFileRangeCommitRequest {
+    }
+}
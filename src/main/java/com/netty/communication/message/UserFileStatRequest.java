@@ -0,0 +1,10 @@
+package com.netty.communication.message;
+
+import lombok.Builder;
+
+/**
+ * Represents a user request for the size of a file on a server.
+ */
+@Builder
+public record UserFileStatRequest(String file) implements UserRequest {
+}
@@ -1,13 +1,19 @@
 package com.netty.communication.message;
 
+import com.netty.communication.transfer.FileRange;
+import com.netty.communication.transfer.TransferDeadline;
+import com.netty.communication.transfer.TransferProgress;
 import lombok.Builder;
 
 /**
  * Represents a user request to upload a file.
- * This class contains information about the source and destination file paths.
+ * This class contains information about the source and destination file paths,
+ * and optionally the range of the file to upload, the deadline of the transfer and the progress it reports to.
  */
 @Builder
-public record UserFileUploadRequest(String srcFile, String dstFile) implements UserRequest {
+public record UserFileUploadRequest(String srcFile, String dstFile, FileRange range,
+                                    TransferDeadline deadline,
+                                    TransferProgress progress) implements UserRequest {
     public UserFileUploadRequest {
     }
 }
@@ -1,5 +1,8 @@
 package com.netty.communication.message;
 
+import com.netty.communication.transfer.TransferDeadline;
+import com.netty.communication.transfer.TransferProgress;
+
 /**
  * Marker interface for user requests.
  * <p>
@@ -8,4 +11,23 @@ package com.netty.communication.message;
  * </p>
  */
 public interface UserRequest {
+
+    /**
+     * Returns the deadline by which the request has to complete.
+     * The client gives up on the request and cancels its transfer once the deadline has passed.
+     *
+     * @return the deadline, or null if the request may take as long as it needs
+     */
+    default TransferDeadline deadline() {
+        return null;
+    }
+
+    /**
+     * Returns the progress the transfer of the request reports to.
+     *
+     * @return the progress, or null if nobody follows it
+     */
+    default TransferProgress progress() {
+        return null;
+    }
 }
@@ -0,0 +1,15 @@
+package com.netty.communication.message;
+
+import com.netty.communication.transfer.StreamSink;
+import com.netty.communication.transfer.TransferDeadline;
+import lombok.Builder;
+
+/**
+ * Represents a user request to download a file into a {@link StreamSink} rather than a local file.
+ */
+@Builder
+public record UserStreamDownloadRequest(String srcFile, StreamSink sink,
+                                        TransferDeadline deadline) implements UserRequest {
+    public UserStreamDownloadRequest {
+    }
+}
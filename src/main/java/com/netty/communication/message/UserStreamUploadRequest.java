@@ -0,0 +1,17 @@
+package com.netty.communication.message;
+
+import com.netty.communication.transfer.TransferDeadline;
+import lombok.Builder;
+
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Represents a user request to upload bytes read from a source rather than a local file.
+ * The source is read to its end while the upload runs; the caller remains responsible for closing it.
+ */
+@Builder
+public record UserStreamUploadRequest(ReadableByteChannel source, String dstFile,
+                                      TransferDeadline deadline) implements UserRequest {
+    public UserStreamUploadRequest {
+    }
+}
@@ -0,0 +1,19 @@
+package com.netty.communication.metrics;
+
+/**
+ * The side of the protocol a channel belongs to, so that the traffic of the file client and the file
+ * server running in the same process can be told apart.
+ */
+public enum ChannelRole {
+    CLIENT,
+    SERVER;
+
+    /**
+     * Returns the label value of the role.
+     *
+     * @return the name of the role in lower case
+     */
+    public String label() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,82 @@
+package com.netty.communication.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the chunk sizes chosen by the adaptive chunk sizing of all connections.
+ * Sizes are counted in power-of-two buckets; the smoothed throughput of the latest
+ * decision is kept alongside.
+ */
+@Component
+public class ChunkSizeMetrics {
+    private static final int N_BUCKETS = Integer.SIZE;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalBytes = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong();
+    private final AtomicLong last = new AtomicLong();
+    private final AtomicLong lastThroughput = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(N_BUCKETS);
+
+    /**
+     * Records the size of a chunk that was sent.
+     *
+     * @param chunkSize             the chunk size in bytes
+     * @param throughputBytesPerSec the throughput estimate the size was chosen from
+     */
+    public void record(int chunkSize, long throughputBytesPerSec) {
+        count.increment();
+        totalBytes.add(chunkSize);
+        min.accumulateAndGet(chunkSize, Math::min);
+        max.accumulateAndGet(chunkSize, Math::max);
+        last.set(chunkSize);
+        lastThroughput.set(throughputBytesPerSec);
+        buckets.incrementAndGet(bucketOf(chunkSize));
+    }
+
+    /**
+     * Returns a snapshot of the recorded sizes.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < N_BUCKETS; i++) {
+            long value = buckets.get(i);
+            if (value > 0) {
+                histogram.put("le_" + (1L << i), value);
+            }
+        }
+        long n = count.sum();
+        long total = totalBytes.sum();
+        return new Snapshot(n, total, n == 0 ? 0 : total / n, n == 0 ? 0 : min.get(), max.get(), last.get(),
+                lastThroughput.get(), histogram);
+    }
+
+    private static int bucketOf(int chunkSize) {
+        return Math.min(N_BUCKETS - 1, Integer.SIZE - Integer.numberOfLeadingZeros(Math.max(1, chunkSize) - 1));
+    }
+
+    /**
+     * A point-in-time view of the chunk size metrics.
+     *
+     * @param count                  the number of chunks sent
+     * @param totalBytes             the sum of the chunk sizes in bytes
+     * @param average                the average chunk size in bytes
+     * @param min                    the smallest chunk size in bytes
+     * @param max                    the largest chunk size in bytes
+     * @param last                   the most recent chunk size in bytes
+     * @param lastThroughputBytesSec the throughput estimate behind the most recent size
+     * @param histogram              chunk counts by power-of-two upper bound
+     */
+    public record Snapshot(long count, long totalBytes, long average, long min, long max, long last,
+                           long lastThroughputBytesSec, Map<String, Long> histogram) {
+    }
+}
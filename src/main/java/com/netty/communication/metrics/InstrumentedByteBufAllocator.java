@@ -0,0 +1,101 @@
+package com.netty.communication.metrics;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PoolArenaMetric;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.internal.PlatformDependent;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The pooled allocator of the connections of the client and the server, which counts the buffers asked of it.
+ * <p>
+ * The arenas of a pooled allocator count the buffers they allocate, but not those the thread-local caches
+ * serve before a request reaches an arena. Counting the requests as well tells how many of them the caches
+ * served. Requests larger than a chunk are never cached and are counted apart.
+ */
+public final class InstrumentedByteBufAllocator extends PooledByteBufAllocator {
+    /**
+     * The allocator every connection uses.
+     */
+    public static final InstrumentedByteBufAllocator DEFAULT =
+            new InstrumentedByteBufAllocator(PlatformDependent.directBufferPreferred());
+
+    private final LongAdder heapRequests = new LongAdder();
+    private final LongAdder hugeHeapRequests = new LongAdder();
+    private final LongAdder directRequests = new LongAdder();
+    private final LongAdder hugeDirectRequests = new LongAdder();
+
+    private InstrumentedByteBufAllocator(boolean preferDirect) {
+        super(preferDirect);
+    }
+
+    @Override
+    protected ByteBuf newHeapBuffer(int initialCapacity, int maxCapacity) {
+        (initialCapacity > chunkSize() ? hugeHeapRequests : heapRequests).increment();
+        return super.newHeapBuffer(initialCapacity, maxCapacity);
+    }
+
+    @Override
+    protected ByteBuf newDirectBuffer(int initialCapacity, int maxCapacity) {
+        (initialCapacity > chunkSize() ? hugeDirectRequests : directRequests).increment();
+        return super.newDirectBuffer(initialCapacity, maxCapacity);
+    }
+
+    /**
+     * Returns how many heap buffers of at most a chunk were asked for.
+     *
+     * @return the number of requests the thread-local caches could have served
+     */
+    public long heapRequests() {
+        return heapRequests.sum();
+    }
+
+    /**
+     * Returns how many heap buffers larger than a chunk were asked for.
+     *
+     * @return the number of requests the arenas allocated unpooled
+     */
+    public long hugeHeapRequests() {
+        return hugeHeapRequests.sum();
+    }
+
+    /**
+     * Returns how many direct buffers of at most a chunk were asked for.
+     *
+     * @return the number of requests the thread-local caches could have served
+     */
+    public long directRequests() {
+        return directRequests.sum();
+    }
+
+    /**
+     * Returns how many direct buffers larger than a chunk were asked for.
+     *
+     * @return the number of requests the arenas allocated unpooled
+     */
+    public long hugeDirectRequests() {
+        return hugeDirectRequests.sum();
+    }
+
+    /**
+     * Estimates the share of requests of at most a chunk that the thread-local caches served.
+     * <p>
+     * Buffers that grow are reallocated by their arena without a new request, so the estimate errs low.
+     *
+     * @param requests the requests of at most a chunk
+     * @param arenas   the arenas the requests went to
+     * @return the share between 0 and 1, or -1 before the first request
+     */
+    public static double cacheHitRate(long requests, List<PoolArenaMetric> arenas) {
+        if (requests == 0) {
+            return -1;
+        }
+        long misses = 0;
+        for (var arena : arenas) {
+            misses += arena.numSmallAllocations() + arena.numNormalAllocations();
+        }
+        return Math.max(0, 1 - (double) misses / requests);
+    }
+}
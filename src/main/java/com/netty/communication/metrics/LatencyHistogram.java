@@ -0,0 +1,101 @@
+package com.netty.communication.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations in nanoseconds, with buckets of bounded relative width in the
+ * manner of HdrHistogram.
+ * <p>
+ * Every power of two is split into eight buckets, so a quantile is reported within 12.5% of the
+ * recorded values whatever their magnitude, from nanoseconds to days, in a fixed array of counters.
+ * Recording a value costs a bucket computation and one atomic increment, plus the adders of the
+ * count and the sum.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int N_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(N_BUCKETS);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds; negative durations are recorded as zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        sum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the recorded durations.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[N_BUCKETS];
+        long count = 0;
+        for (int i = 0; i < N_BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, sum.sum(), max.get());
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestValueIn(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * A point-in-time view of a {@link LatencyHistogram}.
+     *
+     * @param counts   the count of every bucket
+     * @param count    the number of recorded durations
+     * @param sumNanos the sum of the recorded durations
+     * @param maxNanos the longest recorded duration
+     */
+    public record Snapshot(long[] counts, long count, long sumNanos, long maxNanos) {
+
+        /**
+         * Returns the duration below which the given share of the recorded durations lie.
+         *
+         * @param quantile the share, between 0 and 1
+         * @return the highest duration of the bucket the quantile falls in, at most the longest recorded
+         *         duration, or 0 if nothing has been recorded
+         */
+        public long valueAt(double quantile) {
+            long rank = (long) Math.ceil(quantile * count);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= Math.max(1, rank)) {
+                    return Math.min(highestValueIn(i), maxNanos);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.netty.communication.metrics;
+
+import io.netty.util.ResourceLeakDetector;
+import io.netty.util.ResourceLeakDetectorFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the leaks Netty's {@link ResourceLeakDetector}s report and keeps the latest reports.
+ * <p>
+ * Netty logs the leaks it detects and keeps no record of them. Installing this class's factory before the
+ * first buffer class is loaded makes every detector count its reports here as well; the level of detection
+ * can be changed at any time with {@link ResourceLeakDetector#setLevel}, and applies to the buffers allocated
+ * afterwards.
+ */
+public final class LeakReports {
+    private static final int RETAINED = 16;
+    private static final LongAdder LEAKS = new LongAdder();
+    private static final Deque<Leak> LATEST = new ArrayDeque<>(RETAINED);
+
+    private LeakReports() {
+    }
+
+    /**
+     * Makes the leak detectors created from now on report here. Called first thing in {@code main}.
+     */
+    public static void install() {
+        ResourceLeakDetectorFactory.setResourceLeakDetectorFactory(new ResourceLeakDetectorFactory() {
+            @Override
+            @SuppressWarnings("deprecation")
+            public <T> ResourceLeakDetector<T> newResourceLeakDetector(Class<T> resource, int samplingInterval,
+                                                                       long maxActive) {
+                return new ReportingLeakDetector<>(resource, samplingInterval);
+            }
+        });
+    }
+
+    /**
+     * Returns the number of leaks reported since the start.
+     *
+     * @return the number of leaks
+     */
+    public static long count() {
+        return LEAKS.sum();
+    }
+
+    /**
+     * Returns the latest leaks reported, newest first.
+     *
+     * @return the leaks
+     */
+    public static List<Leak> latest() {
+        synchronized (LATEST) {
+            return List.copyOf(LATEST);
+        }
+    }
+
+    private static void report(String resourceType, String records) {
+        LEAKS.increment();
+        synchronized (LATEST) {
+            if (LATEST.size() == RETAINED) {
+                LATEST.removeLast();
+            }
+            LATEST.addFirst(new Leak(System.currentTimeMillis(), resourceType, records));
+        }
+    }
+
+    /**
+     * A leak reported by a detector.
+     *
+     * @param reportedEpochMillis when the leak was reported, in milliseconds since the epoch
+     * @param resourceType        the type of the leaked resource
+     * @param records             where the resource was last accessed, or an empty string below the advanced level
+     */
+    public record Leak(long reportedEpochMillis, String resourceType, String records) {
+    }
+
+    private static final class ReportingLeakDetector<T> extends ResourceLeakDetector<T> {
+
+        private ReportingLeakDetector(Class<?> resourceType, int samplingInterval) {
+            super(resourceType, samplingInterval);
+        }
+
+        @Override
+        protected void reportTracedLeak(String resourceType, String records) {
+            super.reportTracedLeak(resourceType, records);
+            report(resourceType, records);
+        }
+
+        @Override
+        protected void reportUntracedLeak(String resourceType) {
+            super.reportUntracedLeak(resourceType);
+            report(resourceType, "");
+        }
+    }
+}
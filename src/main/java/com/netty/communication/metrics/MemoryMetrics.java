@@ -0,0 +1,170 @@
+package com.netty.communication.metrics;
+
+import io.netty.buffer.PoolArenaMetric;
+import io.netty.util.ResourceLeakDetector;
+import io.netty.util.internal.PlatformDependent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reports the buffer memory of the connections: the arenas and the thread-local caches of the
+ * {@link InstrumentedByteBufAllocator}, the direct memory Netty has reserved against its limit, the received
+ * chunks each connection holds on to, and the leaks Netty has detected.
+ * <p>
+ * The level of leak detection can be raised to paranoid at runtime to track every buffer allocated afterwards,
+ * and lowered again once the leak is found, since tracking every buffer is costly.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemoryMetrics {
+
+    private final TransferMetrics transferMetrics;
+
+    /**
+     * Changes the level of leak detection of the buffers allocated from now on.
+     *
+     * @param level the level
+     */
+    public void leakDetection(ResourceLeakDetector.Level level) {
+        ResourceLeakDetector.setLevel(level);
+    }
+
+    /**
+     * Takes a snapshot of the buffer memory.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        var allocator = InstrumentedByteBufAllocator.DEFAULT;
+        var metric = allocator.metric();
+        var allocatorStats = new AllocatorStats(metric.chunkSize(), metric.numThreadLocalCaches(),
+                metric.smallCacheSize(), metric.normalCacheSize(), metric.usedDirectMemory(),
+                allocator.pinnedDirectMemory(), metric.usedHeapMemory(), allocator.pinnedHeapMemory(),
+                allocator.directRequests(), allocator.hugeDirectRequests(),
+                InstrumentedByteBufAllocator.cacheHitRate(allocator.directRequests(), metric.directArenas()),
+                allocator.heapRequests(), allocator.hugeHeapRequests(),
+                InstrumentedByteBufAllocator.cacheHitRate(allocator.heapRequests(), metric.heapArenas()));
+
+        var arenas = new ArrayList<ArenaStats>();
+        arenas(arenas, "direct", metric.directArenas());
+        arenas(arenas, "heap", metric.heapArenas());
+
+        var channels = transferMetrics.channels().stream()
+                .map(stats -> new ChannelChunks(stats.role(), remote(stats), stats.outstandingChunks()))
+                .toList();
+        var roles = transferMetrics.snapshot().roles().stream()
+                .map(totals -> new ChannelChunks(totals.role(), null, totals.outstandingChunks()))
+                .toList();
+
+        return new Snapshot(new DirectMemory(PlatformDependent.usedDirectMemory(),
+                PlatformDependent.maxDirectMemory()), allocatorStats, arenas, roles, channels,
+                new LeakDetection(ResourceLeakDetector.getLevel(), LeakReports.count(), LeakReports.latest()));
+    }
+
+    private static void arenas(List<ArenaStats> out, String type, List<PoolArenaMetric> arenas) {
+        for (int i = 0; i < arenas.size(); i++) {
+            var arena = arenas.get(i);
+            out.add(new ArenaStats(type, i, arena.numThreadCaches(), arena.numSmallAllocations(),
+                    arena.numNormalAllocations(), arena.numHugeAllocations(), arena.numDeallocations(),
+                    arena.numActiveAllocations(), arena.numActiveBytes()));
+        }
+    }
+
+    private static String remote(TransferMetrics.ChannelStats stats) {
+        var address = stats.channel().remoteAddress();
+        return address instanceof InetSocketAddress inet
+                ? inet.getHostString() + ":" + inet.getPort()
+                : String.valueOf(address);
+    }
+
+    /**
+     * The direct memory Netty has reserved, which excludes the JDK's own direct buffers.
+     *
+     * @param usedBytes the bytes reserved, or -1 if Netty does not count them
+     * @param maxBytes  the limit of the reservations
+     */
+    public record DirectMemory(long usedBytes, long maxBytes) {
+    }
+
+    /**
+     * The state of the allocator of the connections.
+     *
+     * @param chunkSize          the size of the chunks the arenas carve buffers from; larger buffers are
+     *                           not pooled
+     * @param threadLocalCaches  the number of threads with a cache
+     * @param smallCacheSize     the number of small buffers a cache holds per size
+     * @param normalCacheSize    the number of normal buffers a cache holds per size
+     * @param usedDirectBytes    the direct memory held by the arenas
+     * @param pinnedDirectBytes  the direct memory of buffers in use
+     * @param usedHeapBytes      the heap memory held by the arenas
+     * @param pinnedHeapBytes    the heap memory of buffers in use
+     * @param directRequests     the direct buffers of at most a chunk asked for
+     * @param hugeDirectRequests the direct buffers larger than a chunk asked for
+     * @param directCacheHitRate the estimated share of direct requests the caches served, or -1
+     * @param heapRequests       the heap buffers of at most a chunk asked for
+     * @param hugeHeapRequests   the heap buffers larger than a chunk asked for
+     * @param heapCacheHitRate   the estimated share of heap requests the caches served, or -1
+     */
+    public record AllocatorStats(int chunkSize, int threadLocalCaches, int smallCacheSize, int normalCacheSize,
+                                 long usedDirectBytes, long pinnedDirectBytes, long usedHeapBytes,
+                                 long pinnedHeapBytes, long directRequests, long hugeDirectRequests,
+                                 double directCacheHitRate, long heapRequests, long hugeHeapRequests,
+                                 double heapCacheHitRate) {
+    }
+
+    /**
+     * The allocations of an arena. The arena does not see the buffers the thread-local caches serve.
+     *
+     * @param type              direct or heap
+     * @param index             the position of the arena
+     * @param threadCaches      the number of threads whose cache is bound to the arena
+     * @param smallAllocations  the small buffers allocated
+     * @param normalAllocations the normal buffers allocated
+     * @param hugeAllocations   the buffers larger than a chunk allocated
+     * @param deallocations     the buffers returned
+     * @param activeAllocations the buffers allocated and not yet returned
+     * @param activeBytes       the bytes of the chunks the arena holds
+     */
+    public record ArenaStats(String type, int index, int threadCaches, long smallAllocations,
+                             long normalAllocations, long hugeAllocations, long deallocations,
+                             long activeAllocations, long activeBytes) {
+    }
+
+    /**
+     * The received chunks whose contents have not been released yet.
+     *
+     * @param role              the role of the connections
+     * @param remote            the peer of the connection, or null for all connections of the role
+     * @param outstandingChunks the number of chunks
+     */
+    public record ChannelChunks(ChannelRole role, String remote, long outstandingChunks) {
+    }
+
+    /**
+     * The state of Netty's leak detection.
+     *
+     * @param level  the level of detection
+     * @param leaks  the number of leaks reported since the start
+     * @param latest the latest leaks reported, newest first
+     */
+    public record LeakDetection(ResourceLeakDetector.Level level, long leaks, List<LeakReports.Leak> latest) {
+    }
+
+    /**
+     * A point-in-time view of the buffer memory.
+     *
+     * @param directMemory  the direct memory reserved against the limit
+     * @param allocator     the allocator of the connections
+     * @param arenas        the arenas of the allocator
+     * @param roles         the outstanding chunks of all connections by role, closed ones included
+     * @param channels      the outstanding chunks of each open connection
+     * @param leakDetection the state of the leak detection
+     */
+    public record Snapshot(DirectMemory directMemory, AllocatorStats allocator, List<ArenaStats> arenas,
+                           List<ChannelChunks> roles, List<ChannelChunks> channels, LeakDetection leakDetection) {
+    }
+}
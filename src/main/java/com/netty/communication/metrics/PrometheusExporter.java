@@ -0,0 +1,267 @@
+package com.netty.communication.metrics;
+
+import com.netty.communication.eventloop.ClientEventLoopGroupManager;
+import com.netty.communication.eventloop.EventLoopWatchdog;
+import com.netty.communication.eventloop.ServerEventLoopGroupManager;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import io.netty.util.internal.PlatformDependent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Renders the {@link TransferMetrics} and the {@link ChunkSizeMetrics} in the Prometheus text exposition format.
+ * <p>
+ * Counters are cumulative since the start of the process; rates such as chunks per second are left to the
+ * scraper. Latencies are reported in seconds as summaries with quantiles taken from their
+ * {@link LatencyHistogram}s, and queue depths as gauges sampled at the time of the scrape: the writers' queues
+ * and windows of the open channels, the bytes waiting in their outbound buffers, and the tasks waiting on the
+ * event loops. The task latencies and stalls the {@link EventLoopWatchdog} measured are reported per loop, and the
+ * latest {@link TcpInfoSample} of each open connection of the epoll transport as gauges per connection. The buffer
+ * memory is summed up from the {@link MemoryMetrics}' sources; the arenas are left to its endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrometheusExporter {
+    /**
+     * The content type of the exposition format.
+     */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final String PREFIX = "netty_file_";
+
+    private final TransferMetrics transferMetrics;
+    private final ChunkSizeMetrics chunkSizeMetrics;
+    private final ClientEventLoopGroupManager clientEventLoopGroupManager;
+    private final ServerEventLoopGroupManager serverEventLoopGroupManager;
+    private final EventLoopWatchdog eventLoopWatchdog;
+
+    /**
+     * Renders all metrics.
+     *
+     * @return the metrics in the Prometheus text exposition format
+     */
+    public String scrape() {
+        var out = new StringBuilder(4096);
+        var snapshot = transferMetrics.snapshot();
+        var channels = transferMetrics.channels();
+
+        header(out, "bytes_received_total", "counter", "Bytes read from the sockets of all connections.");
+        snapshot.roles().forEach(role -> sample(out, "bytes_received_total", role(role.role()), role.bytesIn()));
+        header(out, "bytes_sent_total", "counter", "Bytes written to the sockets of all connections.");
+        snapshot.roles().forEach(role -> sample(out, "bytes_sent_total", role(role.role()), role.bytesOut()));
+        header(out, "channels_opened_total", "counter", "Connections opened.");
+        snapshot.roles().forEach(role -> sample(out, "channels_opened_total", role(role.role()), role.channelsOpened()));
+        header(out, "channels_active", "gauge", "Connections currently open.");
+        byRole(out, "channels_active", channels, stats -> 1);
+
+        header(out, "channel_bytes_received_total", "counter", "Bytes read from the socket of an open connection.");
+        channels.forEach(stats -> sample(out, "channel_bytes_received_total", channel(stats), stats.bytesIn()));
+        header(out, "channel_bytes_sent_total", "counter", "Bytes written to the socket of an open connection.");
+        channels.forEach(stats -> sample(out, "channel_bytes_sent_total", channel(stats), stats.bytesOut()));
+        header(out, "channel_outbound_pending_bytes", "gauge", "Bytes of buffers written to an open connection but not yet to its socket; file regions are not included.");
+        channels.forEach(stats -> sample(out, "channel_outbound_pending_bytes", channel(stats), stats.outboundPendingBytes()));
+        tcpInfo(out, snapshot, channels);
+
+        header(out, "chunks_sent_total", "counter", "Chunks of file contents sent.");
+        sample(out, "chunks_sent_total", "", snapshot.chunksSent());
+        header(out, "chunks_received_total", "counter", "Chunks of file contents received and stored.");
+        sample(out, "chunks_received_total", "", snapshot.chunksReceived());
+        header(out, "transfers_started_total", "counter", "Chunk streams whose sending has started.");
+        sample(out, "transfers_started_total", "", snapshot.transfersStarted());
+        header(out, "transfers_active", "gauge", "Chunk streams being sent.");
+        byRole(out, "transfers_active", channels, stats -> stats.transferring() ? 1 : 0);
+
+        header(out, "writer_queued_messages", "gauge", "Messages waiting behind a running chunk stream.");
+        byRole(out, "writer_queued_messages", channels, TransferMetrics.ChannelStats::queuedMessages);
+        header(out, "writer_inflight_chunks", "gauge", "Chunks and batches awaiting acknowledgment.");
+        byRole(out, "writer_inflight_chunks", channels, TransferMetrics.ChannelStats::inFlightChunks);
+        header(out, "writer_inflight_bytes", "gauge", "Bytes awaiting acknowledgment.");
+        byRole(out, "writer_inflight_bytes", channels, TransferMetrics.ChannelStats::inFlightBytes);
+
+        header(out, "event_loop_pending_tasks", "gauge", "Tasks waiting on the event loops.");
+        pendingTasks(out, ChannelRole.CLIENT, "io", clientEventLoopGroupManager.channelIo());
+        pendingTasks(out, ChannelRole.CLIENT, "store", clientEventLoopGroupManager.fireStore());
+        pendingTasks(out, ChannelRole.SERVER, "io", serverEventLoopGroupManager.channelIo());
+        pendingTasks(out, ChannelRole.SERVER, "store", serverEventLoopGroupManager.fireStore());
+
+        eventLoops(out, eventLoopWatchdog.stats());
+        memory(out, snapshot);
+
+        summary(out, "chunk_store_seconds", "Time spent storing a chunk of file contents.", snapshot.chunkStoreLatency());
+        summary(out, "ack_rtt_seconds", "Time from sending a chunk or batch to its acknowledgment.", snapshot.ackRtt());
+        summary(out, "tcp_rtt_seconds", "Smoothed round-trip time of the TCP_INFO samples of all connections.", snapshot.tcpRtt());
+        chunkSizes(out, chunkSizeMetrics.snapshot());
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, long value) {
+        out.append(PREFIX).append(name).append(labels).append(' ').append(value).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(PREFIX).append(name).append(labels).append(' ').append(value).append('\n');
+    }
+
+    private static void byRole(StringBuilder out, String name, Collection<TransferMetrics.ChannelStats> channels,
+                               ToLongFunction<TransferMetrics.ChannelStats> value) {
+        for (var role : ChannelRole.values()) {
+            long sum = 0;
+            for (var stats : channels) {
+                if (stats.role() == role) {
+                    sum += value.applyAsLong(stats);
+                }
+            }
+            sample(out, name, role(role), sum);
+        }
+    }
+
+    private static void pendingTasks(StringBuilder out, ChannelRole role, String group, EventLoopGroup loops) {
+        if (loops == null) {
+            return;
+        }
+        long pending = 0;
+        for (var executor : loops) {
+            if (executor instanceof SingleThreadEventExecutor loop) {
+                pending += loop.pendingTasks();
+            }
+        }
+        sample(out, "event_loop_pending_tasks", "{role=\"" + role.label() + "\",group=\"" + group + "\"}", pending);
+    }
+
+    private static void tcpInfo(StringBuilder out, TransferMetrics.Snapshot snapshot,
+                                Collection<TransferMetrics.ChannelStats> channels) {
+        header(out, "tcp_retransmits_total", "counter", "TCP segments retransmitted, as seen by the TCP_INFO samples.");
+        snapshot.roles().forEach(role -> sample(out, "tcp_retransmits_total", role(role.role()), role.tcpRetransmits()));
+        tcpInfoSeconds(out, "channel_tcp_rtt_seconds", "Smoothed round-trip time of an open connection.", channels,
+                TcpInfoSample::rttMicros);
+        tcpInfoSeconds(out, "channel_tcp_rtt_var_seconds", "Variation of the round-trip time of an open connection.", channels,
+                TcpInfoSample::rttVarMicros);
+        tcpInfo(out, "channel_tcp_cwnd_segments", "Congestion window of an open connection.", channels,
+                TcpInfoSample::sndCwnd);
+        tcpInfo(out, "channel_tcp_unacked_bytes", "Bytes sent on an open connection but not yet acknowledged, estimated from the unacknowledged segments.", channels,
+                TcpInfoSample::unackedBytes);
+        tcpInfo(out, "channel_tcp_lost_segments", "Segments of an open connection considered lost.", channels,
+                TcpInfoSample::lost);
+        tcpInfo(out, "channel_tcp_retransmitted_segments", "Segments an open connection retransmitted since it was opened.", channels,
+                TcpInfoSample::totalRetrans);
+    }
+
+    private static void tcpInfo(StringBuilder out, String name, String help,
+                                Collection<TransferMetrics.ChannelStats> channels,
+                                ToLongFunction<TcpInfoSample> value) {
+        header(out, name, "gauge", help);
+        for (var stats : channels) {
+            var info = stats.tcpInfo();
+            if (info != null) {
+                sample(out, name, channel(stats), value.applyAsLong(info));
+            }
+        }
+    }
+
+    private static void tcpInfoSeconds(StringBuilder out, String name, String help,
+                                       Collection<TransferMetrics.ChannelStats> channels,
+                                       ToLongFunction<TcpInfoSample> micros) {
+        header(out, name, "gauge", help);
+        for (var stats : channels) {
+            var info = stats.tcpInfo();
+            if (info != null) {
+                sample(out, name, channel(stats), seconds(TimeUnit.MICROSECONDS.toNanos(micros.applyAsLong(info))));
+            }
+        }
+    }
+
+    private static void memory(StringBuilder out, TransferMetrics.Snapshot snapshot) {
+        var allocator = InstrumentedByteBufAllocator.DEFAULT;
+        header(out, "outstanding_chunks", "gauge", "Received chunks whose contents have not been released yet.");
+        snapshot.roles().forEach(role -> sample(out, "outstanding_chunks", role(role.role()), role.outstandingChunks()));
+        header(out, "allocator_used_direct_bytes", "gauge", "Direct memory held by the arenas of the connections' allocator.");
+        sample(out, "allocator_used_direct_bytes", "", allocator.metric().usedDirectMemory());
+        header(out, "allocator_pinned_direct_bytes", "gauge", "Direct memory of the connections' buffers in use.");
+        sample(out, "allocator_pinned_direct_bytes", "", allocator.pinnedDirectMemory());
+        header(out, "direct_memory_used_bytes", "gauge", "Direct memory reserved by Netty, or -1 if not counted.");
+        sample(out, "direct_memory_used_bytes", "", PlatformDependent.usedDirectMemory());
+        header(out, "direct_memory_max_bytes", "gauge", "Limit of the direct memory Netty reserves.");
+        sample(out, "direct_memory_max_bytes", "", PlatformDependent.maxDirectMemory());
+        header(out, "buffer_leaks_total", "counter", "Buffer leaks reported by Netty's leak detection.");
+        sample(out, "buffer_leaks_total", "", LeakReports.count());
+    }
+
+    private static void eventLoops(StringBuilder out, List<EventLoopWatchdog.LoopStats> loops) {
+        header(out, "event_loop_task_latency_seconds", "summary", "Time a task posted to an I/O event loop waited before it ran.");
+        for (var stats : loops) {
+            var snapshot = stats.taskLatency();
+            for (double quantile : QUANTILES) {
+                sample(out, "event_loop_task_latency_seconds", loop(stats, ",quantile=\"" + quantile + "\""),
+                        seconds(snapshot.valueAt(quantile)));
+            }
+            sample(out, "event_loop_task_latency_seconds_sum", loop(stats, ""), seconds(snapshot.sumNanos()));
+            sample(out, "event_loop_task_latency_seconds_count", loop(stats, ""), snapshot.count());
+        }
+        header(out, "event_loop_stalls_total", "counter", "Times an I/O event loop was blocked longer than the stall threshold.");
+        loops.forEach(stats -> sample(out, "event_loop_stalls_total", loop(stats, ""), stats.stalls()));
+        header(out, "event_loop_stall_max_seconds", "gauge", "Longest time an I/O event loop was blocked since the start.");
+        loops.forEach(stats -> sample(out, "event_loop_stall_max_seconds", loop(stats, ""), seconds(stats.longestStallNanos())));
+    }
+
+    private static void summary(StringBuilder out, String name, String help, LatencyHistogram.Snapshot snapshot) {
+        header(out, name, "summary", help);
+        for (double quantile : QUANTILES) {
+            sample(out, name, "{quantile=\"" + quantile + "\"}", seconds(snapshot.valueAt(quantile)));
+        }
+        sample(out, name + "_sum", "", seconds(snapshot.sumNanos()));
+        sample(out, name + "_count", "", snapshot.count());
+        header(out, name + "_max", "gauge", help + " Longest since the start.");
+        sample(out, name + "_max", "", seconds(snapshot.maxNanos()));
+    }
+
+    private static void chunkSizes(StringBuilder out, ChunkSizeMetrics.Snapshot snapshot) {
+        header(out, "chunk_size_bytes", "histogram", "Chunk sizes chosen by the adaptive chunk sizing.");
+        long cumulative = 0;
+        for (Map.Entry<String, Long> bucket : snapshot.histogram().entrySet()) {
+            cumulative += bucket.getValue();
+            sample(out, "chunk_size_bytes_bucket", "{le=\"" + bucket.getKey().substring("le_".length()) + "\"}", cumulative);
+        }
+        sample(out, "chunk_size_bytes_bucket", "{le=\"+Inf\"}", snapshot.count());
+        sample(out, "chunk_size_bytes_sum", "", snapshot.totalBytes());
+        sample(out, "chunk_size_bytes_count", "", snapshot.count());
+    }
+
+    private static double seconds(long nanos) {
+        return nanos / 1e9;
+    }
+
+    private static String role(ChannelRole role) {
+        return "{role=\"" + role.label() + "\"}";
+    }
+
+    private static String loop(EventLoopWatchdog.LoopStats stats, String extra) {
+        return "{role=\"" + stats.role().label() + "\",group=\"" + stats.group() + "\",loop=\"" + stats.index() + "\""
+                + extra + "}";
+    }
+
+    private static String channel(TransferMetrics.ChannelStats stats) {
+        var address = stats.channel().remoteAddress();
+        String remote = address instanceof InetSocketAddress inet
+                ? inet.getHostString() + ":" + inet.getPort()
+                : String.valueOf(address);
+        return "{role=\"" + stats.role().label() + "\",remote=\"" + escape(remote) + "\"}";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,49 @@
+package com.netty.communication.metrics;
+
+import io.netty.channel.epoll.EpollTcpInfo;
+
+/**
+ * The kernel's TCP state of a connection at one point in time, as read from TCP_INFO on the epoll transport.
+ * <p>
+ * Times are in microseconds and window sizes in segments, as the kernel reports them. The kernel does not
+ * report the bytes in the socket's send queue through TCP_INFO; the bytes sent but not yet acknowledged are
+ * estimated from the unacknowledged segments and the maximum segment size.
+ *
+ * @param sampledEpochMillis when the sample was taken, in milliseconds since the epoch
+ * @param rttMicros          the smoothed round-trip time
+ * @param rttVarMicros       the variation of the round-trip time
+ * @param rtoMicros          the retransmission timeout
+ * @param sndCwnd            the congestion window, in segments
+ * @param sndSsthresh        the slow start threshold, in segments
+ * @param sndMss             the maximum segment size for sending, in bytes
+ * @param unacked            the segments sent but not yet acknowledged
+ * @param lost               the segments considered lost
+ * @param retransmitting     the segments being retransmitted
+ * @param totalRetrans       the segments retransmitted since the connection was opened
+ * @param pmtu               the path MTU, in bytes
+ */
+public record TcpInfoSample(long sampledEpochMillis, long rttMicros, long rttVarMicros, long rtoMicros,
+                            long sndCwnd, long sndSsthresh, long sndMss, long unacked, long lost,
+                            long retransmitting, long totalRetrans, long pmtu) {
+
+    /**
+     * Copies the fields of interest out of a TCP_INFO read.
+     *
+     * @param info the TCP_INFO of a connection
+     * @return the sample
+     */
+    public static TcpInfoSample of(EpollTcpInfo info) {
+        return new TcpInfoSample(System.currentTimeMillis(), info.rtt(), info.rttvar(), info.rto(),
+                info.sndCwnd(), info.sndSsthresh(), info.sndMss(), info.unacked(), info.lost(),
+                info.retrans(), info.totalRetrans(), info.pmtu());
+    }
+
+    /**
+     * Estimates the bytes sent on the connection but not yet acknowledged by the peer.
+     *
+     * @return the unacknowledged segments times the maximum segment size
+     */
+    public long unackedBytes() {
+        return unacked * sndMss;
+    }
+}
@@ -0,0 +1,82 @@
+package com.netty.communication.metrics;
+
+import com.netty.communication.specification.channel.TransportSpec;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.epoll.EpollTcpInfo;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the kernel's TCP_INFO of the open connections of the client and the server into their
+ * {@link TransferMetrics.ChannelStats}.
+ * <p>
+ * Every interval, the sampler's thread asks the event loop of each open epoll connection to read its TCP_INFO,
+ * so that the read never races with the socket being closed. Connections of the NIO transport have no TCP_INFO
+ * to read and are skipped.
+ */
+@Slf4j
+@Component
+public class TcpInfoSampler {
+    private final TransportSpec spec;
+    private final TransferMetrics transferMetrics;
+    private ScheduledExecutorService sampler;
+
+    public TcpInfoSampler(TransportSpec spec, TransferMetrics transferMetrics) {
+        this.spec = spec;
+        this.transferMetrics = transferMetrics;
+    }
+
+    /**
+     * Starts sampling, unless the interval is zero.
+     */
+    @PostConstruct
+    void setUp() {
+        long interval = spec.tcpInfoIntervalMillis();
+        if (interval <= 0) {
+            return;
+        }
+        sampler = Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("tcp-info-sampler", true));
+        sampler.scheduleWithFixedDelay(this::sampleAll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void tearDown() {
+        if (sampler != null) {
+            sampler.shutdown();
+        }
+    }
+
+    private void sampleAll() {
+        for (var stats : transferMetrics.channels()) {
+            if (stats.channel() instanceof EpollSocketChannel channel && channel.isActive()) {
+                try {
+                    channel.eventLoop().execute(() -> sample(channel, stats));
+                } catch (RejectedExecutionException e) {
+                    // the loop is shutting down
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs on the channel's event loop.
+     */
+    private void sample(EpollSocketChannel channel, TransferMetrics.ChannelStats stats) {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            transferMetrics.tcpInfoSampled(stats, TcpInfoSample.of(channel.tcpInfo(new EpollTcpInfo())));
+        } catch (RuntimeException e) {
+            log.debug("Failed to read the TCP_INFO of {}.", channel, e);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package com.netty.communication.metrics;
+
+import com.netty.communication.message.InboundFileChunk;
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the traffic and the timing of the transfers of all connections, of the client and the server alike.
+ * <p>
+ * Process-wide events are counted in {@link LongAdder}s and timed in {@link LatencyHistogram}s, so that
+ * threads recording at the same time do not contend. The traffic of a connection is counted both in
+ * the totals of its role and in the {@link ChannelStats} attached to its channel, which only the channel's
+ * event loop writes and which are dropped when the channel closes. On the epoll transport, the connections' TCP_INFO
+ * samples are kept in their {@link ChannelStats} as well, and add to the retransmissions of their role and to the
+ * distribution of the round-trip times the kernel measured.
+ */
+@Component
+public class TransferMetrics {
+    private static final AttributeKey<ChannelStats> KEY = AttributeKey.valueOf(TransferMetrics.class, "stats");
+
+    private final Map<Channel, ChannelStats> channels = new ConcurrentHashMap<>();
+    private final LongAdder[] bytesIn = adders();
+    private final LongAdder[] bytesOut = adders();
+    private final LongAdder[] channelsOpened = adders();
+    private final LongAdder[] tcpRetransmits = adders();
+    private final LongAdder[] outstandingChunks = adders();
+    private final LongAdder chunksSent = new LongAdder();
+    private final LongAdder chunksReceived = new LongAdder();
+    private final LongAdder transfersStarted = new LongAdder();
+    private final LatencyHistogram chunkStoreLatency = new LatencyHistogram();
+    private final LatencyHistogram ackRtt = new LatencyHistogram();
+    private final LatencyHistogram tcpRtt = new LatencyHistogram();
+
+    /**
+     * Starts keeping the stats of a channel, until the channel closes.
+     *
+     * @param channel the channel
+     * @param role    the side of the protocol the channel belongs to
+     * @return the stats of the channel
+     */
+    public ChannelStats register(Channel channel, ChannelRole role) {
+        var stats = new ChannelStats(channel, role, bytesIn[role.ordinal()], bytesOut[role.ordinal()],
+                outstandingChunks[role.ordinal()]);
+        channel.attr(KEY).set(stats);
+        channels.put(channel, stats);
+        channelsOpened[role.ordinal()].increment();
+        channel.closeFuture().addListener(closed -> channels.remove(channel));
+        return stats;
+    }
+
+    /**
+     * Returns the stats of a channel.
+     *
+     * @param channel the channel
+     * @return the stats, or null if the channel is not measured
+     */
+    @Nullable
+    public static ChannelStats statsOf(Channel channel) {
+        return channel.attr(KEY).get();
+    }
+
+    /**
+     * Counts a chunk of file contents that was sent.
+     */
+    public void chunkSent() {
+        chunksSent.increment();
+    }
+
+    /**
+     * Counts a chunk of file contents that was received and records how long storing it took.
+     *
+     * @param storeNanos the time spent storing the chunk
+     */
+    public void chunkStored(long storeNanos) {
+        chunksReceived.increment();
+        chunkStoreLatency.record(storeNanos);
+    }
+
+    /**
+     * Records the time from sending a chunk or batch to receiving its acknowledgment.
+     *
+     * @param rttNanos the round-trip time
+     */
+    public void ackReceived(long rttNanos) {
+        ackRtt.record(rttNanos);
+    }
+
+    /**
+     * Keeps a TCP_INFO sample of a channel. Called on the channel's event loop.
+     *
+     * @param stats  the stats of the channel
+     * @param sample the sample
+     */
+    public void tcpInfoSampled(ChannelStats stats, TcpInfoSample sample) {
+        var previous = stats.tcpInfo;
+        long retransmits = sample.totalRetrans() - (previous != null ? previous.totalRetrans() : 0);
+        stats.tcpInfo = sample;
+        if (retransmits > 0) {
+            tcpRetransmits[stats.role.ordinal()].add(retransmits);
+        }
+        tcpRtt.record(TimeUnit.MICROSECONDS.toNanos(sample.rttMicros()));
+    }
+
+    /**
+     * Counts a chunk stream whose sending has started.
+     */
+    public void transferStarted() {
+        transfersStarted.increment();
+    }
+
+    /**
+     * Returns the stats of the open channels.
+     *
+     * @return the stats
+     */
+    public Collection<ChannelStats> channels() {
+        return List.copyOf(channels.values());
+    }
+
+    /**
+     * Takes a snapshot of the process-wide metrics.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        var roles = ChannelRole.values();
+        var totals = new RoleTotals[roles.length];
+        for (var role : roles) {
+            totals[role.ordinal()] = new RoleTotals(role, bytesIn[role.ordinal()].sum(),
+                    bytesOut[role.ordinal()].sum(), channelsOpened[role.ordinal()].sum(),
+                    tcpRetransmits[role.ordinal()].sum(), outstandingChunks[role.ordinal()].sum());
+        }
+        return new Snapshot(List.of(totals), chunksSent.sum(), chunksReceived.sum(), transfersStarted.sum(),
+                chunkStoreLatency.snapshot(), ackRtt.snapshot(), tcpRtt.snapshot());
+    }
+
+    private static LongAdder[] adders() {
+        var adders = new LongAdder[ChannelRole.values().length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * The traffic and the writer state of one channel.
+     * Every field is written by the channel's event loop only and may be read from any thread, except the count
+     * of outstanding chunks, which drops on whichever thread releases a chunk.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    @Accessors(fluent = true)
+    public static final class ChannelStats {
+        private final Channel channel;
+        private final ChannelRole role;
+        @Getter(AccessLevel.NONE)
+        private final LongAdder roleBytesIn;
+        @Getter(AccessLevel.NONE)
+        private final LongAdder roleBytesOut;
+        @Getter(AccessLevel.NONE)
+        private final LongAdder roleOutstandingChunks;
+        @Getter(AccessLevel.NONE)
+        private final AtomicInteger outstandingChunks = new AtomicInteger();
+        @Getter(AccessLevel.NONE)
+        private final Runnable chunkReleased = this::chunkReleased;
+        private volatile long bytesIn;
+        private volatile long bytesOut;
+        private volatile int queuedMessages;
+        private volatile int inFlightChunks;
+        private volatile long inFlightBytes;
+        private volatile boolean transferring;
+        @Nullable
+        private volatile TcpInfoSample tcpInfo;
+
+        /**
+         * Adds bytes read from the socket.
+         *
+         * @param bytes the number of bytes
+         */
+        public void received(long bytes) {
+            bytesIn += bytes;
+            roleBytesIn.add(bytes);
+        }
+
+        /**
+         * Adds bytes written to the socket.
+         *
+         * @param bytes the number of bytes
+         */
+        public void sent(long bytes) {
+            bytesOut += bytes;
+            roleBytesOut.add(bytes);
+        }
+
+        /**
+         * Counts a received chunk as outstanding until its contents are released for the last time.
+         *
+         * @param chunk the chunk, just decoded
+         */
+        public void track(InboundFileChunk chunk) {
+            outstandingChunks.incrementAndGet();
+            roleOutstandingChunks.increment();
+            chunk.onRelease(chunkReleased);
+        }
+
+        private void chunkReleased() {
+            outstandingChunks.decrementAndGet();
+            roleOutstandingChunks.decrement();
+        }
+
+        /**
+         * Returns the number of received chunks whose contents have not been released yet.
+         *
+         * @return the chunks being stored or waiting to be, plus any that leaked
+         */
+        public int outstandingChunks() {
+            return outstandingChunks.get();
+        }
+
+        /**
+         * Publishes the state of the channel's chunk stream writer.
+         *
+         * @param queuedMessages the number of messages waiting behind the running stream
+         * @param inFlightChunks the number of chunks and batches awaiting acknowledgment
+         * @param inFlightBytes  the number of bytes awaiting acknowledgment
+         * @param transferring   whether a chunk stream is being sent
+         */
+        public void writerState(int queuedMessages, int inFlightChunks, long inFlightBytes, boolean transferring) {
+            this.queuedMessages = queuedMessages;
+            this.inFlightChunks = inFlightChunks;
+            this.inFlightBytes = inFlightBytes;
+            this.transferring = transferring;
+        }
+
+        /**
+         * Returns the number of bytes written to the channel but not yet to the socket.
+         *
+         * @return the number of bytes in the channel's outbound buffer
+         */
+        public long outboundPendingBytes() {
+            var buffer = channel.unsafe().outboundBuffer();
+            return buffer != null ? buffer.totalPendingWriteBytes() : 0;
+        }
+    }
+
+    /**
+     * The traffic of all channels of one role.
+     *
+     * @param role           the role of the channels
+     * @param bytesIn        the bytes read by the channels
+     * @param bytesOut       the bytes written by the channels
+     * @param channelsOpened the number of channels ever opened
+     * @param tcpRetransmits    the TCP segments the channels retransmitted, as far as TCP_INFO samples saw them
+     * @param outstandingChunks the received chunks whose contents have not been released, of closed channels too
+     */
+    public record RoleTotals(ChannelRole role, long bytesIn, long bytesOut, long channelsOpened,
+                             long tcpRetransmits, long outstandingChunks) {
+    }
+
+    /**
+     * A point-in-time view of the process-wide metrics.
+     *
+     * @param roles             the traffic of the channels by role
+     * @param chunksSent        the number of chunks of file contents sent
+     * @param chunksReceived    the number of chunks of file contents received and stored
+     * @param transfersStarted  the number of chunk streams whose sending has started
+     * @param chunkStoreLatency the time spent storing a chunk
+     * @param ackRtt            the time from sending a chunk or batch to its acknowledgment
+     * @param tcpRtt            the smoothed round-trip times of the TCP_INFO samples
+     */
+    public record Snapshot(List<RoleTotals> roles, long chunksSent, long chunksReceived,
+                           long transfersStarted, LatencyHistogram.Snapshot chunkStoreLatency,
+                           LatencyHistogram.Snapshot ackRtt, LatencyHistogram.Snapshot tcpRtt) {
+    }
+}
@@ -1,15 +1,32 @@
 package com.netty.communication.pipeline;
 
+import com.netty.communication.delta.DeltaGenerator;
 import com.netty.communication.eventloop.ClientEventLoopGroupManager;
 import com.netty.communication.specification.channel.ChannelSpecProvider;
 import com.netty.communication.specification.message.MessageSpecProvider;
+import com.netty.communication.handler.duplex.ChunkStreamWriter;
+import com.netty.communication.handler.duplex.CustomLoggingHandler;
+import com.netty.communication.handler.duplex.TrafficMetricsHandler;
 import com.netty.communication.handler.duplex.RequestResultChecker;
+import com.netty.communication.handler.inbound.ChunkAckNotifier;
+import com.netty.communication.handler.inbound.ClientHandshakeHandler;
+import com.netty.communication.handler.inbound.DeltaInstructionSender;
+import com.netty.communication.handler.inbound.FileBatchResultCollector;
 import com.netty.communication.handler.inbound.FileStoreHandler;
 import com.netty.communication.handler.inbound.InboundMessageValidator;
+import com.netty.communication.handler.inbound.InboundReplyHandler;
 import com.netty.communication.handler.inbound.MessageDecoder;
+import com.netty.communication.handler.inbound.SmallFileStoreHandler;
+import com.netty.communication.handler.inbound.StreamSinkHandler;
 import com.netty.communication.handler.outbound.MessageEncoder;
 import com.netty.communication.handler.outbound.OutboundMessageValidator;
 import com.netty.communication.handler.outbound.UserRequestHandler;
+import com.netty.communication.metrics.ChannelRole;
+import com.netty.communication.metrics.ChunkSizeMetrics;
+import com.netty.communication.metrics.TransferMetrics;
+import com.netty.communication.trace.FrameTracer;
+import com.netty.communication.trace.SpanStore;
+import com.netty.communication.transfer.StripeTracker;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.timeout.IdleStateHandler;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +46,12 @@ public class TcpFileClientPipelineFactory implements PipelineFactory {
     private final ClientEventLoopGroupManager eventLoopGroupManager;
     private final MessageSpecProvider messageSpecProvider;
     private final ChannelSpecProvider channelSpecProvider;
+    private final ChunkSizeMetrics chunkSizeMetrics;
+    private final TransferMetrics transferMetrics;
+    private final FrameTracer frameTracer;
+    private final SpanStore spanStore;
+    private final StripeTracker stripeTracker;
+    private final DeltaGenerator deltaGenerator = new DeltaGenerator();
 
     /**
      * Retrieves a list of {@link HandlerFactory} instances that
@@ -38,18 +61,63 @@ public class TcpFileClientPipelineFactory implements PipelineFactory {
      */
     @Override
     public List<HandlerFactory> get() {
-        return new ArrayList<>(List.of(
+        List<HandlerFactory> handlers = new ArrayList<>(List.of(
+                HandlerFactory.of(() -> new TrafficMetricsHandler(transferMetrics, ChannelRole.CLIENT)),
                 HandlerFactory.of(() -> new IdleStateHandler(0, 0, channelSpecProvider.client().idleDetectionSeconds())),
 
-                HandlerFactory.of(() -> new MessageEncoder(messageSpecProvider, channelSpecProvider.header())),
+                HandlerFactory.of(() -> new MessageEncoder(messageSpecProvider, channelSpecProvider.header(), frameTracer)),
+                HandlerFactory.of(this::newChunkStreamWriter),
                 HandlerFactory.of(OutboundMessageValidator::new),
                 HandlerFactory.of(() -> new UserRequestHandler(messageSpecProvider)),
 
                 HandlerFactory.of(() -> new LengthFieldBasedFrameDecoder(Integer.MAX_VALUE, 0, 4, 0, 4)),
-                HandlerFactory.of(() -> new MessageDecoder(messageSpecProvider, channelSpecProvider.header())),
+                HandlerFactory.of(() -> new MessageDecoder(messageSpecProvider, channelSpecProvider.header(), frameTracer)),
                 HandlerFactory.of(InboundMessageValidator::new),
-                HandlerFactory.of(eventLoopGroupManager.fireStore(), () -> new FileStoreHandler(channelSpecProvider.client().rootPath())), // Dedicated EventLoopGroup
+                HandlerFactory.of(ChunkAckNotifier::new),
+                HandlerFactory.of(() -> new ClientHandshakeHandler(channelSpecProvider.client())),
+                HandlerFactory.of(eventLoopGroupManager.fireStore(), StreamSinkHandler::new),
+                HandlerFactory.of(eventLoopGroupManager.fireStore(), () -> new FileStoreHandler(channelSpecProvider.client().rootPath(), stripeTracker, transferMetrics, spanStore, ChannelRole.CLIENT)), // Dedicated EventLoopGroup
+                HandlerFactory.of(eventLoopGroupManager.fireStore(), () -> new SmallFileStoreHandler(channelSpecProvider.client().rootPath())),
+                HandlerFactory.of(eventLoopGroupManager.fireStore(), this::newDeltaInstructionSender),
+                HandlerFactory.of(eventLoopGroupManager.fireStore(), () -> new InboundReplyHandler(messageSpecProvider)),
+                HandlerFactory.of(FileBatchResultCollector::new),
 
                 HandlerFactory.of(RequestResultChecker::new)));
+        if (CustomLoggingHandler.enabled()) {
+            handlers.add(0, HandlerFactory.of(() -> new CustomLoggingHandler(TrafficMetricsHandler.class.getSimpleName())));
+        }
+        return handlers;
+    }
+
+    /**
+     * Creates the handler that computes and sends the delta of a delta upload.
+     *
+     * @return a new {@link DeltaInstructionSender}
+     */
+    private DeltaInstructionSender newDeltaInstructionSender() {
+        var spec = channelSpecProvider.client();
+        return new DeltaInstructionSender(spec.chunkSize(), deltaGenerator, spec.idleDetectionSeconds() * 1000L / 3);
+    }
+
+    /**
+     * Creates the writer that expands file chunk streams with adaptive chunk sizes.
+     *
+     * @return a new {@link ChunkStreamWriter}
+     */
+    private ChunkStreamWriter newChunkStreamWriter() {
+        var spec = channelSpecProvider.client();
+        return ChunkStreamWriter.builder()
+                .defaultChunkSize(spec.chunkSize())
+                .defaultWindowSize(spec.windowSize())
+                .minChunkSize(spec.minChunkSize())
+                .maxChunkSize(spec.maxChunkSize())
+                .maxInFlightBytes(spec.maxInFlightBytes())
+                .targetChunkMillis(spec.chunkTargetMillis())
+                .stallMillis(spec.idleDetectionSeconds() * 1000L / 2)
+                .metrics(chunkSizeMetrics)
+                .transferMetrics(transferMetrics)
+                .sourceExecutor(eventLoopGroupManager.streamSource())
+                .fileExecutor(eventLoopGroupManager.fireStore())
+                .build();
     }
 }
@@ -3,17 +3,38 @@ package com.netty.communication.pipeline;
 import com.netty.communication.specification.channel.ChannelSpecProvider;
 import com.netty.communication.specification.message.MessageSpecProvider;
 import com.netty.communication.eventloop.ServerEventLoopGroupManager;
+import com.netty.communication.dedup.DedupChunkStore;
+import com.netty.communication.delta.BlockSignatureGenerator;
+import com.netty.communication.handler.duplex.ChunkStreamWriter;
+import com.netty.communication.handler.duplex.CustomLoggingHandler;
+import com.netty.communication.handler.duplex.TrafficMetricsHandler;
+import com.netty.communication.handler.inbound.ChunkAckNotifier;
+import com.netty.communication.handler.inbound.DedupChunkStoreHandler;
+import com.netty.communication.handler.inbound.DedupFileAssembler;
+import com.netty.communication.handler.inbound.DeltaFileCommitter;
+import com.netty.communication.handler.inbound.DeltaSignatureLoader;
+import com.netty.communication.handler.inbound.DeltaStoreHandler;
+import com.netty.communication.handler.inbound.FileBatchStoreHandler;
 import com.netty.communication.handler.inbound.FileStoreHandler;
 import com.netty.communication.handler.inbound.InboundMessageValidator;
 import com.netty.communication.handler.inbound.InboundRequestHandler;
 import com.netty.communication.handler.inbound.MessageDecoder;
+import com.netty.communication.handler.inbound.SmallFileStoreHandler;
+import com.netty.communication.handler.inbound.SyncTreeLoader;
 import com.netty.communication.handler.outbound.MessageEncoder;
 import com.netty.communication.handler.outbound.OutboundMessageValidator;
+import com.netty.communication.metrics.ChannelRole;
+import com.netty.communication.metrics.ChunkSizeMetrics;
+import com.netty.communication.metrics.TransferMetrics;
+import com.netty.communication.sync.MerkleTreeBuilder;
+import com.netty.communication.trace.FrameTracer;
+import com.netty.communication.trace.SpanStore;
+import com.netty.communication.transfer.StripeTracker;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.timeout.IdleStateHandler;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,12 +43,60 @@ import java.util.List;
  * This factory creates and provides the necessary handlers for
  * processing inbound and outbound messages in the TCP communication.
  */
-@RequiredArgsConstructor
 @Component("tcpFileServerPipelineFactory")
 public class TcpFileServerPipelineFactory implements PipelineFactory {
     private final ServerEventLoopGroupManager eventLoopGroupManager;
     private final MessageSpecProvider messageSpecProvider;
     private final ChannelSpecProvider channelSpecProvider;
+    private final ChunkSizeMetrics chunkSizeMetrics;
+    private final TransferMetrics transferMetrics;
+    private final FrameTracer frameTracer;
+    private final SpanStore spanStore;
+    private final StripeTracker stripeTracker;
+    private final DedupChunkStore dedupChunkStore;
+    private final BlockSignatureGenerator signatureGenerator;
+    private final MerkleTreeBuilder syncTreeBuilder;
+
+    /**
+     * Constructs the factory with the components its handlers share.
+     * The {@link MerkleTreeBuilder} of directory syncs is created here and shared by all connections.
+     *
+     * @param eventLoopGroupManager the manager for server event loop groups
+     * @param messageSpecProvider   the provider of message specifications
+     * @param channelSpecProvider   the specification provider for channel configurations
+     * @param chunkSizeMetrics      the metrics of the adaptive chunk sizes
+     * @param transferMetrics       the metrics of the transfers
+     * @param frameTracer           the tracer of encoded and decoded frames
+     * @param spanStore             the store the spans of traced transfers are recorded in
+     * @param stripeTracker         the tracker of the stripes received for striped files
+     * @param dedupChunkStore       the server-side store of deduplicated chunks
+     * @param signatureGenerator    the generator of the block signatures of delta uploads
+     */
+    public TcpFileServerPipelineFactory(ServerEventLoopGroupManager eventLoopGroupManager,
+                                        MessageSpecProvider messageSpecProvider, ChannelSpecProvider channelSpecProvider,
+                                        ChunkSizeMetrics chunkSizeMetrics, TransferMetrics transferMetrics,
+                                        FrameTracer frameTracer, SpanStore spanStore, StripeTracker stripeTracker,
+                                        DedupChunkStore dedupChunkStore, BlockSignatureGenerator signatureGenerator) {
+        this.eventLoopGroupManager = eventLoopGroupManager;
+        this.messageSpecProvider = messageSpecProvider;
+        this.channelSpecProvider = channelSpecProvider;
+        this.chunkSizeMetrics = chunkSizeMetrics;
+        this.transferMetrics = transferMetrics;
+        this.frameTracer = frameTracer;
+        this.spanStore = spanStore;
+        this.stripeTracker = stripeTracker;
+        this.dedupChunkStore = dedupChunkStore;
+        this.signatureGenerator = signatureGenerator;
+        this.syncTreeBuilder = new MerkleTreeBuilder(channelSpecProvider.server().syncTreeParallelism());
+    }
+
+    /**
+     * Shuts down the threads of the {@link MerkleTreeBuilder}.
+     */
+    @PreDestroy
+    void tearDown() {
+        syncTreeBuilder.close();
+    }
 
     /**
      * Constructs the pipeline by providing a list of handler factories.
@@ -39,19 +108,87 @@ public class TcpFileServerPipelineFactory implements PipelineFactory {
      */
     @Override
     public List<HandlerFactory> get() {
-        return new ArrayList<>(List.of(
+        List<HandlerFactory> handlers = new ArrayList<>(List.of(
+                HandlerFactory.of(() -> new TrafficMetricsHandler(transferMetrics, ChannelRole.SERVER)),
                 HandlerFactory.of(() -> new IdleStateHandler(0, 0, channelSpecProvider.server().idleDetectionSeconds())),
 
-                HandlerFactory.of(() -> new MessageEncoder(messageSpecProvider, channelSpecProvider.header())),
+                HandlerFactory.of(() -> new MessageEncoder(messageSpecProvider, channelSpecProvider.header(), frameTracer)),
+                HandlerFactory.of(this::newChunkStreamWriter),
                 HandlerFactory.of(OutboundMessageValidator::new),
 
                 HandlerFactory.of(() -> new LengthFieldBasedFrameDecoder(Integer.MAX_VALUE, 0, 4, 0, 4)),
-                HandlerFactory.of(() -> new MessageDecoder(messageSpecProvider, channelSpecProvider.header())),
+                HandlerFactory.of(() -> new MessageDecoder(messageSpecProvider, channelSpecProvider.header(), frameTracer)),
                 HandlerFactory.of(InboundMessageValidator::new),
+                HandlerFactory.of(ChunkAckNotifier::new),
 
-                HandlerFactory.of(eventLoopGroupManager.fireStore(), () -> new FileStoreHandler(channelSpecProvider.server().rootPath())),
+                HandlerFactory.of(eventLoopGroupManager.fireStore(), () -> new FileStoreHandler(channelSpecProvider.server().rootPath(), stripeTracker, transferMetrics, spanStore, ChannelRole.SERVER)),
+                HandlerFactory.of(eventLoopGroupManager.fireStore(), () -> new SmallFileStoreHandler(channelSpecProvider.server().rootPath())),
+                HandlerFactory.of(eventLoopGroupManager.fireStore(), () -> new FileBatchStoreHandler(channelSpecProvider.server().rootPath())),
+                HandlerFactory.of(eventLoopGroupManager.fireStore(), () -> new DedupChunkStoreHandler(dedupChunkStore)),
+                HandlerFactory.of(eventLoopGroupManager.fireStore(), this::newDedupFileAssembler),
+                HandlerFactory.of(eventLoopGroupManager.fireStore(), DeltaStoreHandler::new),
+                HandlerFactory.of(eventLoopGroupManager.fireStore(), this::newDeltaSignatureLoader),
+                HandlerFactory.of(eventLoopGroupManager.fireStore(), () -> new DeltaFileCommitter(channelSpecProvider.server().rootPath())),
+                HandlerFactory.of(eventLoopGroupManager.fireStore(), this::newSyncTreeLoader),
 
-                HandlerFactory.of(() -> new InboundRequestHandler(messageSpecProvider))
+                HandlerFactory.of(() -> new InboundRequestHandler(messageSpecProvider, spanStore))
         ));
+        if (CustomLoggingHandler.enabled()) {
+            handlers.add(0, HandlerFactory.of(() -> new CustomLoggingHandler(TrafficMetricsHandler.class.getSimpleName())));
+        }
+        return handlers;
+    }
+
+    /**
+     * Creates the handler that reassembles the files of deduplicated uploads.
+     *
+     * @return a new {@link DedupFileAssembler}
+     */
+    private DedupFileAssembler newDedupFileAssembler() {
+        var spec = channelSpecProvider.server();
+        return new DedupFileAssembler(spec.rootPath(), dedupChunkStore, spec.idleDetectionSeconds() * 1000L / 3);
+    }
+
+    /**
+     * Creates the handler that computes the signatures of the server's copy for a delta upload.
+     *
+     * @return a new {@link DeltaSignatureLoader}
+     */
+    private DeltaSignatureLoader newDeltaSignatureLoader() {
+        var spec = channelSpecProvider.server();
+        return new DeltaSignatureLoader(spec.rootPath(), signatureGenerator, spec.idleDetectionSeconds() * 1000L / 3);
+    }
+
+    /**
+     * Creates the handler that builds the server's tree for a directory sync.
+     * All connections share one {@link MerkleTreeBuilder} and its threads.
+     *
+     * @return a new {@link SyncTreeLoader}
+     */
+    private SyncTreeLoader newSyncTreeLoader() {
+        var spec = channelSpecProvider.server();
+        return new SyncTreeLoader(spec.rootPath(), syncTreeBuilder, spec.idleDetectionSeconds() * 1000L / 3);
+    }
+
+    /**
+     * Creates the writer that expands file chunk streams with adaptive chunk sizes.
+     *
+     * @return a new {@link ChunkStreamWriter}
+     */
+    private ChunkStreamWriter newChunkStreamWriter() {
+        var spec = channelSpecProvider.server();
+        return ChunkStreamWriter.builder()
+                .defaultChunkSize(spec.chunkSize())
+                .defaultWindowSize(spec.windowSize())
+                .minChunkSize(spec.minChunkSize())
+                .maxChunkSize(spec.maxChunkSize())
+                .maxInFlightBytes(spec.maxInFlightBytes())
+                .targetChunkMillis(spec.chunkTargetMillis())
+                .stallMillis(spec.idleDetectionSeconds() * 1000L / 2)
+                .metrics(chunkSizeMetrics)
+                .transferMetrics(transferMetrics)
+                .sourceExecutor(eventLoopGroupManager.fireStore())
+                .fileExecutor(eventLoopGroupManager.fireStore())
+                .build();
     }
 }
@@ -0,0 +1,42 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.session.ChannelSession;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A processor for acknowledgements sent by the peer, such as chunk transfer confirmations.
+ * Acknowledgements are not requests, so nothing is sent back and no response is appended.
+ */
+public final class AcknowledgementProcessor implements InboundRequestProcessor {
+
+    /** Singleton instance of the processor. */
+    public static final AcknowledgementProcessor INSTANCE = new AcknowledgementProcessor();
+
+    /** Private constructor to prevent instantiation. */
+    private AcknowledgementProcessor() {}
+
+    /**
+     * Consumes the acknowledgement without producing any reply.
+     *
+     * @param message the acknowledgement message
+     * @param session the session of the channel the message was received on
+     * @return an empty list of protocol messages
+     */
+    @Override
+    public List<ProtocolMessage> process(ProtocolMessage message, ChannelSession session) {
+        return new ArrayList<>();
+    }
+
+    /**
+     * Acknowledgements never complete a request.
+     *
+     * @return always false
+     */
+    @Override
+    public boolean completesRequest() {
+        return false;
+    }
+}
@@ -0,0 +1,94 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.message.ChecksumMode;
+import com.netty.communication.message.FileBatchCommitRequest;
+import com.netty.communication.message.OutboundFileBatch;
+import com.netty.communication.message.OutboundFileChunkStream;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.message.UserBulkFileUploadRequest;
+import com.netty.communication.message.UserRequest;
+import com.netty.communication.session.ChannelSession;
+import lombok.Builder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Processor for bulk upload requests.
+ * Files up to the small file threshold are packed into {@link OutboundFileBatch}es of at most
+ * the batch budget and file count, so that the server stores a batch well within the idle timeout;
+ * larger files are sent as chunk streams. A {@link FileBatchCommitRequest}
+ * closes the request.
+ */
+@Builder
+public class BulkUploadOutboundRequestProcessor implements OutboundRequestProcessor {
+    private final String rootPath;
+    private final int smallFileThreshold;
+    private final int batchBytes;
+    private final int batchFiles;
+
+    /**
+     * Processes a bulk upload request with the checksum mode negotiated for the connection.
+     *
+     * @param message the user request containing the files to upload
+     * @param session the session of the channel the request is sent on
+     * @return the batches, chunk streams and the commit request of the upload
+     * @throws Exception if an error occurs while preparing the upload
+     */
+    @Override
+    public List<ProtocolMessage> process(UserRequest message, ChannelSession session) throws Exception {
+        return createMessages(message, session.checksum());
+    }
+
+    private List<ProtocolMessage> createMessages(UserRequest message, ChecksumMode checksum) throws IOException {
+        var request = (UserBulkFileUploadRequest) message;
+        var messages = new ArrayList<ProtocolMessage>();
+        var streamedFiles = new ArrayList<FileBatchCommitRequest.StreamedFile>();
+        var batch = new ArrayList<OutboundFileBatch.Entry>();
+        long batchSize = 0;
+
+        for (int index = 0; index < request.files().size(); index++) {
+            var file = request.files().get(index);
+            var srcPath = Path.of(rootPath, file.srcFile()).normalize();
+            long size = Files.isRegularFile(srcPath) ? Files.size(srcPath) : 0;
+
+            if (size > smallFileThreshold) {
+                messages.add(OutboundFileChunkStream.builder()
+                        .sourceFilePath(srcPath.toString())
+                        .destFilePath(file.dstFile())
+                        .fileSize(size)
+                        .checksum(checksum == ChecksumMode.CRC32C)
+                        .build());
+                long lastModified = request.preserveTimes() ? Files.getLastModifiedTime(srcPath).toMillis() : -1;
+                streamedFiles.add(new FileBatchCommitRequest.StreamedFile(index, file.dstFile(), lastModified));
+                continue;
+            }
+            if (!batch.isEmpty() && (batchSize + size > batchBytes || batch.size() >= batchFiles)) {
+                messages.add(newBatch(batch, batchSize, checksum, request.preserveTimes()));
+                batch = new ArrayList<>();
+                batchSize = 0;
+            }
+            batch.add(new OutboundFileBatch.Entry(index, srcPath.toString(), file.dstFile()));
+            batchSize += size;
+        }
+        if (!batch.isEmpty()) {
+            messages.add(newBatch(batch, batchSize, checksum, request.preserveTimes()));
+        }
+
+        messages.add(FileBatchCommitRequest.builder().streamedFiles(streamedFiles).build());
+        return messages;
+    }
+
+    private static OutboundFileBatch newBatch(List<OutboundFileBatch.Entry> entries, long bytes, ChecksumMode checksum,
+                                              boolean preserveTimes) {
+        return OutboundFileBatch.builder()
+                .entries(entries)
+                .bytes(bytes)
+                .checksum(checksum == ChecksumMode.CRC32C)
+                .preserveTimes(preserveTimes)
+                .build();
+    }
+}
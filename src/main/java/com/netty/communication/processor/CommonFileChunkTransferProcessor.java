@@ -1,12 +1,13 @@
 package com.netty.communication.processor;
 
 import com.netty.communication.exception.NotFileException;
-import com.netty.communication.message.ChunkType;
-import com.netty.communication.message.OutboundFileChunk;
+import com.netty.communication.message.ChecksumMode;
+import com.netty.communication.message.OutboundFileChunkStream;
 import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.transfer.FileRange;
 
-import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -14,9 +15,8 @@ import java.util.List;
 
 /**
  * Processor for handling file transfers in chunks.
- * This class validates the source file, divides it into
- * manageable chunks, and generates corresponding
- * protocol messages for the transfer process.
+ * This class validates the source file and generates the chunk stream
+ * that the pipeline divides into chunks during the transfer.
  */
 public class CommonFileChunkTransferProcessor implements FileTransferProcessor {
 
@@ -27,7 +27,7 @@ public class CommonFileChunkTransferProcessor implements FileTransferProcessor {
      * @throws NotFileException if the path points to a directory
      * @throws FileNotFoundException if the file does not exist
      */
-    private static void validate(String srcPath) throws Exception {
+    static void validate(String srcPath) throws Exception {
         Path path = Path.of(srcPath);
         if (Files.isDirectory(path)) {
             throw new NotFileException(srcPath);
@@ -38,38 +38,61 @@ public class CommonFileChunkTransferProcessor implements FileTransferProcessor {
     }
 
     /**
-     * Processes the file transfer by generating protocol messages
-     * for each chunk of the file.
+     * Generates the chunk stream of a range of a file, which the receiver writes in place.
+     *
+     * @param srcPath  the path of the source file
+     * @param dstPath  the destination path for the file transfer
+     * @param checksum how the receiver verifies the range; with CRC32C the checksum of the range
+     *                 is computed while it is sent and carried by the end-of-file chunk
+     * @param range    the range of the file to send
+     * @return a list containing the {@link OutboundFileChunkStream} of the range
+     * @throws IllegalArgumentException if the range does not lie within the file
+     * @throws IOException if the size of the file cannot be read
+     */
+    static List<ProtocolMessage> processRange(String srcPath, String dstPath, ChecksumMode checksum, FileRange range)
+            throws IOException {
+        long size = Files.size(Path.of(srcPath));
+        if (range.offset() < 0 || range.length() < 0 || range.end() > size) {
+            throw new IllegalArgumentException("The range " + range + " does not lie within " + srcPath);
+        }
+
+        var stream = OutboundFileChunkStream.builder()
+                .sourceFilePath(srcPath)
+                .destFilePath(dstPath)
+                .fileSize(size)
+                .checksum(checksum == ChecksumMode.CRC32C)
+                .startOffset(range.offset())
+                .endOffset(range.end())
+                .build();
+        return new ArrayList<>(List.of(stream));
+    }
+
+    /**
+     * Processes the file transfer by generating a chunk stream for the file.
+     * The stream is split into chunks by the pipeline while it is sent, so that the
+     * chunk size can adapt to the connection.
      *
      * @param srcPath the path of the source file
      * @param dstPath the destination path for the file transfer
-     * @param chunkSize the size of each chunk in bytes
-     * @return a list of {@link ProtocolMessage} representing the file chunks
+     * @param checksum how the receiver verifies the file; with CRC32C the checksum of the bytes
+     *                 sent from the start offset on is computed while they are sent and carried by the
+     *                 end-of-file chunk
+     * @param startOffset the offset the receiver has already stored; the stream starts there
+     * @return a list containing the {@link OutboundFileChunkStream} of the file
      * @throws Exception if an error occurs during file processing
      */
     @Override
-    public List<ProtocolMessage> process(String srcPath, String dstPath, int chunkSize) throws Exception {
-        List<ProtocolMessage> messages = new ArrayList<>();
-
+    public List<ProtocolMessage> process(String srcPath, String dstPath, ChecksumMode checksum, long startOffset)
+            throws Exception {
         validate(srcPath);
 
-        long start = 0;
-        var startChunk = new OutboundFileChunk(ChunkType.START_OF_FILE, srcPath, dstPath, start, 0);
-        messages.add(startChunk);
-
-        File srcFile = new File(srcPath);
-        long remainBytes = srcFile.length();
-        while (remainBytes > 0) {
-            int readBytes = (int) Math.min(remainBytes, chunkSize);
-            var chunk = new OutboundFileChunk(ChunkType.MIDDLE_OF_FILE, srcPath, dstPath, start, readBytes);
-            messages.add(chunk);
-            remainBytes -= readBytes;
-            start += readBytes;
-        }
-
-        var lastChunk = new OutboundFileChunk(ChunkType.END_OF_FILE, srcPath, dstPath, start, 0);
-        messages.add(lastChunk);
-
-        return messages;
+        var stream = OutboundFileChunkStream.builder()
+                .sourceFilePath(srcPath)
+                .destFilePath(dstPath)
+                .fileSize(Files.size(Path.of(srcPath)))
+                .checksum(checksum == ChecksumMode.CRC32C)
+                .startOffset(startOffset)
+                .build();
+        return new ArrayList<>(List.of(stream));
     }
 }
@@ -0,0 +1,60 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.dedup.DedupChunkStore;
+import com.netty.communication.message.DedupManifest;
+import com.netty.communication.message.DedupMissingChunks;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.session.ChannelSession;
+import lombok.Builder;
+
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Processes the manifest of a deduplicated upload on the server side.
+ * Looks every chunk up in the {@link DedupChunkStore} and answers with the indexes of the
+ * chunks that are not stored yet. A chunk repeated within the same file is requested once.
+ */
+@Builder
+public class DedupManifestInboundRequestProcessor implements InboundRequestProcessor {
+    private final DedupChunkStore chunkStore;
+
+    /**
+     * Determines which chunks of the manifest the client has to send.
+     *
+     * @param message the protocol message representing the manifest
+     * @param session the session of the channel the message was received on
+     * @return a list containing the missing chunks reply
+     */
+    @Override
+    public List<ProtocolMessage> process(ProtocolMessage message, ChannelSession session) {
+        var manifest = (DedupManifest) message;
+
+        List<Integer> missingIndexes = new ArrayList<>();
+        Set<String> requested = new HashSet<>();
+        var chunks = manifest.getChunks();
+        for (int i = 0; i < chunks.size(); i++) {
+            var hash = chunks.get(i).hash();
+            if (!chunkStore.contains(hash) && requested.add(HexFormat.of().formatHex(hash))) {
+                missingIndexes.add(i);
+            }
+        }
+
+        return new ArrayList<>(List.of(DedupMissingChunks.builder()
+                .missingIndexes(missingIndexes)
+                .build()));
+    }
+
+    /**
+     * The manifest is only the first step of the upload, so no response is appended.
+     *
+     * @return always false
+     */
+    @Override
+    public boolean completesRequest() {
+        return false;
+    }
+}
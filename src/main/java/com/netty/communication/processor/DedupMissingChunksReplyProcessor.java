@@ -0,0 +1,58 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.dedup.DedupUploadState;
+import com.netty.communication.message.DedupCommitRequest;
+import com.netty.communication.message.DedupMissingChunks;
+import com.netty.communication.message.OutboundDedupChunk;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.session.ChannelSession;
+import lombok.Builder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Client-side processor for the server's {@link DedupMissingChunks} reply.
+ * Sends the requested chunks straight from the source file kept in the session, followed by the
+ * {@link DedupCommitRequest} that lets the server reassemble the file.
+ */
+@Builder
+public class DedupMissingChunksReplyProcessor implements InboundRequestProcessor {
+
+    /**
+     * Builds the chunk messages for the missing chunks and the final commit request.
+     *
+     * @param message the missing chunks reply
+     * @param session the session of the channel the reply was received on
+     * @return the chunk messages followed by the commit request
+     * @throws IllegalStateException if no deduplicated upload is in progress on the connection
+     */
+    @Override
+    public List<ProtocolMessage> process(ProtocolMessage message, ChannelSession session) {
+        var reply = (DedupMissingChunks) message;
+        var upload = session.attachment(DedupUploadState.class);
+        if (upload == null) {
+            throw new IllegalStateException("No deduplicated upload is in progress.");
+        }
+        session.attach(DedupUploadState.class, null);
+        var chunks = upload.chunks();
+
+        long[] offsets = new long[chunks.size()];
+        for (int i = 1; i < chunks.size(); i++) {
+            offsets[i] = offsets[i - 1] + chunks.get(i - 1).length();
+        }
+
+        List<ProtocolMessage> messages = new ArrayList<>();
+        for (int index : reply.getMissingIndexes()) {
+            var chunk = chunks.get(index);
+            messages.add(new OutboundDedupChunk(chunk.hash(), upload.sourceFilePath(), offsets[index], chunk.length()));
+        }
+
+        messages.add(DedupCommitRequest.builder()
+                .destFilePath(upload.destFilePath())
+                .fileSize(upload.fileSize())
+                .chunks(chunks)
+                .build());
+        return messages;
+    }
+}
@@ -0,0 +1,44 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.dedup.DedupUploadState;
+import com.netty.communication.message.DedupManifest;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.message.UserFileDedupUploadRequest;
+import com.netty.communication.message.UserRequest;
+import com.netty.communication.session.ChannelSession;
+import lombok.Builder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Processor for outbound deduplicated upload requests.
+ * Keeps the chunks of the source file in the session and sends their digests as a
+ * {@link DedupManifest}; the chunk data itself is sent only after the server has
+ * answered which chunks it is missing.
+ */
+@Builder
+public class DedupUploadOutboundRequestProcessor implements OutboundRequestProcessor {
+
+    /**
+     * Processes a user deduplicated upload request and generates the chunk manifest.
+     *
+     * @param message the user request containing the chunks of the source file
+     * @param session the session of the channel the request is sent on
+     * @return a list containing the manifest of the source file
+     */
+    @Override
+    public List<ProtocolMessage> process(UserRequest message, ChannelSession session) {
+        var uploadRequest = (UserFileDedupUploadRequest) message;
+        session.attach(DedupUploadState.class, new DedupUploadState(uploadRequest.srcFile(), uploadRequest.dstFile(),
+                uploadRequest.fileSize(), uploadRequest.chunks()));
+
+        var manifest = DedupManifest.builder()
+                .destFilePath(uploadRequest.dstFile())
+                .fileSize(uploadRequest.fileSize())
+                .chunks(uploadRequest.chunks())
+                .build();
+
+        return new ArrayList<>(List.of(manifest));
+    }
+}
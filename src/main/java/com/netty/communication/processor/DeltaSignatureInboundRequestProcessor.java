@@ -0,0 +1,55 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.delta.ServerBlockSignatures;
+import com.netty.communication.message.DeltaSignatureRequest;
+import com.netty.communication.message.DeltaSignatures;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.session.ChannelSession;
+import lombok.Builder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Processes the signature request of a delta upload on the server side.
+ * Answers with the block signatures of the existing destination file, if any, which the
+ * {@link com.netty.communication.handler.inbound.DeltaSignatureLoader} has attached to the session.
+ */
+@Builder
+public class DeltaSignatureInboundRequestProcessor implements InboundRequestProcessor {
+
+    /**
+     * Answers with the block signatures of the destination file kept in the session.
+     *
+     * @param message the signature request
+     * @param session the session of the channel the request was received on
+     * @return a list containing the signatures reply
+     * @throws IllegalStateException if the signatures have not been computed for the request
+     */
+    @Override
+    public List<ProtocolMessage> process(ProtocolMessage message, ChannelSession session) {
+        var request = (DeltaSignatureRequest) message;
+        var signatures = session.attachment(ServerBlockSignatures.class);
+        if (signatures == null || !signatures.destFilePath().equals(request.getDestFilePath())) {
+            throw new IllegalStateException("The signatures of " + request.getDestFilePath() + " have not been computed.");
+        }
+        session.attach(ServerBlockSignatures.class, null);
+
+        return new ArrayList<>(List.of(DeltaSignatures.builder()
+                .sourceFilePath(request.getSourceFilePath())
+                .destFilePath(request.getDestFilePath())
+                .blockSize(signatures.blockSize())
+                .signatures(signatures.signatures())
+                .build()));
+    }
+
+    /**
+     * The signatures are only the first step of the upload, so no response is appended.
+     *
+     * @return always false
+     */
+    @Override
+    public boolean completesRequest() {
+        return false;
+    }
+}
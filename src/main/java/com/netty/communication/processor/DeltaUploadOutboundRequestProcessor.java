@@ -0,0 +1,44 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.message.DeltaSignatureRequest;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.message.UserFileDeltaUploadRequest;
+import com.netty.communication.message.UserRequest;
+import com.netty.communication.session.ChannelSession;
+import lombok.Builder;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Processor for outbound delta upload requests.
+ * Asks the server for the block signatures of its copy; the delta itself is computed
+ * once the signatures arrive.
+ */
+@Builder
+public class DeltaUploadOutboundRequestProcessor implements OutboundRequestProcessor {
+
+    private final String rootPath;
+
+    /**
+     * Processes a user delta upload request and generates the signature request.
+     *
+     * @param message the user request containing file upload details
+     * @param session the session of the channel the request is sent on
+     * @return a list containing the signature request
+     * @throws Exception if the source file is invalid
+     */
+    @Override
+    public List<ProtocolMessage> process(UserRequest message, ChannelSession session) throws Exception {
+        var uploadRequest = (UserFileDeltaUploadRequest) message;
+
+        var srcFilePath = Path.of(rootPath, uploadRequest.srcFile()).normalize();
+        CommonFileChunkTransferProcessor.validate(srcFilePath.toString());
+
+        return new ArrayList<>(List.of(DeltaSignatureRequest.builder()
+                .sourceFilePath(srcFilePath.toString())
+                .destFilePath(uploadRequest.dstFile())
+                .build()));
+    }
+}
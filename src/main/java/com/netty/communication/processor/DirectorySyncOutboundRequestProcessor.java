@@ -0,0 +1,41 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.message.SyncCompareRequest;
+import com.netty.communication.message.UserDirectorySyncRequest;
+import com.netty.communication.message.UserRequest;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.sync.DirectorySyncState;
+import lombok.Builder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Processor for directory sync requests.
+ * Keeps the Merkle tree of the local directory in the session and sends its root hash
+ * as the first comparison round.
+ */
+@Builder
+public class DirectorySyncOutboundRequestProcessor implements OutboundRequestProcessor {
+
+    /**
+     * Starts the comparison with the root hash of the local directory.
+     *
+     * @param message the user request containing the tree of the local directory
+     * @param session the session of the channel the request is sent on
+     * @return the first comparison request
+     */
+    @Override
+    public List<ProtocolMessage> process(UserRequest message, ChannelSession session) {
+        var request = (UserDirectorySyncRequest) message;
+        session.attach(DirectorySyncState.class, new DirectorySyncState(request.dstDir(), request.contentHash(), request.root()));
+
+        var compareRequest = SyncCompareRequest.builder()
+                .destDirPath(request.dstDir())
+                .contentHash(request.contentHash())
+                .directories(List.of(new SyncCompareRequest.DirectoryHash("", request.root().hash())))
+                .build();
+        return new ArrayList<>(List.of(compareRequest));
+    }
+}
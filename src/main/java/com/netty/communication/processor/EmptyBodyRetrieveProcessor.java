@@ -1,8 +1,9 @@
 package com.netty.communication.processor;
 
 import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.session.ChannelSession;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -20,12 +21,14 @@ public final class EmptyBodyRetrieveProcessor implements InboundRequestProcessor
 
     /**
      * Processes the given protocol message and returns an empty list.
+     * The list is mutable because the caller appends the final response to it.
      *
      * @param message the protocol message to process
+     * @param session the session of the channel the message was received on
      * @return an empty list of protocol messages
      */
     @Override
-    public List<ProtocolMessage> process(ProtocolMessage message) {
-        return Collections.emptyList();
+    public List<ProtocolMessage> process(ProtocolMessage message, ChannelSession session) {
+        return new ArrayList<>();
     }
 }
@@ -0,0 +1,59 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.message.FileBatchCommitRequest;
+import com.netty.communication.message.FileBatchResult;
+import com.netty.communication.message.FileBatchStatus;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.specification.response.ResponseSpec;
+import lombok.Builder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Processes the last message of a bulk upload.
+ * Batched files have already been reported; the processor reports the files that were sent as chunk
+ * streams, whose chunks have all been stored by the time the commit arrives, and gives them the
+ * modification times of their sources if the commit carries them.
+ */
+@Builder
+public class FileBatchCommitInboundRequestProcessor implements InboundRequestProcessor {
+    private final String rootPath;
+
+    /**
+     * Reports the status of every streamed file of the bulk upload.
+     *
+     * @param message the protocol message representing the commit request
+     * @param session the session of the channel the message was received on
+     * @return a list with the statuses of the streamed files, if there are any
+     * @throws IOException if the modification time of a stored file cannot be set
+     */
+    @Override
+    public List<ProtocolMessage> process(ProtocolMessage message, ChannelSession session) throws IOException {
+        var request = (FileBatchCommitRequest) message;
+        var responses = new ArrayList<ProtocolMessage>();
+        if (request.getStreamedFiles().isEmpty()) {
+            return responses;
+        }
+
+        var statuses = new ArrayList<FileBatchStatus>(request.getStreamedFiles().size());
+        for (var file : request.getStreamedFiles()) {
+            var targetPath = Path.of(rootPath, file.destFilePath()).normalize();
+            if (!Files.isRegularFile(targetPath)) {
+                statuses.add(new FileBatchStatus(file.index(), ResponseSpec.FILE_NOT_FOUND));
+                continue;
+            }
+            if (file.lastModified() >= 0) {
+                Files.setLastModifiedTime(targetPath, FileTime.fromMillis(file.lastModified()));
+            }
+            statuses.add(new FileBatchStatus(file.index(), ResponseSpec.OK));
+        }
+        responses.add(FileBatchResult.builder().statuses(statuses).build());
+        return responses;
+    }
+}
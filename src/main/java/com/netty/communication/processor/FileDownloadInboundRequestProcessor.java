@@ -1,39 +1,75 @@
 package com.netty.communication.processor;
 
+import com.netty.communication.message.ChecksumMode;
 import com.netty.communication.message.FileDownloadRequest;
+import com.netty.communication.message.FileStatReply;
+import com.netty.communication.message.OutboundSmallFile;
 import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.specification.response.ResponseSpec;
+import com.netty.communication.transfer.TransferDeadline;
 import lombok.Builder;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Processes inbound file download requests.
  * This processor handles a file download request by constructing the source
  * file path from the root path and the request details, and then processes
- * the file transfer.
+ * the file transfer. Files up to the small file threshold are sent in a single frame
+ * that also completes the request. Larger files are preceded by a {@link FileStatReply} with their size,
+ * so that the client can report the progress of the download, and continue where an interrupted earlier
+ * download stopped if the client's stored bytes still match the source. A request for a range
+ * is always sent in chunks. The timeout of the request becomes the {@link TransferDeadline} of the
+ * connection, at which the chunks stop.
  */
 @Builder
 public class FileDownloadInboundRequestProcessor implements InboundRequestProcessor {
-    private final int chunkSize;
     private final String rootPath;
     private final FileTransferProcessor fileTransferProcessor;
+    private final int smallFileThreshold;
 
     /**
-     * Processes a file download request by extracting the source and
-     * destination file paths, then delegating the file transfer to
-     * the specified processor.
+     * Processes a file download request with the checksum mode negotiated for the connection.
      *
      * @param message the protocol message representing the file download request
+     * @param session the session of the channel the request was received on
      * @return a list of protocol messages generated during the file transfer process
      * @throws Exception if an error occurs during file processing or transfer
      */
     @Override
-    public List<ProtocolMessage> process(ProtocolMessage message) throws Exception {
+    public List<ProtocolMessage> process(ProtocolMessage message, ChannelSession session) throws Exception {
+        var request = (FileDownloadRequest) message;
+        if (request.getTimeoutMillis() > 0) {
+            session.attach(TransferDeadline.class, TransferDeadline.after(request.getTimeoutMillis()));
+        }
+        return createMessages(message, session.checksum());
+    }
+
+    private List<ProtocolMessage> createMessages(ProtocolMessage message, ChecksumMode checksum) throws Exception {
         var request = (FileDownloadRequest) message;
         var srcFilePath = Path.of(rootPath, request.getSourceFilePath()).normalize().toString();
         var dstFilePath = request.getDestFilePath();
 
-        return fileTransferProcessor.process(srcFilePath, dstFilePath, chunkSize);
+        CommonFileChunkTransferProcessor.validate(srcFilePath);
+        if (request.getRange() != null) {
+            return CommonFileChunkTransferProcessor.processRange(srcFilePath, dstFilePath, checksum, request.getRange());
+        }
+        if (Files.size(Path.of(srcFilePath)) <= smallFileThreshold) {
+            var smallFile = OutboundSmallFile.builder()
+                    .srcPath(srcFilePath)
+                    .dstPath(dstFilePath)
+                    .status(ResponseSpec.OK)
+                    .checksum(checksum == ChecksumMode.CRC32C)
+                    .build();
+            return new ArrayList<>(List.of(smallFile));
+        }
+        long startOffset = request.getResumePoint().startOffset(Path.of(srcFilePath));
+        var messages = fileTransferProcessor.process(srcFilePath, dstFilePath, checksum, startOffset);
+        messages.add(0, FileStatReply.builder().size(Files.size(Path.of(srcFilePath))).build());
+        return messages;
     }
 }
@@ -1,35 +1,56 @@
 package com.netty.communication.processor;
 
+import com.netty.communication.exception.TransferDeadlineExceededException;
+import com.netty.communication.handler.inbound.FileStoreAction;
 import com.netty.communication.message.FileDownloadRequest;
 import com.netty.communication.message.ProtocolMessage;
 import com.netty.communication.message.UserFileDownloadRequest;
 import com.netty.communication.message.UserRequest;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.transfer.ResumePoint;
 import lombok.Builder;
 
+import java.nio.file.Path;
 import java.util.List;
 
 /**
  * Processes outbound file download requests.
  * This processor converts a user file download request into a protocol message
- * for file download.
+ * for file download, which tells the server where an interrupted earlier download can continue
+ * and how much time is left until the deadline of the download.
  */
 @Builder
 public class FileDownloadOutboundRequestProcessor implements OutboundRequestProcessor {
+    private final String rootPath;
+    private final int resumeTailBytes;
 
     /**
      * Processes a user file download request and creates a corresponding
      * file download request protocol message.
      *
      * @param message the user request representing the file download request
+     * @param session the session of the channel the request is sent on
      * @return a list containing the created file download request protocol message
+     * @throws Exception if the partial file of an earlier download cannot be read
+     * @throws TransferDeadlineExceededException if the deadline of the download has already passed
      */
     @Override
-    public List<ProtocolMessage> process(UserRequest message) {
+    public List<ProtocolMessage> process(UserRequest message, ChannelSession session) throws Exception {
         var userRequest = (UserFileDownloadRequest) message;
+        var targetPath = Path.of(rootPath, userRequest.dstFile()).normalize().toString();
+        var deadline = userRequest.deadline();
+        if (deadline != null && deadline.isExpired()) {
+            throw new TransferDeadlineExceededException("The deadline passed before downloading " + userRequest.srcFile());
+        }
 
         return List.of(FileDownloadRequest.builder()
                 .sourceFilePath(userRequest.srcFile())
                 .destFilePath(userRequest.dstFile())
+                .resumePoint(userRequest.range() == null
+                        ? FileStoreAction.resumePoint(targetPath, resumeTailBytes)
+                        : ResumePoint.NONE)
+                .timeoutMillis(deadline != null ? deadline.remainingMillis() : 0)
+                .range(userRequest.range())
                 .build());
     }
 }
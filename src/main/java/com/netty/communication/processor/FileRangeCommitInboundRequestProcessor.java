@@ -0,0 +1,64 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.exception.ChecksumMismatchException;
+import com.netty.communication.exception.IncompleteTransferException;
+import com.netty.communication.message.FileRangeCommitRequest;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.transfer.StripeTracker;
+import lombok.Builder;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Processes the commit of a striped upload on the server side.
+ * Installs the striped file as the destination only if the {@link StripeTracker} has seen stripes
+ * covering the whole file and the checksum combined from the checksums of its stripes matches the
+ * announced checksum, so that the assembled file is never read; otherwise, and when the client discards
+ * the upload, the striped file is deleted and the upload has to be repeated.
+ */
+@Builder
+public class FileRangeCommitInboundRequestProcessor implements InboundRequestProcessor {
+    private final String rootPath;
+    private final StripeTracker stripeTracker;
+
+    /**
+     * Verifies and installs the striped file, or deletes it if the upload is discarded.
+     *
+     * @param message the protocol message representing the commit request
+     * @param session the session of the channel the message was received on
+     * @return an empty list; the OK response is appended by the caller
+     * @throws Exception if stripes are missing, the file does not match or it cannot be moved into place
+     */
+    @Override
+    public List<ProtocolMessage> process(ProtocolMessage message, ChannelSession session) throws Exception {
+        var request = (FileRangeCommitRequest) message;
+        var target = Path.of(rootPath, request.getDestFilePath()).normalize();
+        var striped = Path.of(StripeTracker.stripedPath(target.toString()));
+
+        var coverage = stripeTracker.complete(striped.toString(), request.getSize());
+        if (request.isDiscard()) {
+            Files.deleteIfExists(striped);
+            return new ArrayList<>();
+        }
+        if (!coverage.complete()) {
+            Files.deleteIfExists(striped);
+            throw new IncompleteTransferException("Not all stripes of " + target + " have been received");
+        }
+        try (var channel = FileChannel.open(striped, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            channel.truncate(request.getSize());
+        }
+        if (request.getCrc32c() != null && !request.getCrc32c().equals(coverage.crc32c())) {
+            Files.deleteIfExists(striped);
+            throw new ChecksumMismatchException("CRC32C mismatch: " + target);
+        }
+        Files.move(striped, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new ArrayList<>();
+    }
+}
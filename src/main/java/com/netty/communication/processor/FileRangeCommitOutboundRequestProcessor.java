@@ -0,0 +1,46 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.message.ChecksumMode;
+import com.netty.communication.message.FileRangeCommitRequest;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.message.UserFileRangeCommitRequest;
+import com.netty.communication.message.UserRequest;
+import com.netty.communication.session.ChannelSession;
+import lombok.Builder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Processes the commit of a striped upload on the client side.
+ * With CRC32C checksums negotiated, the commit carries the checksum of the whole source file, which the
+ * client computes while the stripes are sent, so that the server verifies the assembled file and not
+ * only its stripes.
+ */
+@Builder
+public class FileRangeCommitOutboundRequestProcessor implements OutboundRequestProcessor {
+
+    /**
+     * Converts a user commit request into the commit request protocol message with the checksum mode
+     * negotiated for the connection.
+     *
+     * @param message the user request
+     * @param session the session of the channel the request is sent on
+     * @return a list containing the commit request
+     */
+    @Override
+    public List<ProtocolMessage> process(UserRequest message, ChannelSession session) {
+        return createMessages(message, session.checksum());
+    }
+
+    private List<ProtocolMessage> createMessages(UserRequest message, ChecksumMode checksum) {
+        var commitRequest = (UserFileRangeCommitRequest) message;
+
+        return new ArrayList<>(List.of(FileRangeCommitRequest.builder()
+                .destFilePath(commitRequest.dstFile())
+                .size(commitRequest.size())
+                .discard(commitRequest.discard())
+                .crc32c(checksum == ChecksumMode.CRC32C ? commitRequest.crc32c() : null)
+                .build()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.message.FileStatReply;
+import com.netty.communication.message.FileStatRequest;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.session.ChannelSession;
+import lombok.Builder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Processor for file stat requests.
+ * Reports the size of a file under the server's root path.
+ */
+@Builder
+public class FileStatInboundRequestProcessor implements InboundRequestProcessor {
+    private final String rootPath;
+
+    /**
+     * Reads the size of the requested file.
+     *
+     * @param message the protocol message representing the stat request
+     * @param session the session of the channel the message was received on
+     * @return a list containing the stat reply
+     * @throws Exception if the file does not exist or is not a file
+     */
+    @Override
+    public List<ProtocolMessage> process(ProtocolMessage message, ChannelSession session) throws Exception {
+        var request = (FileStatRequest) message;
+        var filePath = Path.of(rootPath, request.getFilePath()).normalize().toString();
+
+        CommonFileChunkTransferProcessor.validate(filePath);
+        return new ArrayList<>(List.of(FileStatReply.builder()
+                .size(Files.size(Path.of(filePath)))
+                .build()));
+    }
+}
@@ -0,0 +1,33 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.message.FileStatRequest;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.message.UserFileStatRequest;
+import com.netty.communication.message.UserRequest;
+import com.netty.communication.session.ChannelSession;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Processes outbound file stat requests.
+ */
+@Builder
+public class FileStatOutboundRequestProcessor implements OutboundRequestProcessor {
+
+    /**
+     * Converts a user file stat request into the stat request protocol message.
+     *
+     * @param message the user request
+     * @param session the session of the channel the request is sent on
+     * @return a list containing the stat request
+     */
+    @Override
+    public List<ProtocolMessage> process(UserRequest message, ChannelSession session) {
+        var userRequest = (UserFileStatRequest) message;
+
+        return List.of(FileStatRequest.builder()
+                .filePath(userRequest.file())
+                .build());
+    }
+}
@@ -0,0 +1,37 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.message.FileStatReply;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.transfer.TransferProgress;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Client-side processor for file stat replies.
+ * Keeps the reply in the session, from where the client reads it once the request has completed.
+ * A reply that precedes the chunks of a download sets the size of the {@link TransferProgress} attached
+ * to the session, if any.
+ */
+@Builder
+public class FileStatReplyProcessor implements InboundRequestProcessor {
+
+    /**
+     * Keeps the stat reply in the session.
+     *
+     * @param message the stat reply
+     * @param session the session of the channel the reply was received on
+     * @return no messages; the response that follows the reply completes the request
+     */
+    @Override
+    public List<ProtocolMessage> process(ProtocolMessage message, ChannelSession session) {
+        var reply = (FileStatReply) message;
+        session.attach(FileStatReply.class, reply);
+        var progress = session.attachment(TransferProgress.class);
+        if (progress != null) {
+            progress.totalBytes(reply.getSize());
+        }
+        return List.of();
+    }
+}
@@ -1,5 +1,6 @@
 package com.netty.communication.processor;
 
+import com.netty.communication.message.ChecksumMode;
 import com.netty.communication.message.ProtocolMessage;
 
 import java.util.List;
@@ -17,9 +18,23 @@ public interface FileTransferProcessor {
      *
      * @param srcPath   the source path of the file to be transferred
      * @param dstPath   the destination path where the file should be transferred
-     * @param chunkSize the size of the chunks in which the file will be transferred
+     * @param checksum  how the receiver verifies the transferred file
      * @return a list of protocol messages representing the file transfer process
      * @throws Exception if an error occurs during the processing of the file transfer
      */
-    List<ProtocolMessage> process(String srcPath, String dstPath, int chunkSize) throws Exception;
+    default List<ProtocolMessage> process(String srcPath, String dstPath, ChecksumMode checksum) throws Exception {
+        return process(srcPath, dstPath, checksum, 0);
+    }
+
+    /**
+     * Processes a file transfer request that continues an interrupted transfer.
+     *
+     * @param srcPath     the source path of the file to be transferred
+     * @param dstPath     the destination path where the file should be transferred
+     * @param checksum    how the receiver verifies the transferred file
+     * @param startOffset the offset the receiver has already stored
+     * @return a list of protocol messages representing the file transfer process
+     * @throws Exception if an error occurs during the processing of the file transfer
+     */
+    List<ProtocolMessage> process(String srcPath, String dstPath, ChecksumMode checksum, long startOffset) throws Exception;
 }
@@ -1,11 +1,16 @@
 package com.netty.communication.processor;
 
+import com.netty.communication.message.ChecksumMode;
 import com.netty.communication.message.FileUploadRequest;
+import com.netty.communication.message.OutboundSmallFile;
 import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.message.TransferResumeQuery;
 import com.netty.communication.message.UserFileUploadRequest;
 import com.netty.communication.message.UserRequest;
+import com.netty.communication.session.ChannelSession;
 import lombok.Builder;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,39 +18,59 @@ import java.util.List;
 /**
  * Processor for handling outbound file upload requests.
  * This class processes user requests to upload files,
- * converting them into protocol messages.
+ * converting them into protocol messages. Files up to the small file threshold are
+ * sent in a single frame that the server answers directly. Larger files are sent in chunks once
+ * the server has told where an interrupted earlier upload can continue. A range of a file, one
+ * stripe of a striped upload, is sent in chunks right away and written in place by the server.
  */
 @Builder
 public class FileUploadOutboundRequestProcessor implements OutboundRequestProcessor {
 
-    private final int chunkSize;
     private final String rootPath;
-    private final FileTransferProcessor fileTransferProcessor;
+    private final int smallFileThreshold;
 
     /**
-     * Processes a user file upload request and generates protocol messages.
+     * Processes a user file upload request with the checksum mode negotiated for the connection.
      *
      * @param message the user request containing file upload details
+     * @param session the session of the channel the request is sent on
      * @return a list of protocol messages representing the file upload process
      * @throws Exception if an error occurs during the processing of the file upload
      */
     @Override
-    public List<ProtocolMessage> process(UserRequest message) throws Exception {
+    public List<ProtocolMessage> process(UserRequest message, ChannelSession session) throws Exception {
+        return createMessages(message, session.checksum());
+    }
+
+    private List<ProtocolMessage> createMessages(UserRequest message, ChecksumMode checksum) throws Exception {
         var uploadRequest = (UserFileUploadRequest) message;
 
         var srcFilePath = Path.of(rootPath, uploadRequest.srcFile()).normalize().toString();
         var dstFilePath = uploadRequest.dstFile();
 
-        var fileChunks = fileTransferProcessor.process(srcFilePath, dstFilePath, chunkSize);
+        CommonFileChunkTransferProcessor.validate(srcFilePath);
+        if (uploadRequest.range() != null) {
+            var messages = CommonFileChunkTransferProcessor.processRange(srcFilePath, dstFilePath, checksum,
+                    uploadRequest.range());
+            messages.add(FileUploadRequest.builder()
+                    .sourceFilePath(srcFilePath)
+                    .destFilePath(dstFilePath)
+                    .build());
+            return messages;
+        }
+        if (Files.size(Path.of(srcFilePath)) <= smallFileThreshold) {
+            var smallFile = OutboundSmallFile.builder()
+                    .srcPath(srcFilePath)
+                    .dstPath(dstFilePath)
+                    .checksum(checksum == ChecksumMode.CRC32C)
+                    .build();
+            return new ArrayList<>(List.of(smallFile));
+        }
 
-        var tailHeader = FileUploadRequest.builder()
+        var resumeQuery = TransferResumeQuery.builder()
                 .sourceFilePath(srcFilePath)
                 .destFilePath(dstFilePath)
                 .build();
-
-        var messages = new ArrayList<ProtocolMessage>();
-        messages.addAll(fileChunks);
-        messages.add(tailHeader);
-        return messages;
+        return new ArrayList<>(List.of(resumeQuery));
     }
 }
@@ -0,0 +1,48 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.message.HandshakeRequest;
+import com.netty.communication.message.HandshakeResponse;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.session.HandshakePolicy;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Processes the handshake of a new connection on the server side.
+ * Negotiates the connection parameters with the {@link HandshakePolicy}, records them in the
+ * channel session and answers with the agreed values.
+ */
+@Slf4j
+@Builder
+public class HandshakeInboundRequestProcessor implements InboundRequestProcessor {
+    private final HandshakePolicy policy;
+
+    /**
+     * Negotiates parameters for the client of the session and records them.
+     *
+     * @param message the protocol message representing the handshake request
+     * @param session the session of the channel the handshake was received on
+     * @return a list containing the handshake response
+     */
+    @Override
+    public List<ProtocolMessage> process(ProtocolMessage message, ChannelSession session) {
+        var parameters = policy.negotiate((HandshakeRequest) message, session.remoteAddress());
+        session.establish(parameters);
+        log.info("Negotiated {} with {}.", parameters, session.remoteAddress());
+        return new ArrayList<>(List.of(HandshakeResponse.builder().parameters(parameters).build()));
+    }
+
+    /**
+     * The handshake is answered with the negotiated parameters instead of an OK response.
+     *
+     * @return always false
+     */
+    @Override
+    public boolean completesRequest() {
+        return false;
+    }
+}
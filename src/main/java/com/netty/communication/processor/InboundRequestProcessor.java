@@ -1,6 +1,7 @@
 package com.netty.communication.processor;
 
 import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.session.ChannelSession;
 
 import java.util.List;
 
@@ -13,11 +14,24 @@ import java.util.List;
 public interface InboundRequestProcessor {
 
     /**
-     * Processes an inbound protocol message and returns a list of response messages.
+     * Processes an inbound protocol message in the context of its connection and returns a list of response messages.
+     * Processors that do not depend on the connection ignore the session.
      *
      * @param message the protocol message to process
+     * @param session the session of the channel the message was received on
      * @return a list of protocol messages generated as a result of processing the input message
      * @throws Exception if an error occurs during processing
      */
-    List<ProtocolMessage> process(ProtocolMessage message) throws Exception;
+    List<ProtocolMessage> process(ProtocolMessage message, ChannelSession session) throws Exception;
+
+    /**
+     * Indicates whether a successful call to {@link #process(ProtocolMessage, ChannelSession)} finishes the request.
+     * When it does, the handler appends an OK response after the returned messages; otherwise
+     * the returned messages are sent as an intermediate reply and the peer is expected to continue.
+     *
+     * @return true if the request is complete once processed, false for intermediate steps
+     */
+    default boolean completesRequest() {
+        return true;
+    }
 }
@@ -2,6 +2,7 @@ package com.netty.communication.processor;
 
 import com.netty.communication.message.ProtocolMessage;
 import com.netty.communication.message.UserRequest;
+import com.netty.communication.session.ChannelSession;
 
 import java.util.List;
 
@@ -14,11 +15,13 @@ import java.util.List;
 public interface OutboundRequestProcessor {
 
     /**
-     * Processes a user request and returns a list of protocol messages.
+     * Processes a user request in the context of the connection it is sent on and returns a list of protocol messages.
+     * Processors that do not depend on the connection ignore the session.
      *
      * @param message the user request to process
+     * @param session the session of the channel the request is sent on
      * @return a list of protocol messages generated as a result of processing the input request
      * @throws Exception if an error occurs during processing
      */
-    List<ProtocolMessage> process(UserRequest message) throws Exception;
+    List<ProtocolMessage> process(UserRequest message, ChannelSession session) throws Exception;
 }
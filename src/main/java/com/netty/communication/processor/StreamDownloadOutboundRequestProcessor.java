@@ -0,0 +1,48 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.exception.TransferDeadlineExceededException;
+import com.netty.communication.message.FileDownloadRequest;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.message.UserRequest;
+import com.netty.communication.message.UserStreamDownloadRequest;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.transfer.ResumePoint;
+import com.netty.communication.transfer.StreamSink;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Processor for downloads whose bytes are delivered to a {@link StreamSink} rather than a local file.
+ * The sink is attached to the session of the connection, where the
+ * {@link com.netty.communication.handler.inbound.StreamSinkHandler} picks up the received bytes; the download
+ * always starts at offset 0.
+ */
+@Builder
+public class StreamDownloadOutboundRequestProcessor implements OutboundRequestProcessor {
+
+    /**
+     * Attaches the sink of the download to the session and creates the download request.
+     *
+     * @param message the user request containing the source and the sink
+     * @param session the session of the channel the request is sent on
+     * @return a list containing the file download request
+     * @throws TransferDeadlineExceededException if the deadline of the download has already passed
+     */
+    @Override
+    public List<ProtocolMessage> process(UserRequest message, ChannelSession session) throws Exception {
+        var userRequest = (UserStreamDownloadRequest) message;
+        var deadline = userRequest.deadline();
+        if (deadline != null && deadline.isExpired()) {
+            throw new TransferDeadlineExceededException("The deadline passed before downloading " + userRequest.srcFile());
+        }
+
+        session.attach(StreamSink.class, userRequest.sink());
+        return List.of(FileDownloadRequest.builder()
+                .sourceFilePath(userRequest.srcFile())
+                .destFilePath(userRequest.srcFile())
+                .resumePoint(ResumePoint.NONE)
+                .timeoutMillis(deadline != null ? deadline.remainingMillis() : 0)
+                .build());
+    }
+}
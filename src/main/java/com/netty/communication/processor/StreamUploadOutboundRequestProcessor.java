@@ -0,0 +1,55 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.exception.TransferDeadlineExceededException;
+import com.netty.communication.message.ChecksumMode;
+import com.netty.communication.message.FileUploadRequest;
+import com.netty.communication.message.OutboundByteStream;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.message.UserRequest;
+import com.netty.communication.message.UserStreamUploadRequest;
+import com.netty.communication.session.ChannelSession;
+import lombok.Builder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Processor for uploads whose bytes are read from a source rather than a local file.
+ * The bytes are always sent as a chunk stream starting at offset 0, because a source can be read only
+ * once and its length is not known in advance; the upload request that follows completes the upload.
+ */
+@Builder
+public class StreamUploadOutboundRequestProcessor implements OutboundRequestProcessor {
+
+    /**
+     * Processes a stream upload request with the checksum mode negotiated for the connection.
+     *
+     * @param message the user request containing the source and the destination
+     * @param session the session of the channel the request is sent on
+     * @return the byte stream followed by the upload request
+     * @throws TransferDeadlineExceededException if the deadline of the upload has already passed
+     */
+    @Override
+    public List<ProtocolMessage> process(UserRequest message, ChannelSession session) throws Exception {
+        return createMessages(message, session.checksum());
+    }
+
+    private List<ProtocolMessage> createMessages(UserRequest message, ChecksumMode checksum) {
+        var uploadRequest = (UserStreamUploadRequest) message;
+        var deadline = uploadRequest.deadline();
+        if (deadline != null && deadline.isExpired()) {
+            throw new TransferDeadlineExceededException("The deadline passed before uploading " + uploadRequest.dstFile());
+        }
+
+        var stream = OutboundByteStream.builder()
+                .source(uploadRequest.source())
+                .destFilePath(uploadRequest.dstFile())
+                .checksum(checksum == ChecksumMode.CRC32C)
+                .build();
+        var request = FileUploadRequest.builder()
+                .sourceFilePath(uploadRequest.dstFile())
+                .destFilePath(uploadRequest.dstFile())
+                .build();
+        return new ArrayList<>(List.of(stream, request));
+    }
+}
@@ -0,0 +1,72 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.message.ResponseMessage;
+import com.netty.communication.message.SyncCompareReply;
+import com.netty.communication.message.SyncCompareRequest;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.specification.response.ResponseSpec;
+import com.netty.communication.sync.ServerSyncTree;
+import lombok.Builder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Processes the comparison rounds of a directory sync on the server.
+ * Every round answers with the children of the requested directories whose hashes differ from the
+ * server's tree, which the {@link com.netty.communication.handler.inbound.SyncTreeLoader} has attached
+ * to the session. The final round, which carries no directories, completes the request.
+ */
+@Builder
+public class SyncCompareInboundRequestProcessor implements InboundRequestProcessor {
+
+    /**
+     * Processes a comparison round with the server's tree kept in the session.
+     *
+     * @param message the comparison request
+     * @param session the session of the channel the request was received on
+     * @return the differing directories, or the final response
+     * @throws IllegalStateException if the server's tree has not been loaded for the request
+     */
+    @Override
+    public List<ProtocolMessage> process(ProtocolMessage message, ChannelSession session) {
+        var request = (SyncCompareRequest) message;
+        var messages = new ArrayList<ProtocolMessage>();
+        if (request.getDirectories().isEmpty()) {
+            session.attach(ServerSyncTree.class, null);
+            messages.add(new ResponseMessage(ResponseSpec.OK));
+            return messages;
+        }
+
+        var tree = session.attachment(ServerSyncTree.class);
+        if (tree == null || !tree.matches(request.getDestDirPath(), request.isContentHash())) {
+            throw new IllegalStateException("The tree of " + request.getDestDirPath() + " has not been loaded.");
+        }
+
+        var listings = new ArrayList<SyncCompareReply.Listing>();
+        for (var directory : request.getDirectories()) {
+            var node = tree.root() != null ? tree.root().find(directory.path()) : null;
+            if (node == null || !node.directory()) {
+                listings.add(new SyncCompareReply.Listing(directory.path(), false, List.of()));
+            } else if (!Arrays.equals(node.hash(), directory.hash())) {
+                listings.add(new SyncCompareReply.Listing(directory.path(), true, node.children().stream()
+                        .map(child -> new SyncCompareReply.Entry(child.name(), child.directory(), child.hash()))
+                        .toList()));
+            }
+        }
+        messages.add(SyncCompareReply.builder().listings(listings).build());
+        return messages;
+    }
+
+    /**
+     * Comparison rounds are intermediate steps; the final round sends its own response.
+     *
+     * @return false
+     */
+    @Override
+    public boolean completesRequest() {
+        return false;
+    }
+}
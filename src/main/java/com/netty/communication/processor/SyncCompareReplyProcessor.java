@@ -0,0 +1,75 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.message.SyncCompareReply;
+import com.netty.communication.message.SyncCompareRequest;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.sync.DirectorySyncState;
+import com.netty.communication.sync.MerkleNode;
+import lombok.Builder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Client-side processor for the server's {@link SyncCompareReply}.
+ * Compares the listed server directories with the client's tree: equal children are skipped,
+ * differing files and whole subtrees missing on the server are recorded as changed, and differing
+ * subdirectories are sent for comparison in the next round.
+ */
+@Builder
+public class SyncCompareReplyProcessor implements InboundRequestProcessor {
+
+    /**
+     * Records the changed files of the listed directories and requests the next round.
+     *
+     * @param message the comparison reply
+     * @param session the session of the channel the reply was received on
+     * @return the next comparison request, without directories once the comparison is complete
+     */
+    @Override
+    public List<ProtocolMessage> process(ProtocolMessage message, ChannelSession session) {
+        var reply = (SyncCompareReply) message;
+        var state = session.attachment(DirectorySyncState.class);
+        if (state == null) {
+            throw new IllegalStateException("No directory sync is running on this connection.");
+        }
+
+        var next = new ArrayList<SyncCompareRequest.DirectoryHash>();
+        for (var listing : reply.getListings()) {
+            var directory = state.root().find(listing.path());
+            if (!listing.exists()) {
+                state.changedFiles().addAll(directory.files(listing.path()));
+                continue;
+            }
+            var serverChildren = new HashMap<String, SyncCompareReply.Entry>();
+            listing.children().forEach(child -> serverChildren.put(child.name(), child));
+            for (var child : directory.children()) {
+                compare(state, next, listing.path(), child, serverChildren.get(child.name()));
+            }
+        }
+
+        var compareRequest = SyncCompareRequest.builder()
+                .destDirPath(state.destDirPath())
+                .contentHash(state.contentHash())
+                .directories(next)
+                .build();
+        return new ArrayList<>(List.of(compareRequest));
+    }
+
+    private static void compare(DirectorySyncState state, List<SyncCompareRequest.DirectoryHash> next, String parent,
+                                MerkleNode child, SyncCompareReply.Entry serverChild) {
+        var path = MerkleNode.childPath(parent, child.name());
+        if (serverChild != null && serverChild.directory() == child.directory()
+                && Arrays.equals(serverChild.hash(), child.hash())) {
+            return;
+        }
+        if (serverChild != null && child.directory() && serverChild.directory()) {
+            next.add(new SyncCompareRequest.DirectoryHash(path, child.hash()));
+        } else {
+            state.changedFiles().addAll(child.files(path));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.message.ChecksumMode;
+import com.netty.communication.message.FileUploadRequest;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.message.TransferResumeOffset;
+import com.netty.communication.session.ChannelSession;
+import lombok.Builder;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Client-side processor for the {@link TransferResumeOffset} reply of an upload.
+ * Sends the file from the offset the server has stored if the source still matches the stored
+ * bytes, and from the start otherwise, followed by the upload request that completes it.
+ */
+@Builder
+public class TransferResumeOffsetReplyProcessor implements InboundRequestProcessor {
+    private final FileTransferProcessor fileTransferProcessor;
+
+    /**
+     * Continues the upload with the checksum mode negotiated for the connection.
+     *
+     * @param message the resume offset reply
+     * @param session the session of the channel the reply was received on
+     * @return the chunk stream of the file followed by the upload request
+     * @throws Exception if the source file cannot be read
+     */
+    @Override
+    public List<ProtocolMessage> process(ProtocolMessage message, ChannelSession session) throws Exception {
+        return createMessages(message, session.checksum());
+    }
+
+    private List<ProtocolMessage> createMessages(ProtocolMessage message, ChecksumMode checksum) throws Exception {
+        var reply = (TransferResumeOffset) message;
+        var srcFilePath = reply.getSourceFilePath();
+        var dstFilePath = reply.getDestFilePath();
+
+        long startOffset = reply.getResumePoint().startOffset(Path.of(srcFilePath));
+        var messages = new ArrayList<>(fileTransferProcessor.process(srcFilePath, dstFilePath, checksum, startOffset));
+        messages.add(FileUploadRequest.builder()
+                .sourceFilePath(srcFilePath)
+                .destFilePath(dstFilePath)
+                .build());
+        return messages;
+    }
+}
@@ -0,0 +1,52 @@
+package com.netty.communication.processor;
+
+import com.netty.communication.handler.inbound.FileStoreAction;
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.message.TransferResumeOffset;
+import com.netty.communication.message.TransferResumeQuery;
+import com.netty.communication.session.ChannelSession;
+import lombok.Builder;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Processor for resume queries.
+ * Reports how much of the destination file an interrupted earlier upload has stored.
+ */
+@Builder
+public class TransferResumeQueryInboundRequestProcessor implements InboundRequestProcessor {
+    private final String rootPath;
+    private final int tailBytes;
+
+    /**
+     * Reads the stored progress of the destination file.
+     *
+     * @param message the protocol message representing the resume query
+     * @param session the session of the channel the message was received on
+     * @return a list containing the resume offset reply
+     * @throws Exception if the partial file cannot be read
+     */
+    @Override
+    public List<ProtocolMessage> process(ProtocolMessage message, ChannelSession session) throws Exception {
+        var query = (TransferResumeQuery) message;
+        var targetPath = Path.of(rootPath, query.getDestFilePath()).normalize().toString();
+
+        return new ArrayList<>(List.of(TransferResumeOffset.builder()
+                .sourceFilePath(query.getSourceFilePath())
+                .destFilePath(query.getDestFilePath())
+                .resumePoint(FileStoreAction.resumePoint(targetPath, tailBytes))
+                .build()));
+    }
+
+    /**
+     * The resume offset is only the first step of the upload, so no response is appended.
+     *
+     * @return always false
+     */
+    @Override
+    public boolean completesRequest() {
+        return false;
+    }
+}
@@ -1,7 +1,24 @@
 package com.netty.communication.service;
 
+import com.netty.communication.dto.BulkFileUploadDto;
+import com.netty.communication.dto.BulkUploadResultDto;
+import com.netty.communication.dto.DirectorySyncDto;
+import com.netty.communication.dto.DirectorySyncResultDto;
 import com.netty.communication.dto.FileDownloadDto;
 import com.netty.communication.dto.FileUploadDto;
+import com.netty.communication.dto.RemoteFileDto;
+import com.netty.communication.dto.StripedTransferResultDto;
+import com.netty.communication.dto.TransferResultDto;
+import com.netty.communication.transfer.OutputStreamSubscriber;
+import com.netty.communication.transfer.TransferProgress;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
 
 /**
  * Interface representing a file client that provides methods for downloading and uploading files.
@@ -16,6 +33,46 @@ public interface FileClient {
      */
     void downloadFile(FileDownloadDto spec) throws Exception;
 
+    /**
+     * Downloads a file without blocking the calling thread.
+     *
+     * @param spec the specification containing details for the file download
+     * @return a future completed with the size of the file and the achieved throughput, or with the
+     *         error that failed the download
+     */
+    default CompletableFuture<TransferResultDto> downloadFileAsync(FileDownloadDto spec) {
+        return downloadFileAsync(spec, null);
+    }
+
+    /**
+     * Downloads a file without blocking the calling thread, reporting the stored bytes as it goes.
+     *
+     * @param spec     the specification containing details for the file download
+     * @param progress the progress the download reports to, or null
+     * @return a future completed with the size of the file and the achieved throughput, or with the
+     *         error that failed the download
+     */
+    CompletableFuture<TransferResultDto> downloadFileAsync(FileDownloadDto spec, TransferProgress progress);
+
+    /**
+     * Downloads a large file in stripes fetched concurrently over several connections.
+     *
+     * @param spec the specification containing details for the file download
+     * @return the size of the file, the number of stripes and the achieved throughput
+     * @throws Exception if an error occurs during the file download process
+     */
+    StripedTransferResultDto downloadFileStriped(FileDownloadDto spec) throws Exception;
+
+    /**
+     * Downloads a large file in stripes fetched concurrently over several connections, without blocking
+     * the calling thread.
+     *
+     * @param spec the specification containing details for the file download
+     * @return a future completed with the size of the file, the number of stripes and the achieved throughput,
+     *         or with the error that failed the download
+     */
+    CompletableFuture<StripedTransferResultDto> downloadFileStripedAsync(FileDownloadDto spec);
+
     /**
      * Uploads a file based on the specified upload parameters.
      *
@@ -23,4 +80,159 @@ public interface FileClient {
      * @throws Exception if an error occurs during the file upload process
      */
     void uploadFile(FileUploadDto spec) throws Exception;
+
+    /**
+     * Uploads a file without blocking the calling thread.
+     *
+     * @param spec the specification containing details for the file upload
+     * @return a future completed with the size of the file and the achieved throughput, or with the
+     *         error that failed the upload
+     */
+    default CompletableFuture<TransferResultDto> uploadFileAsync(FileUploadDto spec) {
+        return uploadFileAsync(spec, null);
+    }
+
+    /**
+     * Uploads a file without blocking the calling thread, reporting the acknowledged bytes as it goes.
+     *
+     * @param spec     the specification containing details for the file upload
+     * @param progress the progress the upload reports to, or null
+     * @return a future completed with the size of the file and the achieved throughput, or with the
+     *         error that failed the upload
+     */
+    CompletableFuture<TransferResultDto> uploadFileAsync(FileUploadDto spec, TransferProgress progress);
+
+    /**
+     * Uploads bytes read from a channel without a local file. The channel is read only as fast as the
+     * server acknowledges the chunks, on a separate thread, so it may block; it is not closed. A non-blocking
+     * channel that has no bytes yet is read again after a short delay that grows while it stays empty.
+     * The upload cannot be resumed, since the channel cannot be read again.
+     *
+     * @param source        the channel to read the bytes from
+     * @param destination   the server and the path the bytes are stored at
+     * @param timeoutMillis the time the client waits for the upload before cancelling it, or null
+     * @return a future completed with the number of uploaded bytes and the achieved throughput
+     */
+    CompletableFuture<TransferResultDto> uploadStream(ReadableByteChannel source, RemoteFileDto destination,
+                                                      Long timeoutMillis);
+
+    /**
+     * Uploads bytes read from an input stream without a local file. The stream is not closed.
+     *
+     * @param source        the stream to read the bytes from
+     * @param destination   the server and the path the bytes are stored at
+     * @param timeoutMillis the time the client waits for the upload before cancelling it, or null
+     * @return a future completed with the number of uploaded bytes and the achieved throughput
+     */
+    default CompletableFuture<TransferResultDto> uploadStream(InputStream source, RemoteFileDto destination,
+                                                              Long timeoutMillis) {
+        return uploadStream(Channels.newChannel(source), destination, timeoutMillis);
+    }
+
+    /**
+     * Uploads the remaining bytes of a buffer without a local file. The position of the buffer is not changed.
+     *
+     * @param source        the bytes to upload
+     * @param destination   the server and the path the bytes are stored at
+     * @param timeoutMillis the time the client waits for the upload before cancelling it, or null
+     * @return a future completed with the number of uploaded bytes and the achieved throughput
+     */
+    CompletableFuture<TransferResultDto> uploadStream(ByteBuffer source, RemoteFileDto destination, Long timeoutMillis);
+
+    /**
+     * Downloads a file into a subscriber without a local file. A piece is sent by the server only once the
+     * subscriber has requested the pieces before it, up to one window of chunks ahead; a subscriber that
+     * requests nothing for longer than the idle timeout fails the download. Cancelling the subscription
+     * cancels the download.
+     *
+     * @param source        the server and the path of the file
+     * @param subscriber    the subscriber the bytes of the file are delivered to
+     * @param timeoutMillis the time the client waits for the download before cancelling it, or null
+     * @return a future completed, after the subscriber, with the number of downloaded bytes and the achieved throughput
+     */
+    CompletableFuture<TransferResultDto> downloadStream(RemoteFileDto source, Flow.Subscriber<? super ByteBuffer> subscriber,
+                                                        Long timeoutMillis);
+
+    /**
+     * Downloads a file into an output stream without a local file. The stream is flushed but not closed.
+     *
+     * @param source        the server and the path of the file
+     * @param target        the stream the bytes of the file are written to
+     * @param timeoutMillis the time the client waits for the download before cancelling it, or null
+     * @return a future completed with the number of downloaded bytes and the achieved throughput
+     */
+    default CompletableFuture<TransferResultDto> downloadStream(RemoteFileDto source, OutputStream target,
+                                                                Long timeoutMillis) {
+        return downloadStream(source, new OutputStreamSubscriber(target), timeoutMillis);
+    }
+
+    /**
+     * Uploads a large file in stripes sent concurrently over several connections.
+     *
+     * @param spec the specification containing details for the file upload
+     * @return the size of the file, the number of stripes and the achieved throughput
+     * @throws Exception if an error occurs during the file upload process
+     */
+    StripedTransferResultDto uploadFileStriped(FileUploadDto spec) throws Exception;
+
+    /**
+     * Uploads a large file in stripes sent concurrently over several connections, without blocking
+     * the calling thread.
+     *
+     * @param spec the specification containing details for the file upload
+     * @return a future completed with the size of the file, the number of stripes and the achieved throughput,
+     *         or with the error that failed the upload
+     */
+    CompletableFuture<StripedTransferResultDto> uploadFileStripedAsync(FileUploadDto spec);
+
+    /**
+     * Uploads a file in deduplication mode, sending only the chunks the server does not store yet.
+     *
+     * @param spec the specification containing details for the file upload
+     * @throws Exception if an error occurs during the file upload process
+     */
+    void uploadFileDeduplicated(FileUploadDto spec) throws Exception;
+
+    /**
+     * Uploads a file in delta mode, sending only the parts the server's existing copy lacks.
+     *
+     * @param spec the specification containing details for the file upload
+     * @throws Exception if an error occurs during the file upload process
+     */
+    void uploadFileDelta(FileUploadDto spec) throws Exception;
+
+    /**
+     * Uploads many files to one server over a single connection, packing small files into shared frames.
+     *
+     * @param spec the specification containing the destination server and the files to upload
+     * @return the status of every file
+     * @throws Exception if the upload as a whole fails
+     */
+    BulkUploadResultDto uploadFiles(BulkFileUploadDto spec) throws Exception;
+
+    /**
+     * Uploads many files to one server over a single connection without blocking the calling thread.
+     *
+     * @param spec the specification containing the destination server and the files to upload
+     * @return a future completed with the status of every file, or with the error that failed the upload as a whole
+     */
+    CompletableFuture<BulkUploadResultDto> uploadFilesAsync(BulkFileUploadDto spec);
+
+    /**
+     * Brings a directory on a server up to date with a local directory, transferring only the files that differ.
+     *
+     * @param spec the specification containing the local and the remote directory
+     * @return the numbers of compared and changed files and the status of every transferred file
+     * @throws Exception if the sync as a whole fails
+     */
+    DirectorySyncResultDto syncDirectory(DirectorySyncDto spec) throws Exception;
+
+    /**
+     * Brings a directory on a server up to date with a local directory without blocking the calling thread.
+     *
+     * @param spec the specification containing the local and the remote directory
+     * @return a future completed with the numbers of compared and changed files and the status of every
+     *         transferred file, or with the error that failed the sync as a whole
+     */
+    CompletableFuture<DirectorySyncResultDto> syncDirectoryAsync(DirectorySyncDto spec);
 }
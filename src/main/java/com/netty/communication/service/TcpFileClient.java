@@ -1,46 +1,147 @@
 package com.netty.communication.service;
 
 import com.netty.communication.pipeline.PipelineFactory;
+import com.netty.communication.dedup.ContentDefinedChunker;
+import com.netty.communication.dto.BulkFileEntryDto;
+import com.netty.communication.dto.BulkFileUploadDto;
+import com.netty.communication.dto.BulkUploadResultDto;
+import com.netty.communication.dto.DirectorySyncDto;
+import com.netty.communication.dto.DirectorySyncResultDto;
 import com.netty.communication.dto.FileDownloadDto;
+import com.netty.communication.dto.FileStatusDto;
 import com.netty.communication.dto.FileUploadDto;
+import com.netty.communication.dto.RemoteFileDto;
+import com.netty.communication.dto.StripedTransferResultDto;
+import com.netty.communication.dto.TransferResultDto;
 import com.netty.communication.eventloop.ClientEventLoopGroupManager;
+import com.netty.communication.exception.ConnectionClosedException;
+import com.netty.communication.exception.IncompleteTransferException;
+import com.netty.communication.exception.NotFileException;
+import com.netty.communication.exception.TransferCancelledException;
 import com.netty.communication.handler.duplex.RequestResultChecker;
+import com.netty.communication.handler.inbound.FileBatchResultCollector;
+import com.netty.communication.handler.inbound.FileStoreHandler;
+import com.netty.communication.message.ChecksumMode;
+import com.netty.communication.message.FileStatReply;
+import com.netty.communication.message.SessionParameters;
+import com.netty.communication.message.TransferCancel;
+import com.netty.communication.message.UserBulkFileUploadRequest;
+import com.netty.communication.message.UserDirectorySyncRequest;
+import com.netty.communication.message.UserFileDedupUploadRequest;
+import com.netty.communication.message.UserFileDeltaUploadRequest;
 import com.netty.communication.message.UserFileDownloadRequest;
+import com.netty.communication.message.UserFileRangeCommitRequest;
+import com.netty.communication.message.UserFileStatRequest;
 import com.netty.communication.message.UserFileUploadRequest;
 import com.netty.communication.message.UserRequest;
+import com.netty.communication.message.UserStreamDownloadRequest;
+import com.netty.communication.message.UserStreamUploadRequest;
+import com.netty.communication.metrics.ChannelRole;
+import com.netty.communication.session.ChannelSession;
+import com.netty.communication.specification.channel.ChannelSpecProvider;
+import com.netty.communication.specification.response.ResponseSpec;
+import com.netty.communication.sync.DirectorySyncState;
+import com.netty.communication.sync.MerkleTreeBuilder;
 import com.netty.communication.tcp.client.DefaultTcpClient;
 import com.netty.communication.tcp.client.TcpClient;
+import com.netty.communication.trace.Span;
+import com.netty.communication.trace.SpanStore;
+import com.netty.communication.trace.TraceContext;
+import com.netty.communication.transfer.FileRange;
+import com.netty.communication.transfer.StreamSink;
+import com.netty.communication.transfer.StripePlanner;
+import com.netty.communication.transfer.StripeTracker;
+import com.netty.communication.transfer.TransferDeadline;
+import com.netty.communication.transfer.TransferProgress;
+import com.netty.communication.transfer.TransferStage;
+import com.netty.communication.util.AdvancedFileUtils;
+import com.netty.communication.util.ChecksumUtils;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelPipeline;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 /**
  * Implementation of the FileClient interface for handling file upload and download operations over TCP.
  */
 @Component
 public class TcpFileClient implements FileClient {
-
     private final ClientEventLoopGroupManager eventLoopGroupManager;
     private final PipelineFactory pipelineFactory;
+    private final ChannelSpecProvider channelSpecProvider;
+    private final MerkleTreeBuilder syncTreeBuilder;
+    private final ContentDefinedChunker chunker;
+    private final StripeTracker stripeTracker;
+    private final SpanStore spanStore;
+    private final Map<String, StripePlanner> stripePlanners = new ConcurrentHashMap<>();
 
     /**
      * Constructs a TcpFileClient with the specified event loop group manager and pipeline factory.
      *
      * @param eventLoopGroupManager the manager for client event loop groups
      * @param pipelineFactory       the factory for creating TCP channel pipelines
+     * @param channelSpecProvider   the specification provider for channel configurations
+     * @param stripeTracker         the tracker of the stripes received for striped downloads
+     * @param spanStore             the store the spans of traced transfers are recorded in
      */
     @Autowired
     public TcpFileClient(ClientEventLoopGroupManager eventLoopGroupManager,
-                         @Qualifier("tcpFileClientPipelineFactory") PipelineFactory pipelineFactory) {
+                         @Qualifier("tcpFileClientPipelineFactory") PipelineFactory pipelineFactory,
+                         ChannelSpecProvider channelSpecProvider, StripeTracker stripeTracker,
+                         SpanStore spanStore) {
         this.eventLoopGroupManager = eventLoopGroupManager;
         this.pipelineFactory = pipelineFactory;
+        this.channelSpecProvider = channelSpecProvider;
+        this.syncTreeBuilder = new MerkleTreeBuilder(channelSpecProvider.client().syncTreeParallelism());
+        this.chunker = new ContentDefinedChunker(
+                channelSpecProvider.client().dedupMinChunkSize(),
+                channelSpecProvider.client().dedupAvgChunkSize(),
+                channelSpecProvider.client().dedupMaxChunkSize());
+        this.stripeTracker = stripeTracker;
+        this.spanStore = spanStore;
+    }
+
+    /**
+     * Shuts down the threads that build the trees of local directories for syncs.
+     */
+    @PreDestroy
+    void tearDown() {
+        syncTreeBuilder.close();
     }
 
     /**
      * Downloads a file using the specified file download specifications.
+     * If the connection is lost, the download is retried and continues where it stopped.
+     * With a timeout, the download is cancelled once it has passed, on the server as well.
      *
      * @param spec the file download specifications
      * @throws ExecutionException if the operation fails due to an execution error
@@ -49,15 +150,147 @@ public class TcpFileClient implements FileClient {
      */
     @Override
     public void downloadFile(FileDownloadDto spec) throws ExecutionException, InterruptedException, TimeoutException {
+        await(downloadFileAsync(spec));
+    }
+
+    /**
+     * Downloads a file without blocking the calling thread.
+     * If the connection is lost, the download is retried and continues where it stopped.
+     * With a timeout, the download is cancelled once it has passed, on the server as well;
+     * cancelling the returned future cancels it the same way.
+     *
+     * @param spec     the file download specifications
+     * @param progress the progress the download reports to, or null
+     * @return a future completed with the size of the file and the achieved throughput
+     */
+    @Override
+    public CompletableFuture<TransferResultDto> downloadFileAsync(FileDownloadDto spec, TransferProgress progress) {
+        // the size is taken from the progress, so that the completion does not touch the file system on the event loop
+        var tracked = progress != null ? progress : new TransferProgress();
         var downloadRequest = UserFileDownloadRequest.builder()
                 .srcFile(spec.source().file())
                 .dstFile(spec.destination().file())
+                .deadline(TransferDeadline.afterOrNone(spec.timeoutMillis()))
+                .progress(tracked)
+                .build();
+        long start = System.nanoTime();
+        return retryingRequestAsync(downloadRequest, spec.source().ip(), spec.source().port(),
+                pipeline -> transferResult(spec.destination().file(), downloadedBytes(tracked), start));
+    }
+
+    /**
+     * Downloads a large file in stripes fetched concurrently, each over its own connection.
+     *
+     * @param spec the file download specifications
+     * @return the size of the file, the number of stripes and the achieved throughput
+     * @throws ExecutionException if the operation fails due to an execution error
+     * @throws InterruptedException if the operation is interrupted
+     * @throws TimeoutException if the operation times out
+     * @see #downloadFileStripedAsync(FileDownloadDto)
+     */
+    @Override
+    public StripedTransferResultDto downloadFileStriped(FileDownloadDto spec)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return await(downloadFileStripedAsync(spec));
+    }
+
+    /**
+     * Downloads a large file in stripes fetched concurrently, each over its own connection, without blocking
+     * the calling thread. The stripes are written in place into a file preallocated to the size of the source,
+     * which replaces the destination once all of them have arrived. The number of stripes is chosen by the
+     * {@link StripePlanner} of the server from the throughput of earlier transfers; a file too small to be
+     * split is downloaded as a whole. Cancelling the returned future cancels the running stripes.
+     *
+     * @param spec the file download specifications
+     * @return a future completed with the size of the file, the number of stripes and the achieved throughput
+     */
+    @Override
+    public CompletableFuture<StripedTransferResultDto> downloadFileStripedAsync(FileDownloadDto spec) {
+        var ip = spec.source().ip();
+        int port = spec.source().port();
+        var statRequest = UserFileStatRequest.builder()
+                .file(spec.source().file())
                 .build();
-        requestTemplate(downloadRequest, spec.source().ip(), spec.source().port());
+        var planner = stripePlanner("download", ip, port);
+
+        var outcome = new CompletableFuture<StripedTransferResultDto>();
+        cancelledWith(outcome, requestAsync(statRequest, ip, port,
+                pipeline -> ChannelSession.of(pipeline.channel()).attachment(FileStatReply.class).getSize()))
+                .thenComposeAsync(size -> {
+                    int stripes = planner.stripesFor(size);
+                    long start = System.nanoTime();
+                    var transfer = stripes == 1
+                            ? cancelledWith(outcome, downloadFileAsync(spec))
+                            : downloadStripesAsync(spec, size, stripes, TransferDeadline.afterOrNone(spec.timeoutMillis()),
+                                                   outcome);
+                    return transfer.thenApply(ignored ->
+                            stripedTransferResult(planner, size, stripes, System.nanoTime() - start));
+                }, eventLoopGroupManager.fireStore())
+                .whenComplete((value, cause) -> complete(outcome, value, cause));
+        return outcome;
+    }
+
+    /**
+     * Downloads the stripes of a file into a preallocated file and moves it to the destination
+     * once the {@link StripeTracker} has seen stripes covering the whole file. It is called on the
+     * file store group, where the file is prepared; the stripes themselves run on the channel I/O group.
+     *
+     * @param spec     the file download specifications
+     * @param size     the size of the file
+     * @param stripes  the number of stripes
+     * @param deadline the deadline shared by all stripes, or null for none
+     * @param outcome  the future of the download, whose cancellation cancels the stripes
+     * @return a future completed once the file has been moved to the destination; it fails with an
+     *         {@link IncompleteTransferException} if not all stripes have been received
+     */
+    private CompletableFuture<Void> downloadStripesAsync(FileDownloadDto spec, long size, int stripes,
+                                                         TransferDeadline deadline, CompletableFuture<?> outcome) {
+        var rootPath = channelSpecProvider.client().rootPath();
+        var stripedFile = StripeTracker.stripedPath(spec.destination().file());
+        var stripedPath = Path.of(rootPath, stripedFile).normalize();
+        try {
+            AdvancedFileUtils.makeDirectoriesIfNotExist(stripedPath.toString());
+            try (var file = new RandomAccessFile(stripedPath.toFile(), "rw")) {
+                file.setLength(size);
+            }
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        var transfers = new ArrayList<CompletableFuture<Void>>(stripes);
+        for (var range : stripeRanges(size, stripes)) {
+            var downloadRequest = UserFileDownloadRequest.builder()
+                    .srcFile(spec.source().file())
+                    .dstFile(stripedFile)
+                    .range(range)
+                    .deadline(deadline)
+                    .build();
+            transfers.add(retryingRequestAsync(downloadRequest, spec.source().ip(), spec.source().port(),
+                    pipeline -> null));
+        }
+
+        return allOf(outcome, transfers)
+                .exceptionallyCompose(cause -> onFileStore(() -> {
+                    stripeTracker.discard(stripedPath.toString());
+                    Files.deleteIfExists(stripedPath);
+                    return null;
+                }).thenCompose(ignored -> CompletableFuture.failedFuture(cause)))
+                .thenCompose(ignored -> onFileStore(() -> {
+                    if (!stripeTracker.complete(stripedPath.toString(), size).complete()) {
+                        Files.deleteIfExists(stripedPath);
+                        throw new IncompleteTransferException(
+                                "Not all stripes of " + spec.destination().file() + " have been received");
+                    }
+                    Files.move(stripedPath, Path.of(rootPath, spec.destination().file()).normalize(),
+                            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    return null;
+                }));
     }
 
     /**
      * Uploads a file using the specified file upload specifications.
+     * If the connection is lost, the upload is retried and continues where it stopped.
+     * With a timeout, the upload is cancelled once it has passed.
      *
      * @param spec the file upload specifications
      * @throws ExecutionException if the operation fails due to an execution error
@@ -66,15 +299,634 @@ public class TcpFileClient implements FileClient {
      */
     @Override
     public void uploadFile(FileUploadDto spec) throws ExecutionException, InterruptedException, TimeoutException {
+        await(uploadFileAsync(spec));
+    }
+
+    /**
+     * Uploads a file without blocking the calling thread.
+     * If the connection is lost, the upload is retried and continues where it stopped.
+     * With a timeout, the upload is cancelled once it has passed; cancelling the returned future
+     * cancels it the same way.
+     *
+     * @param spec     the file upload specifications
+     * @param progress the progress the upload reports to, or null
+     * @return a future completed with the size of the file and the achieved throughput
+     */
+    @Override
+    public CompletableFuture<TransferResultDto> uploadFileAsync(FileUploadDto spec, TransferProgress progress) {
         var uploadRequest = UserFileUploadRequest.builder()
                 .srcFile(spec.source().file())
                 .dstFile(spec.destination().file())
+                .deadline(TransferDeadline.afterOrNone(spec.timeoutMillis()))
+                .progress(progress)
+                .build();
+        // the size is read once on the calling thread, never in the completion on the event loop
+        var source = Path.of(channelSpecProvider.client().rootPath(), spec.source().file()).normalize().toFile();
+        long size = source.length();
+        if (progress != null && source.isFile()) {
+            progress.totalBytes(size);
+        }
+        long start = System.nanoTime();
+        return retryingRequestAsync(uploadRequest, spec.destination().ip(), spec.destination().port(),
+                pipeline -> transferResult(spec.destination().file(), size, start));
+    }
+
+    /**
+     * Uploads bytes read from a channel without a local file.
+     * The bytes are sent as a chunk stream read on the stream source threads; with a timeout, the upload is
+     * cancelled once it has passed. It is not retried, since the channel cannot be read again.
+     *
+     * @param source        the channel to read the bytes from
+     * @param destination   the server and the path the bytes are stored at
+     * @param timeoutMillis the time the client waits for the upload before cancelling it, or null
+     * @return a future completed with the number of uploaded bytes and the achieved throughput
+     */
+    @Override
+    public CompletableFuture<TransferResultDto> uploadStream(ReadableByteChannel source, RemoteFileDto destination,
+                                                             Long timeoutMillis) {
+        var counted = new CountingChannel(source);
+        var uploadRequest = UserStreamUploadRequest.builder()
+                .source(counted)
+                .dstFile(destination.file())
+                .deadline(TransferDeadline.afterOrNone(timeoutMillis))
+                .build();
+        long start = System.nanoTime();
+        return requestAsync(uploadRequest, destination.ip(), destination.port(),
+                pipeline -> transferResult(destination.file(), counted.count(), start));
+    }
+
+    /**
+     * Uploads the remaining bytes of a buffer without a local file.
+     *
+     * @param source        the bytes to upload
+     * @param destination   the server and the path the bytes are stored at
+     * @param timeoutMillis the time the client waits for the upload before cancelling it, or null
+     * @return a future completed with the number of uploaded bytes and the achieved throughput
+     */
+    @Override
+    public CompletableFuture<TransferResultDto> uploadStream(ByteBuffer source, RemoteFileDto destination,
+                                                             Long timeoutMillis) {
+        var channel = Channels.newChannel(new ByteBufInputStream(Unpooled.wrappedBuffer(source.duplicate())));
+        return uploadStream(channel, destination, timeoutMillis);
+    }
+
+    /**
+     * Downloads a file into a subscriber without a local file.
+     * The received chunks are handed to a {@link StreamSink} and acknowledged as the subscriber consumes them.
+     * The returned future completes once the subscriber has been completed; if the download fails, the
+     * subscriber receives the error. Cancelling the subscription or the returned future cancels the download.
+     *
+     * @param source        the server and the path of the file
+     * @param subscriber    the subscriber the bytes of the file are delivered to
+     * @param timeoutMillis the time the client waits for the download before cancelling it, or null
+     * @return a future completed with the number of downloaded bytes and the achieved throughput
+     */
+    @Override
+    public CompletableFuture<TransferResultDto> downloadStream(RemoteFileDto source,
+                                                               Flow.Subscriber<? super ByteBuffer> subscriber,
+                                                               Long timeoutMillis) {
+        var sink = StreamSink.subscribe(subscriber);
+        var downloadRequest = UserStreamDownloadRequest.builder()
+                .srcFile(source.file())
+                .sink(sink)
+                .deadline(TransferDeadline.afterOrNone(timeoutMillis))
+                .build();
+        long start = System.nanoTime();
+        var transfer = requestAsync(downloadRequest, source.ip(), source.port(), pipeline -> null);
+        transfer.whenComplete((ignored, cause) -> sink.fail(cause != null ? cause
+                : new IncompleteTransferException("The download of " + source.file() + " ended early.")));
+        sink.delivered().whenComplete((size, cause) -> {
+            if (cause != null) {
+                transfer.cancel(false);
+            }
+        });
+        var result = sink.delivered().thenApply(size -> transferResult(source.file(), size, start));
+        result.whenComplete((value, cause) -> {
+            if (result.isCancelled()) {
+                sink.cancel();
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Uploads a large file in stripes sent concurrently, each over its own connection.
+     *
+     * @param spec the file upload specifications
+     * @return the size of the file, the number of stripes and the achieved throughput
+     * @throws ExecutionException if the operation fails due to an execution error
+     * @throws InterruptedException if the operation is interrupted
+     * @throws TimeoutException if the operation times out
+     * @see #uploadFileStripedAsync(FileUploadDto)
+     */
+    @Override
+    public StripedTransferResultDto uploadFileStriped(FileUploadDto spec)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return await(uploadFileStripedAsync(spec));
+    }
+
+    /**
+     * Uploads a large file in stripes sent concurrently, each over its own connection, without blocking the
+     * calling thread. The server writes every chunk in place at the offset it carries and records each stripe
+     * once it has been received completely; after all stripes have been acknowledged, a commit request makes
+     * it install the file, which it does only if the stripes cover the whole file. The number of stripes is
+     * chosen by the {@link StripePlanner} of the server; a file too small to be split is uploaded as a whole.
+     * Cancelling the returned future cancels the running stripes.
+     *
+     * @param spec the file upload specifications
+     * @return a future completed with the size of the file, the number of stripes and the achieved throughput
+     */
+    @Override
+    public CompletableFuture<StripedTransferResultDto> uploadFileStripedAsync(FileUploadDto spec) {
+        var ip = spec.destination().ip();
+        int port = spec.destination().port();
+        long size;
+        try {
+            size = Files.size(Path.of(channelSpecProvider.client().rootPath(), spec.source().file()).normalize());
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        var planner = stripePlanner("upload", ip, port);
+        int stripes = planner.stripesFor(size);
+
+        var outcome = new CompletableFuture<StripedTransferResultDto>();
+        long start = System.nanoTime();
+        var transfer = stripes == 1
+                ? cancelledWith(outcome, uploadFileAsync(spec))
+                : uploadStripesAsync(spec, size, stripes, TransferDeadline.afterOrNone(spec.timeoutMillis()), outcome);
+        transfer.thenApply(ignored -> stripedTransferResult(planner, size, stripes, System.nanoTime() - start))
+                .whenComplete((value, cause) -> complete(outcome, value, cause));
+        return outcome;
+    }
+
+    /**
+     * Uploads the stripes of a file and commits the file once every stripe has been acknowledged.
+     * If CRC32C checksums are offered, the checksum of the whole source file is computed on the file store
+     * group while the stripes are sent. If a stripe fails, the upload is discarded, so that the server deletes
+     * the striped file.
+     *
+     * @param spec     the file upload specifications
+     * @param size     the size of the file
+     * @param stripes  the number of stripes
+     * @param deadline the deadline shared by all stripes, or null for none
+     * @param outcome  the future of the upload, whose cancellation cancels the stripes
+     * @return a future completed once the server has installed the file
+     */
+    private CompletableFuture<Void> uploadStripesAsync(FileUploadDto spec, long size, int stripes,
+                                                       TransferDeadline deadline, CompletableFuture<?> outcome) {
+        var ip = spec.destination().ip();
+        int port = spec.destination().port();
+        var stripedFile = StripeTracker.stripedPath(spec.destination().file());
+        var source = Path.of(channelSpecProvider.client().rootPath(), spec.source().file()).normalize();
+
+        var crc32c = (channelSpecProvider.client().checksumMask() & ChecksumMode.CRC32C.mask()) != 0
+                ? onFileStore(() -> ChecksumUtils.crc32c(source))
+                : CompletableFuture.<Integer>completedFuture(null);
+        var transfers = new ArrayList<CompletableFuture<Void>>(stripes);
+        for (var range : stripeRanges(size, stripes)) {
+            var uploadRequest = UserFileUploadRequest.builder()
+                    .srcFile(spec.source().file())
+                    .dstFile(stripedFile)
+                    .range(range)
+                    .deadline(deadline)
+                    .build();
+            transfers.add(retryingRequestAsync(uploadRequest, ip, port, pipeline -> null));
+        }
+
+        return CompletableFuture.allOf(allOf(outcome, transfers), crc32c)
+                .exceptionallyCompose(cause -> {
+                    var discardRequest = UserFileRangeCommitRequest.builder()
+                            .dstFile(spec.destination().file())
+                            .size(size)
+                            .discard(true)
+                            .build();
+                    return requestAsync(discardRequest, ip, port, pipeline -> null)
+                            .handle((ignored, discardFailure) -> {
+                                if (discardFailure != null) {
+                                    unwrap(cause).addSuppressed(unwrap(discardFailure));
+                                }
+                                return null;
+                            })
+                            .thenCompose(ignored -> CompletableFuture.failedFuture(cause));
+                })
+                .thenCompose(ignored -> {
+                    var commitRequest = UserFileRangeCommitRequest.builder()
+                            .dstFile(spec.destination().file())
+                            .size(size)
+                            .crc32c(crc32c.join())
+                            .build();
+                    return requestAsync(commitRequest, ip, port, pipeline -> null);
+                });
+    }
+
+    /**
+     * Returns the planner of the stripe counts for transfers in one direction to one server.
+     *
+     * @param direction the direction of the transfers
+     * @param ip        the IP address of the server
+     * @param port      the port number of the server
+     * @return the planner, created on first use
+     */
+    private StripePlanner stripePlanner(String direction, String ip, int port) {
+        return stripePlanners.computeIfAbsent(direction + " " + ip + ":" + port, key -> new StripePlanner(
+                channelSpecProvider.client().initialStripes(),
+                channelSpecProvider.client().maxStripes(),
+                channelSpecProvider.client().minStripeBytes()));
+    }
+
+    /**
+     * Splits a file into stripes of equal size; the last stripe may be shorter.
+     *
+     * @param size    the size of the file
+     * @param stripes the number of stripes
+     * @return the ranges of the stripes
+     */
+    private static List<FileRange> stripeRanges(long size, int stripes) {
+        long stripeSize = (size + stripes - 1) / stripes;
+        var ranges = new ArrayList<FileRange>(stripes);
+        for (long offset = 0; offset < size; offset += stripeSize) {
+            ranges.add(new FileRange(offset, Math.min(stripeSize, size - offset)));
+        }
+        return ranges;
+    }
+
+    /**
+     * Summarizes a transfer that started at the given time and has just completed.
+     *
+     * @param file      the destination of the transfer
+     * @param size      the size of the file
+     * @param startNanos the value of {@link System#nanoTime()} when the transfer started
+     * @return the summary of the transfer
+     */
+    private static TransferResultDto transferResult(String file, long size, long startNanos) {
+        long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        return new TransferResultDto(file, size, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                (long) (size * 1e9 / elapsedNanos));
+    }
+
+    /**
+     * Returns the size of a completed download from its progress: the size announced by the server for a
+     * file sent in chunks, or the stored bytes for a small file, which arrives without an announcement.
+     *
+     * @param progress the progress of the download
+     * @return the size of the file
+     */
+    private static long downloadedBytes(TransferProgress progress) {
+        long total = progress.totalBytes();
+        return total >= 0 ? total : progress.transferredBytes();
+    }
+
+    /**
+     * Reports a striped transfer to its planner and summarizes it.
+     *
+     * @param planner      the planner that chose the number of stripes
+     * @param size         the size of the file
+     * @param stripes      the number of stripes
+     * @param elapsedNanos the duration of the transfer
+     * @return the summary of the transfer
+     */
+    private static StripedTransferResultDto stripedTransferResult(StripePlanner planner, long size, int stripes,
+                                                                  long elapsedNanos) {
+        planner.onTransfer(stripes, size, elapsedNanos);
+        return new StripedTransferResultDto(size, stripes, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                (long) (size * 1e9 / elapsedNanos));
+    }
+
+    /**
+     * Uploads a file in deduplication mode using the specified file upload specifications.
+     * The file is split into content-defined chunks before connecting, and only the chunks missing on
+     * the server are sent.
+     *
+     * @param spec the file upload specifications
+     * @throws IOException if the source file does not exist or cannot be read
+     * @throws ExecutionException if the operation fails due to an execution error
+     * @throws InterruptedException if the operation is interrupted
+     * @throws TimeoutException if the operation times out
+     */
+    @Override
+    public void uploadFileDeduplicated(FileUploadDto spec)
+            throws IOException, ExecutionException, InterruptedException, TimeoutException {
+        var srcFile = Path.of(channelSpecProvider.client().rootPath(), spec.source().file()).normalize();
+        if (Files.isDirectory(srcFile)) {
+            throw new NotFileException(srcFile.toString());
+        }
+        if (!Files.exists(srcFile)) {
+            throw new FileNotFoundException(srcFile.toString());
+        }
+
+        var uploadRequest = UserFileDedupUploadRequest.builder()
+                .srcFile(srcFile.toString())
+                .dstFile(spec.destination().file())
+                .fileSize(Files.size(srcFile))
+                .chunks(chunker.split(srcFile))
                 .build();
         requestTemplate(uploadRequest, spec.destination().ip(), spec.destination().port());
     }
 
+    /**
+     * Uploads a file in delta mode using the specified file upload specifications.
+     * The server sends the block signatures of its copy and only literal data and block references are sent back.
+     *
+     * @param spec the file upload specifications
+     * @throws ExecutionException if the operation fails due to an execution error
+     * @throws InterruptedException if the operation is interrupted
+     * @throws TimeoutException if the operation times out
+     */
+    @Override
+    public void uploadFileDelta(FileUploadDto spec) throws ExecutionException, InterruptedException, TimeoutException {
+        var uploadRequest = UserFileDeltaUploadRequest.builder()
+                .srcFile(spec.source().file())
+                .dstFile(spec.destination().file())
+                .build();
+        requestTemplate(uploadRequest, spec.destination().ip(), spec.destination().port());
+    }
+
+    /**
+     * Uploads many files to one server over a single connection.
+     *
+     * @param spec the bulk upload specifications
+     * @return the status of every file, in the order of the request
+     * @throws ExecutionException if the operation fails due to an execution error
+     * @throws InterruptedException if the operation is interrupted
+     * @throws TimeoutException if the operation times out
+     * @see #uploadFilesAsync(BulkFileUploadDto)
+     */
+    @Override
+    public BulkUploadResultDto uploadFiles(BulkFileUploadDto spec) throws ExecutionException, InterruptedException, TimeoutException {
+        return await(uploadFilesAsync(spec));
+    }
+
+    /**
+     * Uploads many files to one server over a single connection without blocking the calling thread.
+     * Small files are packed into shared frames, larger files are sent as chunk streams,
+     * and the server reports the status of every file.
+     *
+     * @param spec the bulk upload specifications
+     * @return a future completed with the status of every file, in the order of the request
+     */
+    @Override
+    public CompletableFuture<BulkUploadResultDto> uploadFilesAsync(BulkFileUploadDto spec) {
+        var uploadRequest = UserBulkFileUploadRequest.builder()
+                .files(spec.files().stream()
+                        .map(file -> new UserBulkFileUploadRequest.Entry(file.source(), file.destination()))
+                        .toList())
+                .preserveTimes(spec.preserveTimes())
+                .build();
+        var outcome = new CompletableFuture<BulkUploadResultDto>();
+        cancelledWith(outcome, requestAsync(uploadRequest, spec.ip(), spec.port(),
+                pipeline -> pipeline.get(FileBatchResultCollector.class).results()))
+                .thenApply(results -> {
+                    var files = new ArrayList<FileStatusDto>(spec.files().size());
+                    int failed = 0;
+                    for (int index = 0; index < spec.files().size(); index++) {
+                        var file = spec.files().get(index);
+                        var status = results.getOrDefault(index, ResponseSpec.SYSTEM_ERROR);
+                        if (status != ResponseSpec.OK) {
+                            failed++;
+                        }
+                        files.add(new FileStatusDto(file.source(), file.destination(), status.getErrorNo(),
+                                status.getErrorMessage()));
+                    }
+                    return new BulkUploadResultDto(failed, files);
+                })
+                .whenComplete((value, cause) -> complete(outcome, value, cause));
+        return outcome;
+    }
+
+    /**
+     * Brings a directory on a server up to date with a local directory.
+     *
+     * @param spec the directory sync specifications
+     * @return the numbers of compared and changed files and the status of every transferred file
+     * @throws ExecutionException if the operation fails due to an execution error
+     * @throws InterruptedException if the operation is interrupted
+     * @throws TimeoutException if the operation times out
+     * @see #syncDirectoryAsync(DirectorySyncDto)
+     */
+    @Override
+    public DirectorySyncResultDto syncDirectory(DirectorySyncDto spec)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return await(syncDirectoryAsync(spec));
+    }
+
+    /**
+     * Brings a directory on a server up to date with a local directory without blocking the calling thread.
+     * Both sides build a Merkle tree of their directory and only the subtrees whose hashes differ are
+     * compared; the local tree is built on the threads of the {@link MerkleTreeBuilder} before connecting.
+     * The changed files are then uploaded as bulk uploads over a bounded number of parallel connections,
+     * keeping their modification times so that the next sync sees them as unchanged.
+     *
+     * @param spec the directory sync specifications
+     * @return a future completed with the numbers of compared and changed files and the status of every
+     *         transferred file; it fails with a {@link FileNotFoundException} or {@link NotFileException}
+     *         if the local directory does not exist or is not a directory
+     */
+    @Override
+    public CompletableFuture<DirectorySyncResultDto> syncDirectoryAsync(DirectorySyncDto spec) {
+        var srcDir = Path.of(channelSpecProvider.client().rootPath(), spec.source().file()).normalize();
+        if (!Files.exists(srcDir)) {
+            return CompletableFuture.failedFuture(new FileNotFoundException(srcDir.toString()));
+        }
+        if (!Files.isDirectory(srcDir)) {
+            return CompletableFuture.failedFuture(new NotFileException(srcDir.toString()));
+        }
+
+        var outcome = new CompletableFuture<DirectorySyncResultDto>();
+        syncTreeBuilder.buildAsync(srcDir, spec.contentHash())
+                .thenCompose(root -> {
+                    var syncRequest = UserDirectorySyncRequest.builder()
+                            .root(root)
+                            .dstDir(spec.destination().file())
+                            .contentHash(spec.contentHash())
+                            .build();
+                    return cancelledWith(outcome, requestAsync(syncRequest, spec.destination().ip(),
+                            spec.destination().port(),
+                            pipeline -> ChannelSession.of(pipeline.channel()).attachment(DirectorySyncState.class)));
+                })
+                .thenCompose(state -> uploadChangedFiles(spec, state, outcome))
+                .whenComplete((value, cause) -> complete(outcome, value, cause));
+        return outcome;
+    }
+
+    /**
+     * Uploads the files a directory sync found changed, partitioned into bulk uploads that each run on their
+     * own connection, all at the same time.
+     *
+     * @param spec    the directory sync specifications
+     * @param state   the result of comparing the trees of both directories
+     * @param outcome the future of the sync, whose cancellation cancels the uploads
+     * @return a future completed with the numbers of compared and changed files and the status of every
+     *         transferred file
+     */
+    private CompletableFuture<DirectorySyncResultDto> uploadChangedFiles(DirectorySyncDto spec, DirectorySyncState state,
+                                                                         CompletableFuture<?> outcome) {
+        var changedFiles = state.changedFiles();
+        // at least one stream, so that the changed files can always be partitioned
+        int nStreams = Math.min(Math.max(1, channelSpecProvider.client().syncTransferStreams()), changedFiles.size());
+        var partitions = new ArrayList<List<BulkFileEntryDto>>();
+        for (int i = 0; i < nStreams; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (int i = 0; i < changedFiles.size(); i++) {
+            var path = changedFiles.get(i);
+            partitions.get(i % nStreams).add(new BulkFileEntryDto(
+                    spec.source().file() + "/" + path, spec.destination().file() + "/" + path));
+        }
+
+        var uploads = partitions.stream()
+                .map(partition -> uploadFilesAsync(new BulkFileUploadDto(
+                        spec.destination().ip(), spec.destination().port(), partition, true)))
+                .toList();
+        return allOf(outcome, uploads).thenApply(results -> {
+            var files = new ArrayList<FileStatusDto>(changedFiles.size());
+            int failed = 0;
+            for (var result : results) {
+                files.addAll(result.getFiles());
+                failed += result.getFailed();
+            }
+            return new DirectorySyncResultDto(state.root().fileCount(), changedFiles.size(), failed, files);
+        });
+    }
+
+    /**
+     * Combines requests running at the same time into one future, completed once all of them have completed.
+     *
+     * @param outcome  the future of the transfer the requests belong to, whose cancellation cancels them
+     * @param requests the running requests
+     * @param <T>      the type of the results
+     * @return a future completed with the results, in the order of the requests, or with the failure of one of them
+     */
+    private static <T> CompletableFuture<List<T>> allOf(CompletableFuture<?> outcome, List<CompletableFuture<T>> requests) {
+        requests.forEach(request -> cancelledWith(outcome, request));
+        return CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> requests.stream().map(CompletableFuture::join).toList());
+    }
+
+    /**
+     * Cancels a stage of a composed transfer when the future of the transfer is cancelled, since a
+     * cancellation does not travel back to the stages the future depends on.
+     *
+     * @param outcome the future of the transfer
+     * @param stage   the running stage
+     * @param <T>     the type of the result of the stage
+     * @return the stage
+     */
+    private static <T> CompletableFuture<T> cancelledWith(CompletableFuture<?> outcome, CompletableFuture<T> stage) {
+        outcome.whenComplete((value, cause) -> {
+            if (outcome.isCancelled()) {
+                stage.cancel(true);
+            }
+        });
+        return stage;
+    }
+
+    /**
+     * Completes the future of a composed transfer with the result of its last stage.
+     *
+     * @param outcome the future of the transfer
+     * @param value   the result of the last stage
+     * @param cause   the failure of the last stage, or null
+     * @param <T>     the type of the result
+     */
+    private static <T> void complete(CompletableFuture<T> outcome, T value, Throwable cause) {
+        if (cause != null) {
+            outcome.completeExceptionally(unwrap(cause));
+        } else {
+            outcome.complete(value);
+        }
+    }
+
+    private static Throwable unwrap(Throwable cause) {
+        return cause instanceof CompletionException && cause.getCause() != null ? cause.getCause() : cause;
+    }
+
+    /**
+     * Runs a step that touches the file system on the file store group rather than on an event loop of a channel.
+     *
+     * @param step the step
+     * @param <T>  the type of the result of the step
+     * @return a future completed with the result of the step, or with the exception it threw
+     */
+    private <T> CompletableFuture<T> onFileStore(Callable<T> step) {
+        var result = new CompletableFuture<T>();
+        eventLoopGroupManager.fireStore().execute(() -> {
+            try {
+                result.complete(step.call());
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Sends a resumable transfer request without blocking, retrying it on a new connection if the
+     * connection is lost. Each attempt asks the receiver for the stored progress, so a retry continues
+     * the transfer. A peer that stops responding is not retried, since it would most likely not respond
+     * again. Cancelling the returned future cancels the running attempt.
+     *
+     * @param request the user request to be sent
+     * @param ip      the IP address of the destination
+     * @param port    the port number of the destination
+     * @param result  extracts the result of the request from the pipeline
+     * @param <T>     the type of the result
+     * @return a future completed with the result of the request, or with the failure of the last attempt
+     */
+    private <T> CompletableFuture<T> retryingRequestAsync(UserRequest request, String ip, int port,
+                                                          Function<ChannelPipeline, T> result) {
+        var outcome = new CompletableFuture<T>();
+        outcome.whenComplete((value, cause) -> stage(request, finalStage(cause)));
+        attempt(request, ip, port, result, newTrace(), 0, outcome);
+        return outcome;
+    }
+
+    private <T> void attempt(UserRequest request, String ip, int port, Function<ChannelPipeline, T> result,
+                             TraceContext trace, int attempt, CompletableFuture<T> outcome) {
+        var spec = channelSpecProvider.client();
+        stage(request, attempt == 0 ? TransferStage.CONNECTING : TransferStage.RETRYING);
+        var current = requestAsync(request, ip, port, result, trace);
+        outcome.whenComplete((value, cause) -> {
+            if (outcome.isCancelled()) {
+                current.cancel(true);
+            }
+        });
+        current.whenComplete((value, cause) -> {
+            if (cause == null) {
+                outcome.complete(value);
+            } else if (attempt < spec.transferRetries() && isConnectionLoss(cause) && !outcome.isDone()) {
+                CompletableFuture.delayedExecutor(spec.transferRetryDelayMillis(), TimeUnit.MILLISECONDS)
+                        .execute(() -> attempt(request, ip, port, result, trace == null ? null : trace.nextSpan(),
+                                attempt + 1, outcome));
+            } else {
+                outcome.completeExceptionally(cause);
+            }
+        });
+    }
+
+    private static TransferStage finalStage(Throwable cause) {
+        if (cause == null) {
+            return TransferStage.SUCCEEDED;
+        }
+        var unwrapped = unwrap(cause);
+        return unwrapped instanceof CancellationException || unwrapped instanceof TransferCancelledException
+                ? TransferStage.CANCELLED : TransferStage.FAILED;
+    }
+
+    private static void stage(UserRequest request, TransferStage stage) {
+        if (request.progress() != null) {
+            request.progress().stage(stage);
+        }
+    }
+
+    private static boolean isConnectionLoss(Throwable cause) {
+        return cause instanceof ConnectionClosedException || cause instanceof ClosedChannelException
+                || cause instanceof SocketException;
+    }
+
     /**
      * Template method for sending a request over TCP and waiting for a response.
+     * The request is sent once the connection handshake has completed.
      *
      * @param request the user request to be sent
      * @param ip      the IP address of the destination
@@ -84,24 +936,239 @@ public class TcpFileClient implements FileClient {
      * @throws TimeoutException if the operation times out
      */
     private void requestTemplate(UserRequest request, String ip, int port) throws ExecutionException, InterruptedException, TimeoutException {
-        var pipelineFactory = this.pipelineFactory.get();
+        requestTemplate(request, ip, port, pipeline -> null);
+    }
+
+    /**
+     * Template method for sending a request over TCP, waiting for a response and
+     * reading the result of the request from the pipeline before disconnecting.
+     *
+     * @param request the user request to be sent
+     * @param ip      the IP address of the destination
+     * @param port    the port number of the destination
+     * @param result  extracts the result of the request from the pipeline
+     * @param <T>     the type of the result
+     * @return the result of the request
+     * @throws ExecutionException if the operation fails due to an execution error
+     * @throws InterruptedException if the operation is interrupted
+     * @throws TimeoutException if the operation times out
+     */
+    private <T> T requestTemplate(UserRequest request, String ip, int port, Function<ChannelPipeline, T> result)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        return await(requestAsync(request, ip, port, result));
+    }
+
+    /**
+     * Sends a request over TCP without blocking. The connection, the handshake and the response are awaited
+     * by callbacks on the channel's event loop, so no thread is parked while the request runs.
+     * <p>
+     * The request is sent once the connection handshake has completed, and the result is read from the
+     * pipeline before disconnecting. If the client gives up on the request, because its deadline passes
+     * or the returned future is cancelled, the peer is told to stop the transfer with a
+     * {@link TransferCancel} before the connection is closed. The returned future completes only once the
+     * chunks received on the connection have been stored or dropped, so that a retry never writes the
+     * same file at the same time.
+     *
+     * @param request the user request to be sent
+     * @param ip      the IP address of the destination
+     * @param port    the port number of the destination
+     * @param result  extracts the result of the request from the pipeline
+     * @param <T>     the type of the result
+     * @return a future completed with the result of the request; a passed deadline or handshake timeout
+     *         completes it with a {@link TimeoutException}
+     */
+    private <T> CompletableFuture<T> requestAsync(UserRequest request, String ip, int port,
+                                                  Function<ChannelPipeline, T> result) {
+        return requestAsync(request, ip, port, result, newTrace());
+    }
 
+    /**
+     * Sends a request over TCP without blocking, as one attempt of a traced transfer.
+     * The attempt and its connection handshake are recorded as spans of the trace. If the server speaks a
+     * protocol version that carries trace contexts, the frames of the connection carry the context of the
+     * attempt, so that the server records its spans in the same trace.
+     *
+     * @param request the user request to be sent
+     * @param ip      the IP address of the destination
+     * @param port    the port number of the destination
+     * @param result  extracts the result of the request from the pipeline
+     * @param trace   the trace context of the attempt, or null if the transfer is not traced
+     * @param <T>     the type of the result
+     * @return a future completed with the result of the request
+     */
+    private <T> CompletableFuture<T> requestAsync(UserRequest request, String ip, int port,
+                                                  Function<ChannelPipeline, T> result, TraceContext trace) {
+        long start = System.nanoTime();
         TcpClient tcpClient = new DefaultTcpClient();
-        tcpClient.init(eventLoopGroupManager.channelIo(), pipelineFactory);
-        tcpClient.connect(ip, port).get();
+        tcpClient.init(eventLoopGroupManager.channelIo(), pipelineFactory.get());
 
-        var future = tcpClient.pipeline().get(RequestResultChecker.class).completableFuture();
+        var outcome = new CompletableFuture<T>();
+        var attempt = new CompletableFuture<T>();
+        tcpClient.connectAsync(ip, port).addListener(connected -> {
+            if (!connected.isSuccess()) {
+                attempt.completeExceptionally(connected.cause());
+                return;
+            }
+            var deadline = request.deadline();
+            var session = ChannelSession.of(tcpClient.channel());
+            session.attach(TransferDeadline.class, deadline);
+            session.attach(TransferProgress.class, request.progress());
+            var future = tcpClient.pipeline().get(RequestResultChecker.class).completableFuture();
 
-        tcpClient.send(request).addListener(f -> {
-            if (!f.isSuccess()) {
-                future.completeExceptionally(f.cause());
+            session.established()
+                    .orTimeout(channelSpecProvider.client().handshakeTimeoutSeconds(), TimeUnit.SECONDS)
+                    .thenCompose(parameters -> {
+                        if (trace != null) {
+                            traceConnection(session, parameters, trace, ip + ":" + port, start);
+                        }
+                        stage(request, TransferStage.TRANSFERRING);
+                        tcpClient.send(request).addListener(f -> {
+                            if (!f.isSuccess()) {
+                                future.completeExceptionally(f.cause());
+                            }
+                        });
+                        return deadline == null
+                                ? future
+                                : future.orTimeout(Math.max(0, deadline.remainingNanos()), TimeUnit.NANOSECONDS);
+                    })
+                    .thenApply(ignored -> result.apply(tcpClient.pipeline()))
+                    .whenComplete((value, cause) -> {
+                        if (cause != null) {
+                            attempt.completeExceptionally(cause instanceof CompletionException ? cause.getCause() : cause);
+                        } else {
+                            attempt.complete(value);
+                        }
+                    });
+        });
+        attempt.whenComplete((value, cause) -> {
+            if (outcome.isCancelled() || cause instanceof TimeoutException) {
+                tcpClient.channel().writeAndFlush(TransferCancel.builder().build());
             }
+            disconnectAndDrain(tcpClient).whenComplete((ignored, failure) -> {
+                if (trace != null) {
+                    spanStore.record(Span.of(trace, ChannelRole.CLIENT, request.getClass().getSimpleName())
+                            .remote(ip + ":" + port).since(start).build());
+                }
+                if (cause != null) {
+                    outcome.completeExceptionally(cause);
+                } else {
+                    outcome.complete(value);
+                }
+            });
         });
+        outcome.whenComplete((value, cause) -> {
+            if (outcome.isCancelled()) {
+                attempt.cancel(false);
+            }
+        });
+        return outcome;
+    }
+
+    /**
+     * Starts the trace of a transfer, if transfers are traced.
+     *
+     * @return the trace context of the first attempt, or null
+     */
+    private TraceContext newTrace() {
+        return spanStore.enabled() ? TraceContext.start() : null;
+    }
+
+    /**
+     * Records the connection and handshake of an attempt and, if the server can take part in the trace,
+     * attaches the trace context to the session, so that the frames of the connection carry it.
+     *
+     * @param session    the session of the connection
+     * @param parameters the parameters negotiated in the handshake
+     * @param trace      the trace context of the attempt
+     * @param remote     the address of the server
+     * @param start      the {@link System#nanoTime()} the attempt started at
+     */
+    private void traceConnection(ChannelSession session, SessionParameters parameters, TraceContext trace,
+                                 String remote, long start) {
+        spanStore.record(Span.childOf(trace, ChannelRole.CLIENT, "connect").remote(remote).since(start).build());
+        if (parameters.protocolVersion() >= channelSpecProvider.header().trace().protocolVersion()) {
+            session.attach(TraceContext.class, trace);
+        }
+    }
+
+    /**
+     * Closes the connection and waits until the chunks received on it have been stored or dropped.
+     * The store handlers run on their own executor; a task queued there after the close runs only after
+     * every chunk queued before it.
+     *
+     * @param tcpClient the client to disconnect
+     * @return a future completed once the connection is closed and its chunks are settled
+     */
+    private static CompletableFuture<Void> disconnectAndDrain(TcpClient tcpClient) {
+        var drained = new CompletableFuture<Void>();
+        var store = tcpClient.channel().pipeline().context(FileStoreHandler.class);
+        tcpClient.disconnect().addListener(closed -> {
+            if (store == null) {
+                drained.complete(null);
+            } else {
+                store.executor().execute(() -> drained.complete(null));
+            }
+        });
+        return drained;
+    }
 
+    /**
+     * Waits for the result of a request. Interrupting the waiting thread cancels the request.
+     *
+     * @param future the future of the request
+     * @param <T>    the type of the result
+     * @return the result of the request
+     * @throws ExecutionException if the request fails
+     * @throws InterruptedException if the waiting thread is interrupted
+     * @throws TimeoutException if the deadline of the request or the handshake timeout passes
+     */
+    private static <T> T await(CompletableFuture<T> future)
+            throws ExecutionException, InterruptedException, TimeoutException {
         try {
-            future.get();
-        } finally {
-            tcpClient.disconnect();
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException timeout) {
+                throw timeout;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A channel that counts the bytes read from the channel it wraps.
+     */
+    private static final class CountingChannel implements ReadableByteChannel {
+        private final ReadableByteChannel channel;
+        private final AtomicLong count = new AtomicLong();
+
+        private CountingChannel(ReadableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            int read = channel.read(dst);
+            if (read > 0) {
+                count.addAndGet(read);
+            }
+            return read;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private long count() {
+            return count.get();
         }
     }
 }
@@ -0,0 +1,126 @@
+package com.netty.communication.session;
+
+import com.netty.communication.message.ChecksumMode;
+import com.netty.communication.message.SessionParameters;
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.springframework.lang.Nullable;
+
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-connection state shared by the handlers and processors of one channel.
+ * <p>
+ * The session is stored as a channel attribute and created on first access. It holds the
+ * {@link SessionParameters} negotiated in the handshake; until the handshake completes,
+ * callers fall back to their configured defaults. Multi-step requests may attach their own
+ * state to the session for the lifetime of the connection.
+ */
+@Getter
+@Accessors(fluent = true)
+public class ChannelSession {
+    private static final AttributeKey<ChannelSession> KEY = AttributeKey.valueOf(ChannelSession.class, "session");
+
+    private final SocketAddress remoteAddress;
+    private final CompletableFuture<SessionParameters> established = new CompletableFuture<>();
+    @Nullable
+    private volatile SessionParameters parameters;
+    @Getter(AccessLevel.NONE)
+    private final Map<Class<?>, Object> attachments = new ConcurrentHashMap<>();
+
+    private ChannelSession(SocketAddress remoteAddress) {
+        this.remoteAddress = remoteAddress;
+    }
+
+    /**
+     * Returns the session of the given channel, creating it if necessary.
+     *
+     * @param channel the channel
+     * @return the session of the channel
+     */
+    public static ChannelSession of(Channel channel) {
+        var attribute = channel.attr(KEY);
+        var session = attribute.get();
+        if (session == null) {
+            var created = new ChannelSession(channel.remoteAddress());
+            session = attribute.setIfAbsent(created);
+            if (session == null) {
+                session = created;
+            }
+        }
+        return session;
+    }
+
+    /**
+     * Records the negotiated parameters and completes {@link #established()}.
+     *
+     * @param parameters the negotiated parameters
+     */
+    public void establish(SessionParameters parameters) {
+        this.parameters = parameters;
+        established.complete(parameters);
+    }
+
+    /**
+     * Fails {@link #established()} if the handshake has not completed yet.
+     *
+     * @param cause the reason the handshake failed
+     */
+    public void fail(Throwable cause) {
+        established.completeExceptionally(cause);
+    }
+
+    /**
+     * Returns the state of the given type attached to this session.
+     *
+     * @param type the type of the state
+     * @param <T>  the type of the state
+     * @return the attached state, or null if there is none
+     */
+    @Nullable
+    public <T> T attachment(Class<T> type) {
+        return type.cast(attachments.get(type));
+    }
+
+    /**
+     * Attaches state to this session, replacing any state of the same type.
+     *
+     * @param type  the type of the state
+     * @param value the state, or null to remove it
+     * @param <T>   the type of the state
+     */
+    public <T> void attach(Class<T> type, @Nullable T value) {
+        if (value == null) {
+            attachments.remove(type);
+        } else {
+            attachments.put(type, value);
+        }
+    }
+
+    /**
+     * Returns the negotiated chunk size, or the given default before the handshake.
+     *
+     * @param defaultChunkSize the configured chunk size
+     * @return the chunk size to use on this connection
+     */
+    public int chunkSize(int defaultChunkSize) {
+        var current = parameters;
+        return current != null ? current.chunkSize() : defaultChunkSize;
+    }
+
+    /**
+     * Returns the negotiated checksum mode, or {@link ChecksumMode#NONE} before the handshake.
+     *
+     * @return the checksum mode to use on this connection
+     */
+    public ChecksumMode checksum() {
+        var current = parameters;
+        return current != null ? current.checksum() : ChecksumMode.NONE;
+    }
+}
@@ -0,0 +1,104 @@
+package com.netty.communication.session;
+
+import com.netty.communication.exception.HandshakeRejectedException;
+import com.netty.communication.message.ChecksumMode;
+import com.netty.communication.message.CompressionType;
+import com.netty.communication.message.HandshakeRequest;
+import com.netty.communication.message.SessionParameters;
+import com.netty.communication.specification.channel.FileServerSpec;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Decides the parameters of each connection from the client's proposal, the server defaults
+ * and the per-subnet {@link HandshakeRule}s.
+ * <p>
+ * Rules are evaluated in order and the first matching rule applies. They can be replaced at
+ * runtime, so that for example LAN peers get larger chunks and clients on lossy links smaller ones
+ * without redeploying the server. New rules apply to connections established afterwards.
+ */
+@Component
+public class HandshakePolicy {
+    private final FileServerSpec serverSpec;
+    private final List<HandshakeRule> rules = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a policy with the server defaults and no rules.
+     *
+     * @param serverSpec the file server specification
+     */
+    public HandshakePolicy(FileServerSpec serverSpec) {
+        this.serverSpec = serverSpec;
+    }
+
+    /**
+     * Negotiates the parameters of a connection.
+     *
+     * @param request       the client's handshake proposal
+     * @param remoteAddress the address of the client
+     * @return the parameters both peers will use
+     * @throws HandshakeRejectedException if no common protocol version or compression type exists
+     */
+    public SessionParameters negotiate(HandshakeRequest request, SocketAddress remoteAddress) {
+        int version = Math.min(request.getProtocolVersion(), serverSpec.protocolVersion());
+        if (version < serverSpec.minProtocolVersion()) {
+            throw new HandshakeRejectedException("Unsupported protocol version: " + request.getProtocolVersion());
+        }
+        if ((request.getCompressionMask() & CompressionType.NONE.mask()) == 0) {
+            throw new HandshakeRejectedException("No common compression type: " + request.getCompressionMask());
+        }
+
+        var rule = match(remoteAddress);
+        int chunkSize = rule != null && rule.chunkSize() != null ? rule.chunkSize() : serverSpec.chunkSize();
+        int windowSize = rule != null && rule.windowSize() != null ? rule.windowSize() : serverSpec.windowSize();
+        var checksum = rule != null && rule.checksum() != null ? rule.checksum() : serverSpec.checksumMode();
+        if ((request.getChecksumMask() & checksum.mask()) == 0) {
+            checksum = ChecksumMode.NONE;
+        }
+
+        return SessionParameters.builder()
+                .protocolVersion(version)
+                .chunkSize(Math.min(request.getChunkSize(), chunkSize))
+                .windowSize(Math.min(request.getWindowSize(), windowSize))
+                .compression(CompressionType.NONE)
+                .checksum(checksum)
+                .build();
+    }
+
+    /**
+     * Returns the current rules in evaluation order.
+     *
+     * @return a snapshot of the rules
+     */
+    public List<HandshakeRule> rules() {
+        return List.copyOf(rules);
+    }
+
+    /**
+     * Replaces all rules.
+     *
+     * @param newRules the new rules in evaluation order
+     * @throws IllegalArgumentException if a rule has a malformed subnet or a non-positive size
+     */
+    public synchronized void replaceRules(List<HandshakeRule> newRules) {
+        newRules.forEach(HandshakeRule::validate);
+        rules.clear();
+        rules.addAll(newRules);
+    }
+
+    private HandshakeRule match(SocketAddress remoteAddress) {
+        if (!(remoteAddress instanceof InetSocketAddress inetAddress) || inetAddress.getAddress() == null) {
+            return null;
+        }
+        for (var rule : rules) {
+            if (rule.matches(inetAddress.getAddress())) {
+                return rule;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,116 @@
+package com.netty.communication.session;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.netty.communication.message.ChecksumMode;
+import io.netty.util.NetUtil;
+import org.springframework.lang.Nullable;
+
+import java.net.InetAddress;
+
+/**
+ * A server-side override of the handshake parameters for clients in a subnet.
+ * Unset values fall back to the server defaults; the client's own proposal is always an upper bound.
+ * <p>
+ * The subnet is parsed once, when the rule is created, so that matching a client address only compares
+ * masked bytes. Only IP literals are accepted; a host name is never resolved.
+ *
+ * @param subnet     the subnet in CIDR notation, for example {@code 10.0.0.0/8}
+ * @param chunkSize  the chunk size for clients in the subnet, or null for the default
+ * @param windowSize the window size for clients in the subnet, or null for the default
+ * @param checksum   the checksum mode for clients in the subnet, or null for the default
+ * @param network    the network address of the subnet with the host bits cleared
+ * @param prefix     the number of leading bits of the network address that are compared
+ */
+public record HandshakeRule(String subnet, @Nullable Integer chunkSize, @Nullable Integer windowSize,
+                            @Nullable ChecksumMode checksum, @JsonIgnore byte[] network, @JsonIgnore int prefix) {
+
+    /**
+     * Creates a rule for the given subnet.
+     *
+     * @param subnet     the subnet in CIDR notation, for example {@code 10.0.0.0/8}
+     * @param chunkSize  the chunk size for clients in the subnet, or null for the default
+     * @param windowSize the window size for clients in the subnet, or null for the default
+     * @param checksum   the checksum mode for clients in the subnet, or null for the default
+     * @throws IllegalArgumentException if the subnet is not an IP literal with a valid prefix
+     */
+    @JsonCreator
+    public HandshakeRule(@JsonProperty("subnet") String subnet,
+                         @JsonProperty("chunkSize") @Nullable Integer chunkSize,
+                         @JsonProperty("windowSize") @Nullable Integer windowSize,
+                         @JsonProperty("checksum") @Nullable ChecksumMode checksum) {
+        this(subnet, chunkSize, windowSize, checksum, parseNetwork(subnet), parsePrefix(subnet));
+    }
+
+    /**
+     * Clears the host bits of the network address.
+     *
+     * @throws IllegalArgumentException if the prefix exceeds the length of the network address
+     */
+    public HandshakeRule {
+        if (prefix < 0 || prefix > network.length * 8) {
+            throw new IllegalArgumentException("Invalid subnet prefix: " + subnet);
+        }
+        network = network.clone();
+        for (int i = 0; i < network.length; i++) {
+            network[i] &= mask(prefix, i);
+        }
+    }
+
+    /**
+     * Checks whether the given address lies in the rule's subnet.
+     *
+     * @param address the client address
+     * @return true if the address matches
+     */
+    public boolean matches(InetAddress address) {
+        byte[] candidate = address.getAddress();
+        if (network.length != candidate.length) {
+            return false;
+        }
+        for (int i = 0; i < network.length; i++) {
+            if ((candidate[i] & mask(prefix, i)) != network[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks that the sizes are positive. The subnet has already been checked when the rule was created.
+     *
+     * @throws IllegalArgumentException if the rule is malformed
+     */
+    public void validate() {
+        if ((chunkSize != null && chunkSize <= 0) || (windowSize != null && windowSize <= 0)) {
+            throw new IllegalArgumentException("Rule sizes must be positive: " + this);
+        }
+    }
+
+    private static byte mask(int prefix, int index) {
+        int bits = Math.max(0, Math.min(8, prefix - index * 8));
+        return (byte) (0xff << (8 - bits));
+    }
+
+    private static byte[] parseNetwork(String subnet) {
+        int slash = subnet.indexOf('/');
+        byte[] network = NetUtil.createByteArrayFromIpAddressString(slash < 0 ? subnet : subnet.substring(0, slash));
+        if (network == null) {
+            throw new IllegalArgumentException("The subnet address is not an IP literal: " + subnet);
+        }
+        return network;
+    }
+
+    private static int parsePrefix(String subnet) {
+        int slash = subnet.indexOf('/');
+        if (slash < 0) {
+            return parseNetwork(subnet).length * 8;
+        }
+        try {
+            return Integer.parseInt(subnet.substring(slash + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid subnet prefix: " + subnet, e);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.netty.communication.specification.channel;
+
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Specifications for the watchdog of the I/O event loops of the client and the server.
+ * A loop that takes longer than the stall threshold to run a task is reported with the stack of its thread.
+ */
+@SuppressWarnings("FieldMayBeStatic")
+@Getter
+@Accessors(fluent = true)
+@Component
+public class EventLoopWatchdogSpec {
+    @Value("${file.watchdog.enabled:true}")
+    private boolean enabled;
+    @Value("${file.watchdog.stall-threshold-millis:100}")
+    private long stallThresholdMillis;
+    private final long probeIntervalMillis = 10;
+}
@@ -1,5 +1,7 @@
 package com.netty.communication.specification.channel;
 
+import com.netty.communication.message.ChecksumMode;
+import com.netty.communication.message.CompressionType;
 import lombok.Getter;
 import lombok.experimental.Accessors;
 import org.springframework.beans.factory.annotation.Value;
@@ -24,4 +26,64 @@ public class FileClientSpec {
     private final int nChannelIoMaxThread = 0;
 
     private final int nFileStoreMaxThread = 0;
+
+    private final int nStreamSourceMaxThread = 16;
+
+    private final int dedupMinChunkSize = 1024 * 256;
+
+    private final int dedupAvgChunkSize = 1024 * 1024;
+
+    private final int dedupMaxChunkSize = 1024 * 1024 * 4;
+
+    private final int protocolVersion = 2;
+
+    private final int windowSize = 16;
+
+    private final int compressionMask = CompressionType.NONE.mask();
+
+    private final int checksumMask = ChecksumMode.NONE.mask() | ChecksumMode.CRC32C.mask();
+
+    private final int handshakeTimeoutSeconds = 3;
+
+    private final int minChunkSize = 1024 * 64;
+
+    private final int maxChunkSize = 1024 * 1024 * 64;
+
+    private final long maxInFlightBytes = 1024 * 1024 * 128;
+
+    private final long chunkTargetMillis = 200;
+
+    private final int smallFileThreshold = 1024 * 64;
+
+    private final int bulkBatchBytes = 1024 * 1024 * 4;
+
+    private final int bulkBatchFiles = 64;
+
+    private final int syncTreeParallelism = Runtime.getRuntime().availableProcessors();
+
+    private final int syncTransferStreams = 4;
+
+    private final int resumeTailBytes = 1024 * 64;
+
+    private final int transferRetries = 3;
+
+    private final long transferRetryDelayMillis = 1000;
+
+    private final int initialStripes = 4;
+
+    private final int maxStripes = 8;
+
+    private final long minStripeBytes = 1024 * 1024 * 16;
+
+    private final int jobsPerServer = 4;
+
+    private final int maxQueuedJobs = 100_000;
+
+    private final int finishedJobRetention = 10_000;
+
+    private final long progressIntervalMillis = 500;
+
+    private final long progressRetentionMillis = 60_000;
+
+    private final long progressSubscriptionTimeoutMillis = 1000 * 60 * 60;
 }
@@ -1,5 +1,6 @@
 package com.netty.communication.specification.channel;
 
+import com.netty.communication.message.ChecksumMode;
 import lombok.Getter;
 import lombok.experimental.Accessors;
 import org.springframework.beans.factory.annotation.Value;
@@ -21,4 +22,21 @@ public class FileServerSpec {
     private final int nBossMaxThread = 0;
     private final int nChannelIoMaxThread = 0;
     private final int nFileStoreMaxThread = 0;
+    private final int dedupExpectedChunks = 1_000_000;
+    private final double dedupBloomFalsePositiveRate = 0.01;
+    private final int deltaMinBlockSize = 1024 * 2;
+    private final int deltaMaxBlockSize = 1024 * 128;
+    private final int deltaSignatureParallelism = Runtime.getRuntime().availableProcessors();
+    private final int protocolVersion = 2;
+    private final int minProtocolVersion = 1;
+    private final int windowSize = 16;
+    private final ChecksumMode checksumMode = ChecksumMode.CRC32C;
+    private final int minChunkSize = 1024 * 64;
+    private final int maxChunkSize = 1024 * 1024 * 64;
+    private final long maxInFlightBytes = 1024 * 1024 * 128;
+    private final long chunkTargetMillis = 200;
+
+    private final int smallFileThreshold = 1024 * 64;
+    private final int syncTreeParallelism = Runtime.getRuntime().availableProcessors();
+    private final int resumeTailBytes = 1024 * 64;
 }
@@ -0,0 +1,32 @@
+package com.netty.communication.specification.channel;
+
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Specifications for the frame tracing of the client and the server.
+ * The remotes and the sampling set here apply from the start and can be changed at runtime.
+ * Transfers are traced end to end, into a span store of a bounded number of traces, if spans are on; the latency
+ * breakdown fetches the spans of a peer only from the REST APIs of the configured peers.
+ */
+@SuppressWarnings("FieldMayBeStatic")
+@Getter
+@Accessors(fluent = true)
+@Component
+public class FrameTraceSpec {
+    @Value("${file.trace.remotes:}")
+    private List<String> remotes;
+    @Value("${file.trace.sample-every:1}")
+    private int sampleEvery;
+    private final int ringCapacity = 1024 * 16;
+    private final long drainIntervalMillis = 200;
+    @Value("${file.trace.spans:false}")
+    private boolean spans;
+    private final int spanStoreTraces = 4096;
+    @Value("${file.trace.peers:}")
+    private List<String> peers;
+}
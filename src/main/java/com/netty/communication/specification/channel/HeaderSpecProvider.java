@@ -1,5 +1,6 @@
 package com.netty.communication.specification.channel;
 
+import com.netty.communication.trace.TraceContext;
 import io.netty.buffer.ByteBuf;
 import lombok.Getter;
 import lombok.experimental.Accessors;
@@ -8,7 +9,7 @@ import org.springframework.stereotype.Component;
 /**
  * Provides specifications for the headers used in communication.
  * This class contains specifications for the ID and length fields
- * in the protocol messages.
+ * in the protocol messages, and for the optional trace context that follows the ID.
  */
 @Getter
 @Accessors(fluent = true)
@@ -19,6 +20,8 @@ public class HeaderSpecProvider {
 
     private final LengthSpec length = new LengthSpec();
 
+    private final TraceSpec trace = new TraceSpec();
+
     /**
      * Specification for the ID field.
      */
@@ -74,4 +77,48 @@ public class HeaderSpecProvider {
             buf.writeInt(value);
         }
     }
+
+    /**
+     * Specification for the optional trace context.
+     * A frame that carries one has the flag set in its ID field, and the context follows the ID; the length
+     * field counts it. Peers send trace contexts only on connections that negotiated at least the protocol
+     * version given here, so peers of older versions never see one.
+     */
+    @Getter
+    public static class TraceSpec {
+        private final int flag = 1 << 30;
+        private final int length = 16;
+        private final int protocolVersion = 2;
+
+        /**
+         * Tells whether a frame carries a trace context.
+         *
+         * @param id the value of the ID field
+         * @return true if the flag is set
+         */
+        public boolean isTraced(int id) {
+            return (id & flag) != 0;
+        }
+
+        /**
+         * Reads a trace context from the given ByteBuf.
+         *
+         * @param buf the ByteBuf to read from
+         * @return the read trace context
+         */
+        public TraceContext readFunc(ByteBuf buf) {
+            return new TraceContext(buf.readLong(), buf.readLong());
+        }
+
+        /**
+         * Writes a trace context to the given ByteBuf.
+         *
+         * @param buf the ByteBuf to write to
+         * @param value the trace context to write
+         */
+        public void writeFunc(ByteBuf buf, TraceContext value) {
+            buf.writeLong(value.traceId());
+            buf.writeLong(value.spanId());
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package com.netty.communication.specification.channel;
+
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Specifications for the network transport of the client and the server.
+ * The native epoll transport is used where it is available, and NIO elsewhere or when native is off.
+ * On the epoll transport, the kernel's TCP_INFO of the open connections is sampled every interval; an interval
+ * of zero turns the sampling off.
+ */
+@Getter
+@Accessors(fluent = true)
+@Component
+public class TransportSpec {
+    @Value("${file.transport.native:true}")
+    private boolean nativeTransport;
+    @Value("${file.transport.tcp-info-interval-millis:1000}")
+    private long tcpInfoIntervalMillis;
+}
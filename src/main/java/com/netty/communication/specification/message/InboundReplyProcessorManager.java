@@ -0,0 +1,42 @@
+package com.netty.communication.specification.message;
+
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.processor.InboundRequestProcessor;
+import org.springframework.lang.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Manages the mapping between reply message classes and the client-side processors
+ * that turn them into follow-up messages.
+ * Unlike requests, replies without a registered processor are simply passed on.
+ */
+class InboundReplyProcessorManager {
+    private final Map<Class<? extends ProtocolMessage>, InboundRequestProcessor> classToProcessorMap;
+
+    InboundReplyProcessorManager() {
+        classToProcessorMap = new HashMap<>();
+    }
+
+    /**
+     * Retrieves the reply processor associated with the specified protocol message class.
+     *
+     * @param clazz the class of the reply message
+     * @return the corresponding processor, or null if none is registered
+     */
+    @Nullable
+    InboundRequestProcessor get(Class<? extends ProtocolMessage> clazz) {
+        return classToProcessorMap.get(clazz);
+    }
+
+    /**
+     * Registers a reply processor for the specified protocol message class.
+     *
+     * @param clazz the class of the reply message
+     * @param processor the processor to be associated with the class
+     */
+    void put(Class<? extends ProtocolMessage> clazz, InboundRequestProcessor processor) {
+        classToProcessorMap.put(clazz, processor);
+    }
+}
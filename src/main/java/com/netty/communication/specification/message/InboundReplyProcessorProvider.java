@@ -0,0 +1,22 @@
+package com.netty.communication.specification.message;
+
+import com.netty.communication.message.ProtocolMessage;
+import com.netty.communication.processor.InboundRequestProcessor;
+import org.springframework.lang.Nullable;
+
+/**
+ * A functional interface that provides a method to retrieve the client-side processor for an
+ * intermediate reply sent by the server, such as a request for further data.
+ */
+@FunctionalInterface
+public interface InboundReplyProcessorProvider {
+
+    /**
+     * Retrieves the reply processor associated with the specified protocol message class.
+     *
+     * @param clazz the class of the reply message
+     * @return the corresponding processor, or null if the reply needs no further processing
+     */
+    @Nullable
+    InboundRequestProcessor getInboundReplyProcessor(Class<? extends ProtocolMessage> clazz);
+}
@@ -1,10 +1,11 @@
 package com.netty.communication.specification.message;
 
-import com.competitive.message.*;
-import com.competitive.processor.*;
+import com.netty.communication.dedup.DedupChunkStore;
 import com.netty.communication.message.*;
 import com.netty.communication.processor.*;
+import com.netty.communication.session.HandshakePolicy;
 import com.netty.communication.specification.channel.ChannelSpecProvider;
+import com.netty.communication.transfer.StripeTracker;
 import org.springframework.stereotype.Component;
 
 /**
@@ -14,69 +15,196 @@ import org.springframework.stereotype.Component;
  */
 @Component
 public class MessageSpecProvider implements
-        ProtocolIdProvider, MessageDecoderProvider, InboundRequestProcessorProvider, OutboundRequestProcessorProvider {
+        ProtocolIdProvider, MessageDecoderProvider, InboundRequestProcessorProvider, OutboundRequestProcessorProvider,
+        InboundReplyProcessorProvider {
 
     private final ChannelSpecProvider channelSpec;
+    private final DedupChunkStore dedupChunkStore;
+    private final HandshakePolicy handshakePolicy;
+    private final StripeTracker stripeTracker;
     private final ProtocolIdManager protocolIdManager;
     private final MessageDecoderManager messageDecoderManager;
     private final InboundRequestProcessorManager inboundRequestProcessorManager;
     private final OutboundRequestProcessorManager outboundRequestProcessorManager;
+    private final InboundReplyProcessorManager inboundReplyProcessorManager;
 
     /**
      * Constructor that initializes the necessary managers and configures them.
      *
-     * @param channelSpec the specification provider for channel configurations
+     * @param channelSpec     the specification provider for channel configurations
+     * @param dedupChunkStore the server-side store of deduplicated chunks
+     * @param handshakePolicy the server-side policy for negotiating connection parameters
+     * @param stripeTracker   the tracker of the stripes received for striped files
      */
-    public MessageSpecProvider(ChannelSpecProvider channelSpec) {
+    public MessageSpecProvider(ChannelSpecProvider channelSpec, DedupChunkStore dedupChunkStore,
+                               HandshakePolicy handshakePolicy, StripeTracker stripeTracker) {
         this.channelSpec = channelSpec;
+        this.dedupChunkStore = dedupChunkStore;
+        this.handshakePolicy = handshakePolicy;
+        this.stripeTracker = stripeTracker;
         protocolIdManager = new ProtocolIdManager();
         messageDecoderManager = new MessageDecoderManager();
         inboundRequestProcessorManager = new InboundRequestProcessorManager();
         outboundRequestProcessorManager = new OutboundRequestProcessorManager();
+        inboundReplyProcessorManager = new InboundReplyProcessorManager();
         configureProtocolIdManager();
         configureMessageDecoderManager();
         configureInboundRequestProcessorManager();
         configureOutboundRequestProcessorManager();
+        configureInboundReplyProcessorManager();
     }
 
     /**
      * Configures the ProtocolIdManager by mapping message classes to protocol IDs.
      */
     private void configureProtocolIdManager() {
+        protocolIdManager.put(HandshakeRequest.class, 1000);
         protocolIdManager.put(FileDownloadRequest.class, 1001);
         protocolIdManager.put(FileUploadRequest.class, 1002);
+        protocolIdManager.put(DedupManifest.class, 1003);
+        protocolIdManager.put(DedupCommitRequest.class, 1004);
+        protocolIdManager.put(DeltaSignatureRequest.class, 1005);
+        protocolIdManager.put(DeltaCommitRequest.class, 1006);
+        protocolIdManager.put(FileBatchCommitRequest.class, 1007);
+        protocolIdManager.put(SyncCompareRequest.class, 1008);
+        protocolIdManager.put(TransferResumeQuery.class, 1009);
+        protocolIdManager.put(FileStatRequest.class, 1010);
+        protocolIdManager.put(FileRangeCommitRequest.class, 1011);
         protocolIdManager.put(InboundFileChunk.class, 2001);
         protocolIdManager.put(OutboundFileChunk.class, 2001);
+        protocolIdManager.put(OutboundByteChunk.class, 2001);
+        protocolIdManager.put(InboundDedupChunk.class, 2002);
+        protocolIdManager.put(OutboundDedupChunk.class, 2002);
+        protocolIdManager.put(InboundDeltaInstruction.class, 2003);
+        protocolIdManager.put(OutboundDeltaInstruction.class, 2003);
+        protocolIdManager.put(OutboundSmallFile.class, 2004);
+        protocolIdManager.put(OutboundFileBatch.class, 2005);
         protocolIdManager.put(ResponseMessage.class, 3001);
+        protocolIdManager.put(DedupMissingChunks.class, 3002);
+        protocolIdManager.put(DeltaSignatures.class, 3003);
+        protocolIdManager.put(HandshakeResponse.class, 3004);
+        protocolIdManager.put(FileBatchResult.class, 3005);
+        protocolIdManager.put(SyncCompareReply.class, 3006);
+        protocolIdManager.put(TransferResumeOffset.class, 3007);
+        protocolIdManager.put(FileStatReply.class, 3008);
         protocolIdManager.put(ChunkTransferOk.class, 4001);
+        protocolIdManager.put(KeepAlive.class, 4002);
+        protocolIdManager.put(TransferCancel.class, 4003);
     }
 
     /**
      * Configures the MessageDecoderManager by registering decoders for message IDs.
      */
     private void configureMessageDecoderManager() {
+        messageDecoderManager.put(1000, HandshakeRequest::decode);
         messageDecoderManager.put(1001, FileDownloadRequest::decode);
         messageDecoderManager.put(1002, FileUploadRequest::decode);
+        messageDecoderManager.put(1003, DedupManifest::decode);
+        messageDecoderManager.put(1004, DedupCommitRequest::decode);
+        messageDecoderManager.put(1005, DeltaSignatureRequest::decode);
+        messageDecoderManager.put(1006, DeltaCommitRequest::decode);
+        messageDecoderManager.put(1007, FileBatchCommitRequest::decode);
+        messageDecoderManager.put(1008, SyncCompareRequest::decode);
+        messageDecoderManager.put(1009, TransferResumeQuery::decode);
+        messageDecoderManager.put(1010, FileStatRequest::decode);
+        messageDecoderManager.put(1011, FileRangeCommitRequest::decode);
         messageDecoderManager.put(2001, InboundFileChunk::decode);
+        messageDecoderManager.put(2002, InboundDedupChunk::decode);
+        messageDecoderManager.put(2003, InboundDeltaInstruction::decode);
+        messageDecoderManager.put(2004, InboundSmallFile::decode);
+        messageDecoderManager.put(2005, InboundFileBatch::decode);
         messageDecoderManager.put(3001, ResponseMessage::decode);
+        messageDecoderManager.put(3002, DedupMissingChunks::decode);
+        messageDecoderManager.put(3003, DeltaSignatures::decode);
+        messageDecoderManager.put(3004, HandshakeResponse::decode);
+        messageDecoderManager.put(3005, FileBatchResult::decode);
+        messageDecoderManager.put(3006, SyncCompareReply::decode);
+        messageDecoderManager.put(3007, TransferResumeOffset::decode);
+        messageDecoderManager.put(3008, FileStatReply::decode);
         messageDecoderManager.put(4001, ChunkTransferOk::decode);
+        messageDecoderManager.put(4002, KeepAlive::decode);
+        messageDecoderManager.put(4003, TransferCancel::decode);
     }
 
     /**
      * Configures the InboundRequestProcessorManager by mapping message classes to their inbound processors.
      */
     private void configureInboundRequestProcessorManager() {
+        inboundRequestProcessorManager.put(
+                HandshakeRequest.class,
+                HandshakeInboundRequestProcessor.builder()
+                        .policy(handshakePolicy)
+                        .build());
+
         inboundRequestProcessorManager.put(
                 FileDownloadRequest.class,
                 FileDownloadInboundRequestProcessor.builder()
-                        .chunkSize(channelSpec.server().chunkSize())
                         .rootPath(channelSpec.server().rootPath())
                         .fileTransferProcessor(new CommonFileChunkTransferProcessor())
+                        .smallFileThreshold(channelSpec.server().smallFileThreshold())
+                        .build());
+
+        inboundRequestProcessorManager.put(
+                FileStatRequest.class,
+                FileStatInboundRequestProcessor.builder()
+                        .rootPath(channelSpec.server().rootPath())
                         .build());
 
         inboundRequestProcessorManager.put(
                 FileUploadRequest.class,
                 EmptyBodyRetrieveProcessor.INSTANCE);
+
+        inboundRequestProcessorManager.put(
+                FileRangeCommitRequest.class,
+                FileRangeCommitInboundRequestProcessor.builder()
+                        .rootPath(channelSpec.server().rootPath())
+                        .stripeTracker(stripeTracker)
+                        .build());
+
+        inboundRequestProcessorManager.put(
+                TransferResumeQuery.class,
+                TransferResumeQueryInboundRequestProcessor.builder()
+                        .rootPath(channelSpec.server().rootPath())
+                        .tailBytes(channelSpec.server().resumeTailBytes())
+                        .build());
+
+        inboundRequestProcessorManager.put(
+                DedupManifest.class,
+                DedupManifestInboundRequestProcessor.builder()
+                        .chunkStore(dedupChunkStore)
+                        .build());
+
+        inboundRequestProcessorManager.put(
+                DedupCommitRequest.class,
+                EmptyBodyRetrieveProcessor.INSTANCE);
+
+        inboundRequestProcessorManager.put(
+                DeltaSignatureRequest.class,
+                DeltaSignatureInboundRequestProcessor.builder()
+                        .build());
+
+        inboundRequestProcessorManager.put(
+                DeltaCommitRequest.class,
+                EmptyBodyRetrieveProcessor.INSTANCE);
+
+        inboundRequestProcessorManager.put(
+                FileBatchCommitRequest.class,
+                FileBatchCommitInboundRequestProcessor.builder()
+                        .rootPath(channelSpec.server().rootPath())
+                        .build());
+
+        inboundRequestProcessorManager.put(
+                SyncCompareRequest.class,
+                SyncCompareInboundRequestProcessor.builder()
+                        .build());
+
+        inboundRequestProcessorManager.put(
+                ChunkTransferOk.class,
+                AcknowledgementProcessor.INSTANCE);
+
+        inboundRequestProcessorManager.put(
+                KeepAlive.class,
+                AcknowledgementProcessor.INSTANCE);
     }
 
     /**
@@ -86,15 +214,88 @@ public class MessageSpecProvider implements
         outboundRequestProcessorManager.put(
                 UserFileDownloadRequest.class,
                 FileDownloadOutboundRequestProcessor.builder()
+                        .rootPath(channelSpec.client().rootPath())
+                        .resumeTailBytes(channelSpec.client().resumeTailBytes())
+                        .build());
+
+        outboundRequestProcessorManager.put(
+                UserFileStatRequest.class,
+                FileStatOutboundRequestProcessor.builder()
                         .build());
 
         outboundRequestProcessorManager.put(
                 UserFileUploadRequest.class,
                 FileUploadOutboundRequestProcessor.builder()
-                        .chunkSize(channelSpec.client().chunkSize())
                         .rootPath(channelSpec.client().rootPath())
+                        .smallFileThreshold(channelSpec.client().smallFileThreshold())
+                        .build());
+
+        outboundRequestProcessorManager.put(
+                UserStreamUploadRequest.class,
+                StreamUploadOutboundRequestProcessor.builder()
+                        .build());
+
+        outboundRequestProcessorManager.put(
+                UserStreamDownloadRequest.class,
+                StreamDownloadOutboundRequestProcessor.builder()
+                        .build());
+
+        outboundRequestProcessorManager.put(
+                UserFileRangeCommitRequest.class,
+                FileRangeCommitOutboundRequestProcessor.builder()
+                        .build());
+
+        outboundRequestProcessorManager.put(
+                UserBulkFileUploadRequest.class,
+                BulkUploadOutboundRequestProcessor.builder()
+                        .rootPath(channelSpec.client().rootPath())
+                        .smallFileThreshold(channelSpec.client().smallFileThreshold())
+                        .batchBytes(channelSpec.client().bulkBatchBytes())
+                        .batchFiles(channelSpec.client().bulkBatchFiles())
+                        .build());
+
+        outboundRequestProcessorManager.put(
+                UserDirectorySyncRequest.class,
+                DirectorySyncOutboundRequestProcessor.builder()
+                        .build());
+
+        outboundRequestProcessorManager.put(
+                UserFileDedupUploadRequest.class,
+                DedupUploadOutboundRequestProcessor.builder()
+                        .build());
+
+        outboundRequestProcessorManager.put(
+                UserFileDeltaUploadRequest.class,
+                DeltaUploadOutboundRequestProcessor.builder()
+                        .rootPath(channelSpec.client().rootPath())
+                        .build());
+    }
+
+    /**
+     * Configures the InboundReplyProcessorManager by mapping intermediate server replies to
+     * the client-side processors that continue the request.
+     */
+    private void configureInboundReplyProcessorManager() {
+        inboundReplyProcessorManager.put(
+                TransferResumeOffset.class,
+                TransferResumeOffsetReplyProcessor.builder()
                         .fileTransferProcessor(new CommonFileChunkTransferProcessor())
                         .build());
+
+        inboundReplyProcessorManager.put(
+                FileStatReply.class,
+                FileStatReplyProcessor.builder()
+                        .build());
+
+        inboundReplyProcessorManager.put(
+                DedupMissingChunks.class,
+                DedupMissingChunksReplyProcessor.builder()
+                        .build());
+
+        inboundReplyProcessorManager.put(
+                SyncCompareReply.class,
+                SyncCompareReplyProcessor.builder()
+                        .build());
     }
 
     /**
@@ -140,4 +341,15 @@ public class MessageSpecProvider implements
     public InboundRequestProcessor getInboundRequestProcessor(Class<? extends ProtocolMessage> clazz) {
         return inboundRequestProcessorManager.get(clazz);
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the client-side processor for an intermediate reply, if any.
+     *
+     * @param clazz the class of the reply message
+     * @return the reply processor, or null if the reply needs no further processing
+     */
+    @Override
+    public InboundRequestProcessor getInboundReplyProcessor(Class<? extends ProtocolMessage> clazz) {
+        return inboundReplyProcessorManager.get(clazz);
+    }
+}
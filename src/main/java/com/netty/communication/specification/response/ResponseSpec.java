@@ -1,12 +1,26 @@
 package com.netty.communication.specification.response;
 
+import com.netty.communication.exception.ChecksumMismatchException;
+import com.netty.communication.exception.ChunkNotFoundException;
+import com.netty.communication.exception.HandshakeRejectedException;
+import com.netty.communication.exception.JobNotFoundException;
+import com.netty.communication.exception.JobQueueFullException;
 import com.netty.communication.exception.NotFileException;
 import com.netty.communication.exception.ServerNotResponseException;
+import com.netty.communication.exception.TraceNotFoundException;
+import com.netty.communication.exception.TracePeerNotAllowedException;
+import com.netty.communication.exception.TransferCancelledException;
+import com.netty.communication.exception.TransferDeadlineExceededException;
+import com.netty.communication.exception.TransferIdInUseException;
+import com.netty.communication.exception.TransferNotFoundException;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 
 import java.io.FileNotFoundException;
+import java.nio.file.NoSuchFileException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Enumeration representing different response specifications for the application.
@@ -20,8 +34,19 @@ public enum ResponseSpec {
     OK(0, "OK.", HttpStatus.OK),
     FILE_NOT_FOUND(4000, "The file does not exist.", HttpStatus.BAD_REQUEST),
     NOT_FILE(4001, "Item is not a file.", HttpStatus.BAD_REQUEST),
+    CHUNK_NOT_FOUND(4002, "A referenced chunk is not stored.", HttpStatus.CONFLICT),
+    CHECKSUM_MISMATCH(4003, "The transferred file does not match its checksum.", HttpStatus.CONFLICT),
+    HANDSHAKE_REJECTED(4004, "The connection parameters could not be negotiated.", HttpStatus.BAD_REQUEST),
+    TRANSFER_CANCELLED(4005, "The transfer was cancelled.", HttpStatus.CONFLICT),
+    DEADLINE_EXCEEDED(4006, "The transfer did not complete before its deadline.", HttpStatus.GATEWAY_TIMEOUT),
+    JOB_NOT_FOUND(4007, "The transfer job does not exist.", HttpStatus.NOT_FOUND),
+    TRANSFER_NOT_FOUND(4008, "The transfer does not exist.", HttpStatus.NOT_FOUND),
+    TRANSFER_ID_IN_USE(4009, "A running transfer already has this id.", HttpStatus.CONFLICT),
+    TRACE_NOT_FOUND(4010, "The trace has not been recorded.", HttpStatus.NOT_FOUND),
+    TRACE_PEER_NOT_ALLOWED(4011, "The peer is not a configured trace peer.", HttpStatus.FORBIDDEN),
     SYSTEM_ERROR(5000, "Internal system error.", HttpStatus.INTERNAL_SERVER_ERROR),
-    SERVER_NOT_RESPONSE(5001, "No response from server.", HttpStatus.INTERNAL_SERVER_ERROR);
+    SERVER_NOT_RESPONSE(5001, "No response from server.", HttpStatus.INTERNAL_SERVER_ERROR),
+    JOB_QUEUE_FULL(5002, "The transfer job queue is full.", HttpStatus.SERVICE_UNAVAILABLE);
 
     private final Integer errorNo;
     private final String errorMessage;
@@ -39,8 +64,19 @@ public enum ResponseSpec {
             case 0 -> OK;
             case 4000 -> FILE_NOT_FOUND;
             case 4001 -> NOT_FILE;
+            case 4002 -> CHUNK_NOT_FOUND;
+            case 4003 -> CHECKSUM_MISMATCH;
+            case 4004 -> HANDSHAKE_REJECTED;
+            case 4005 -> TRANSFER_CANCELLED;
+            case 4006 -> DEADLINE_EXCEEDED;
+            case 4007 -> JOB_NOT_FOUND;
+            case 4008 -> TRANSFER_NOT_FOUND;
+            case 4009 -> TRANSFER_ID_IN_USE;
+            case 4010 -> TRACE_NOT_FOUND;
+            case 4011 -> TRACE_PEER_NOT_ALLOWED;
             case 5000 -> SYSTEM_ERROR;
             case 5001 -> SERVER_NOT_RESPONSE;
+            case 5002 -> JOB_QUEUE_FULL;
             default -> throw new IllegalArgumentException("Unknown errorNo: " + errorNo);
         };
     }
@@ -56,12 +92,34 @@ public enum ResponseSpec {
             return OK;
         }
 
-        if (throwable instanceof FileNotFoundException) {
+        if (throwable instanceof FileNotFoundException || throwable instanceof NoSuchFileException) {
             return FILE_NOT_FOUND;
         } else if (throwable instanceof ServerNotResponseException) {
             return SERVER_NOT_RESPONSE;
         } else if (throwable instanceof NotFileException) {
             return NOT_FILE;
+        } else if (throwable instanceof ChunkNotFoundException) {
+            return CHUNK_NOT_FOUND;
+        } else if (throwable instanceof ChecksumMismatchException) {
+            return CHECKSUM_MISMATCH;
+        } else if (throwable instanceof HandshakeRejectedException) {
+            return HANDSHAKE_REJECTED;
+        } else if (throwable instanceof TransferDeadlineExceededException || throwable instanceof TimeoutException) {
+            return DEADLINE_EXCEEDED;
+        } else if (throwable instanceof TransferCancelledException || throwable instanceof CancellationException) {
+            return TRANSFER_CANCELLED;
+        } else if (throwable instanceof JobNotFoundException) {
+            return JOB_NOT_FOUND;
+        } else if (throwable instanceof TransferNotFoundException) {
+            return TRANSFER_NOT_FOUND;
+        } else if (throwable instanceof TransferIdInUseException) {
+            return TRANSFER_ID_IN_USE;
+        } else if (throwable instanceof TraceNotFoundException) {
+            return TRACE_NOT_FOUND;
+        } else if (throwable instanceof TracePeerNotAllowedException) {
+            return TRACE_PEER_NOT_ALLOWED;
+        } else if (throwable instanceof JobQueueFullException) {
+            return JOB_QUEUE_FULL;
         } else {
             return SYSTEM_ERROR;
         }
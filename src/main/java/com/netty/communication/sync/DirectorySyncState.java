@@ -0,0 +1,22 @@
+package com.netty.communication.sync;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Client-side state of a directory sync, attached to the session of its connection.
+ * Holds the client's tree and collects the files found to differ from the server's copy.
+ */
+@RequiredArgsConstructor
+@Getter
+@Accessors(fluent = true)
+public class DirectorySyncState {
+    private final String destDirPath;
+    private final boolean contentHash;
+    private final MerkleNode root;
+    private final List<String> changedFiles = new ArrayList<>();
+}
@@ -0,0 +1,101 @@
+package com.netty.communication.sync;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A node of a directory's Merkle tree.
+ * <p>
+ * The hash of a file covers its name, size and modification time, and optionally its contents;
+ * the hash of a directory covers the names, types and hashes of its children. Two subtrees with
+ * equal hashes are therefore equal and need not be compared any further.
+ *
+ * @param name         the name of the file or directory, empty for the root
+ * @param directory    whether the node is a directory
+ * @param size         the size of a file, 0 for a directory
+ * @param lastModified the modification time of a file in milliseconds, 0 for a directory
+ * @param hash         the hash of the node
+ * @param children     the children of a directory sorted by name, empty for a file
+ */
+public record MerkleNode(String name, boolean directory, long size, long lastModified, byte[] hash,
+                         List<MerkleNode> children) {
+
+    /** Orders the children of a directory. */
+    static final Comparator<MerkleNode> BY_NAME = Comparator.comparing(MerkleNode::name);
+
+    /**
+     * Returns the child with the given name.
+     *
+     * @param childName the name of the child
+     * @return the child, or null if the directory has no such child
+     */
+    public MerkleNode child(String childName) {
+        int index = Collections.binarySearch(children, new MerkleNode(childName, false, 0, 0, null, List.of()), BY_NAME);
+        return index >= 0 ? children.get(index) : null;
+    }
+
+    /**
+     * Returns the node at the given path below this node.
+     *
+     * @param path the path relative to this node, with '/' as separator; empty for this node
+     * @return the node, or null if the path does not exist
+     */
+    public MerkleNode find(String path) {
+        MerkleNode node = this;
+        if (path.isEmpty()) {
+            return node;
+        }
+        for (String segment : path.split("/")) {
+            node = node.directory() ? node.child(segment) : null;
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Lists the paths of all files in the subtree of this node.
+     *
+     * @param path the path of this node, with '/' as separator
+     * @return the paths of the files, with '/' as separator
+     */
+    public List<String> files(String path) {
+        var files = new ArrayList<String>();
+        collectFiles(path, files);
+        return files;
+    }
+
+    /**
+     * Counts the files in the subtree of this node.
+     *
+     * @return the number of files
+     */
+    public int fileCount() {
+        if (!directory) {
+            return 1;
+        }
+        return children.stream().mapToInt(MerkleNode::fileCount).sum();
+    }
+
+    /**
+     * Joins a parent path and a child name.
+     *
+     * @param parent the parent path, empty for the root
+     * @param name   the child name
+     * @return the path of the child
+     */
+    public static String childPath(String parent, String name) {
+        return parent.isEmpty() ? name : parent + "/" + name;
+    }
+
+    private void collectFiles(String path, List<String> files) {
+        if (!directory) {
+            files.add(path);
+            return;
+        }
+        children.forEach(child -> child.collectFiles(childPath(path, child.name()), files));
+    }
+}
@@ -0,0 +1,199 @@
+package com.netty.communication.sync;
+
+import com.netty.communication.dedup.ContentDefinedChunker;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Builds the {@link MerkleNode} tree of a directory with a fork/join walk.
+ * <p>
+ * Every subdirectory is walked in its own task, and with content hashing every file is read in its
+ * own task, so wide and deep trees use every core. Symbolic links and special files are skipped.
+ * The builder is shared by all syncs of its owner, which closes it on shutdown.
+ */
+public class MerkleTreeBuilder implements Closeable {
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates a builder.
+     *
+     * @param parallelism the number of threads used to walk directories and hash files
+     */
+    public MerkleTreeBuilder(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Shuts down the threads walking directories and hashing files.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Builds the tree of a directory.
+     *
+     * @param root        the directory
+     * @param contentHash whether the hash of a file also covers its contents
+     * @return the root node, or null if the directory does not exist
+     * @throws IOException if the directory cannot be read
+     */
+    public MerkleNode build(Path root, boolean contentHash) throws IOException {
+        try {
+            return buildAsync(root, contentHash).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while building the tree of " + root, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Failed to build the tree of " + root, e.getCause());
+        }
+    }
+
+    /**
+     * Builds the tree of a directory without blocking the calling thread; the walk runs on the threads of the builder.
+     *
+     * @param root        the directory
+     * @param contentHash whether the hash of a file also covers its contents
+     * @return a future completed with the root node, or null if the directory does not exist, or with the
+     *         {@link IOException} that stopped the walk
+     */
+    public CompletableFuture<MerkleNode> buildAsync(Path root, boolean contentHash) {
+        var tree = new CompletableFuture<MerkleNode>();
+        pool.execute(() -> {
+            try {
+                tree.complete(Files.isDirectory(root) ? new DirectoryTask(root, "", contentHash).invoke() : null);
+            } catch (UncheckedIOException e) {
+                tree.completeExceptionally(e.getCause());
+            } catch (RuntimeException | Error e) {
+                tree.completeExceptionally(e);
+            }
+        });
+        return tree;
+    }
+
+    private static final class DirectoryTask extends RecursiveTask<MerkleNode> {
+        private final Path directory;
+        private final String name;
+        private final boolean contentHash;
+
+        private DirectoryTask(Path directory, String name, boolean contentHash) {
+            this.directory = directory;
+            this.name = name;
+            this.contentHash = contentHash;
+        }
+
+        @Override
+        protected MerkleNode compute() {
+            var tasks = new ArrayList<ForkJoinTask<MerkleNode>>();
+            try (var entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(entry, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    } catch (NoSuchFileException e) {
+                        continue; // deleted while the directory was being walked
+                    }
+                    String childName = entry.getFileName().toString();
+                    if (attributes.isDirectory()) {
+                        tasks.add(new DirectoryTask(entry, childName, contentHash).fork());
+                    } else if (attributes.isRegularFile()) {
+                        tasks.add(new FileTask(entry, childName, attributes, contentHash).fork());
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            List<MerkleNode> children = new ArrayList<>(tasks.size());
+            tasks.forEach(task -> children.add(task.join()));
+            children.sort(MerkleNode.BY_NAME);
+
+            MessageDigest digest = ContentDefinedChunker.newDigest();
+            for (var child : children) {
+                updateString(digest, child.name());
+                digest.update((byte) (child.directory() ? 1 : 0));
+                digest.update(child.hash());
+            }
+            return new MerkleNode(name, true, 0, 0, digest.digest(), List.copyOf(children));
+        }
+    }
+
+    private static final class FileTask extends RecursiveTask<MerkleNode> {
+        private final Path file;
+        private final String name;
+        private final BasicFileAttributes attributes;
+        private final boolean contentHash;
+
+        private FileTask(Path file, String name, BasicFileAttributes attributes, boolean contentHash) {
+            this.file = file;
+            this.name = name;
+            this.attributes = attributes;
+            this.contentHash = contentHash;
+        }
+
+        @Override
+        protected MerkleNode compute() {
+            long size = attributes.size();
+            long lastModified = attributes.lastModifiedTime().toMillis();
+
+            MessageDigest digest = ContentDefinedChunker.newDigest();
+            updateString(digest, name);
+            updateLong(digest, size);
+            updateLong(digest, lastModified);
+            if (contentHash) {
+                digest.update(hashContents(file));
+            }
+            return new MerkleNode(name, false, size, lastModified, digest.digest(), List.of());
+        }
+    }
+
+    private static byte[] hashContents(Path file) {
+        MessageDigest digest = ContentDefinedChunker.newDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer.clear()) > 0) {
+                digest.update(buffer.flip());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return digest.digest();
+    }
+
+    private static void updateString(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        updateLong(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private static void updateLong(MessageDigest digest, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            digest.update((byte) (value >>> shift));
+        }
+    }
+}
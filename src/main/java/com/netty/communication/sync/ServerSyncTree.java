@@ -0,0 +1,25 @@
+package com.netty.communication.sync;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Server-side tree of a directory sync, attached to the session of its connection so that it is
+ * built once per sync rather than once per comparison round.
+ *
+ * @param destDirPath the synced directory, relative to the server root
+ * @param contentHash whether the hashes of files cover their contents
+ * @param root        the root of the tree, or null if the directory does not exist
+ */
+public record ServerSyncTree(String destDirPath, boolean contentHash, @Nullable MerkleNode root) {
+
+    /**
+     * Checks whether this tree was built for the given sync.
+     *
+     * @param destDirPath the synced directory
+     * @param contentHash whether the hashes of files cover their contents
+     * @return true if the tree can be reused
+     */
+    public boolean matches(String destDirPath, boolean contentHash) {
+        return this.destDirPath.equals(destDirPath) && this.contentHash == contentHash;
+    }
+}
@@ -1,11 +1,12 @@
 package com.netty.communication.tcp.client;
 
 import com.netty.communication.handler.inbound.ReadDataUpdater;
+import com.netty.communication.metrics.InstrumentedByteBufAllocator;
 import com.netty.communication.pipeline.HandlerFactory;
 import com.netty.communication.util.ChannelAccessUtils;
+import com.netty.communication.util.TransportUtils;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.*;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import org.springframework.lang.Nullable;
 
 import java.net.SocketAddress;
@@ -35,7 +36,8 @@ public class DefaultTcpClient implements TcpClient {
         bootstrap = new Bootstrap();
 
         bootstrap.group(eventLoopGroup)
-                .channel(NioSocketChannel.class)
+                .channel(TransportUtils.socketChannelType(eventLoopGroup))
+                .option(ChannelOption.ALLOCATOR, InstrumentedByteBufAllocator.DEFAULT)
                 .handler(new ChannelInitializer<>() {
                     @Override
                     protected void initChannel(Channel ch) {
@@ -56,6 +58,14 @@ public class DefaultTcpClient implements TcpClient {
         return result;
     }
 
+    @Override
+    public ChannelFuture connectAsync(String ip, int port) {
+        bootstrap.remoteAddress(ip, port);
+        var result = bootstrap.connect();
+        channel = result.channel();
+        return result;
+    }
+
     @Override
     public ChannelFuture disconnect() {
         return channel.close();
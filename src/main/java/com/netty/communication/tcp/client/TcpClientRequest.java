@@ -24,6 +24,16 @@ public interface TcpClientRequest {
      */
     ChannelFuture connect(String ip, int port) throws InterruptedException;
 
+    /**
+     * Starts connecting to a specified IP address and port without waiting for the connection.
+     * The channel is available right away; it becomes active once the returned future succeeds.
+     *
+     * @param ip   the IP address of the server to connect to
+     * @param port the port number of the server to connect to
+     * @return a {@link ChannelFuture} completed with the connection result
+     */
+    ChannelFuture connectAsync(String ip, int port);
+
     /**
      * Disconnects from the server.
      *
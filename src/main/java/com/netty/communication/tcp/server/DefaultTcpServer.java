@@ -2,12 +2,13 @@ package com.netty.communication.tcp.server;
 
 import com.netty.communication.handler.inbound.ClientActiveNotifier;
 import com.netty.communication.handler.inbound.ReadDataUpdater;
+import com.netty.communication.metrics.InstrumentedByteBufAllocator;
 import com.netty.communication.pipeline.HandlerFactory;
 import com.netty.communication.util.PropagateChannelFuture;
 import com.netty.communication.util.ChannelAccessUtils;
+import com.netty.communication.util.TransportUtils;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.*;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import org.springframework.lang.Nullable;
 
 import java.net.SocketAddress;
@@ -45,7 +46,9 @@ public class DefaultTcpServer implements TcpServer {
         activeChannels = new ConcurrentHashMap<>();
 
         bootstrap.group(bossGroup, childGroup)
-                .channel(NioServerSocketChannel.class)
+                .channel(TransportUtils.serverSocketChannelType(bossGroup))
+                .option(ChannelOption.ALLOCATOR, InstrumentedByteBufAllocator.DEFAULT)
+                .childOption(ChannelOption.ALLOCATOR, InstrumentedByteBufAllocator.DEFAULT)
                 .childHandler(new ChannelInitializer<>() {
                     @Override
                     protected void initChannel(Channel ch) {
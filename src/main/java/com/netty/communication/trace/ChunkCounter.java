@@ -0,0 +1,25 @@
+package com.netty.communication.trace;
+
+import com.netty.communication.message.ChunkType;
+import com.netty.communication.message.InboundFileChunk;
+
+/**
+ * Counts the chunks of the transfers received on one channel, so that the events of the stages a chunk
+ * passes through carry the same chunk index. Must be used by one thread only.
+ */
+public final class ChunkCounter {
+    private long next;
+
+    /**
+     * Returns the position of a chunk in its transfer. A start chunk starts a new transfer at 0.
+     *
+     * @param chunk the chunk, in the order the chunks of the channel were received
+     * @return the position of the chunk
+     */
+    public long count(InboundFileChunk chunk) {
+        if (chunk.type() == ChunkType.START_OF_FILE || chunk.type() == ChunkType.START_OF_RANGE) {
+            next = 0;
+        }
+        return next++;
+    }
+}
@@ -0,0 +1,39 @@
+package com.netty.communication.trace;
+
+import com.netty.communication.message.InboundFileChunk;
+import io.netty.channel.Channel;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JDK Flight Recorder event for the storing of a received file chunk. The queue wait is the time from
+ * the decoding of the chunk on the channel's event loop until the store executor takes it up.
+ */
+@Name("com.netty.communication.ChunkStore")
+@Label("Chunk Store")
+public class ChunkStoreEvent extends PipelineEvent {
+    @Label("Chunk Type")
+    String chunkType;
+
+    /**
+     * Ends the event and commits it if it is enabled.
+     *
+     * @param channel    the channel the chunk was received on
+     * @param chunk      the stored chunk
+     * @param chunkIndex the position of the chunk in its transfer
+     * @param bytes      the number of bytes stored
+     * @param startNanos the time the storing started
+     */
+    public void finish(Channel channel, InboundFileChunk chunk, long chunkIndex, long bytes, long startNanos) {
+        end();
+        if (shouldCommit()) {
+            channel(channel);
+            this.transfer = chunk.storePath();
+            this.chunkIndex = chunkIndex;
+            this.chunkType = chunk.type().name();
+            this.bytes = bytes;
+            queueWait(chunk, startNanos);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.netty.communication.trace;
+
+import com.netty.communication.message.InboundFileChunk;
+import io.netty.channel.Channel;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JDK Flight Recorder event for the decoding of a received frame into a message.
+ */
+@Name("com.netty.communication.FrameDecode")
+@Label("Frame Decode")
+public class FrameDecodeEvent extends PipelineEvent {
+    @Label("Message Id")
+    int messageId;
+
+    @Label("Message Type")
+    Class<?> messageType;
+
+    /**
+     * Ends the event and commits it if it is enabled.
+     *
+     * @param channel    the channel the frame was received on
+     * @param messageId  the protocol id of the frame
+     * @param message    the decoded message
+     * @param length     the length of the frame after its length field
+     * @param chunkIndex the position of the message in its transfer if it is a file chunk
+     */
+    public void finish(Channel channel, int messageId, Object message, int length, long chunkIndex) {
+        end();
+        if (shouldCommit()) {
+            channel(channel);
+            this.messageId = messageId;
+            this.messageType = message.getClass();
+            this.bytes = length;
+            if (message instanceof InboundFileChunk chunk) {
+                this.transfer = chunk.storePath();
+                this.chunkIndex = chunkIndex;
+            }
+            commit();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.netty.communication.trace;
+
+import io.netty.channel.Channel;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JDK Flight Recorder event for the encoding of a message into a frame to send. The queue wait of an
+ * acknowledgment is the time from its creation, by the store executor, until the channel's event loop
+ * encodes it for flushing.
+ */
+@Name("com.netty.communication.FrameEncode")
+@Label("Frame Encode")
+public class FrameEncodeEvent extends PipelineEvent {
+    @Label("Message Id")
+    int messageId;
+
+    @Label("Message Type")
+    Class<?> messageType;
+
+    /**
+     * Ends the event and commits it if it is enabled.
+     *
+     * @param channel    the channel the frame is sent on
+     * @param messageId  the protocol id of the frame
+     * @param message    the encoded message
+     * @param length     the length of the frame after its length field
+     * @param startNanos the time the encoding started
+     */
+    public void finish(Channel channel, int messageId, Object message, int length, long startNanos) {
+        end();
+        if (shouldCommit()) {
+            channel(channel);
+            this.messageId = messageId;
+            this.messageType = message.getClass();
+            this.bytes = length;
+            queueWait(message, startNanos);
+            commit();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.netty.communication.trace;
+
+import com.netty.communication.specification.channel.FrameTraceSpec;
+import io.netty.channel.Channel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Traces the frames the client and the server send and receive, for the remotes it is switched on for.
+ * <p>
+ * The codec handlers hold a {@link Probe} per channel and direction. A probe checks whether its channel is
+ * traced only when the settings have changed since it last looked, so tracing that is off costs a frame one
+ * volatile read. A traced channel captures one frame out of every {@code sampleEvery} into a lock-free ring
+ * buffer, which a single background thread drains, formats and logs; the event loops never format or log.
+ * When the ring buffer laps the thread, the oldest frames are dropped and counted.
+ * <p>
+ * Tracing is switched on for a remote by its IP address, or by its IP address and port, or for all remotes
+ * at once, at any time and without touching the pipelines of open connections.
+ */
+@Slf4j
+@Component
+public class FrameTracer {
+    private final AtomicReferenceArray<TracedFrame> ring;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final ScheduledExecutorService formatter;
+    private long drained;
+
+    private volatile Settings settings;
+
+    public FrameTracer(FrameTraceSpec spec) {
+        int capacity = Integer.highestOneBit(Math.max(2, spec.ringCapacity() - 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.settings = new Settings(0, false, Set.copyOf(spec.remotes()), Math.max(1, spec.sampleEvery()));
+        this.formatter = Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("frame-tracer", true));
+        formatter.scheduleWithFixedDelay(this::drain, spec.drainIntervalMillis(), spec.drainIntervalMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates the probe through which a codec handler reports the frames of its channel.
+     * A probe must be used by the channel's event loop only.
+     *
+     * @param channel   the channel
+     * @param direction the direction of the frames the handler sees
+     * @return the probe
+     */
+    public Probe probe(Channel channel, Direction direction) {
+        return new Probe(channel, direction);
+    }
+
+    /**
+     * Switches tracing on for a remote.
+     *
+     * @param remote the IP address of the remote, or its IP address and port as {@code ip:port}
+     */
+    public synchronized void trace(String remote) {
+        var remotes = new HashSet<>(settings.remotes());
+        remotes.add(remote);
+        update(settings.all(), remotes, settings.sampleEvery());
+    }
+
+    /**
+     * Switches tracing off for a remote. A remote that is traced because all remotes are traced stays traced.
+     *
+     * @param remote the remote as it was switched on
+     */
+    public synchronized void untrace(String remote) {
+        var remotes = new HashSet<>(settings.remotes());
+        remotes.remove(remote);
+        update(settings.all(), remotes, settings.sampleEvery());
+    }
+
+    /**
+     * Changes whether all remotes are traced and how many frames are sampled.
+     *
+     * @param all         whether all remotes are traced, or null to leave it unchanged
+     * @param sampleEvery the number of frames of which one is captured, or null to leave it unchanged
+     * @throws IllegalArgumentException if {@code sampleEvery} is less than 1
+     */
+    public synchronized void configure(Boolean all, Integer sampleEvery) {
+        if (sampleEvery != null && sampleEvery < 1) {
+            throw new IllegalArgumentException("sampleEvery must be at least 1: " + sampleEvery);
+        }
+        update(all != null ? all : settings.all(), settings.remotes(),
+                sampleEvery != null ? sampleEvery : settings.sampleEvery());
+    }
+
+    /**
+     * Returns the current settings and counters.
+     *
+     * @return the status of the tracer
+     */
+    public Status status() {
+        var current = settings;
+        return new Status(current.all(), Set.copyOf(current.remotes()), current.sampleEvery(), ring.length(),
+                claimed.get(), dropped.sum());
+    }
+
+    @PreDestroy
+    void tearDown() {
+        formatter.shutdown();
+    }
+
+    private void update(boolean all, Set<String> remotes, int sampleEvery) {
+        settings = new Settings(settings.generation() + 1, all, Set.copyOf(remotes), sampleEvery);
+        log.info("Frame tracing: all={}, remotes={}, sampleEvery={}", all, remotes, sampleEvery);
+    }
+
+    private void capture(Channel channel, Direction direction, int messageId, Class<?> type, int length) {
+        long sequence = claimed.getAndIncrement();
+        ring.setRelease((int) sequence & mask, new TracedFrame(sequence, System.currentTimeMillis(), direction,
+                channel.id(), channel.localAddress(), channel.remoteAddress(), messageId, type, length));
+    }
+
+    /**
+     * Formats and logs the captured frames. Runs on the formatter thread only.
+     */
+    private void drain() {
+        try {
+            long end = claimed.get();
+            if (end - drained > ring.length()) {
+                dropped.add(end - ring.length() - drained);
+                drained = end - ring.length();
+            }
+            while (drained < end) {
+                var frame = ring.getAcquire((int) drained & mask);
+                if (frame == null || frame.sequence() < drained) {
+                    return; // claimed but not stored yet
+                }
+                if (frame.sequence() == drained) {
+                    log.info(frame.format());
+                } else {
+                    dropped.increment();
+                }
+                drained++;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to log traced frames.", e);
+        }
+    }
+
+    private static boolean matches(Set<String> remotes, SocketAddress address) {
+        if (address instanceof InetSocketAddress inet) {
+            String host = inet.getAddress() != null ? inet.getAddress().getHostAddress() : inet.getHostString();
+            return remotes.contains(host) || remotes.contains(host + ":" + inet.getPort());
+        }
+        return address != null && remotes.contains(address.toString());
+    }
+
+    /**
+     * The direction of a frame.
+     */
+    public enum Direction {
+        INBOUND, OUTBOUND
+    }
+
+    /**
+     * What is traced; replaced as a whole on every change.
+     */
+    private record Settings(int generation, boolean all, Set<String> remotes, int sampleEvery) {
+    }
+
+    /**
+     * The settings and the counters of the tracer.
+     *
+     * @param all          whether all remotes are traced
+     * @param remotes      the remotes traced
+     * @param sampleEvery  the number of frames of which one is captured
+     * @param ringCapacity the number of frames the ring buffer holds
+     * @param captured     the number of frames captured since the start
+     * @param dropped      the number of captured frames dropped before they were logged
+     */
+    public record Status(boolean all, Set<String> remotes, int sampleEvery, int ringCapacity, long captured,
+                         long dropped) {
+    }
+
+    /**
+     * Reports the frames of one channel in one direction to the tracer.
+     */
+    public final class Probe {
+        private final Channel channel;
+        private final Direction direction;
+        private int generation = -1;
+        private boolean traced;
+        private int sampleEvery;
+        private int untilSample;
+
+        private Probe(Channel channel, Direction direction) {
+            this.channel = channel;
+            this.direction = direction;
+        }
+
+        /**
+         * Reports a frame, which is captured if the channel is traced and the frame is sampled.
+         *
+         * @param messageId the protocol id of the frame
+         * @param type      the class of the message the frame carries
+         * @param length    the length of the frame after its length field
+         */
+        public void frame(int messageId, Class<?> type, int length) {
+            var current = settings;
+            if (current.generation() != generation) {
+                refresh(current);
+            }
+            if (traced && --untilSample <= 0) {
+                untilSample = sampleEvery;
+                capture(channel, direction, messageId, type, length);
+            }
+        }
+
+        private void refresh(Settings current) {
+            generation = current.generation();
+            traced = current.all() || matches(current.remotes(), channel.remoteAddress());
+            sampleEvery = current.sampleEvery();
+            untilSample = 1;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.netty.communication.trace;
+
+import com.netty.communication.dto.LatencyBreakdownDto;
+import com.netty.communication.dto.LatencySegmentDto;
+import com.netty.communication.metrics.ChannelRole;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Splits the time a client spent on a traced transfer into the parts the client, the server and the network
+ * are to blame for, from the spans both peers recorded.
+ * <p>
+ * Only durations are combined, never the starts of spans of different nodes, so the breakdown does not depend
+ * on the clocks of the peers agreeing. The parts are:
+ * <ul>
+ *     <li>{@code connect}: connecting and the handshake, on the client;</li>
+ *     <li>{@code server.process}: processing the requests on the server, before any reply is sent;</li>
+ *     <li>{@code server.disk}: storing the chunks of an upload on the server;</li>
+ *     <li>{@code client.disk}: storing the chunks of a download on the client;</li>
+ *     <li>{@code network}: the rest, which is moving the bytes and waiting for acknowledgments, and for a
+ *     download also reading the file on the server, which happens while the chunks are sent.</li>
+ * </ul>
+ * Chunks are acknowledged only once they are stored, so the disk time of the receiving side holds the
+ * transfer up and is taken out of the rest. The server's {@code respond} spans, which last until the last
+ * reply has been written, are returned with the other spans but are not a part of their own, since they
+ * overlap the others.
+ */
+public final class LatencyBreakdown {
+
+    private LatencyBreakdown() {
+    }
+
+    /**
+     * Computes the breakdown of a trace.
+     *
+     * @param traceId the id of the trace
+     * @param spans   the spans of the trace recorded by the client and by the server; spans that appear
+     *                more than once, because both peers run in the same process, are counted once
+     * @return the breakdown and the merged spans, ordered by role and start
+     */
+    public static LatencyBreakdownDto compute(String traceId, Collection<Span> spans) {
+        var merged = new LinkedHashMap<String, Span>();
+        spans.forEach(span -> merged.putIfAbsent(span.spanId(), span));
+        var ordered = new ArrayList<>(merged.values());
+        ordered.sort(Comparator.comparing(Span::role).thenComparingLong(Span::startEpochMicros));
+
+        int attempts = 0;
+        long total = 0;
+        for (var span : ordered) {
+            if (span.role() == ChannelRole.CLIENT && span.parentId() == null) {
+                attempts++;
+                total += span.durationMicros();
+            }
+        }
+        long connect = sum(ordered, ChannelRole.CLIENT, "connect");
+        long process = sum(ordered, ChannelRole.SERVER, "process");
+        long serverDisk = sum(ordered, ChannelRole.SERVER, "store");
+        long clientDisk = sum(ordered, ChannelRole.CLIENT, "store");
+        long network = Math.max(0, total - connect - process - serverDisk - clientDisk);
+
+        var segments = new ArrayList<LatencySegmentDto>();
+        segments.add(segment("connect", connect, total));
+        segments.add(segment("server.process", process, total));
+        segments.add(segment("server.disk", serverDisk, total));
+        segments.add(segment("client.disk", clientDisk, total));
+        segments.add(segment("network", network, total));
+        return new LatencyBreakdownDto(traceId, attempts, total, segments, List.copyOf(ordered));
+    }
+
+    private static long sum(List<Span> spans, ChannelRole role, String name) {
+        return spans.stream()
+                .filter(span -> span.role() == role && span.name().equals(name))
+                .mapToLong(Span::durationMicros)
+                .sum();
+    }
+
+    private static LatencySegmentDto segment(String name, long micros, long total) {
+        double percent = total > 0 ? Math.round(micros * 1000.0 / total) / 10.0 : 0;
+        return new LatencySegmentDto(name, micros, percent);
+    }
+}
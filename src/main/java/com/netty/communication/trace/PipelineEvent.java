@@ -0,0 +1,69 @@
+package com.netty.communication.trace;
+
+import com.netty.communication.message.TimestampedMessage;
+import io.netty.channel.Channel;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The fields shared by the JDK Flight Recorder events of the pipeline stages. A stage creates its event and
+ * begins it before its work and finishes it after; when no recording enables the event, finishing it costs a
+ * check and the event is dropped without its fields being filled.
+ * <p>
+ * The fields a stage does not know are left at their defaults: no transfer, a chunk index of -1 and no
+ * queue wait.
+ */
+@Category({"Netty File Transfer", "Pipeline"})
+@StackTrace(false)
+abstract class PipelineEvent extends Event {
+    @Label("Channel")
+    @Description("The id of the channel")
+    String channel;
+
+    @Label("Remote Address")
+    String remote;
+
+    @Label("Transfer")
+    @Description("The path the file of the transfer is stored at")
+    String transfer;
+
+    @Label("Chunk Index")
+    @Description("The position of the chunk in its transfer, starting at 0 with the start chunk")
+    long chunkIndex = -1;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Queue Wait")
+    @Description("The time the message waited between its hand-over and the start of the stage")
+    @Timespan
+    long queueWait;
+
+    /**
+     * Fills in the channel of the event.
+     *
+     * @param channel the channel the stage works for
+     */
+    void channel(Channel channel) {
+        this.channel = channel.id().asShortText();
+        this.remote = String.valueOf(channel.remoteAddress());
+    }
+
+    /**
+     * Fills in the queue wait of a message that records its hand-over.
+     *
+     * @param message    the message
+     * @param startNanos the time the stage started
+     */
+    void queueWait(Object message, long startNanos) {
+        if (message instanceof TimestampedMessage timestamped) {
+            this.queueWait = startNanos - timestamped.handedOverNanos();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.netty.communication.trace;
+
+import io.netty.channel.Channel;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JDK Flight Recorder event for the processing of a received request by its request processor,
+ * including the writing of its responses.
+ */
+@Name("com.netty.communication.RequestProcess")
+@Label("Request Process")
+public class RequestProcessEvent extends PipelineEvent {
+    @Label("Message Type")
+    Class<?> messageType;
+
+    @Label("Responses")
+    int responses;
+
+    /**
+     * Ends the event and commits it if it is enabled.
+     *
+     * @param channel    the channel the request was received on
+     * @param message    the request
+     * @param responses  the number of responses written
+     * @param startNanos the time the processing started
+     */
+    public void finish(Channel channel, Object message, int responses, long startNanos) {
+        end();
+        if (shouldCommit()) {
+            channel(channel);
+            this.messageType = message.getClass();
+            this.responses = responses;
+            queueWait(message, startNanos);
+            commit();
+        }
+    }
+}
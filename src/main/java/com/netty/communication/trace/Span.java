@@ -0,0 +1,105 @@
+package com.netty.communication.trace;
+
+import com.netty.communication.metrics.ChannelRole;
+import lombok.Builder;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A timed step of a traced transfer, recorded by the client or the server into its {@link SpanStore}.
+ * <p>
+ * The start is taken from the wall clock of the node that recorded the span, so the starts of spans recorded
+ * by different nodes are only as comparable as their clocks; the durations are measured with a monotonic
+ * clock and can always be compared. A span that sums up many short steps, like the stores of the chunks of
+ * a file, starts with the first step and lasts as long as all of them together.
+ *
+ * @param traceId          the id of the trace, in hexadecimal
+ * @param spanId           the id of the span, in hexadecimal
+ * @param parentId         the id of the parent span, or null for the span of a client's attempt
+ * @param role             whether the client or the server recorded the span
+ * @param name             what was timed
+ * @param remote           the address of the peer
+ * @param startEpochMicros when the span started, in microseconds since the epoch
+ * @param durationMicros   how long the span lasted, in microseconds
+ * @param count            the number of steps the span sums up
+ * @param bytes            the number of file bytes the span handled
+ */
+@Builder
+public record Span(String traceId, String spanId, String parentId, ChannelRole role, String name, String remote,
+                   long startEpochMicros, long durationMicros, long count, long bytes) {
+
+    /**
+     * Starts building a span that is a child of the span in a trace context.
+     *
+     * @param context the trace context
+     * @param role    whether the client or the server records the span
+     * @param name    what is timed
+     * @return a builder with the ids and the name set
+     */
+    public static SpanBuilder childOf(TraceContext context, ChannelRole role, String name) {
+        return builder()
+                .traceId(TraceContext.hex(context.traceId()))
+                .spanId(TraceContext.hex(TraceContext.randomId()))
+                .parentId(TraceContext.hex(context.spanId()))
+                .role(role)
+                .name(name)
+                .count(1);
+    }
+
+    /**
+     * Starts building the span a trace context stands for.
+     *
+     * @param context the trace context
+     * @param role    whether the client or the server records the span
+     * @param name    what is timed
+     * @return a builder with the ids and the name set
+     */
+    public static SpanBuilder of(TraceContext context, ChannelRole role, String name) {
+        return builder()
+                .traceId(TraceContext.hex(context.traceId()))
+                .spanId(TraceContext.hex(context.spanId()))
+                .role(role)
+                .name(name)
+                .count(1);
+    }
+
+    /**
+     * Formats the address of a peer the way spans show it.
+     *
+     * @param address the address
+     * @return the IP address and the port as {@code ip:port}
+     */
+    public static String remote(SocketAddress address) {
+        if (address instanceof InetSocketAddress inet) {
+            return inet.getHostString() + ":" + inet.getPort();
+        }
+        return String.valueOf(address);
+    }
+
+    /**
+     * Returns the current time of the wall clock.
+     *
+     * @return the microseconds since the epoch
+     */
+    public static long epochMicros() {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, Instant.now());
+    }
+
+    public static class SpanBuilder {
+
+        /**
+         * Sets the start and the duration of a span that started at a time of the monotonic clock and ends now.
+         *
+         * @param startNanos the {@link System#nanoTime()} the span started at
+         * @return this builder
+         */
+        public SpanBuilder since(long startNanos) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+            return startEpochMicros(epochMicros() - micros).durationMicros(micros);
+        }
+    }
+}
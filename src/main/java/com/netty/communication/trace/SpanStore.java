@@ -0,0 +1,99 @@
+package com.netty.communication.trace;
+
+import com.netty.communication.exception.TraceNotFoundException;
+import com.netty.communication.specification.channel.FrameTraceSpec;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the spans this node records for traced transfers, as the client and as the server.
+ * <p>
+ * Spans are recorded a few times per transfer, never per chunk, so a lock suffices. The store holds the spans
+ * of a bounded number of traces; when a new trace would exceed the bound, the oldest trace is forgotten.
+ */
+@Component
+public class SpanStore {
+    private final boolean enabled;
+    private final Map<String, List<Span>> traces;
+
+    public SpanStore(FrameTraceSpec spec) {
+        this.enabled = spec.spans();
+        int capacity = spec.spanStoreTraces();
+        this.traces = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Span>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Tells whether transfers are traced at all.
+     *
+     * @return true if the client starts traces and spans are recorded
+     */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * Records a span.
+     *
+     * @param span the span
+     */
+    public synchronized void record(Span span) {
+        traces.computeIfAbsent(span.traceId(), traceId -> new ArrayList<>()).add(span);
+    }
+
+    /**
+     * Returns the spans of a trace, in the order they were recorded.
+     *
+     * @param traceId the id of the trace, in hexadecimal
+     * @return the spans
+     * @throws TraceNotFoundException if no span of the trace is known
+     */
+    public synchronized List<Span> spans(String traceId) {
+        var spans = traces.get(traceId);
+        if (spans == null) {
+            throw new TraceNotFoundException("Unknown trace: " + traceId);
+        }
+        return List.copyOf(spans);
+    }
+
+    /**
+     * Returns the most recently started traces, newest first.
+     *
+     * @param limit the maximum number of traces
+     * @return a summary of each trace
+     */
+    public synchronized List<Summary> recent(int limit) {
+        var all = new ArrayList<>(traces.entrySet());
+        var summaries = new ArrayList<Summary>(Math.min(limit, all.size()));
+        for (int i = all.size() - 1; i >= 0 && summaries.size() < limit; i--) {
+            summaries.add(Summary.of(all.get(i).getKey(), all.get(i).getValue()));
+        }
+        return summaries;
+    }
+
+    /**
+     * A summary of a trace, taken from the span of the client's first attempt, or from the first span if this
+     * node did not record the client's spans.
+     *
+     * @param traceId          the id of the trace
+     * @param name             the name of the span
+     * @param remote           the peer of the span
+     * @param startEpochMicros the start of the span
+     * @param spans            the number of spans
+     */
+    public record Summary(String traceId, String name, String remote, long startEpochMicros, int spans) {
+
+        private static Summary of(String traceId, List<Span> spans) {
+            var first = spans.stream().filter(span -> span.parentId() == null).findFirst().orElse(spans.get(0));
+            return new Summary(traceId, first.name(), first.remote(), first.startEpochMicros(), spans.size());
+        }
+    }
+}
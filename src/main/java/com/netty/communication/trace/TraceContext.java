@@ -0,0 +1,56 @@
+package com.netty.communication.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The trace context a traced frame carries in its header: the trace of the transfer and the span of the
+ * client's attempt that the frame belongs to. The client starts a trace for every transfer; the server takes
+ * the context over from the request and sends it back on its replies, so that the spans both peers record
+ * for the transfer can be merged.
+ *
+ * @param traceId the id of the trace, the same for every attempt of a transfer
+ * @param spanId  the id of the client's span the peer's spans are children of
+ */
+public record TraceContext(long traceId, long spanId) {
+
+    /**
+     * Starts a new trace.
+     *
+     * @return the context of the first span of a new trace
+     */
+    public static TraceContext start() {
+        return new TraceContext(randomId(), randomId());
+    }
+
+    /**
+     * Starts a new span in the same trace, for another attempt of the transfer.
+     *
+     * @return the context of the new span
+     */
+    public TraceContext nextSpan() {
+        return new TraceContext(traceId, randomId());
+    }
+
+    /**
+     * Formats an id the way spans and the REST API show it.
+     *
+     * @param id the id
+     * @return the id as 16 hexadecimal digits
+     */
+    public static String hex(long id) {
+        return String.format("%016x", id);
+    }
+
+    /**
+     * Creates a random id; zero is never used.
+     *
+     * @return the id
+     */
+    static long randomId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return id;
+    }
+}
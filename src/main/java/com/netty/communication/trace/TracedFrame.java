@@ -0,0 +1,35 @@
+package com.netty.communication.trace;
+
+import io.netty.channel.ChannelId;
+
+import java.net.SocketAddress;
+import java.time.Instant;
+
+/**
+ * A frame captured by the {@link FrameTracer}. Capturing only copies references; formatting is left to
+ * the tracer's background thread.
+ *
+ * @param sequence   the position of the frame in the order of capture
+ * @param timeMillis the time of capture
+ * @param direction  whether the frame was received or sent
+ * @param channelId  the id of the channel
+ * @param local      the local address of the channel
+ * @param remote     the remote address of the channel
+ * @param messageId  the protocol id of the frame
+ * @param type       the class of the message the frame carries
+ * @param length     the length of the frame after its length field
+ */
+record TracedFrame(long sequence, long timeMillis, FrameTracer.Direction direction, ChannelId channelId,
+                   SocketAddress local, SocketAddress remote, int messageId, Class<?> type, int length) {
+
+    /**
+     * Formats the frame as a log line.
+     *
+     * @return the formatted frame
+     */
+    String format() {
+        return String.format("%s [id: 0x%s, L:%s %s R:%s] %d %s %d bytes", Instant.ofEpochMilli(timeMillis),
+                channelId.asShortText(), local, direction == FrameTracer.Direction.INBOUND ? "<" : ">", remote,
+                messageId, type.getSimpleName(), length);
+    }
+}
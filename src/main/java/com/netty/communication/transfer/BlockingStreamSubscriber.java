@@ -0,0 +1,102 @@
+package com.netty.communication.transfer;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Hands the bytes of a download over to a thread that writes them to an {@link OutputStream}.
+ * <p>
+ * Unlike the {@link OutputStreamSubscriber}, which writes on the thread a piece is delivered on, this
+ * subscriber only queues the piece; the thread calling {@link #transferTo(OutputStream)} writes it and
+ * requests the next one afterwards. A slow stream therefore holds the download back without blocking the
+ * thread the pieces arrive on, and at most one piece is waiting at any time.
+ * <p>
+ * {@link #started()} tells whether the download got as far as its first piece, so that a caller can still
+ * answer a failed download before it has written anything.
+ */
+public class BlockingStreamSubscriber implements Flow.Subscriber<ByteBuffer> {
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> signals = new LinkedBlockingQueue<>();
+    private final CompletableFuture<Void> started = new CompletableFuture<>();
+    private volatile Flow.Subscription subscription;
+
+    /**
+     * Returns the future that completes once the first piece or the end of the download has arrived.
+     *
+     * @return a future completed exceptionally with the cause if the download fails before its first piece
+     */
+    public CompletableFuture<Void> started() {
+        return started;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(ByteBuffer contents) {
+        signals.add(contents);
+        started.complete(null);
+    }
+
+    @Override
+    public void onError(Throwable cause) {
+        signals.add(END);
+        started.completeExceptionally(cause);
+    }
+
+    @Override
+    public void onComplete() {
+        signals.add(END);
+        started.complete(null);
+    }
+
+    /**
+     * Writes the pieces of the download to a stream as they arrive, until the download ends.
+     * Whether it ended successfully is reported by the future of the download, not by this method.
+     * If the stream cannot be written, the download is cancelled.
+     *
+     * @param out the stream to write to; it is flushed at the end but not closed
+     * @return the number of bytes written
+     * @throws IOException if the stream cannot be written
+     * @throws InterruptedIOException if the thread is interrupted while waiting for a piece
+     */
+    public long transferTo(OutputStream out) throws IOException {
+        long bytes = 0;
+        try {
+            while (true) {
+                var signal = signals.take();
+                if (signal == END) {
+                    out.flush();
+                    return bytes;
+                }
+                var contents = (ByteBuffer) signal;
+                bytes += contents.remaining();
+                if (contents.hasArray()) {
+                    out.write(contents.array(), contents.arrayOffset() + contents.position(), contents.remaining());
+                } else {
+                    var copy = new byte[contents.remaining()];
+                    contents.get(copy);
+                    out.write(copy);
+                }
+                subscription.request(1);
+            }
+        } catch (InterruptedException e) {
+            subscription.cancel();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the download.");
+        } catch (IOException | RuntimeException e) {
+            subscription.cancel();
+            throw e;
+        }
+    }
+}
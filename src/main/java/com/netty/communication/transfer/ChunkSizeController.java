@@ -0,0 +1,108 @@
+package com.netty.communication.transfer;
+
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+/**
+ * Chooses the size of the next file chunk of a connection from the measured throughput and ack RTT.
+ * <p>
+ * Acknowledged bytes are accumulated into throughput samples spanning at least two minimum RTTs.
+ * After each sample the chunk size moves towards the amount of data the link delivers in the target
+ * chunk time (or one RTT on long links), by at most a factor of two, so that slow links get small
+ * chunks without long head-of-line stalls and fast links get large chunks with little per-chunk
+ * overhead. If the gap between two acks exceeds the stall threshold, the chunk size is halved at once
+ * to stay clear of the idle timeout. The size always stays within the configured bounds.
+ * <p>
+ * Instances are not thread-safe; each connection uses its own controller on its event loop.
+ */
+@Getter
+@Accessors(fluent = true)
+public class ChunkSizeController {
+    private static final int ALIGNMENT = 4096;
+    private static final long MIN_SAMPLE_NANOS = 20_000_000L;
+    private static final double SMOOTHING = 0.25;
+
+    private final int minChunkSize;
+    private final int maxChunkSize;
+    private final long targetChunkNanos;
+    private final long stallNanos;
+
+    private int chunkSize;
+    private double bytesPerNano;
+    private long minRttNanos = Long.MAX_VALUE;
+    private long lastAckNanos;
+    private long sampleStartNanos;
+    private long sampleBytes;
+
+    /**
+     * Creates a controller.
+     *
+     * @param initialChunkSize the chunk size to start with
+     * @param minChunkSize     the smallest chunk size
+     * @param maxChunkSize     the largest chunk size
+     * @param targetChunkNanos the time the transfer of one chunk should take
+     * @param stallNanos       the ack gap after which the chunk size is halved
+     */
+    public ChunkSizeController(int initialChunkSize, int minChunkSize, int maxChunkSize, long targetChunkNanos, long stallNanos) {
+        this.minChunkSize = minChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.targetChunkNanos = targetChunkNanos;
+        this.stallNanos = stallNanos;
+        this.chunkSize = clamp(initialChunkSize);
+    }
+
+    /**
+     * Records the acknowledgment of a chunk and adjusts the chunk size.
+     *
+     * @param bytes    the number of file bytes in the acknowledged chunk
+     * @param rttNanos the time between writing the chunk and receiving its acknowledgment
+     * @param nowNanos the current {@link System#nanoTime()}
+     */
+    public void onAck(long bytes, long rttNanos, long nowNanos) {
+        minRttNanos = Math.min(minRttNanos, rttNanos);
+        if (lastAckNanos != 0 && nowNanos - lastAckNanos > stallNanos) {
+            chunkSize = clamp(chunkSize / 2);
+            restartSample(nowNanos);
+        }
+        lastAckNanos = nowNanos;
+
+        if (sampleStartNanos == 0) {
+            restartSample(nowNanos - rttNanos);
+        }
+        sampleBytes += bytes;
+
+        long elapsed = nowNanos - sampleStartNanos;
+        if (elapsed >= Math.max(MIN_SAMPLE_NANOS, 2 * minRttNanos) && sampleBytes > 0) {
+            double sample = (double) sampleBytes / elapsed;
+            bytesPerNano = bytesPerNano == 0 ? sample : bytesPerNano + SMOOTHING * (sample - bytesPerNano);
+            adjust();
+            restartSample(nowNanos);
+        }
+    }
+
+    /**
+     * Returns the smoothed throughput estimate.
+     *
+     * @return the throughput in bytes per second, or 0 before the first sample
+     */
+    public long throughputBytesPerSecond() {
+        return (long) (bytesPerNano * 1_000_000_000L);
+    }
+
+    private void adjust() {
+        long chunkNanos = Math.max(targetChunkNanos, minRttNanos);
+        long desired = (long) (bytesPerNano * chunkNanos);
+        long bounded = Math.max(chunkSize / 2, Math.min(2L * chunkSize, desired));
+        chunkSize = clamp(bounded);
+    }
+
+    private void restartSample(long startNanos) {
+        sampleStartNanos = startNanos;
+        sampleBytes = 0;
+    }
+
+    private int clamp(long size) {
+        long aligned = Math.max(ALIGNMENT, size / ALIGNMENT * ALIGNMENT);
+        return (int) Math.max(minChunkSize, Math.min(maxChunkSize, aligned));
+    }
+}
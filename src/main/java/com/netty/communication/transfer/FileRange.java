@@ -0,0 +1,19 @@
+package com.netty.communication.transfer;
+
+/**
+ * A contiguous range of bytes of a file.
+ *
+ * @param offset the offset of the first byte
+ * @param length the number of bytes
+ */
+public record FileRange(long offset, long length) {
+
+    /**
+     * Returns the offset just past the last byte of the range.
+     *
+     * @return the end offset
+     */
+    public long end() {
+        return offset + length;
+    }
+}
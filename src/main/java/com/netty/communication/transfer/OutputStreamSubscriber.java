@@ -0,0 +1,71 @@
+package com.netty.communication.transfer;
+
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Flow;
+
+/**
+ * Writes the bytes of a download to an {@link OutputStream}.
+ * Each piece is requested once the previous one has been written, so the download runs as fast as the
+ * stream accepts the bytes. The stream is flushed at the end but not closed.
+ */
+@RequiredArgsConstructor
+public class OutputStreamSubscriber implements Flow.Subscriber<ByteBuffer> {
+    private final OutputStream out;
+    private Flow.Subscription subscription;
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    /**
+     * Writes a piece to the stream and requests the next one.
+     *
+     * @param contents the bytes of the piece
+     * @throws UncheckedIOException if the stream cannot be written, which fails the download
+     */
+    @Override
+    public void onNext(ByteBuffer contents) {
+        try {
+            if (contents.hasArray()) {
+                out.write(contents.array(), contents.arrayOffset() + contents.position(), contents.remaining());
+            } else {
+                var copy = new byte[contents.remaining()];
+                contents.get(copy);
+                out.write(copy);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        subscription.request(1);
+    }
+
+    /**
+     * Does nothing; the failure is reported by the future of the download.
+     *
+     * @param cause why the download failed
+     */
+    @Override
+    public void onError(Throwable cause) {
+    }
+
+    /**
+     * Flushes the stream.
+     *
+     * @throws UncheckedIOException if the stream cannot be flushed, which fails the download
+     */
+    @Override
+    public void onComplete() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
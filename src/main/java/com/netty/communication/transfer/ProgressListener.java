@@ -0,0 +1,23 @@
+package com.netty.communication.transfer;
+
+import com.netty.communication.dto.TransferProgressDto;
+
+/**
+ * Receives the progress events of one transfer from the {@link ProgressPublisher}.
+ * The methods are called by the publisher's thread, one at a time.
+ */
+public interface ProgressListener {
+
+    /**
+     * Receives a progress event.
+     *
+     * @param event the progress of the transfer
+     * @throws Exception if the event cannot be delivered; the listener is then unsubscribed
+     */
+    void onProgress(TransferProgressDto event) throws Exception;
+
+    /**
+     * Called after the last event, once the transfer has ended or has been forgotten.
+     */
+    void onEnd();
+}
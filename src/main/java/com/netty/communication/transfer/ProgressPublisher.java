@@ -0,0 +1,201 @@
+package com.netty.communication.transfer;
+
+import com.netty.communication.dto.TransferProgressDto;
+import com.netty.communication.exception.TransferIdInUseException;
+import com.netty.communication.exception.TransferNotFoundException;
+import com.netty.communication.specification.channel.ChannelSpecProvider;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the progress of transfers, by id, to the listeners that follow them.
+ * <p>
+ * The chunk path only advances the {@link TransferProgress} of a transfer; the publisher samples every
+ * registered progress on one thread at a fixed interval, derives the rate and the time remaining, and sends an
+ * event to a listener only if something changed since the last event it got. A listener therefore gets at
+ * most one event per interval however fast the chunks move, and a transfer nobody follows costs no events.
+ * <p>
+ * When a transfer ends, its listeners get the final event and are ended. The transfer is remembered for
+ * {@code progressRetentionMillis}, so that a listener subscribing late still gets the outcome.
+ */
+@Slf4j
+@Component
+public class ProgressPublisher {
+    private static final double RATE_SMOOTHING = 0.3;
+
+    private final Map<String, Tracked> transfers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker;
+    private final long retentionMillis;
+
+    public ProgressPublisher(ChannelSpecProvider channelSpecProvider) {
+        var spec = channelSpecProvider.client();
+        this.retentionMillis = spec.progressRetentionMillis();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(new DefaultThreadFactory("progress-publisher", true));
+        ticker.scheduleWithFixedDelay(this::tick, spec.progressIntervalMillis(), spec.progressIntervalMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Starts publishing the progress of a transfer. An ended transfer with the same id is replaced.
+     *
+     * @param id       the id the progress is followed by
+     * @param progress the progress of the transfer
+     * @throws TransferIdInUseException if a transfer with the same id has not ended yet
+     */
+    public void register(String id, TransferProgress progress) {
+        var replaced = new Tracked[1];
+        transfers.compute(id, (key, existing) -> {
+            if (existing != null && !existing.progress.stage().isFinished()) {
+                throw new TransferIdInUseException("A running transfer already has the id " + id);
+            }
+            replaced[0] = existing;
+            return new Tracked(id, progress);
+        });
+        if (replaced[0] != null) {
+            replaced[0].subscribers.forEach(subscriber -> subscriber.listener.onEnd());
+        }
+    }
+
+    /**
+     * Subscribes a listener to the progress of a transfer. The listener gets the current progress with the
+     * next event.
+     *
+     * @param id       the id of the transfer
+     * @param listener the listener
+     * @throws TransferNotFoundException if no transfer with the id is known
+     */
+    public void subscribe(String id, ProgressListener listener) {
+        var tracked = transfers.get(id);
+        if (tracked == null) {
+            throw new TransferNotFoundException("Unknown transfer: " + id);
+        }
+        tracked.subscribers.add(new Subscriber(listener));
+    }
+
+    /**
+     * Unsubscribes a listener, for instance because its connection has gone.
+     *
+     * @param id       the id of the transfer
+     * @param listener the listener
+     */
+    public void unsubscribe(String id, ProgressListener listener) {
+        var tracked = transfers.get(id);
+        if (tracked != null) {
+            tracked.subscribers.removeIf(subscriber -> subscriber.listener == listener);
+        }
+    }
+
+    @PreDestroy
+    void tearDown() {
+        ticker.shutdown();
+    }
+
+    /**
+     * Samples the registered transfers and sends the events. Runs on the ticker thread only.
+     */
+    private void tick() {
+        try {
+            long now = System.nanoTime();
+            for (var tracked : transfers.values()) {
+                var stage = tracked.progress.stage();
+                if (stage == TransferStage.QUEUED && tracked.subscribers.isEmpty()) {
+                    continue;
+                }
+                var event = tracked.sample(stage, now);
+                publish(tracked, event, stage.isFinished());
+                if (stage.isFinished() && now - tracked.finishedAt > TimeUnit.MILLISECONDS.toNanos(retentionMillis)) {
+                    transfers.remove(tracked.id, tracked);
+                    tracked.subscribers.forEach(subscriber -> subscriber.listener.onEnd());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to publish transfer progress.", e);
+        }
+    }
+
+    private static void publish(Tracked tracked, TransferProgressDto event, boolean last) {
+        for (var subscriber : tracked.subscribers) {
+            try {
+                if (!sameProgress(event, subscriber.last)) {
+                    subscriber.listener.onProgress(event);
+                    subscriber.last = event;
+                }
+                if (last) {
+                    tracked.subscribers.remove(subscriber);
+                    subscriber.listener.onEnd();
+                }
+            } catch (Exception e) {
+                log.debug("Dropping a listener of transfer {}: {}", tracked.id, e.toString());
+                tracked.subscribers.remove(subscriber);
+            }
+        }
+    }
+
+    private static boolean sameProgress(TransferProgressDto event, TransferProgressDto last) {
+        return last != null && event.getStage() == last.getStage()
+                && event.getTransferredBytes() == last.getTransferredBytes()
+                && event.getTotalBytes() == last.getTotalBytes();
+    }
+
+    private static final class Subscriber {
+        private final ProgressListener listener;
+        private TransferProgressDto last;
+
+        private Subscriber(ProgressListener listener) {
+            this.listener = listener;
+        }
+    }
+
+    /**
+     * A registered transfer and the state of its rate estimate, which only the ticker thread touches.
+     */
+    private static final class Tracked {
+        private final String id;
+        private final TransferProgress progress;
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private long lastBytes = -1;
+        private long lastNanos;
+        private double rate;
+        private long finishedAt;
+
+        private Tracked(String id, TransferProgress progress) {
+            this.id = Objects.requireNonNull(id);
+            this.progress = Objects.requireNonNull(progress);
+        }
+
+        private TransferProgressDto sample(TransferStage stage, long now) {
+            long bytes = progress.transferredBytes();
+            long total = progress.totalBytes();
+            if (lastBytes >= 0 && !stage.isFinished() && now > lastNanos) {
+                double current = (bytes - lastBytes) * 1e9 / (now - lastNanos);
+                rate = rate == 0 ? current : RATE_SMOOTHING * current + (1 - RATE_SMOOTHING) * rate;
+            }
+            lastBytes = bytes;
+            lastNanos = now;
+            if (stage.isFinished() && finishedAt == 0) {
+                finishedAt = now;
+            }
+            long eta;
+            if (stage.isFinished()) {
+                eta = 0;
+            } else if (total >= 0 && rate >= 1) {
+                eta = (long) (Math.max(0, total - bytes) * 1000 / rate);
+            } else {
+                eta = -1;
+            }
+            long done = stage == TransferStage.SUCCEEDED && total >= 0 ? total : bytes;
+            return new TransferProgressDto(id, stage, done, total, (long) rate, eta);
+        }
+    }
+}
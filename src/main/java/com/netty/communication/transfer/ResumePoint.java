@@ -0,0 +1,53 @@
+package com.netty.communication.transfer;
+
+import com.netty.communication.util.ChecksumUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The point an interrupted file transfer can continue from.
+ * <p>
+ * The receiver reports how many bytes of the file it has stored, together with the CRC32C checksum
+ * of the stored bytes just before that offset. The sender continues at the offset only if its source
+ * still has the same bytes there; otherwise the source has changed and the transfer starts over.
+ *
+ * @param offset     the number of bytes the receiver has stored
+ * @param tailLength the number of bytes before the offset covered by the checksum
+ * @param tailCrc32c the CRC32C checksum of the tail
+ */
+public record ResumePoint(long offset, int tailLength, int tailCrc32c) {
+    public static final ResumePoint NONE = new ResumePoint(0, 0, 0);
+
+    /**
+     * Describes the stored part of a file.
+     *
+     * @param partialFile  the file holding the stored bytes
+     * @param offset       the number of bytes stored
+     * @param maxTailBytes the largest number of bytes covered by the tail checksum
+     * @return the resume point, or {@link #NONE} if nothing is stored
+     * @throws IOException if the stored bytes cannot be read
+     */
+    public static ResumePoint of(Path partialFile, long offset, int maxTailBytes) throws IOException {
+        if (offset <= 0) {
+            return NONE;
+        }
+        int tailLength = (int) Math.min(offset, maxTailBytes);
+        return new ResumePoint(offset, tailLength, ChecksumUtils.crc32c(partialFile, offset - tailLength, tailLength));
+    }
+
+    /**
+     * Decides where a transfer of the source continues.
+     *
+     * @param source the source file of the transfer
+     * @return the offset to continue at, or 0 if the source no longer matches the stored bytes
+     * @throws IOException if the source cannot be read
+     */
+    public long startOffset(Path source) throws IOException {
+        if (offset <= 0 || Files.size(source) < offset) {
+            return 0;
+        }
+        return ChecksumUtils.crc32c(source, offset - tailLength, tailLength) == tailCrc32c ? offset : 0;
+    }
+}
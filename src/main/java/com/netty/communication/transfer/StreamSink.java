@@ -0,0 +1,183 @@
+package com.netty.communication.transfer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Delivers the bytes of a download to a {@link Flow.Subscriber} instead of a file.
+ * <p>
+ * A piece is delivered only when the subscriber has requested it, and the callback that acknowledges it
+ * to the sender runs only once it has been delivered; a subscriber that requests nothing therefore holds
+ * the sender back after one window of chunks. Signals are delivered in order and one at a time, on the
+ * thread that offers a piece or on the thread that requests one.
+ * <p>
+ * {@link #delivered()} completes with the number of delivered bytes after {@code onComplete}. It completes
+ * exceptionally when the transfer fails, when the subscriber throws, and, cancelled, when the subscriber
+ * cancels its subscription.
+ */
+public final class StreamSink implements Flow.Subscription {
+    private final Flow.Subscriber<? super ByteBuffer> subscriber;
+    private final CompletableFuture<Long> delivered = new CompletableFuture<>();
+    private final Deque<Piece> pieces = new ArrayDeque<>();
+    private long demand;
+    private long bytes;
+    private boolean ended;
+    private Throwable failure;
+    private boolean terminated;
+    private boolean draining;
+
+    private StreamSink(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        this.subscriber = subscriber;
+    }
+
+    /**
+     * Creates a sink and subscribes the subscriber to it.
+     *
+     * @param subscriber the subscriber the bytes are delivered to
+     * @return the new sink
+     */
+    public static StreamSink subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        var sink = new StreamSink(subscriber);
+        subscriber.onSubscribe(sink);
+        return sink;
+    }
+
+    /**
+     * Returns the future that completes once all bytes have been delivered.
+     *
+     * @return a future completed with the number of delivered bytes
+     */
+    public CompletableFuture<Long> delivered() {
+        return delivered;
+    }
+
+    /**
+     * Queues the next piece of the download.
+     *
+     * @param contents    the bytes of the piece, owned by the sink from now on
+     * @param onDelivered called once the piece has been delivered to the subscriber
+     */
+    public void offer(ByteBuffer contents, Runnable onDelivered) {
+        synchronized (this) {
+            if (terminated || ended) {
+                return;
+            }
+            pieces.add(new Piece(contents, onDelivered));
+        }
+        drain();
+    }
+
+    /**
+     * Marks the download as complete; the subscriber is completed after the queued pieces.
+     */
+    public void complete() {
+        synchronized (this) {
+            ended = true;
+        }
+        drain();
+    }
+
+    /**
+     * Fails the download; the subscriber receives the error instead of the queued pieces.
+     * Does nothing once the download is complete.
+     *
+     * @param cause why the download failed
+     */
+    public void fail(Throwable cause) {
+        synchronized (this) {
+            if (ended || failure != null) {
+                return;
+            }
+            failure = cause;
+        }
+        drain();
+    }
+
+    /**
+     * Adds to the number of pieces the subscriber is ready to receive.
+     *
+     * @param n the number of additional pieces; a non-positive number fails the download
+     */
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            fail(new IllegalArgumentException("The number of requested pieces must be positive: " + n));
+            return;
+        }
+        synchronized (this) {
+            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        }
+        drain();
+    }
+
+    /**
+     * Stops the delivery; the queued pieces are dropped and {@link #delivered()} is cancelled.
+     */
+    @Override
+    public void cancel() {
+        synchronized (this) {
+            if (terminated) {
+                return;
+            }
+            terminated = true;
+            pieces.clear();
+        }
+        delivered.cancel(false);
+    }
+
+    private void drain() {
+        synchronized (this) {
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        while (true) {
+            Piece piece = null;
+            Throwable error = null;
+            synchronized (this) {
+                if (terminated) {
+                    pieces.clear();
+                    draining = false;
+                    return;
+                }
+                if (failure != null) {
+                    error = failure;
+                    terminated = true;
+                } else if (!pieces.isEmpty() && demand > 0) {
+                    piece = pieces.poll();
+                    demand--;
+                } else if (pieces.isEmpty() && ended) {
+                    terminated = true;
+                } else {
+                    draining = false;
+                    return;
+                }
+            }
+            try {
+                if (error != null) {
+                    delivered.completeExceptionally(error);
+                    subscriber.onError(error);
+                } else if (piece != null) {
+                    bytes += piece.contents().remaining();
+                    subscriber.onNext(piece.contents());
+                    piece.onDelivered().run();
+                } else {
+                    subscriber.onComplete();
+                    delivered.complete(bytes);
+                }
+            } catch (Throwable cause) {
+                synchronized (this) {
+                    terminated = true;
+                }
+                delivered.completeExceptionally(cause);
+            }
+        }
+    }
+
+    private record Piece(ByteBuffer contents, Runnable onDelivered) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.netty.communication.transfer;
+
+/**
+ * Chooses the number of parallel stripes for transfers to one server from the measured per-stream throughput.
+ * <p>
+ * The best per-stream throughput seen recently approximates what one uncontended stream achieves. After a
+ * striped transfer, the per-stream throughput relative to it tells whether the streams were limited each on
+ * their own, as on links with a high bandwidth-delay product, or by a shared bottleneck. In the first case the
+ * stripe count doubles for the next transfer; if the streams slowed each other down so much that the last
+ * doubling gained little, it is halved again and not raised for a while. The count always stays within
+ * the configured bounds, and files are never split into stripes smaller than the minimum stripe size.
+ * <p>
+ * Instances are thread-safe.
+ */
+public class StripePlanner {
+    private static final double SCALE_UP_EFFICIENCY = 0.75;
+    private static final double SCALE_DOWN_EFFICIENCY = 0.6;
+    private static final double BEST_DECAY = 0.9;
+    private static final int HOLD_TRANSFERS = 8;
+
+    private final int maxStripes;
+    private final long minStripeBytes;
+
+    private int stripes;
+    private double bestBytesPerNano;
+    private int ceiling;
+    private int holdRemaining;
+
+    /**
+     * Creates a planner.
+     *
+     * @param initialStripes the stripe count to start with
+     * @param maxStripes     the largest stripe count
+     * @param minStripeBytes the smallest stripe size
+     */
+    public StripePlanner(int initialStripes, int maxStripes, long minStripeBytes) {
+        this.maxStripes = maxStripes;
+        this.minStripeBytes = minStripeBytes;
+        this.stripes = Math.max(1, Math.min(initialStripes, maxStripes));
+        this.ceiling = maxStripes;
+    }
+
+    /**
+     * Returns the number of stripes to split a file of the given size into.
+     *
+     * @param size the size of the file
+     * @return the stripe count, 1 if the file should not be split
+     */
+    public synchronized int stripesFor(long size) {
+        return (int) Math.max(1, Math.min(stripes, size / minStripeBytes));
+    }
+
+    /**
+     * Records a finished transfer and adjusts the stripe count for the next one.
+     *
+     * @param usedStripes  the number of stripes the transfer used
+     * @param bytes        the number of bytes transferred
+     * @param elapsedNanos the duration of the transfer
+     */
+    public synchronized void onTransfer(int usedStripes, long bytes, long elapsedNanos) {
+        if (bytes <= 0 || elapsedNanos <= 0) {
+            return;
+        }
+        double perStream = (double) bytes / elapsedNanos / usedStripes;
+        bestBytesPerNano = Math.max(bestBytesPerNano * BEST_DECAY, perStream);
+        if (usedStripes != stripes) {
+            return;
+        }
+
+        double efficiency = perStream / bestBytesPerNano;
+        if (holdRemaining > 0 && --holdRemaining == 0) {
+            ceiling = maxStripes;
+        }
+        if (efficiency >= SCALE_UP_EFFICIENCY && stripes * 2 <= ceiling) {
+            stripes *= 2;
+        } else if (efficiency < SCALE_DOWN_EFFICIENCY && stripes > 1) {
+            ceiling = stripes - 1;
+            holdRemaining = HOLD_TRANSFERS;
+            stripes = Math.max(1, stripes / 2);
+        }
+    }
+
+    /**
+     * Returns the current stripe count.
+     *
+     * @return the stripe count used for large files
+     */
+    public synchronized int stripes() {
+        return stripes;
+    }
+}
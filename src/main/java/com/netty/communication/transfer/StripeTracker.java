@@ -0,0 +1,123 @@
+package com.netty.communication.transfer;
+
+import com.netty.communication.util.ChecksumUtils;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the verified ranges of striped files, whose stripes arrive over separate connections in any order.
+ * <p>
+ * The stripes of a file are written in place into a file named after it with the {@link #STRIPED_SUFFIX}.
+ * Every stripe that has been received completely is recorded with the CRC32C checksum computed while it
+ * was written, and adjacent or overlapping stripes are merged. The checksums of adjacent stripes are
+ * combined, so that the checksum of the whole file is known without reading it once its stripes cover it;
+ * an overlap leaves the merged range without a checksum. A striped file is committed only once its recorded
+ * ranges cover it from the first to the last byte; committing forgets the file either way, so that a repeated
+ * transfer starts from scratch.
+ * <p>
+ * Files are tracked by their absolute paths, so one instance serves both the client and the server.
+ * Instances are thread-safe.
+ */
+@Component
+public class StripeTracker {
+    /**
+     * The suffix of the file the stripes of a file are written into.
+     */
+    public static final String STRIPED_SUFFIX = ".stripes";
+
+    private final Map<String, NavigableMap<Long, Stripe>> files = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the path of the file the stripes of a file are written into.
+     *
+     * @param filePath the path of the file
+     * @return the path of its striped file
+     */
+    public static String stripedPath(String filePath) {
+        return filePath + STRIPED_SUFFIX;
+    }
+
+    /**
+     * Records a stripe that has been received and verified.
+     *
+     * @param stripedPath the absolute path of the striped file
+     * @param range       the range of the stripe
+     * @param crc32c      the CRC32C checksum of the stripe, or null if it is not known
+     */
+    public void record(String stripedPath, FileRange range, Integer crc32c) {
+        if (range.length() <= 0) {
+            return;
+        }
+        files.compute(stripedPath, (path, ranges) -> {
+            var merged = ranges != null ? ranges : new TreeMap<Long, Stripe>();
+            long start = range.offset();
+            long end = range.end();
+            Integer crc = crc32c;
+            var floor = merged.floorEntry(start);
+            if (floor != null && floor.getValue().end() >= start) {
+                merged.remove(floor.getKey());
+                crc = floor.getValue().end() == start ? combine(floor.getValue().crc32c(), crc, end - start) : null;
+                start = floor.getKey();
+                end = Math.max(end, floor.getValue().end());
+            }
+            var next = merged.ceilingEntry(start);
+            while (next != null && next.getKey() <= end) {
+                var stripe = next.getValue();
+                crc = next.getKey() == end ? combine(crc, stripe.crc32c(), stripe.end() - next.getKey()) : null;
+                end = Math.max(end, stripe.end());
+                merged.remove(next.getKey());
+                next = merged.ceilingEntry(start);
+            }
+            merged.put(start, new Stripe(end, crc));
+            return merged;
+        });
+    }
+
+    /**
+     * Checks whether the recorded stripes cover a file completely and stops tracking it.
+     *
+     * @param stripedPath the absolute path of the striped file
+     * @param size        the size of the file
+     * @return whether every byte of the file lies within a recorded stripe, and the checksum of the file
+     */
+    public Coverage complete(String stripedPath, long size) {
+        var ranges = files.remove(stripedPath);
+        if (size == 0) {
+            return new Coverage(true, 0);
+        }
+        var first = ranges != null ? ranges.firstEntry() : null;
+        if (first == null || first.getKey() != 0 || first.getValue().end() < size) {
+            return new Coverage(false, null);
+        }
+        return new Coverage(true, first.getValue().end() == size ? first.getValue().crc32c() : null);
+    }
+
+    /**
+     * Stops tracking a file whose transfer has failed.
+     *
+     * @param stripedPath the absolute path of the striped file
+     */
+    public void discard(String stripedPath) {
+        files.remove(stripedPath);
+    }
+
+    private static Integer combine(Integer crc1, Integer crc2, long length2) {
+        return crc1 != null && crc2 != null ? ChecksumUtils.crc32cCombine(crc1, crc2, length2) : null;
+    }
+
+    /**
+     * How far the recorded stripes cover a file.
+     *
+     * @param complete whether every byte of the file lies within a recorded stripe
+     * @param crc32c   the CRC32C checksum of the whole file combined from its stripes, or null if it is not known
+     */
+    public record Coverage(boolean complete, Integer crc32c) {
+    }
+
+    private record Stripe(long end, Integer crc32c) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.netty.communication.transfer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The point in time by which a transfer has to complete, measured on the local monotonic clock.
+ * <p>
+ * Deadlines are propagated between peers as the time remaining, so that the clocks of the peers
+ * need not agree; the receiver starts its own deadline from the remaining time when the request arrives.
+ *
+ * @param deadlineNanos the value of {@link System#nanoTime()} at the deadline
+ */
+public record TransferDeadline(long deadlineNanos) {
+
+    /**
+     * Creates a deadline the given time from now.
+     *
+     * @param timeoutMillis the time until the deadline in milliseconds
+     * @return the deadline
+     */
+    public static TransferDeadline after(long timeoutMillis) {
+        return new TransferDeadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    /**
+     * Creates a deadline for an optional timeout.
+     *
+     * @param timeoutMillis the time until the deadline in milliseconds, or null or a non-positive value for none
+     * @return the deadline, or null if there is none
+     */
+    public static TransferDeadline afterOrNone(Long timeoutMillis) {
+        return timeoutMillis != null && timeoutMillis > 0 ? after(timeoutMillis) : null;
+    }
+
+    /**
+     * Returns the time left until the deadline.
+     *
+     * @return the remaining time in nanoseconds, zero or negative once the deadline has passed
+     */
+    public long remainingNanos() {
+        return deadlineNanos - System.nanoTime();
+    }
+
+    /**
+     * Returns the time left until the deadline, rounded up to whole milliseconds.
+     *
+     * @return the remaining time in milliseconds, zero or negative once the deadline has passed
+     */
+    public long remainingMillis() {
+        long nanos = remainingNanos();
+        return nanos > 0 ? TimeUnit.NANOSECONDS.toMillis(nanos + TimeUnit.MILLISECONDS.toNanos(1) - 1) : 0;
+    }
+
+    /**
+     * Checks whether the deadline has passed.
+     *
+     * @return true if no time is left
+     */
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+}
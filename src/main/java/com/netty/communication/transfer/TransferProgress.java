@@ -0,0 +1,75 @@
+package com.netty.communication.transfer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The number of bytes a transfer has moved so far and the stage it is in, for callers that follow the
+ * progress of a running transfer.
+ * <p>
+ * A progress attached to the session of a connection is advanced by the sending side as the peer acknowledges
+ * chunks and by the receiving side as chunks are stored, so it counts only bytes that have arrived. A transfer
+ * that is retried after a lost connection keeps counting from where it stopped, like the transfer itself.
+ * The stage is moved on by the client as the transfer connects, transfers and ends; once the transfer has
+ * ended, its stage no longer changes.
+ */
+public final class TransferProgress {
+    private final AtomicLong transferredBytes = new AtomicLong();
+    private volatile long totalBytes = -1;
+    private volatile TransferStage stage = TransferStage.QUEUED;
+
+    /**
+     * Adds bytes that have been transferred.
+     *
+     * @param bytes the number of bytes
+     */
+    public void add(long bytes) {
+        transferredBytes.addAndGet(bytes);
+    }
+
+    /**
+     * Returns the number of bytes transferred so far.
+     *
+     * @return the number of bytes
+     */
+    public long transferredBytes() {
+        return transferredBytes.get();
+    }
+
+    /**
+     * Sets the size of the whole transfer, once it is known.
+     *
+     * @param totalBytes the number of bytes
+     */
+    public void totalBytes(long totalBytes) {
+        this.totalBytes = totalBytes;
+    }
+
+    /**
+     * Returns the size of the whole transfer.
+     *
+     * @return the number of bytes, or -1 while it is not known
+     */
+    public long totalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Moves the transfer on to a stage, unless it has already ended.
+     *
+     * @param stage the stage
+     */
+    public synchronized void stage(TransferStage stage) {
+        if (!this.stage.isFinished()) {
+            this.stage = stage;
+        }
+    }
+
+    /**
+     * Returns the stage the transfer is in.
+     *
+     * @return the stage
+     */
+    public TransferStage stage() {
+        return stage;
+    }
+}
@@ -0,0 +1,23 @@
+package com.netty.communication.transfer;
+
+/**
+ * The stage a transfer is in, as reported by its {@link TransferProgress}.
+ */
+public enum TransferStage {
+    QUEUED,
+    CONNECTING,
+    TRANSFERRING,
+    RETRYING,
+    SUCCEEDED,
+    FAILED,
+    CANCELLED;
+
+    /**
+     * Returns whether the transfer has ended in this stage.
+     *
+     * @return true if the transfer will not move on from this stage
+     */
+    public boolean isFinished() {
+        return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -4,11 +4,14 @@ import lombok.experimental.UtilityClass;
 import org.apache.commons.io.FileUtils;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * A utility class for advanced file operations.
@@ -19,6 +22,7 @@ import java.util.Random;
  */
 @UtilityClass
 public final class AdvancedFileUtils {
+    private static final int RANDOM_CONTENTS_BUFFER_SIZE = 1024 * 1024;
 
     /**
      * Creates a new text file with the specified content.
@@ -45,13 +49,40 @@ public final class AdvancedFileUtils {
      * @return the created File object
      * @throws RuntimeException if an I/O error occurs
      */
-    public static File newRandomContentsFile(String path, int size) {
-        byte[] randomContents = new byte[size];
-        Random random = new Random();
-        random.nextBytes(randomContents);
+    public static File newRandomContentsFile(String path, long size) {
+        return newRandomContentsFile(path, size, new SplittableRandom().nextLong());
+    }
 
-        try (OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(path))) {
-            outputStream.write(randomContents);
+    /**
+     * Creates a new file with random byte contents of the specified size, the same for the same seed.
+     * The contents are written through a buffer of at most {@value #RANDOM_CONTENTS_BUFFER_SIZE} bytes,
+     * so files larger than the heap can be created.
+     *
+     * @param path the path where the file will be created
+     * @param size the size of the random content in bytes
+     * @param seed the seed of the random contents
+     * @return the created File object
+     * @throws RuntimeException if an I/O error occurs
+     */
+    public static File newRandomContentsFile(String path, long size, long seed) {
+        var random = new SplittableRandom(seed);
+        var buffer = ByteBuffer.allocate((int) Math.min(size, RANDOM_CONTENTS_BUFFER_SIZE));
+        try (var channel = FileChannel.open(Path.of(path), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long remaining = size;
+            while (remaining > 0) {
+                buffer.clear();
+                while (buffer.remaining() >= Long.BYTES) {
+                    buffer.putLong(random.nextLong());
+                }
+                while (buffer.hasRemaining()) {
+                    buffer.put((byte) random.nextInt());
+                }
+                buffer.flip().limit((int) Math.min(buffer.limit(), remaining));
+                while (buffer.hasRemaining()) {
+                    remaining -= channel.write(buffer);
+                }
+            }
         } catch (IOException e) {
             throw new RuntimeException("Failed to create random contents file: " + path, e);
         }
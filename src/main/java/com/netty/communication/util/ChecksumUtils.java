@@ -0,0 +1,137 @@
+package com.netty.communication.util;
+
+import io.netty.buffer.ByteBuf;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * A utility class for computing checksums of files and buffers.
+ * Files are read through a direct buffer that every thread allocates once and reuses.
+ */
+@UtilityClass
+public final class ChecksumUtils {
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+    private static final int CRC32C_POLYNOMIAL = 0x82F63B78;
+    private static final ThreadLocal<ByteBuffer> READ_BUFFER =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(READ_BUFFER_SIZE));
+
+    /**
+     * Computes the CRC32C checksum of a whole file.
+     *
+     * @param path the path of the file
+     * @return the checksum value
+     * @throws IOException if the file cannot be read
+     */
+    public static int crc32c(Path path) throws IOException {
+        var crc = new CRC32C();
+        var buffer = READ_BUFFER.get();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer.clear()) > 0) {
+                crc.update(buffer.flip());
+            }
+        }
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Computes the CRC32C checksum of a region of a file.
+     *
+     * @param path     the path of the file
+     * @param position the offset of the first byte
+     * @param length   the number of bytes; the region ends early at the end of the file
+     * @return the checksum value
+     * @throws IOException if the file cannot be read
+     */
+    public static int crc32c(Path path, long position, long length) throws IOException {
+        var crc = new CRC32C();
+        var buffer = READ_BUFFER.get();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long end = position + length;
+            while (position < end) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), end - position));
+                int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                crc.update(buffer.flip());
+                position += read;
+            }
+        }
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Computes the CRC32C checksum of a region of a buffer without changing its indexes.
+     *
+     * @param buffer the buffer
+     * @param index  the index of the first byte
+     * @param length the number of bytes
+     * @return the checksum value
+     */
+    public static int crc32c(ByteBuf buffer, int index, int length) {
+        var crc = new CRC32C();
+        crc.update(buffer.nioBuffer(index, length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Combines the CRC32C checksums of two adjacent regions into the checksum of both, without reading them.
+     *
+     * @param crc1    the checksum of the first region
+     * @param crc2    the checksum of the second region
+     * @param length2 the length of the second region
+     * @return the checksum of the first region followed by the second
+     */
+    public static int crc32cCombine(int crc1, int crc2, long length2) {
+        if (length2 <= 0) {
+            return crc1;
+        }
+        // the operator that appends one zero bit, then two and four, and squared for every further bit of the length
+        var odd = new int[Integer.SIZE];
+        var even = new int[Integer.SIZE];
+        odd[0] = CRC32C_POLYNOMIAL;
+        for (int n = 1, row = 1; n < Integer.SIZE; n++, row <<= 1) {
+            odd[n] = row;
+        }
+        square(even, odd);
+        square(odd, even);
+        do {
+            square(even, odd);
+            if ((length2 & 1) != 0) {
+                crc1 = times(even, crc1);
+            }
+            length2 >>>= 1;
+            if (length2 == 0) {
+                break;
+            }
+            square(odd, even);
+            if ((length2 & 1) != 0) {
+                crc1 = times(odd, crc1);
+            }
+            length2 >>>= 1;
+        } while (length2 != 0);
+        return crc1 ^ crc2;
+    }
+
+    private static int times(int[] matrix, int vector) {
+        int sum = 0;
+        for (int i = 0; vector != 0; i++, vector >>>= 1) {
+            if ((vector & 1) != 0) {
+                sum ^= matrix[i];
+            }
+        }
+        return sum;
+    }
+
+    private static void square(int[] square, int[] matrix) {
+        for (int n = 0; n < Integer.SIZE; n++) {
+            square[n] = times(matrix, matrix[n]);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.netty.communication.util;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+/**
+ * Utility class for choosing between Netty's native epoll transport and NIO.
+ * <p>
+ * The event loop group decides the transport: channels registered with an {@link EpollEventLoopGroup} must be
+ * epoll channels, and channels registered with any other group NIO channels.
+ */
+public final class TransportUtils {
+
+    private TransportUtils() {
+    }
+
+    /**
+     * Tells whether the native epoll transport is to be used.
+     *
+     * @param nativeTransport whether the native transport is wanted
+     * @return true if it is wanted and can be loaded on this platform
+     */
+    public static boolean useEpoll(boolean nativeTransport) {
+        return nativeTransport && Epoll.isAvailable();
+    }
+
+    /**
+     * Creates an event loop group for socket I/O.
+     *
+     * @param epoll    whether the group is to use the native epoll transport
+     * @param nThreads the number of threads, or 0 for Netty's default
+     * @return the event loop group
+     */
+    public static EventLoopGroup newIoGroup(boolean epoll, int nThreads) {
+        return epoll ? new EpollEventLoopGroup(nThreads) : new NioEventLoopGroup(nThreads);
+    }
+
+    /**
+     * Returns the type of the client socket channels of an event loop group.
+     *
+     * @param group the event loop group
+     * @return the socket channel type matching the group's transport
+     */
+    public static Class<? extends SocketChannel> socketChannelType(EventLoopGroup group) {
+        return group instanceof EpollEventLoopGroup ? EpollSocketChannel.class : NioSocketChannel.class;
+    }
+
+    /**
+     * Returns the type of the server socket channels of an event loop group.
+     *
+     * @param group the event loop group
+     * @return the server socket channel type matching the group's transport
+     */
+    public static Class<? extends ServerChannel> serverSocketChannelType(EventLoopGroup group) {
+        return group instanceof EpollEventLoopGroup ? EpollServerSocketChannel.class : NioServerSocketChannel.class;
+    }
+}
@@ -0,0 +1,57 @@
+package com.netty.communication.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void hasNoFalseNegatives() {
+        var filter = new BloomFilter(10_000, 0.01);
+        var hashes = randomHashes(10_000, 1);
+        hashes.forEach(filter::put);
+
+        assertThat(hashes).allSatisfy(hash -> assertThat(filter.mightContain(hash)).isTrue());
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheConfiguredRate() {
+        var filter = new BloomFilter(10_000, 0.01);
+        randomHashes(10_000, 1).forEach(filter::put);
+
+        long falsePositives = randomHashes(100_000, 2).stream().filter(filter::mightContain).count();
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        var filter = new BloomFilter(100, 0.01);
+
+        assertThat(randomHashes(1_000, 3)).noneMatch(filter::mightContain);
+    }
+
+    @Test
+    void readsBigEndianLongs() {
+        byte[] bytes = {0, 1, 2, 3, 4, 5, 6, 7, (byte) 0x80, 0, 0, 0, 0, 0, 0, 1};
+
+        assertThat(BloomFilter.readLong(bytes, 0)).isEqualTo(0x0001020304050607L);
+        assertThat(BloomFilter.readLong(bytes, 8)).isEqualTo(0x8000000000000001L);
+    }
+
+    private static List<byte[]> randomHashes(int count, long seed) {
+        var random = new Random(seed);
+        List<byte[]> hashes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            byte[] hash = new byte[32];
+            random.nextBytes(hash);
+            hashes.add(hash);
+        }
+        return hashes;
+    }
+}
@@ -0,0 +1,93 @@
+package com.netty.communication.dedup;
+
+import com.netty.communication.message.DedupChunkEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContentDefinedChunkerTest {
+    private static final int MIN = 2 * 1024;
+    private static final int AVG = 8 * 1024;
+    private static final int MAX = 32 * 1024;
+
+    private final ContentDefinedChunker chunker = new ContentDefinedChunker(MIN, AVG, MAX);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void chunksCoverTheFileWithinTheSizeBounds() throws IOException {
+        byte[] contents = randomBytes(3 * 1024 * 1024 + 123, 1);
+        var chunks = chunker.split(write("a.bin", contents));
+
+        assertThat(chunks.stream().mapToLong(DedupChunkEntry::length).sum()).isEqualTo(contents.length);
+        assertThat(chunks.subList(0, chunks.size() - 1))
+                .allSatisfy(chunk -> assertThat(chunk.length()).isBetween(MIN, MAX));
+        assertThat(chunks.get(chunks.size() - 1).length()).isBetween(1, MAX);
+    }
+
+    @Test
+    void digestsAreTheSha256OfTheChunkContents() throws IOException {
+        byte[] contents = randomBytes(500_000, 2);
+        var chunks = chunker.split(write("a.bin", contents));
+
+        int offset = 0;
+        for (var chunk : chunks) {
+            var digest = ContentDefinedChunker.newDigest();
+            digest.update(contents, offset, chunk.length());
+            assertThat(chunk.hash()).isEqualTo(digest.digest());
+            offset += chunk.length();
+        }
+    }
+
+    @Test
+    void insertionOnlyChangesTheChunksNextToIt() throws IOException {
+        byte[] original = randomBytes(2 * 1024 * 1024, 3);
+        byte[] edited = new byte[original.length + 100];
+        int at = original.length / 2;
+        System.arraycopy(original, 0, edited, 0, at);
+        System.arraycopy(randomBytes(100, 4), 0, edited, at, 100);
+        System.arraycopy(original, at, edited, at + 100, original.length - at);
+
+        var before = hashes(chunker.split(write("a.bin", original)));
+        var after = chunker.split(write("b.bin", edited));
+        long changed = after.stream().filter(chunk -> !before.contains(chunk.hexHash())).count();
+
+        assertThat(changed).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void emptyFileHasNoChunks() throws IOException {
+        assertThat(chunker.split(write("empty.bin", new byte[0]))).isEmpty();
+    }
+
+    @Test
+    void rejectsUnorderedSizes() {
+        assertThatThrownBy(() -> new ContentDefinedChunker(AVG, MIN, MAX)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ContentDefinedChunker(0, AVG, MAX)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Path write(String name, byte[] contents) throws IOException {
+        return Files.write(dir.resolve(name), contents);
+    }
+
+    private static Set<String> hashes(List<DedupChunkEntry> chunks) {
+        return chunks.stream().map(DedupChunkEntry::hexHash).collect(Collectors.toSet());
+    }
+
+    private static byte[] randomBytes(int length, long seed) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+}
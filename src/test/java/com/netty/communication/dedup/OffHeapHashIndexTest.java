@@ -0,0 +1,71 @@
+package com.netty.communication.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapHashIndexTest {
+
+    @Test
+    void keepsEveryDigestAcrossResizes() {
+        var index = new OffHeapHashIndex(4);
+        var random = new Random(1);
+        List<byte[]> hashes = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            byte[] hash = new byte[32];
+            random.nextBytes(hash);
+            hashes.add(hash);
+            assertThat(index.add(hash)).isTrue();
+        }
+
+        assertThat(index.size()).isEqualTo(hashes.size());
+        assertThat(hashes).allSatisfy(hash -> assertThat(index.contains(hash)).isTrue());
+    }
+
+    @Test
+    void addingAPresentDigestIsANoOp() {
+        var index = new OffHeapHashIndex(16);
+        byte[] hash = hash(1, 7);
+
+        assertThat(index.add(hash)).isTrue();
+        assertThat(index.add(hash.clone())).isFalse();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void probesPastDigestsWithTheSameHomeSlot() {
+        var index = new OffHeapHashIndex(16);
+        // the home slot is taken from bytes 16..23, so these digests all collide
+        for (int i = 1; i <= 8; i++) {
+            assertThat(index.add(hash(i, 42))).isTrue();
+        }
+
+        for (int i = 1; i <= 8; i++) {
+            assertThat(index.contains(hash(i, 42))).isTrue();
+        }
+        assertThat(index.contains(hash(9, 42))).isFalse();
+        assertThat(index.contains(hash(1, 43))).isFalse();
+    }
+
+    @Test
+    void collidingDigestsSurviveAResize() {
+        var index = new OffHeapHashIndex(1);
+        for (int i = 1; i <= 100; i++) {
+            index.add(hash(i, 5));
+        }
+
+        assertThat(index.size()).isEqualTo(100);
+        for (int i = 1; i <= 100; i++) {
+            assertThat(index.contains(hash(i, 5))).isTrue();
+        }
+    }
+
+    private static byte[] hash(long head, long home) {
+        return ByteBuffer.allocate(32).putLong(0, head).putLong(16, home).array();
+    }
+}
@@ -0,0 +1,135 @@
+package com.netty.communication.delta;
+
+import com.netty.communication.dedup.ContentDefinedChunker;
+import com.netty.communication.message.DeltaBlockSignature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeltaGeneratorTest {
+    private static final int BLOCK_SIZE = 1024;
+
+    private final DeltaGenerator generator = new DeltaGenerator();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void identicalFileIsOneCopyRun() throws IOException {
+        byte[] basis = randomBytes(64 * BLOCK_SIZE, 1);
+        var delta = delta(basis, basis);
+
+        assertThat(delta.operations).containsExactly("copy 0 64");
+        assertThat(delta.reconstruct(basis)).isEqualTo(basis);
+    }
+
+    @Test
+    void reconstructsInsertionsDeletionsAndEdits() throws IOException {
+        byte[] basis = randomBytes(200 * BLOCK_SIZE + 300, 2);
+        var edited = new ByteArrayOutputStream();
+        edited.write(basis, 0, 10 * BLOCK_SIZE + 17);
+        edited.write(randomBytes(555, 3), 0, 555);
+        edited.write(basis, 10 * BLOCK_SIZE + 17, 90 * BLOCK_SIZE);
+        edited.write(basis, 120 * BLOCK_SIZE, 50 * BLOCK_SIZE);
+        edited.write(randomBytes(BLOCK_SIZE, 4), 0, BLOCK_SIZE);
+        edited.write(basis, 171 * BLOCK_SIZE, basis.length - 171 * BLOCK_SIZE);
+        byte[] source = edited.toByteArray();
+
+        var delta = delta(basis, source);
+
+        assertThat(delta.reconstruct(basis)).isEqualTo(source);
+        assertThat(delta.literalBytes).isLessThan(5L * BLOCK_SIZE);
+    }
+
+    @Test
+    void unrelatedFileIsOneLiteral() throws IOException {
+        byte[] basis = randomBytes(32 * BLOCK_SIZE, 5);
+        byte[] source = randomBytes(20 * BLOCK_SIZE + 11, 6);
+        var delta = delta(basis, source);
+
+        assertThat(delta.operations).containsExactly("literal 0 " + source.length);
+        assertThat(delta.reconstruct(basis)).isEqualTo(source);
+    }
+
+    @Test
+    void returnsTheDigestOfTheWholeSource() throws IOException {
+        byte[] basis = randomBytes(10 * BLOCK_SIZE, 7);
+        byte[] source = Arrays.copyOf(basis, basis.length + 99);
+        var digest = ContentDefinedChunker.newDigest();
+
+        assertThat(delta(basis, source).digest).isEqualTo(digest.digest(source));
+    }
+
+    private Delta delta(byte[] basis, byte[] source) throws IOException {
+        var sourcePath = Files.write(dir.resolve("source.bin"), source);
+        var delta = new Delta(source);
+        delta.digest = generator.generate(sourcePath, signatures(basis), BLOCK_SIZE, delta);
+        return delta;
+    }
+
+    private static List<DeltaBlockSignature> signatures(byte[] basis) {
+        List<DeltaBlockSignature> signatures = new ArrayList<>();
+        for (int offset = 0; offset + BLOCK_SIZE <= basis.length; offset += BLOCK_SIZE) {
+            var strong = BlockSignatureGenerator.newStrongDigest();
+            strong.update(basis, offset, BLOCK_SIZE);
+            signatures.add(new DeltaBlockSignature(RollingChecksum.of(basis, offset, BLOCK_SIZE), strong.digest()));
+        }
+        return signatures;
+    }
+
+    private static byte[] randomBytes(int length, long seed) {
+        byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Records the operations of a delta and replays them against the basis.
+     */
+    private static final class Delta implements DeltaGenerator.Listener {
+        private final byte[] source;
+        private final List<String> operations = new ArrayList<>();
+        private final List<long[]> replay = new ArrayList<>();
+        private long literalBytes;
+        private byte[] digest;
+
+        Delta(byte[] source) {
+            this.source = source;
+        }
+
+        @Override
+        public void literal(long offset, long length) {
+            operations.add("literal " + offset + " " + length);
+            replay.add(new long[]{0, offset, length});
+            literalBytes += length;
+        }
+
+        @Override
+        public void copy(long blockIndex, int blockCount) {
+            operations.add("copy " + blockIndex + " " + blockCount);
+            replay.add(new long[]{1, blockIndex, blockCount});
+        }
+
+        byte[] reconstruct(byte[] basis) {
+            var out = new ByteArrayOutputStream();
+            for (long[] operation : replay) {
+                if (operation[0] == 0) {
+                    out.write(source, (int) operation[1], (int) operation[2]);
+                } else {
+                    out.write(basis, (int) operation[1] * BLOCK_SIZE, (int) operation[2] * BLOCK_SIZE);
+                }
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.netty.communication.delta;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollingChecksumTest {
+
+    @Test
+    void rollingMatchesRecomputingEveryWindow() {
+        int blockSize = 700;
+        byte[] bytes = new byte[20_000];
+        new Random(1).nextBytes(bytes);
+
+        var checksum = new RollingChecksum(blockSize);
+        checksum.reset(bytes, 0, blockSize);
+        for (int offset = 0; offset + blockSize < bytes.length; offset++) {
+            assertThat(checksum.value()).isEqualTo(RollingChecksum.of(bytes, offset, blockSize));
+            checksum.roll(bytes[offset], bytes[offset + blockSize]);
+        }
+    }
+
+    @Test
+    void rollingStaysExactWhenTheSumsWrapAround() {
+        int blockSize = 4096;
+        byte[] bytes = new byte[3 * blockSize];
+        new Random(2).nextBytes(bytes);
+        Arrays.fill(bytes, 0, blockSize, (byte) 0xff);
+
+        var checksum = new RollingChecksum(blockSize);
+        checksum.reset(bytes, 0, blockSize);
+        for (int offset = 0; offset + blockSize < bytes.length; offset++) {
+            checksum.roll(bytes[offset], bytes[offset + blockSize]);
+        }
+
+        int last = bytes.length - blockSize;
+        assertThat(checksum.value()).isEqualTo(RollingChecksum.of(bytes, last, blockSize));
+    }
+
+    @Test
+    void keepsTheSumInTheLowAndTheWeightedSumInTheHighHalf() {
+        byte[] bytes = {1, 2, 3};
+
+        // a = 1 + 2 + 3, b = 3 * 1 + 2 * 2 + 1 * 3
+        assertThat(RollingChecksum.of(bytes, 0, 3)).isEqualTo((10 << 16) | 6);
+    }
+}
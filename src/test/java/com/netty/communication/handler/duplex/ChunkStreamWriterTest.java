@@ -0,0 +1,101 @@
+package com.netty.communication.handler.duplex;
+
+import com.netty.communication.message.OutboundByteChunk;
+import com.netty.communication.message.OutboundByteStream;
+import com.netty.communication.message.OutboundFileChunk;
+import com.netty.communication.metrics.ChunkSizeMetrics;
+import com.netty.communication.metrics.TransferMetrics;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChunkStreamWriterTest {
+
+    @Test
+    void emptyReadsOfANonBlockingSourceAreRetriedAfterADelay() throws InterruptedException {
+        var source = new ScriptedSource();
+        var channel = new EmbeddedChannel(writer());
+
+        channel.write(OutboundByteStream.builder().source(source).destFilePath("out.bin").build());
+        assertThat((Object) channel.readOutbound()).isInstanceOf(OutboundFileChunk.class);
+        for (int i = 0; i < 1000; i++) {
+            channel.runPendingTasks();
+        }
+        assertThat(source.reads).isBetween(1, 10);
+
+        source.script.add(new byte[]{1, 2, 3});
+        source.script.add(ScriptedSource.END);
+        int reads = source.reads;
+        while (source.reads < reads + 2) {
+            Thread.sleep(5);
+            channel.runPendingTasks();
+        }
+        channel.runPendingTasks();
+
+        Object chunk = channel.readOutbound();
+        assertThat(chunk).isInstanceOf(OutboundByteChunk.class);
+        ReferenceCountUtil.release(chunk);
+        channel.finishAndReleaseAll();
+    }
+
+    private static ChunkStreamWriter writer() {
+        return ChunkStreamWriter.builder()
+                .defaultChunkSize(16 * 1024)
+                .defaultWindowSize(4)
+                .minChunkSize(16 * 1024)
+                .maxChunkSize(1024 * 1024)
+                .maxInFlightBytes(1024 * 1024)
+                .targetChunkMillis(50)
+                .stallMillis(1000)
+                .metrics(new ChunkSizeMetrics())
+                .transferMetrics(new TransferMetrics())
+                .sourceExecutor(Runnable::run)
+                .fileExecutor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * A non-blocking source that has no bytes until the test scripts them; the {@link #END} entry ends the source.
+     * A source read far more often than the test expects fails, so that a writer spinning on it stops.
+     */
+    private static final class ScriptedSource implements ReadableByteChannel {
+        private static final byte[] END = new byte[0];
+        private static final int MAX_READS = 100;
+
+        private final Deque<byte[]> script = new ArrayDeque<>();
+        private int reads;
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            if (++reads > MAX_READS) {
+                throw new IOException("The source was read " + reads + " times.");
+            }
+            if (script.isEmpty()) {
+                return 0;
+            }
+            var next = script.poll();
+            if (next == END) {
+                return -1;
+            }
+            dst.put(next);
+            return next.length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
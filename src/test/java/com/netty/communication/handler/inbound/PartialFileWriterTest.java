@@ -0,0 +1,119 @@
+package com.netty.communication.handler.inbound;
+
+import com.netty.communication.exception.ChecksumMismatchException;
+import com.netty.communication.transfer.ResumePoint;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PartialFileWriterTest {
+    private static final int TAIL_BYTES = 4096;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void finishMovesPartialFileToTargetWhenChecksumMatches() throws IOException {
+        var target = dir.resolve("file.bin").toString();
+        var data = randomBytes(100_000);
+
+        try (var writer = PartialFileWriter.open(target, 0)) {
+            writer.write(Unpooled.wrappedBuffer(data));
+            writer.finish(crcOf(data, 0, data.length));
+        }
+
+        assertThat(Files.readAllBytes(Path.of(target))).isEqualTo(data);
+        assertThat(FileStoreAction.partialPath(target)).doesNotExist();
+        assertThat(FileStoreAction.progressPath(target)).doesNotExist();
+    }
+
+    @Test
+    void finishDeletesPartialFileAndProgressOnChecksumMismatch() throws IOException {
+        var target = dir.resolve("file.bin").toString();
+        var data = randomBytes(100_000);
+        var corrupted = data.clone();
+        corrupted[50_000] ^= 1;
+
+        try (var writer = PartialFileWriter.open(target, 0)) {
+            writer.write(Unpooled.wrappedBuffer(corrupted));
+            assertThatThrownBy(() -> writer.finish(crcOf(data, 0, data.length)))
+                    .isInstanceOf(ChecksumMismatchException.class);
+        }
+
+        assertThat(Path.of(target)).doesNotExist();
+        assertThat(FileStoreAction.partialPath(target)).doesNotExist();
+        assertThat(FileStoreAction.progressPath(target)).doesNotExist();
+        assertThat(FileStoreAction.storedBytes(target)).isZero();
+        assertThat(FileStoreAction.resumePoint(target, TAIL_BYTES)).isEqualTo(ResumePoint.NONE);
+    }
+
+    @Test
+    void resumedTransferWithCorruptedBytesRestartsFromZero() throws IOException {
+        var target = dir.resolve("file.bin").toString();
+        var data = randomBytes(100_000);
+        int half = data.length / 2;
+
+        try (var writer = PartialFileWriter.open(target, 0)) {
+            writer.write(Unpooled.wrappedBuffer(data, 0, half));
+        }
+        assertThat(FileStoreAction.storedBytes(target)).isEqualTo(half);
+
+        var resumed = data.clone();
+        resumed[half + 10] ^= 1;
+        try (var writer = PartialFileWriter.open(target, half)) {
+            writer.write(Unpooled.wrappedBuffer(resumed, half, data.length - half));
+            assertThatThrownBy(() -> writer.finish(crcOf(data, half, data.length - half)))
+                    .isInstanceOf(ChecksumMismatchException.class);
+        }
+        assertThat(FileStoreAction.resumePoint(target, TAIL_BYTES)).isEqualTo(ResumePoint.NONE);
+
+        try (var writer = PartialFileWriter.open(target, 0)) {
+            writer.write(Unpooled.wrappedBuffer(data));
+            writer.finish(crcOf(data, 0, data.length));
+        }
+        assertThat(Files.readAllBytes(Path.of(target))).isEqualTo(data);
+    }
+
+    @Test
+    void corruptedPartialFileIsNotResumed() throws IOException {
+        var target = dir.resolve("file.bin").toString();
+        var source = dir.resolve("source.bin");
+        var data = randomBytes(100_000);
+        Files.write(source, data);
+        int half = data.length / 2;
+
+        try (var writer = PartialFileWriter.open(target, 0)) {
+            writer.write(Unpooled.wrappedBuffer(data, 0, half));
+        }
+        assertThat(FileStoreAction.resumePoint(target, TAIL_BYTES).startOffset(source)).isEqualTo(half);
+
+        var partial = Files.readAllBytes(FileStoreAction.partialPath(target));
+        partial[half - 1] ^= 1;
+        Files.write(FileStoreAction.partialPath(target), partial);
+
+        assertThat(FileStoreAction.resumePoint(target, TAIL_BYTES).startOffset(source)).isZero();
+    }
+
+    private static byte[] randomBytes(int length) {
+        var bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static ByteBuf crcOf(byte[] data, int offset, int length) {
+        var crc = new CRC32C();
+        crc.update(Arrays.copyOfRange(data, offset, offset + length));
+        return Unpooled.buffer(Integer.BYTES).writeInt((int) crc.getValue());
+    }
+}
@@ -0,0 +1,97 @@
+package com.netty.communication.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyHistogramTest {
+
+    @Test
+    void emptyHistogramReportsZero() {
+        var snapshot = new LatencyHistogram().snapshot();
+
+        assertThat(snapshot.count()).isZero();
+        assertThat(snapshot.valueAt(0.5)).isZero();
+        assertThat(snapshot.valueAt(1.0)).isZero();
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        var histogram = new LatencyHistogram();
+        for (long value = 0; value < 8; value++) {
+            histogram.record(value);
+        }
+        var snapshot = histogram.snapshot();
+
+        assertThat(snapshot.valueAt(0.0)).isZero();
+        assertThat(snapshot.valueAt(0.5)).isEqualTo(3);
+        assertThat(snapshot.valueAt(1.0)).isEqualTo(7);
+    }
+
+    @Test
+    void quantilesOfAUniformDistributionLieWithinTheBucketWidth() {
+        var histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1_000_000; value++) {
+            histogram.record(value);
+        }
+        var snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count()).isEqualTo(1_000_000);
+        assertThat(snapshot.sumNanos()).isEqualTo(500_000_500_000L);
+        for (double quantile : new double[]{0.1, 0.5, 0.9, 0.99, 0.999}) {
+            long exact = (long) Math.ceil(quantile * 1_000_000);
+            assertThat(snapshot.valueAt(quantile)).as("p%s", quantile * 100)
+                    .isBetween(exact, (long) (exact * 1.125));
+        }
+        assertThat(snapshot.valueAt(1.0)).isEqualTo(1_000_000);
+    }
+
+    @Test
+    void everyMagnitudeIsReportedWithinTheBucketWidth() {
+        var random = new Random(41);
+        for (int i = 0; i < 10_000; i++) {
+            long value = random.nextLong() >>> (1 + random.nextInt(Long.SIZE - 1));
+            var histogram = new LatencyHistogram();
+            histogram.record(value);
+            histogram.record(Long.MAX_VALUE);
+
+            long reported = histogram.snapshot().valueAt(0.5);
+            assertThat(reported).as("value %d", value).isGreaterThanOrEqualTo(value);
+            assertThat(reported - value).as("value %d", value).isLessThanOrEqualTo(value / 8);
+        }
+    }
+
+    @Test
+    void quantilesNeverExceedTheLongestDuration() {
+        var histogram = new LatencyHistogram();
+        histogram.record(1_000_001);
+        histogram.record(-5);
+        var snapshot = histogram.snapshot();
+
+        assertThat(snapshot.maxNanos()).isEqualTo(1_000_001);
+        assertThat(snapshot.valueAt(0.5)).isZero();
+        assertThat(snapshot.valueAt(1.0)).isEqualTo(1_000_001);
+    }
+
+    @Test
+    void concurrentRecordsAreAllCounted() {
+        var histogram = new LatencyHistogram();
+
+        CompletableFuture.allOf(IntStream.range(0, 8)
+                .mapToObj(thread -> CompletableFuture.runAsync(() -> {
+                    for (int i = 1; i <= 100_000; i++) {
+                        histogram.record(i);
+                    }
+                }))
+                .toArray(CompletableFuture[]::new)).join();
+        var snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count()).isEqualTo(800_000);
+        assertThat(snapshot.sumNanos()).isEqualTo(8 * 5_000_050_000L);
+        assertThat(snapshot.maxNanos()).isEqualTo(100_000);
+    }
+}
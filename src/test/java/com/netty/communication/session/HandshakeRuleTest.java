@@ -0,0 +1,131 @@
+package com.netty.communication.session;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netty.communication.message.ChecksumMode;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HandshakeRuleTest {
+
+    @Test
+    void matchesIpv4Subnets() throws UnknownHostException {
+        var rule = rule("10.1.0.0/16");
+
+        assertThat(rule.matches(address("10.1.0.0"))).isTrue();
+        assertThat(rule.matches(address("10.1.255.255"))).isTrue();
+        assertThat(rule.matches(address("10.2.0.1"))).isFalse();
+    }
+
+    @Test
+    void matchesPrefixesThatEndInsideAByte() throws UnknownHostException {
+        var rule = rule("192.168.4.0/22");
+
+        assertThat(rule.matches(address("192.168.4.1"))).isTrue();
+        assertThat(rule.matches(address("192.168.7.254"))).isTrue();
+        assertThat(rule.matches(address("192.168.3.255"))).isFalse();
+        assertThat(rule.matches(address("192.168.8.0"))).isFalse();
+    }
+
+    @Test
+    void clearsTheHostBitsOfTheNetworkAddress() throws UnknownHostException {
+        var rule = rule("10.1.2.3/8");
+
+        assertThat(rule.network()).containsExactly(10, 0, 0, 0);
+        assertThat(rule.matches(address("10.200.0.1"))).isTrue();
+    }
+
+    @Test
+    void zeroPrefixMatchesEveryAddressOfTheFamily() throws UnknownHostException {
+        var rule = rule("0.0.0.0/0");
+
+        assertThat(rule.matches(address("1.2.3.4"))).isTrue();
+        assertThat(rule.matches(address("255.255.255.255"))).isTrue();
+        assertThat(rule.matches(address("::1"))).isFalse();
+    }
+
+    @Test
+    void addressWithoutPrefixMatchesOnlyItself() throws UnknownHostException {
+        var rule = rule("127.0.0.1");
+
+        assertThat(rule.prefix()).isEqualTo(32);
+        assertThat(rule.matches(address("127.0.0.1"))).isTrue();
+        assertThat(rule.matches(address("127.0.0.2"))).isFalse();
+    }
+
+    @Test
+    void fullPrefixMatchesOnlyTheAddress() throws UnknownHostException {
+        var rule = rule("10.0.0.1/32");
+
+        assertThat(rule.matches(address("10.0.0.1"))).isTrue();
+        assertThat(rule.matches(address("10.0.0.0"))).isFalse();
+    }
+
+    @Test
+    void matchesIpv6Subnets() throws UnknownHostException {
+        var rule = rule("2001:db8::/33");
+
+        assertThat(rule.prefix()).isEqualTo(33);
+        assertThat(rule.matches(address("2001:db8::1"))).isTrue();
+        assertThat(rule.matches(address("2001:db8:7fff:ffff::1"))).isTrue();
+        assertThat(rule.matches(address("2001:db8:8000::1"))).isFalse();
+        assertThat(rule.matches(address("10.0.0.1"))).isFalse();
+    }
+
+    @Test
+    void matchesTheIpv6Loopback() throws UnknownHostException {
+        var rule = rule("::1/128");
+
+        assertThat(rule.matches(address("::1"))).isTrue();
+        assertThat(rule.matches(address("::2"))).isFalse();
+    }
+
+    @Test
+    void rejectsPrefixesOutsideTheAddressLength() {
+        assertThatThrownBy(() -> rule("10.0.0.0/33")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> rule("10.0.0.0/-1")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> rule("::/129")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> rule("10.0.0.0/x")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsHostNames() {
+        assertThatThrownBy(() -> rule("localhost/8")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> rule("example.com")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> rule("10.0.0/8")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void validateRejectsNonPositiveSizes() {
+        assertThatThrownBy(() -> new HandshakeRule("10.0.0.0/8", 0, null, null).validate())
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HandshakeRule("10.0.0.0/8", null, -1, null).validate())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void parsedSubnetIsNotPartOfTheJson() throws Exception {
+        var mapper = new ObjectMapper();
+        var rule = mapper.readValue("{\"subnet\":\"10.0.0.0/8\",\"chunkSize\":65536,\"checksum\":\"CRC32C\"}",
+                HandshakeRule.class);
+
+        assertThat(rule.chunkSize()).isEqualTo(65536);
+        assertThat(rule.windowSize()).isNull();
+        assertThat(rule.checksum()).isEqualTo(ChecksumMode.CRC32C);
+        assertThat(rule.matches(address("10.9.9.9"))).isTrue();
+        assertThat(mapper.readTree(mapper.writeValueAsString(rule)).fieldNames())
+                .toIterable().containsExactlyInAnyOrder("subnet", "chunkSize", "windowSize", "checksum");
+    }
+
+    private static HandshakeRule rule(String subnet) {
+        return new HandshakeRule(subnet, null, null, null);
+    }
+
+    private static InetAddress address(String literal) throws UnknownHostException {
+        return InetAddress.getByName(literal);
+    }
+}
@@ -0,0 +1,115 @@
+package com.netty.communication.sync;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MerkleTreeBuilderTest {
+    private static final FileTime MODIFIED = FileTime.fromMillis(1_600_000_000_000L);
+
+    private final MerkleTreeBuilder builder = new MerkleTreeBuilder(4);
+
+    @TempDir
+    Path root;
+
+    @AfterEach
+    void tearDown() {
+        builder.close();
+    }
+
+    @Test
+    void buildsTheTreeOfTheDirectory() throws IOException {
+        write("a.txt", "a");
+        write("dir/b.txt", "bb");
+        write("dir/sub/c.txt", "ccc");
+        Files.createDirectories(root.resolve("empty"));
+
+        var tree = builder.build(root, false);
+
+        assertThat(tree.directory()).isTrue();
+        assertThat(tree.fileCount()).isEqualTo(3);
+        assertThat(tree.children()).extracting(MerkleNode::name).containsExactly("a.txt", "dir", "empty");
+        assertThat(tree.find("dir/sub/c.txt").size()).isEqualTo(3);
+        assertThat(tree.find("dir/sub/c.txt").lastModified()).isEqualTo(MODIFIED.toMillis());
+        assertThat(tree.find("dir/missing.txt")).isNull();
+        assertThat(tree.files("")).containsExactlyInAnyOrder("a.txt", "dir/b.txt", "dir/sub/c.txt");
+    }
+
+    @Test
+    void equalTreesHaveEqualHashes() throws IOException {
+        write("one/a.txt", "a");
+        write("one/dir/b.txt", "b");
+        write("two/a.txt", "a");
+        write("two/dir/b.txt", "b");
+
+        assertThat(builder.build(root.resolve("one"), true).hash())
+                .isEqualTo(builder.build(root.resolve("two"), true).hash());
+    }
+
+    @Test
+    void changeOnlyAltersTheHashesOfItsAncestors() throws IOException {
+        write("a/x.txt", "x");
+        write("b/y.txt", "y");
+        var before = builder.build(root, false);
+
+        write("a/x.txt", "xx");
+        var after = builder.build(root, false);
+
+        assertThat(after.hash()).isNotEqualTo(before.hash());
+        assertThat(after.find("a").hash()).isNotEqualTo(before.find("a").hash());
+        assertThat(after.find("b").hash()).isEqualTo(before.find("b").hash());
+    }
+
+    @Test
+    void onlyContentHashingSeesEditsThatKeepSizeAndTime() throws IOException {
+        write("a.txt", "abc");
+        var metadataBefore = builder.build(root, false);
+        var contentBefore = builder.build(root, true);
+
+        write("a.txt", "xyz");
+
+        assertThat(builder.build(root, false).hash()).isEqualTo(metadataBefore.hash());
+        assertThat(builder.build(root, true).hash()).isNotEqualTo(contentBefore.hash());
+    }
+
+    @Test
+    void renameChangesTheHash() throws IOException {
+        write("a.txt", "a");
+        var before = builder.build(root, false);
+
+        Files.move(root.resolve("a.txt"), root.resolve("b.txt"));
+
+        assertThat(builder.build(root, false).hash()).isNotEqualTo(before.hash());
+    }
+
+    @Test
+    void skipsSymbolicLinks() throws IOException {
+        write("a.txt", "a");
+        var before = builder.build(root, false);
+
+        Files.createSymbolicLink(root.resolve("link.txt"), root.resolve("a.txt"));
+        var after = builder.build(root, false);
+
+        assertThat(after.child("link.txt")).isNull();
+        assertThat(after.hash()).isEqualTo(before.hash());
+    }
+
+    @Test
+    void missingDirectoryHasNoTree() throws IOException {
+        assertThat(builder.build(root.resolve("missing"), false)).isNull();
+    }
+
+    private void write(String path, String contents) throws IOException {
+        var file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, contents);
+        Files.setLastModifiedTime(file, MODIFIED);
+    }
+}
@@ -0,0 +1,93 @@
+package com.netty.communication.transfer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChunkSizeControllerTest {
+    private static final int KIB = 1024;
+    private static final int MIB = 1024 * 1024;
+    private static final long MILLIS = 1_000_000L;
+    private static final long START = 1_000 * MILLIS;
+
+    @Test
+    void initialSizeIsAlignedAndClamped() {
+        assertThat(controller(100 * KIB + 1).chunkSize()).isEqualTo(100 * KIB);
+        assertThat(controller(1).chunkSize()).isEqualTo(16 * KIB);
+        assertThat(controller(Integer.MAX_VALUE).chunkSize()).isEqualTo(8 * MIB);
+    }
+
+    @Test
+    void fastLinkGrowsToTheMaximum() {
+        var controller = controller(64 * KIB);
+        // 1 GB/s with 1 ms RTT: 50 ms of data is far above the maximum
+        link(controller, 1.0, MILLIS, 2_000);
+
+        assertThat(controller.chunkSize()).isEqualTo(8 * MIB);
+        assertThat(controller.throughputBytesPerSecond()).isBetween(900_000_000L, 1_100_000_000L);
+    }
+
+    @Test
+    void slowLinkShrinksToTheTargetChunkTime() {
+        var controller = controller(4 * MIB);
+        // 1 MB/s: 50 ms of data is about 48 KiB
+        link(controller, 0.001, MILLIS, 200);
+
+        assertThat(controller.chunkSize()).isBetween(44 * KIB, 52 * KIB);
+    }
+
+    @Test
+    void verySlowLinkStopsAtTheMinimum() {
+        var controller = controller(1 * MIB);
+        link(controller, 0.0001, MILLIS, 200);
+
+        assertThat(controller.chunkSize()).isEqualTo(16 * KIB);
+    }
+
+    @Test
+    void sizeAtMostDoublesPerSample() {
+        var controller = controller(64 * KIB);
+        long now = START;
+        int previous = controller.chunkSize();
+        for (int i = 0; i < 200; i++) {
+            now += 25 * MILLIS;
+            controller.onAck(controller.chunkSize() * 1000L, MILLIS, now);
+            assertThat(controller.chunkSize()).isLessThanOrEqualTo(2 * previous);
+            previous = controller.chunkSize();
+        }
+    }
+
+    @Test
+    void longRoundTripsGetAChunkPerRoundTrip() {
+        var controller = controller(64 * KIB);
+        // 10 MB/s with a 200 ms RTT: one RTT of data is about 2 MB, above the 50 ms target
+        link(controller, 0.01, 200 * MILLIS, 400);
+
+        assertThat(controller.chunkSize()).isBetween(1800 * KIB, 2100 * KIB);
+    }
+
+    @Test
+    void stallHalvesTheSizeAtOnce() {
+        var controller = controller(1 * MIB);
+        controller.onAck(1 * MIB, MILLIS, START);
+        controller.onAck(1 * MIB, MILLIS, START + 600 * MILLIS);
+
+        assertThat(controller.chunkSize()).isEqualTo(512 * KIB);
+    }
+
+    private static ChunkSizeController controller(int initialChunkSize) {
+        return new ChunkSizeController(initialChunkSize, 16 * KIB, 8 * MIB, 50 * MILLIS, 500 * MILLIS);
+    }
+
+    /**
+     * Acknowledges chunks of the controller's size at the pace of a link with the given throughput.
+     */
+    private static void link(ChunkSizeController controller, double bytesPerNano, long rttNanos, int acks) {
+        long now = START;
+        for (int i = 0; i < acks; i++) {
+            int bytes = controller.chunkSize();
+            now += (long) (bytes / bytesPerNano);
+            controller.onAck(bytes, rttNanos, now);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.netty.communication.transfer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripePlannerTest {
+    private static final long MIB = 1024 * 1024;
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void initialCountIsClampedToTheBounds() {
+        assertThat(new StripePlanner(32, 8, MIB).stripes()).isEqualTo(8);
+        assertThat(new StripePlanner(0, 8, MIB).stripes()).isEqualTo(1);
+        assertThat(new StripePlanner(4, 8, MIB).stripes()).isEqualTo(4);
+    }
+
+    @Test
+    void filesAreNotSplitBelowTheMinimumStripeSize() {
+        var planner = new StripePlanner(4, 16, 8 * MIB);
+
+        assertThat(planner.stripesFor(0)).isEqualTo(1);
+        assertThat(planner.stripesFor(8 * MIB - 1)).isEqualTo(1);
+        assertThat(planner.stripesFor(16 * MIB)).isEqualTo(2);
+        assertThat(planner.stripesFor(1024 * MIB)).isEqualTo(4);
+    }
+
+    @Test
+    void independentStreamsDoubleUpToTheMaximum() {
+        var planner = new StripePlanner(4, 16, MIB);
+
+        // every stream keeps 100 MB/s however many run
+        transfer(planner, 4, 100);
+        assertThat(planner.stripes()).isEqualTo(8);
+        transfer(planner, 8, 100);
+        assertThat(planner.stripes()).isEqualTo(16);
+        transfer(planner, 16, 100);
+        assertThat(planner.stripes()).isEqualTo(16);
+    }
+
+    @Test
+    void sharedBottleneckHalvesAndHoldsTheCount() {
+        var planner = new StripePlanner(4, 16, MIB);
+        transfer(planner, 4, 100);
+        assertThat(planner.stripes()).isEqualTo(8);
+
+        // doubling the streams halved the throughput of each
+        transfer(planner, 8, 50);
+        assertThat(planner.stripes()).isEqualTo(4);
+
+        for (int i = 0; i < 7; i++) {
+            transfer(planner, 4, 100);
+            assertThat(planner.stripes()).isEqualTo(4);
+        }
+        transfer(planner, 4, 100);
+        assertThat(planner.stripes()).isEqualTo(8);
+    }
+
+    @Test
+    void transfersWithAnotherCountOnlyUpdateTheBestThroughput() {
+        var planner = new StripePlanner(4, 16, MIB);
+
+        transfer(planner, 2, 100);
+        assertThat(planner.stripes()).isEqualTo(4);
+
+        // 60 MB/s per stream is too far below the 100 MB/s seen before to scale up, but not to scale down
+        transfer(planner, 4, 60);
+        assertThat(planner.stripes()).isEqualTo(4);
+    }
+
+    @Test
+    void emptyTransfersAreIgnored() {
+        var planner = new StripePlanner(4, 16, MIB);
+
+        planner.onTransfer(4, 0, SECOND);
+        planner.onTransfer(4, MIB, 0);
+
+        assertThat(planner.stripes()).isEqualTo(4);
+    }
+
+    private static void transfer(StripePlanner planner, int stripes, long megabytesPerSecondPerStream) {
+        planner.onTransfer(stripes, stripes * megabytesPerSecondPerStream * 1_000_000, SECOND);
+    }
+}
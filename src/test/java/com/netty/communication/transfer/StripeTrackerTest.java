@@ -0,0 +1,101 @@
+package com.netty.communication.transfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StripeTrackerTest {
+    private static final String PATH = "/tmp/file.bin.stripes";
+
+    private final StripeTracker tracker = new StripeTracker();
+    private final byte[] data = randomBytes(10_000);
+
+    @Test
+    void stripesInAnyOrderCoverTheFileWithItsChecksum() {
+        record(6_000, 4_000);
+        record(0, 3_000);
+        record(3_000, 3_000);
+
+        var coverage = tracker.complete(PATH, data.length);
+
+        assertThat(coverage.complete()).isTrue();
+        assertThat(coverage.crc32c()).isEqualTo(crc(0, data.length));
+    }
+
+    @Test
+    void gapLeavesTheFileIncomplete() {
+        record(0, 3_000);
+        record(3_001, 6_999);
+
+        assertThat(tracker.complete(PATH, data.length).complete()).isFalse();
+    }
+
+    @Test
+    void missingTailLeavesTheFileIncomplete() {
+        record(0, 9_999);
+
+        assertThat(tracker.complete(PATH, data.length)).isEqualTo(new StripeTracker.Coverage(false, null));
+    }
+
+    @Test
+    void overlapCoversTheFileWithoutAChecksum() {
+        record(0, 6_000);
+        record(5_000, 5_000);
+
+        var coverage = tracker.complete(PATH, data.length);
+
+        assertThat(coverage.complete()).isTrue();
+        assertThat(coverage.crc32c()).isNull();
+    }
+
+    @Test
+    void stripeWithoutChecksumCoversTheFileWithoutAChecksum() {
+        record(0, 5_000);
+        tracker.record(PATH, new FileRange(5_000, 5_000), null);
+
+        var coverage = tracker.complete(PATH, data.length);
+
+        assertThat(coverage.complete()).isTrue();
+        assertThat(coverage.crc32c()).isNull();
+    }
+
+    @Test
+    void completeAndDiscardForgetTheFile() {
+        record(0, data.length);
+        assertThat(tracker.complete(PATH, data.length).complete()).isTrue();
+        assertThat(tracker.complete(PATH, data.length).complete()).isFalse();
+
+        record(0, data.length);
+        tracker.discard(PATH);
+        assertThat(tracker.complete(PATH, data.length).complete()).isFalse();
+    }
+
+    @Test
+    void emptyFileIsAlwaysComplete() {
+        assertThat(tracker.complete(PATH, 0)).isEqualTo(new StripeTracker.Coverage(true, 0));
+    }
+
+    @Test
+    void stripedPathAppendsTheSuffix() {
+        assertThat(StripeTracker.stripedPath("/tmp/file.bin")).isEqualTo(PATH);
+    }
+
+    private void record(int offset, int length) {
+        tracker.record(PATH, new FileRange(offset, length), crc(offset, length));
+    }
+
+    private int crc(int offset, int length) {
+        var crc = new CRC32C();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] randomBytes(int length) {
+        var bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,89 @@
+package com.netty.communication.util;
+
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChecksumUtilsTest {
+    private final byte[] data = randomBytes(3 * 1024 * 1024 + 17);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void combinedStripesMatchTheWholeFile() throws IOException {
+        var file = dir.resolve("file.bin");
+        Files.write(file, data);
+        int whole = ChecksumUtils.crc32c(file);
+        assertThat(whole).isEqualTo(crc(0, data.length));
+
+        var random = new Random(7);
+        for (int run = 0; run < 20; run++) {
+            int stripes = 1 + random.nextInt(8);
+            int combined = 0;
+            long offset = 0;
+            for (int stripe = 0; stripe < stripes; stripe++) {
+                long end = stripe == stripes - 1 ? data.length : offset + random.nextInt(data.length / stripes);
+                combined = ChecksumUtils.crc32cCombine(combined, ChecksumUtils.crc32c(file, offset, end - offset),
+                        end - offset);
+                offset = end;
+            }
+            assertThat(combined).isEqualTo(whole);
+        }
+    }
+
+    @Test
+    void combineWithAnEmptyRegionKeepsTheChecksum() {
+        int crc = crc(0, 1000);
+
+        assertThat(ChecksumUtils.crc32cCombine(crc, 0, 0)).isEqualTo(crc);
+        assertThat(ChecksumUtils.crc32cCombine(0, crc, 1000)).isEqualTo(crc);
+    }
+
+    @Test
+    void combineHandlesEveryBitOfTheLength() {
+        for (int split : new int[]{1, 2, 3, 255, 256, 4096, 65_537, data.length - 1}) {
+            int combined = ChecksumUtils.crc32cCombine(crc(0, split), crc(split, data.length - split),
+                    data.length - split);
+            assertThat(combined).as("split at %d", split).isEqualTo(crc(0, data.length));
+        }
+    }
+
+    @Test
+    void regionEndsEarlyAtTheEndOfTheFile() throws IOException {
+        var file = dir.resolve("file.bin");
+        Files.write(file, data);
+
+        assertThat(ChecksumUtils.crc32c(file, 1000, 5000)).isEqualTo(crc(1000, 5000));
+        assertThat(ChecksumUtils.crc32c(file, data.length - 10, 1000)).isEqualTo(crc(data.length - 10, 10));
+    }
+
+    @Test
+    void bufferRegionLeavesTheIndexesUnchanged() {
+        var buffer = Unpooled.wrappedBuffer(data);
+
+        assertThat(ChecksumUtils.crc32c(buffer, 100, 200)).isEqualTo(crc(100, 200));
+        assertThat(buffer.readerIndex()).isZero();
+        assertThat(buffer.writerIndex()).isEqualTo(data.length);
+    }
+
+    private int crc(int offset, int length) {
+        var crc = new CRC32C();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] randomBytes(int length) {
+        var bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}